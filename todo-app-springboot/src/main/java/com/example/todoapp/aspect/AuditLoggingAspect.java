@@ -1,11 +1,15 @@
 package com.example.todoapp.aspect;
 
+import com.example.todoapp.audit.AuditChangeContext;
+import com.example.todoapp.audit.FieldChanges;
+import com.example.todoapp.audit.ReadAuditAggregator;
 import com.example.todoapp.dto.AuditLogEntry;
 import com.example.todoapp.dto.TodoResponse;
 import com.example.todoapp.entity.Todo;
 import com.example.todoapp.service.LoggingService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
@@ -31,9 +35,7 @@ public class AuditLoggingAspect {
     
     private final LoggingService loggingService;
     private final ObjectMapper objectMapper;
-    
-    // ThreadLocalでメソッド実行前の状態を保持
-    private final ThreadLocal<Object> beforeState = new ThreadLocal<>();
+    private final ReadAuditAggregator readAuditAggregator;
     
     /**
      * Todo作成操作の監査ログ
@@ -64,17 +66,22 @@ public class AuditLoggingAspect {
     
     /**
      * Todo読み取り操作の監査ログ（詳細取得）
+     * 集約モードではReadAuditAggregatorがウィンドウ単位の集約レコードを出力する
      */
     @AfterReturning(pointcut = "execution(* com.example.todoapp.service.*.findById(..))", returning = "result")
     public void logFindTodo(JoinPoint joinPoint, Object result) {
         try {
             String resourceId = extractIdFromArgs(joinPoint.getArgs());
+            String userId = getCurrentUserId();
+            if (!readAuditAggregator.recordRead(resourceId, userId)) {
+                return;
+            }
             
             AuditLogEntry entry = AuditLogEntry.builder()
                     .operation("READ")
                     .resourceType("TODO")
                     .resourceId(resourceId)
-                    .userId(getCurrentUserId())
+                    .userId(userId)
                     .result("SUCCESS")
                     .details("Todo retrieved successfully")
                     .correlationId(getCurrentCorrelationId())
@@ -88,32 +95,40 @@ public class AuditLoggingAspect {
     }
     
     /**
-     * Todo更新操作の監査ログ（更新前の状態を記録）
+     * Todo更新操作（更新・部分更新）の前処理
+     * 前回の更新で残った差分を誤って使わないようクリアする
      */
-    @Before("execution(* com.example.todoapp.service.*.update(..))")
+    @Before("execution(* com.example.todoapp.service.*.update(..)) || " +
+            "execution(* com.example.todoapp.service.*.patch(..))")
     public void beforeUpdate(JoinPoint joinPoint) {
-        try {
-            // 更新前の状態を取得して保存
-            String todoId = extractIdFromArgs(joinPoint.getArgs());
-            if (todoId != null) {
-                // 注意: 実際の実装では、ここでサービスから既存のTodoを取得する必要がある
-                // 簡略化のため、IDのみを保存
-                beforeState.set(todoId);
-            }
-        } catch (Exception e) {
-            log.error("Failed to capture before state for update", e);
-        }
+        AuditChangeContext.clear();
     }
     
     /**
-     * Todo更新操作の監査ログ（更新後）
+     * Todo更新操作（更新・部分更新）の監査ログ
+     * サービスが記録したフィールド差分（変更されたフィールドのみ）を変更前・変更後として出力
      */
-    @AfterReturning(pointcut = "execution(* com.example.todoapp.service.*.update(..))", returning = "result")
+    @AfterReturning(pointcut = "execution(* com.example.todoapp.service.*.update(..)) || " +
+                               "execution(* com.example.todoapp.service.*.patch(..))", returning = "result")
     public void logUpdate(JoinPoint joinPoint, Object result) {
         try {
             String resourceId = extractResourceId(result);
-            String oldValue = beforeState.get() != null ? "ID: " + beforeState.get() : null;
-            String newValue = serializeObject(result);
+            FieldChanges changes = AuditChangeContext.take();
+            
+            String oldValue = null;
+            String newValue = null;
+            String details;
+            if (changes == null) {
+                // 差分を記録しない実装の場合は更新後の状態全体を記録
+                newValue = serializeObject(result);
+                details = "Todo updated successfully";
+            } else if (changes.isEmpty()) {
+                details = "Todo updated successfully (no field changes)";
+            } else {
+                oldValue = serializeCompact(changes.getOldValues());
+                newValue = serializeCompact(changes.getNewValues());
+                details = "Todo updated successfully - changed: " + changes.fieldNames();
+            }
             
             AuditLogEntry entry = AuditLogEntry.builder()
                     .operation("UPDATE")
@@ -123,7 +138,7 @@ public class AuditLoggingAspect {
                     .result("SUCCESS")
                     .oldValue(oldValue)
                     .newValue(newValue)
-                    .details("Todo updated successfully")
+                    .details(details)
                     .correlationId(getCurrentCorrelationId())
                     .build();
                     
@@ -132,7 +147,7 @@ public class AuditLoggingAspect {
         } catch (Exception e) {
             log.error("Failed to log audit for update", e);
         } finally {
-            beforeState.remove();
+            AuditChangeContext.clear();
         }
     }
     
@@ -196,6 +211,7 @@ public class AuditLoggingAspect {
     @AfterThrowing(pointcut = "execution(* com.example.todoapp.service.*.*(..)) && " +
                               "(execution(* *..create(..)) || " +
                               "execution(* *..update(..)) || " +
+                              "execution(* *..patch(..)) || " +
                               "execution(* *..delete(..)) || " +
                               "execution(* *..findById(..)))", throwing = "exception")
     public void logOperationFailure(JoinPoint joinPoint, Throwable exception) {
@@ -220,7 +236,7 @@ public class AuditLoggingAspect {
         } catch (Exception e) {
             log.error("Failed to log audit for operation failure", e);
         } finally {
-            beforeState.remove();
+            AuditChangeContext.clear();
         }
     }
     
@@ -262,12 +278,23 @@ public class AuditLoggingAspect {
         }
     }
     
+    /**
+     * 差分をインデントなしの1行JSONにシリアライズ
+     */
+    private String serializeCompact(Object obj) {
+        try {
+            return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(obj);
+        } catch (JsonProcessingException e) {
+            return obj.toString();
+        }
+    }
+    
     /**
      * メソッド名から操作種別を判定
      */
     private String determineOperation(String methodName) {
         if (methodName.startsWith("create")) return "CREATE";
-        if (methodName.startsWith("update")) return "UPDATE";
+        if (methodName.startsWith("update") || methodName.startsWith("patch")) return "UPDATE";
         if (methodName.startsWith("delete")) return "DELETE";
         if (methodName.startsWith("find") || methodName.startsWith("get")) return "READ";
         if (methodName.startsWith("search")) return "SEARCH";
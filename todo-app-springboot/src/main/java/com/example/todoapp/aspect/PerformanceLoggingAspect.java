@@ -2,6 +2,8 @@ package com.example.todoapp.aspect;
 
 import com.example.todoapp.dto.PerformanceLogEntry;
 import com.example.todoapp.service.LoggingService;
+import com.example.todoapp.trace.OpenSpan;
+import com.example.todoapp.trace.RequestTracer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -21,6 +23,7 @@ import java.util.Map;
 /**
  * パフォーマンス監視アスペクト
  * メソッド実行時間とリソース使用量を自動的に記録
+ * リクエストトレース中は各呼び出しをスパンとしてトレースにも記録する
  */
 @Aspect
 @Component
@@ -29,6 +32,7 @@ import java.util.Map;
 public class PerformanceLoggingAspect {
     
     private final LoggingService loggingService;
+    private final RequestTracer requestTracer;
     private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
     private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
     
@@ -69,6 +73,7 @@ public class PerformanceLoggingAspect {
         long startTime = System.currentTimeMillis();
         long startCpuTime = getCurrentThreadCpuTime();
         long startMemory = getUsedMemory();
+        OpenSpan span = requestTracer.openSpan(layer, className + "." + methodName);
         
         Object result = null;
         String errorMessage = null;
@@ -82,6 +87,7 @@ public class PerformanceLoggingAspect {
             throw throwable;
             
         } finally {
+            requestTracer.closeSpan(span, errorMessage);
             long endTime = System.currentTimeMillis();
             long endCpuTime = getCurrentThreadCpuTime();
             long endMemory = getUsedMemory();
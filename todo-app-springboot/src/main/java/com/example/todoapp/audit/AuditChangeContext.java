@@ -0,0 +1,36 @@
+package com.example.todoapp.audit;
+
+/**
+ * 監査用の変更差分をサービス層から監査アスペクトへ受け渡すコンテキスト
+ *
+ * サービスは更新時に読み込み済みのエンティティから差分を算出して{@link #record}し、
+ * 監査アスペクトが同一スレッド上で{@link #take}して監査エントリに設定する。
+ * 差分取得のための追加の問い合わせは発生しない。
+ */
+public final class AuditChangeContext {
+
+    private static final ThreadLocal<FieldChanges> CHANGES = new ThreadLocal<>();
+
+    private AuditChangeContext() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static void record(FieldChanges changes) {
+        CHANGES.set(changes);
+    }
+
+    /**
+     * 記録された差分を取得してクリア
+     *
+     * @return 差分、記録されていない場合はnull
+     */
+    public static FieldChanges take() {
+        FieldChanges changes = CHANGES.get();
+        CHANGES.remove();
+        return changes;
+    }
+
+    public static void clear() {
+        CHANGES.remove();
+    }
+}
@@ -0,0 +1,442 @@
+package com.example.todoapp.audit;
+
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.dto.AuditSearchCriteria;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 監査ログのセグメントファイル
+ *
+ * 固定長のインデックスエントリと、長さ付きの可変長データを追記するメモリマップドファイル。
+ * インデックスエントリはインデックス計算だけでアクセスできるため、
+ * ブロック単位（{@value #BLOCK_SIZE}件）の疎インデックスで
+ * 時刻範囲・リソースID・ユーザーIDに該当しないブロックを読み飛ばせる。
+ * 各フィールドはそのままの長さで保存し、{@value #MAX_VALUE_BYTES}バイトを超える値のみ
+ * 末尾に切り捨てを示す印（元のバイト数）を付けて切り詰める。
+ *
+ * ファイルレイアウト:
+ * <pre>
+ * [header 64B][index 0]...[index capacity-1][data area]
+ * index = [timestamp:8][resourceHash:4][userHash:4][dataOffset:4][dataLength:4]
+ * data  = フィールドごとに [length:4 (nullは-1)][UTF-8 bytes]
+ * </pre>
+ *
+ * データ領域が不足した場合も容量到達として扱い、次のセグメントへロールする。
+ * 書き込みは単一スレッド（{@link AuditSegmentStore}のロック配下）からのみ行い、
+ * 読み取りは確定済み件数（volatile）までを参照するためロック不要。
+ */
+final class AuditSegment implements Closeable {
+
+    static final int MAGIC = 0x41554431; // "AUD1"
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_SIZE = 64;
+    static final int INDEX_ENTRY_SIZE = 24;
+    static final int BLOCK_SIZE = 64;
+
+    /**
+     * データ領域の1件あたりの見込みサイズ（データ領域の大きさ = 容量 × この値）
+     */
+    static final int AVERAGE_RECORD_BYTES = 2048;
+
+    /**
+     * 1フィールドの最大バイト数（超過分は切り捨てを示す印を付けて切り詰める）
+     */
+    static final int MAX_VALUE_BYTES = 64 * 1024;
+
+    private static final int FIELD_COUNT = 13;
+    private static final int MAX_RECORD_BYTES = FIELD_COUNT * (4 + MAX_VALUE_BYTES + 64);
+
+    private static final int HEADER_COUNT_OFFSET = 16;
+    private static final int HEADER_CREATED_OFFSET = 24;
+    private static final int HEADER_DATA_SIZE_OFFSET = 32;
+
+    private static final int TIMESTAMP_OFFSET = 0;
+    private static final int RESOURCE_HASH_OFFSET = 8;
+    private static final int USER_HASH_OFFSET = 12;
+    private static final int DATA_OFFSET_OFFSET = 16;
+    private static final int DATA_LENGTH_OFFSET = 20;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int dataStart;
+    private final int dataSize;
+    private final long createdAt;
+
+    // 疎インデックス（ブロック単位の時刻範囲と128bitブルームフィルタ）
+    private final long[] blockMinTs;
+    private final long[] blockMaxTs;
+    private final long[] resourceBloom;
+    private final long[] userBloom;
+
+    private volatile int count;
+    // データ領域の使用済みバイト数（書き込みスレッドのみが更新）
+    private int dataUsed;
+    private volatile long minTimestamp = Long.MAX_VALUE;
+    private volatile long maxTimestamp = Long.MIN_VALUE;
+
+    private AuditSegment(Path path, FileChannel channel, MappedByteBuffer buffer, int capacity, int dataSize,
+                         long createdAt) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.dataStart = HEADER_SIZE + capacity * INDEX_ENTRY_SIZE;
+        this.dataSize = dataSize;
+        this.createdAt = createdAt;
+
+        int blocks = (capacity + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.blockMinTs = new long[blocks];
+        this.blockMaxTs = new long[blocks];
+        this.resourceBloom = new long[blocks * 2];
+        this.userBloom = new long[blocks * 2];
+    }
+
+    /**
+     * 新しいセグメントファイルを作成
+     */
+    static AuditSegment create(Path path, int capacity) throws IOException {
+        // 最大サイズのレコードが必ず1件は入るようにする
+        long dataSize = Math.max((long) capacity * AVERAGE_RECORD_BYTES, MAX_RECORD_BYTES);
+        long fileSize = HEADER_SIZE + (long) capacity * INDEX_ENTRY_SIZE + dataSize;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Audit segment capacity too large: " + capacity);
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+
+        long now = System.currentTimeMillis();
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putInt(8, INDEX_ENTRY_SIZE);
+        buffer.putInt(12, capacity);
+        buffer.putInt(HEADER_COUNT_OFFSET, 0);
+        buffer.putLong(HEADER_CREATED_OFFSET, now);
+        buffer.putInt(HEADER_DATA_SIZE_OFFSET, (int) dataSize);
+
+        return new AuditSegment(path, channel, buffer, capacity, (int) dataSize, now);
+    }
+
+    /**
+     * 既存のセグメントファイルを開き、疎インデックスを再構築
+     */
+    static AuditSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION || buffer.getInt(8) != INDEX_ENTRY_SIZE) {
+            channel.close();
+            throw new IOException("Not an audit segment file: " + path);
+        }
+
+        int capacity = buffer.getInt(12);
+        AuditSegment segment = new AuditSegment(path, channel, buffer, capacity,
+                buffer.getInt(HEADER_DATA_SIZE_OFFSET), buffer.getLong(HEADER_CREATED_OFFSET));
+
+        int persistedCount = Math.min(buffer.getInt(HEADER_COUNT_OFFSET), capacity);
+        for (int i = 0; i < persistedCount; i++) {
+            int offset = indexOffset(i);
+            segment.index(i, buffer.getLong(offset + TIMESTAMP_OFFSET),
+                    buffer.getInt(offset + RESOURCE_HASH_OFFSET), buffer.getInt(offset + USER_HASH_OFFSET));
+            segment.dataUsed = buffer.getInt(offset + DATA_OFFSET_OFFSET) + buffer.getInt(offset + DATA_LENGTH_OFFSET);
+        }
+        segment.count = persistedCount;
+        return segment;
+    }
+
+    /**
+     * レコードを追記（呼び出し側で排他制御すること）
+     *
+     * @return 追記できた場合true、容量不足の場合false
+     */
+    boolean append(AuditLogEntry entry) {
+        int index = count;
+        if (index >= capacity) {
+            return false;
+        }
+
+        byte[][] fields = encode(entry);
+        int length = 0;
+        for (byte[] field : fields) {
+            length += 4 + (field != null ? field.length : 0);
+        }
+        if (dataUsed + length > dataSize) {
+            return false;
+        }
+
+        long timestamp = toEpochMillis(entry.getTimestamp());
+        int resourceHash = hash(entry.getResourceId());
+        int userHash = hash(entry.getUserId());
+        int offset = indexOffset(index);
+
+        int position = dataStart + dataUsed;
+        for (byte[] field : fields) {
+            if (field == null) {
+                buffer.putInt(position, -1);
+                position += 4;
+            } else {
+                buffer.putInt(position, field.length);
+                buffer.put(position + 4, field);
+                position += 4 + field.length;
+            }
+        }
+
+        buffer.putLong(offset + TIMESTAMP_OFFSET, timestamp);
+        buffer.putInt(offset + RESOURCE_HASH_OFFSET, resourceHash);
+        buffer.putInt(offset + USER_HASH_OFFSET, userHash);
+        buffer.putInt(offset + DATA_OFFSET_OFFSET, dataUsed);
+        buffer.putInt(offset + DATA_LENGTH_OFFSET, length);
+        dataUsed += length;
+
+        index(index, timestamp, resourceHash, userHash);
+
+        // 件数を確定（ヘッダー更新後にvolatile書き込みで読み取り側へ公開）
+        buffer.putInt(HEADER_COUNT_OFFSET, index + 1);
+        count = index + 1;
+        return true;
+    }
+
+    /**
+     * 条件に一致するレコードを新しい順に収集
+     *
+     * @param criteria 検索条件
+     * @param fromMillis 検索開始時刻（エポックミリ秒）
+     * @param toMillis 検索終了時刻（エポックミリ秒）
+     * @param results 結果の格納先
+     * @param limit 結果の最大件数
+     * @return 走査したレコード数
+     */
+    int search(AuditSearchCriteria criteria, long fromMillis, long toMillis, List<AuditLogEntry> results, int limit) {
+        int committed = count;
+        if (committed == 0 || maxTimestamp < fromMillis || minTimestamp > toMillis) {
+            return 0;
+        }
+
+        int resourceHash = hash(criteria.getResourceId());
+        int userHash = hash(criteria.getUserId());
+        int scanned = 0;
+
+        int lastBlock = (committed - 1) / BLOCK_SIZE;
+        for (int block = lastBlock; block >= 0 && results.size() < limit; block--) {
+            if (blockMaxTs[block] < fromMillis || blockMinTs[block] > toMillis) {
+                continue;
+            }
+            if (criteria.getResourceId() != null && !mightContain(resourceBloom, block, resourceHash)) {
+                continue;
+            }
+            if (criteria.getUserId() != null && !mightContain(userBloom, block, userHash)) {
+                continue;
+            }
+
+            int first = block * BLOCK_SIZE;
+            int last = Math.min(first + BLOCK_SIZE, committed) - 1;
+            for (int i = last; i >= first && results.size() < limit; i--) {
+                scanned++;
+                int offset = indexOffset(i);
+                long timestamp = buffer.getLong(offset + TIMESTAMP_OFFSET);
+                if (timestamp < fromMillis || timestamp > toMillis) {
+                    continue;
+                }
+                if (criteria.getResourceId() != null && buffer.getInt(offset + RESOURCE_HASH_OFFSET) != resourceHash) {
+                    continue;
+                }
+                if (criteria.getUserId() != null && buffer.getInt(offset + USER_HASH_OFFSET) != userHash) {
+                    continue;
+                }
+
+                AuditLogEntry entry = read(offset, timestamp);
+                if (criteria.matches(entry)) {
+                    results.add(entry);
+                }
+            }
+        }
+        return scanned;
+    }
+
+    /**
+     * 変更内容をディスクへ同期
+     */
+    void force() {
+        buffer.force();
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    long getMaxTimestamp() {
+        return count == 0 ? createdAt : maxTimestamp;
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * セグメントファイルを閉じて削除
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    private AuditLogEntry read(int offset, long timestamp) {
+        String[] fields = new String[FIELD_COUNT];
+        int position = dataStart + buffer.getInt(offset + DATA_OFFSET_OFFSET);
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            int length = buffer.getInt(position);
+            position += 4;
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                buffer.get(position, bytes);
+                fields[i] = new String(bytes, StandardCharsets.UTF_8);
+                position += length;
+            }
+        }
+        return AuditLogEntry.builder()
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()))
+                .operation(fields[0])
+                .result(fields[1])
+                .resourceType(fields[2])
+                .resourceId(fields[3])
+                .userId(fields[4])
+                .correlationId(fields[5])
+                .sessionId(fields[6])
+                .ipAddress(fields[7])
+                .errorCode(fields[8])
+                .details(fields[9])
+                .errorMessage(fields[10])
+                .oldValue(fields[11])
+                .newValue(fields[12])
+                .build();
+    }
+
+    /**
+     * フィールドをレコードの順にUTF-8へ変換する（{@link #read}と同じ順序）
+     */
+    private static byte[][] encode(AuditLogEntry entry) {
+        return new byte[][] {
+                bytesOf(entry.getOperation()),
+                bytesOf(entry.getResult()),
+                bytesOf(entry.getResourceType()),
+                bytesOf(entry.getResourceId()),
+                bytesOf(entry.getUserId()),
+                bytesOf(entry.getCorrelationId()),
+                bytesOf(entry.getSessionId()),
+                bytesOf(entry.getIpAddress()),
+                bytesOf(entry.getErrorCode()),
+                bytesOf(entry.getDetails()),
+                bytesOf(entry.getErrorMessage()),
+                bytesOf(entry.getOldValue()),
+                bytesOf(entry.getNewValue())
+        };
+    }
+
+    /**
+     * UTF-8のバイト列、{@value #MAX_VALUE_BYTES}バイトを超える場合は
+     * 文字の境界で切り詰め、末尾に切り捨ての印と元のバイト数を付ける
+     */
+    static byte[] bytesOf(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_VALUE_BYTES) {
+            return bytes;
+        }
+        byte[] marker = ("...[truncated, " + bytes.length + " bytes]").getBytes(StandardCharsets.UTF_8);
+        int length = MAX_VALUE_BYTES - marker.length;
+        // マルチバイト文字の途中で切り捨てないよう継続バイトを除外
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        byte[] truncated = new byte[length + marker.length];
+        System.arraycopy(bytes, 0, truncated, 0, length);
+        System.arraycopy(marker, 0, truncated, length, marker.length);
+        return truncated;
+    }
+
+    private void index(int recordIndex, long timestamp, int resourceHash, int userHash) {
+        int block = recordIndex / BLOCK_SIZE;
+        if (recordIndex % BLOCK_SIZE == 0) {
+            blockMinTs[block] = timestamp;
+            blockMaxTs[block] = timestamp;
+        } else {
+            blockMinTs[block] = Math.min(blockMinTs[block], timestamp);
+            blockMaxTs[block] = Math.max(blockMaxTs[block], timestamp);
+        }
+        addToBloom(resourceBloom, block, resourceHash);
+        addToBloom(userBloom, block, userHash);
+
+        if (timestamp < minTimestamp) {
+            minTimestamp = timestamp;
+        }
+        if (timestamp > maxTimestamp) {
+            maxTimestamp = timestamp;
+        }
+    }
+
+    private static void addToBloom(long[] bloom, int block, int hash) {
+        int bit1 = hash & 127;
+        int bit2 = (hash >>> 7) & 127;
+        bloom[block * 2 + (bit1 >>> 6)] |= 1L << (bit1 & 63);
+        bloom[block * 2 + (bit2 >>> 6)] |= 1L << (bit2 & 63);
+    }
+
+    private static boolean mightContain(long[] bloom, int block, int hash) {
+        int bit1 = hash & 127;
+        int bit2 = (hash >>> 7) & 127;
+        return (bloom[block * 2 + (bit1 >>> 6)] & (1L << (bit1 & 63))) != 0
+                && (bloom[block * 2 + (bit2 >>> 6)] & (1L << (bit2 & 63))) != 0;
+    }
+
+    private static int indexOffset(int index) {
+        return HEADER_SIZE + index * INDEX_ENTRY_SIZE;
+    }
+
+    static int hash(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int h = value.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static long toEpochMillis(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return System.currentTimeMillis();
+        }
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
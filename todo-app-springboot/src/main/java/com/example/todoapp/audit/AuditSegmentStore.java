@@ -0,0 +1,258 @@
+package com.example.todoapp.audit;
+
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.dto.AuditSearchCriteria;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * メモリマップド監査セグメントストア
+ *
+ * 監査エントリを日付単位のセグメントファイルへ追記し、
+ * リソース・ユーザー・操作・時刻範囲による検索を提供する。
+ * セグメントは日付変更時または容量到達時にロールし、
+ * 保持期間（既定90日、監査ログファイルのmaxHistoryと同じ）を過ぎたものを削除する。
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.audit.segment-store", name = "enabled", havingValue = "true")
+@Slf4j
+public class AuditSegmentStore implements AuditSink {
+
+    private static final String FILE_PREFIX = "audit-";
+    private static final String FILE_SUFFIX = ".seg";
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final Path directory;
+    private final int segmentCapacity;
+    private final int retentionDays;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+    private volatile AuditSegment activeSegment;
+    private int sequence;
+
+    public AuditSegmentStore(
+            @Value("${app.audit.segment-store.directory:logs/audit-segments}") String directory,
+            @Value("${app.audit.segment-store.segment-capacity:32768}") int segmentCapacity,
+            @Value("${app.audit.segment-store.retention-days:90}") int retentionDays) {
+        this.directory = Paths.get(directory);
+        this.segmentCapacity = segmentCapacity;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * 既存セグメントを読み込み、疎インデックスを再構築
+     */
+    @PostConstruct
+    public void open() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream
+                        .filter(path -> path.getFileName().toString().startsWith(FILE_PREFIX))
+                        .filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX))
+                        .sorted()
+                        .toList();
+            }
+
+            for (Path file : files) {
+                try {
+                    segments.add(AuditSegment.open(file));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable audit segment: {}", file, e);
+                }
+            }
+
+            if (!segments.isEmpty()) {
+                activeSegment = segments.get(segments.size() - 1);
+                sequence = parseSequence(activeSegment.getPath());
+            }
+            log.info("Audit segment store opened: {} segments in {}", segments.size(), directory.toAbsolutePath());
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open audit segment store: " + directory, e);
+        }
+    }
+
+    @Override
+    public void write(AuditLogEntry entry) {
+        writeLock.lock();
+        try {
+            AuditSegment segment = activeSegmentForWrite();
+            if (!segment.append(entry)) {
+                segment = roll();
+                segment.append(entry);
+            }
+        } catch (IOException e) {
+            log.error("Failed to append audit entry to segment store", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 条件に一致する監査エントリを新しい順に検索
+     * 時刻範囲外のセグメントと疎インデックスに該当しないブロックは走査しない
+     */
+    public List<AuditLogEntry> search(AuditSearchCriteria criteria) {
+        long from = criteria.getFrom() != null ? AuditSegment.toEpochMillis(criteria.getFrom()) : Long.MIN_VALUE;
+        long to = criteria.getTo() != null ? AuditSegment.toEpochMillis(criteria.getTo()) : Long.MAX_VALUE;
+        int limit = Math.max(1, criteria.getLimit());
+
+        List<AuditLogEntry> results = new ArrayList<>();
+        int scanned = 0;
+        AuditSegment[] snapshot = segments.toArray(new AuditSegment[0]);
+        for (int i = snapshot.length - 1; i >= 0 && results.size() < limit; i--) {
+            scanned += snapshot[i].search(criteria, from, to, results, limit);
+        }
+
+        log.debug("Audit search scanned {} records, returned {}", scanned, results.size());
+        return results;
+    }
+
+    /**
+     * 保持期間を過ぎたセグメントを削除
+     */
+    @Scheduled(cron = "${app.audit.segment-store.retention-cron:0 30 3 * * *}")
+    public int purgeExpiredSegments() {
+        long threshold = System.currentTimeMillis() - Duration.ofDays(retentionDays).toMillis();
+        int deleted = 0;
+
+        writeLock.lock();
+        try {
+            for (AuditSegment segment : segments) {
+                if (segment != activeSegment && segment.getMaxTimestamp() < threshold) {
+                    segments.remove(segment);
+                    segment.delete();
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to delete expired audit segment", e);
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (deleted > 0) {
+            log.info("Purged {} audit segments older than {} days", deleted, retentionDays);
+        }
+        return deleted;
+    }
+
+    /**
+     * 書き込み済みの内容を定期的にディスクへ同期
+     */
+    @Scheduled(fixedDelayString = "${app.audit.segment-store.flush-interval-ms:5000}")
+    public void flush() {
+        AuditSegment segment = activeSegment;
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    /**
+     * ストアの統計情報を取得
+     */
+    public Map<String, Object> getStatistics() {
+        long records = 0;
+        for (AuditSegment segment : segments) {
+            records += segment.getCount();
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("directory", directory.toAbsolutePath().toString());
+        stats.put("segments", segments.size());
+        stats.put("records", records);
+        stats.put("segmentCapacity", segmentCapacity);
+        stats.put("retentionDays", retentionDays);
+        return stats;
+    }
+
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            for (AuditSegment segment : segments) {
+                segment.force();
+                segment.close();
+            }
+            segments.clear();
+            activeSegment = null;
+        } catch (IOException e) {
+            log.warn("Failed to close audit segment store cleanly", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 書き込み対象のセグメントを取得（日付が変わっていればロール）
+     */
+    private AuditSegment activeSegmentForWrite() throws IOException {
+        AuditSegment segment = activeSegment;
+        if (segment == null || segment.isFull() || !isToday(segment.getCreatedAt())) {
+            segment = roll();
+        }
+        return segment;
+    }
+
+    private AuditSegment roll() throws IOException {
+        AuditSegment previous = activeSegment;
+        if (previous != null) {
+            previous.force();
+        }
+
+        String date = LocalDate.now().format(FILE_DATE_FORMAT);
+        Path path;
+        do {
+            sequence++;
+            path = directory.resolve(String.format("%s%s-%06d%s", FILE_PREFIX, date, sequence, FILE_SUFFIX));
+        } while (Files.exists(path));
+
+        AuditSegment segment = AuditSegment.create(path, segmentCapacity);
+        segments.add(segment);
+        activeSegment = segment;
+        log.info("Rolled audit segment: {}", path.getFileName());
+        return segment;
+    }
+
+    private static boolean isToday(long epochMillis) {
+        LocalDate created = Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()).toLocalDate();
+        return created.equals(LocalDate.now());
+    }
+
+    private static int parseSequence(Path path) {
+        String name = path.getFileName().toString();
+        int start = name.lastIndexOf('-') + 1;
+        int end = name.length() - FILE_SUFFIX.length();
+        try {
+            return Integer.parseInt(name.substring(start, end));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.todoapp.audit;
+
+import com.example.todoapp.dto.AuditLogEntry;
+
+/**
+ * 監査ログの出力先インターフェース
+ * LoggingServiceが記録した監査エントリをテキストログ以外の保存先へ転送する
+ */
+public interface AuditSink {
+
+    /**
+     * 監査エントリを保存先へ書き込む
+     * 呼び出し元のリクエスト処理を妨げないよう、実装は例外をスローしないこと
+     *
+     * @param entry 監査ログエントリ
+     */
+    void write(AuditLogEntry entry);
+}
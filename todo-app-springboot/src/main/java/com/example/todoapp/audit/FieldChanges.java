@@ -0,0 +1,46 @@
+package com.example.todoapp.audit;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 更新監査用のフィールド差分
+ * 値が変化したフィールドのみ、変更前・変更後の値を保持する
+ */
+public final class FieldChanges {
+
+    private final Map<String, Object> oldValues = new LinkedHashMap<>();
+    private final Map<String, Object> newValues = new LinkedHashMap<>();
+
+    /**
+     * フィールドの変更前後を比較し、異なる場合のみ記録
+     */
+    public FieldChanges compare(String field, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            oldValues.put(field, oldValue);
+            newValues.put(field, newValue);
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return oldValues.isEmpty();
+    }
+
+    public Map<String, Object> getOldValues() {
+        return Collections.unmodifiableMap(oldValues);
+    }
+
+    public Map<String, Object> getNewValues() {
+        return Collections.unmodifiableMap(newValues);
+    }
+
+    /**
+     * 変更されたフィールド名（カンマ区切り）
+     */
+    public String fieldNames() {
+        return String.join(", ", oldValues.keySet());
+    }
+}
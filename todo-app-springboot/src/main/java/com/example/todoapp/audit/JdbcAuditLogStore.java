@@ -0,0 +1,575 @@
+package com.example.todoapp.audit;
+
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.dto.AuditLogPage;
+import com.example.todoapp.dto.AuditSearchCriteria;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * データベース監査ログストア
+ *
+ * 監査エントリをメモリ上のバッファに積み、スケジューラースレッドからJDBCバッチで
+ * audit_logテーブルへ書き込む。書き込みはリクエストスレッドとは別の接続で行うため、
+ * 業務トランザクションのロールバックやロック待ちの影響を受けない。
+ * 参照は(event_time, id)によるキーセットページング（新しい順）で行う。
+ *
+ * 書き込みに失敗したバッチは破棄せず、指数バックオフで再試行する。
+ * 再試行が上限に達したバッチと、バッファ満杯時のエントリはJSON Lines形式の
+ * 退避ファイルへ書き出し、次に書き込みが成功した時点でテーブルへ再投入する。
+ * 再投入中に停止した場合は同じ行が二重に書き込まれることがある（少なくとも1回）。
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.audit.jdbc", name = "enabled", havingValue = "true")
+@Slf4j
+public class JdbcAuditLogStore implements AuditSink {
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS audit_log ("
+                    + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "event_time TIMESTAMP NOT NULL, "
+                    + "operation VARCHAR(32), "
+                    + "resource_type VARCHAR(32), "
+                    + "resource_id VARCHAR(64), "
+                    + "user_id VARCHAR(128), "
+                    + "result VARCHAR(16), "
+                    + "details VARCHAR(2000), "
+                    + "old_value CLOB, "
+                    + "new_value CLOB, "
+                    + "ip_address VARCHAR(64), "
+                    + "user_agent VARCHAR(512), "
+                    + "session_id VARCHAR(128), "
+                    + "correlation_id VARCHAR(64), "
+                    + "error_message VARCHAR(2000), "
+                    + "error_code VARCHAR(128))",
+            // キーセットページング・保持期間削除用
+            "CREATE INDEX IF NOT EXISTS idx_audit_log_time ON audit_log (event_time, id)",
+            "CREATE INDEX IF NOT EXISTS idx_audit_log_resource ON audit_log (resource_type, resource_id, event_time)",
+            "CREATE INDEX IF NOT EXISTS idx_audit_log_user ON audit_log (user_id, event_time)"
+    };
+
+    private static final String INSERT_SQL = "INSERT INTO audit_log (event_time, operation, resource_type, "
+            + "resource_id, user_id, result, details, old_value, new_value, ip_address, user_agent, session_id, "
+            + "correlation_id, error_message, error_code) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_COLUMNS = "SELECT id, event_time, operation, resource_type, resource_id, "
+            + "user_id, result, details, old_value, new_value, ip_address, user_agent, session_id, correlation_id, "
+            + "error_message, error_code FROM audit_log";
+
+    private static final String PURGE_SQL = "DELETE FROM audit_log WHERE id IN "
+            + "(SELECT id FROM audit_log WHERE event_time < ? ORDER BY event_time, id LIMIT ?)";
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(
+            rs.getLong("id"),
+            rs.getTimestamp("event_time"),
+            AuditLogEntry.builder()
+                    .timestamp(rs.getTimestamp("event_time").toLocalDateTime())
+                    .operation(rs.getString("operation"))
+                    .resourceType(rs.getString("resource_type"))
+                    .resourceId(rs.getString("resource_id"))
+                    .userId(rs.getString("user_id"))
+                    .result(rs.getString("result"))
+                    .details(rs.getString("details"))
+                    .oldValue(rs.getString("old_value"))
+                    .newValue(rs.getString("new_value"))
+                    .ipAddress(rs.getString("ip_address"))
+                    .userAgent(rs.getString("user_agent"))
+                    .sessionId(rs.getString("session_id"))
+                    .correlationId(rs.getString("correlation_id"))
+                    .errorMessage(rs.getString("error_message"))
+                    .errorCode(rs.getString("error_code"))
+                    .build());
+
+    // 退避ファイルは1行1エントリのため、インデントなしで直列化する
+    private static final ObjectMapper SPILL_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AuditLogEntry> buffer;
+    private final int batchSize;
+    private final int retentionDays;
+    private final int purgeChunkSize;
+    private final Path spillFile;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final long maxRetryBackoffMs;
+
+    // スケジューラーと停止処理からの同時書き込みを防ぐ
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 退避ファイルへの追記（リクエストスレッド・フラッシュ）と再投入時の切り替えを排他する
+    private final ReentrantLock spillLock = new ReentrantLock();
+
+    // 再試行待ちのバッチ（flushLock配下でのみ参照）
+    private List<AuditLogEntry> retryBatch;
+    private int retryAttempts;
+    private long nextRetryAt;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+
+    public JdbcAuditLogStore(
+            DataSource dataSource,
+            @Value("${app.audit.jdbc.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${app.audit.jdbc.batch-size:200}") int batchSize,
+            @Value("${app.audit.jdbc.retention-days:90}") int retentionDays,
+            @Value("${app.audit.jdbc.purge-chunk-size:1000}") int purgeChunkSize,
+            @Value("${app.audit.jdbc.spill-file:logs/audit-spill.jsonl}") String spillFile,
+            @Value("${app.audit.jdbc.max-retries:5}") int maxRetries,
+            @Value("${app.audit.jdbc.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${app.audit.jdbc.max-retry-backoff-ms:60000}") long maxRetryBackoffMs) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+        this.purgeChunkSize = purgeChunkSize;
+        this.spillFile = Paths.get(spillFile);
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxRetryBackoffMs = maxRetryBackoffMs;
+    }
+
+    /**
+     * audit_logテーブルとインデックスを作成（存在しない場合のみ）
+     */
+    @PostConstruct
+    public void initializeSchema() {
+        for (String statement : SCHEMA) {
+            jdbcTemplate.execute(statement);
+        }
+        log.info("Audit log table initialized (batchSize={}, retentionDays={})", batchSize, retentionDays);
+    }
+
+    /**
+     * 監査エントリをバッファに追加（呼び出し元をデータベース書き込みで待たせない）
+     * バッファが満杯の場合は退避ファイルへ書き出し、それも失敗した場合のみ破棄する
+     */
+    @Override
+    public void write(AuditLogEntry entry) {
+        if (!buffer.offer(entry)) {
+            log.warn("Audit log buffer is full, spilling entry: {} {} {}",
+                    entry.getOperation(), entry.getResourceType(), entry.getResourceId());
+            spill(List.of(entry));
+        }
+    }
+
+    /**
+     * 再試行待ちのバッチ、バッファ内のエントリ、退避ファイルの順に書き込み
+     * 書き込みに失敗した時点で中断し、失敗したバッチはバックオフ後に再試行する
+     *
+     * @return 書き込んだ件数
+     */
+    @Scheduled(fixedDelayString = "${app.audit.jdbc.flush-interval-ms:500}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            int total = 0;
+            if (retryBatch != null) {
+                if (System.currentTimeMillis() < nextRetryAt) {
+                    return 0;
+                }
+                retried.add(retryBatch.size());
+                if (!writeBatch(retryBatch)) {
+                    scheduleRetry();
+                    return 0;
+                }
+                total += retryBatch.size();
+                retryBatch = null;
+                retryAttempts = 0;
+            }
+
+            List<AuditLogEntry> batch = new ArrayList<>(batchSize);
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                if (!writeBatch(batch)) {
+                    retryBatch = batch;
+                    scheduleRetry();
+                    return total;
+                }
+                total += batch.size();
+                batch = new ArrayList<>(batchSize);
+            }
+            return total + replaySpill();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 保持期間を過ぎた行をチャンク単位で削除
+     * 1回のDELETEで大量の行ロック・UNDOを抱えないよう、件数を区切って繰り返す
+     *
+     * @return 削除した件数
+     */
+    @Scheduled(cron = "${app.audit.jdbc.retention-cron:0 45 3 * * *}")
+    public int purgeExpired() {
+        Timestamp threshold = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, threshold, purgeChunkSize);
+            total += deleted;
+        } while (deleted >= purgeChunkSize);
+
+        purged.add(total);
+        if (total > 0) {
+            log.info("Purged {} audit log rows older than {} days", total, retentionDays);
+        }
+        return total;
+    }
+
+    /**
+     * 監査ログを新しい順にキーセットページングで取得
+     *
+     * @param criteria 検索条件（limitは1ページの件数）
+     * @param cursor 前ページの{@link AuditLogPage#getNextCursor()}、先頭ページはnull
+     */
+    public AuditLogPage findPage(AuditSearchCriteria criteria, String cursor) {
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS).append(" WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        appendEquals(sql, params, "resource_type", criteria.getResourceType());
+        appendEquals(sql, params, "resource_id", criteria.getResourceId());
+        appendEquals(sql, params, "user_id", criteria.getUserId());
+        appendEquals(sql, params, "operation", criteria.getOperation());
+        if (criteria.getFrom() != null) {
+            sql.append(" AND event_time >= ?");
+            params.add(Timestamp.valueOf(criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            sql.append(" AND event_time <= ?");
+            params.add(Timestamp.valueOf(criteria.getTo()));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor position = Cursor.decode(cursor);
+            sql.append(" AND (event_time < ? OR (event_time = ? AND id < ?))");
+            params.add(position.eventTime());
+            params.add(position.eventTime());
+            params.add(position.id());
+        }
+
+        int limit = Math.max(1, criteria.getLimit());
+        // 次ページの有無を判定するため1件多く取得
+        sql.append(" ORDER BY event_time DESC, id DESC LIMIT ?");
+        params.add(limit + 1);
+
+        List<Row> rows = jdbcTemplate.query(sql.toString(), ROW_MAPPER, params.toArray());
+        boolean hasMore = rows.size() > limit;
+        List<Row> pageRows = hasMore ? rows.subList(0, limit) : rows;
+
+        List<AuditLogEntry> entries = new ArrayList<>(pageRows.size());
+        for (Row row : pageRows) {
+            entries.add(row.entry());
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Row last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new Cursor(last.eventTime(), last.id()).encode();
+        }
+        return new AuditLogPage(entries, nextCursor);
+    }
+
+    /**
+     * ストアの統計情報を取得
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("buffered", buffer.size());
+        stats.put("bufferRemainingCapacity", buffer.remainingCapacity());
+        stats.put("written", written.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("failed", failed.sum());
+        stats.put("retried", retried.sum());
+        stats.put("spilled", spilled.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("purged", purged.sum());
+        stats.put("batchSize", batchSize);
+        stats.put("retentionDays", retentionDays);
+        return stats;
+    }
+
+    /**
+     * 停止時にバッファ内の残りを書き込み、書き込めなかった分は退避ファイルへ書き出す
+     */
+    @PreDestroy
+    public void close() {
+        flushLock.lock();
+        try {
+            // 再試行のバックオフを待たずに最後の書き込みを試みる
+            nextRetryAt = 0;
+            int remaining = flush();
+            List<AuditLogEntry> unwritten = new ArrayList<>();
+            if (retryBatch != null) {
+                unwritten.addAll(retryBatch);
+                retryBatch = null;
+            }
+            buffer.drainTo(unwritten);
+            if (!unwritten.isEmpty()) {
+                spill(unwritten);
+            }
+            log.info("Audit log store closed ({} buffered entries flushed, {} spilled)", remaining, unwritten.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean writeBatch(List<AuditLogEntry> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), JdbcAuditLogStore::bind);
+            written.add(batch.size());
+            return true;
+        } catch (DataAccessException e) {
+            // 監査ログの書き込み失敗で業務処理やスケジューラーを止めない
+            failed.add(batch.size());
+            log.error("Failed to write {} audit log rows", batch.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 再試行待ちのバッチの次回試行時刻を決める（flushLock配下で呼ぶこと）
+     * 上限回数に達した場合は退避ファイルへ書き出して再試行をやめる
+     */
+    private void scheduleRetry() {
+        retryAttempts++;
+        if (retryAttempts > maxRetries) {
+            log.warn("Giving up writing {} audit log rows after {} retries, spilling to {}",
+                    retryBatch.size(), maxRetries, spillFile);
+            spill(retryBatch);
+            retryBatch = null;
+            retryAttempts = 0;
+            return;
+        }
+        long backoff = Math.min(retryBackoffMs << Math.min(retryAttempts - 1, 20), maxRetryBackoffMs);
+        nextRetryAt = System.currentTimeMillis() + backoff;
+    }
+
+    /**
+     * エントリを退避ファイルへ追記（書き出せなかった場合は破棄件数に記録）
+     */
+    private void spill(List<AuditLogEntry> entries) {
+        List<String> lines = new ArrayList<>(entries.size());
+        for (AuditLogEntry entry : entries) {
+            try {
+                lines.add(SPILL_MAPPER.writeValueAsString(entry));
+            } catch (JsonProcessingException e) {
+                dropped.increment();
+                log.error("Failed to serialize audit entry for spill, dropping it", e);
+            }
+        }
+        spillLock.lock();
+        try {
+            appendLines(spillFile, lines);
+            spilled.add(lines.size());
+        } catch (IOException e) {
+            dropped.add(lines.size());
+            log.error("Failed to spill {} audit entries to {}, dropping them", lines.size(), spillFile, e);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * 退避ファイルのエントリをバッチ単位でテーブルへ再投入（flushLock配下で呼ぶこと）
+     * 退避ファイルは再投入用に切り替えてから読むため、読み取り中の追記は次回に回る。
+     * 途中で書き込みに失敗した場合は、未投入の行を退避ファイルへ戻す
+     *
+     * @return 再投入した件数
+     */
+    private int replaySpill() {
+        Path replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+        spillLock.lock();
+        try {
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(spillFile)) {
+                    return 0;
+                }
+                Files.move(spillFile, replayFile);
+            }
+        } catch (IOException e) {
+            log.error("Failed to prepare audit spill file {} for replay", spillFile, e);
+            return 0;
+        } finally {
+            spillLock.unlock();
+        }
+
+        int total = 0;
+        List<AuditLogEntry> batch = new ArrayList<>(batchSize);
+        List<String> batchLines = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            boolean completed = true;
+            while (completed && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(SPILL_MAPPER.readValue(line, AuditLogEntry.class));
+                    batchLines.add(line);
+                } catch (JsonProcessingException e) {
+                    dropped.increment();
+                    log.error("Skipping unreadable audit spill line", e);
+                    continue;
+                }
+                if (batch.size() >= batchSize) {
+                    int size = batch.size();
+                    completed = replayBatch(batch, batchLines);
+                    total += completed ? size : 0;
+                }
+            }
+            if (completed && !batch.isEmpty()) {
+                int size = batch.size();
+                completed = replayBatch(batch, batchLines);
+                total += completed ? size : 0;
+            }
+            if (!completed) {
+                // 未投入の行と未読の行を退避ファイルへ戻す
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        batchLines.add(line);
+                    }
+                }
+                spillLock.lock();
+                try {
+                    appendLines(spillFile, batchLines);
+                } finally {
+                    spillLock.unlock();
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to replay audit spill file {}", replayFile, e);
+            replayed.add(total);
+            return total;
+        }
+
+        replayed.add(total);
+        deleteQuietly(replayFile);
+        if (total > 0) {
+            log.info("Replayed {} spilled audit log rows", total);
+        }
+        return total;
+    }
+
+    /**
+     * 退避ファイルから読んだバッチを書き込み、成功した場合はバッチを空にする
+     */
+    private boolean replayBatch(List<AuditLogEntry> batch, List<String> batchLines) {
+        if (!writeBatch(batch)) {
+            return false;
+        }
+        batch.clear();
+        batchLines.clear();
+        return true;
+    }
+
+    private static void appendLines(Path file, List<String> lines) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete audit spill file {}", file, e);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, AuditLogEntry entry) throws SQLException {
+        LocalDateTime timestamp = entry.getTimestamp() != null ? entry.getTimestamp() : LocalDateTime.now();
+        ps.setTimestamp(1, Timestamp.valueOf(timestamp));
+        ps.setString(2, truncate(entry.getOperation(), 32));
+        ps.setString(3, truncate(entry.getResourceType(), 32));
+        ps.setString(4, truncate(entry.getResourceId(), 64));
+        ps.setString(5, truncate(entry.getUserId(), 128));
+        ps.setString(6, truncate(entry.getResult(), 16));
+        ps.setString(7, truncate(entry.getDetails(), 2000));
+        ps.setString(8, entry.getOldValue());
+        ps.setString(9, entry.getNewValue());
+        ps.setString(10, truncate(entry.getIpAddress(), 64));
+        ps.setString(11, truncate(entry.getUserAgent(), 512));
+        ps.setString(12, truncate(entry.getSessionId(), 128));
+        ps.setString(13, truncate(entry.getCorrelationId(), 64));
+        ps.setString(14, truncate(entry.getErrorMessage(), 2000));
+        ps.setString(15, truncate(entry.getErrorCode(), 128));
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private static void appendEquals(StringBuilder sql, List<Object> params, String column, String value) {
+        if (value != null) {
+            sql.append(" AND ").append(column).append(" = ?");
+            params.add(value);
+        }
+    }
+
+    private record Row(long id, Timestamp eventTime, AuditLogEntry entry) {
+    }
+
+    /**
+     * キーセットページングの位置（最後に返した行の(event_time, id)）
+     * URLにそのまま載せられるようBase64URLでエンコードする
+     */
+    private record Cursor(Timestamp eventTime, long id) {
+
+        String encode() {
+            String raw = eventTime.toLocalDateTime() + "," + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf(',');
+                LocalDateTime eventTime = LocalDateTime.parse(raw.substring(0, separator));
+                long id = Long.parseLong(raw.substring(separator + 1));
+                return new Cursor(Timestamp.valueOf(eventTime), id);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+    }
+}
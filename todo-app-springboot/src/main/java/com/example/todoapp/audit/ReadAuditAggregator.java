@@ -0,0 +1,279 @@
+package com.example.todoapp.audit;
+
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.service.LoggingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * READ操作の監査集約
+ *
+ * AGGREGATEDモードでは、詳細取得の監査を(resourceId, userId)ごとに固定時間ウィンドウで集計し、
+ * ウィンドウ終了後に1件の集約レコード（operation=READ_SUMMARY）として出力する。
+ * PER_EVENTモードでは従来通り1読み取り1レコードとする。
+ * サンプリング率は両モードに適用され、集約時は推定件数（サンプル件数/サンプリング率）も記録する。
+ * モード・ウィンドウ幅・サンプリング率は実行時に変更可能（/admin/audit/read-settings）。
+ */
+@Component
+@Slf4j
+public class ReadAuditAggregator {
+
+    static final String SUMMARY_OPERATION = "READ_SUMMARY";
+    static final String OVERFLOW_RESOURCE_ID = "*";
+
+    // ウィンドウ終了直後に到着した読み取りを取りこぼさないための猶予
+    private static final long FLUSH_GRACE_MILLIS = 1000;
+
+    /**
+     * READ監査モード
+     */
+    public enum Mode {
+        PER_EVENT,
+        AGGREGATED
+    }
+
+    private final LoggingService loggingService;
+    private final int maxKeysPerWindow;
+
+    private volatile Mode mode;
+    private volatile long windowMillis;
+    private volatile double sampleRate;
+
+    private final AtomicReference<Window> currentWindow = new AtomicReference<>();
+    private final ConcurrentLinkedQueue<Window> closedWindows = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder totalReads = new LongAdder();
+    private final LongAdder sampledOutReads = new LongAdder();
+    private final LongAdder emittedSummaries = new LongAdder();
+
+    public ReadAuditAggregator(
+            LoggingService loggingService,
+            @Value("${app.audit.read.mode:PER_EVENT}") Mode mode,
+            @Value("${app.audit.read.window-seconds:60}") long windowSeconds,
+            @Value("${app.audit.read.sample-rate:1.0}") double sampleRate,
+            @Value("${app.audit.read.max-keys-per-window:10000}") int maxKeysPerWindow) {
+        this.loggingService = loggingService;
+        this.maxKeysPerWindow = maxKeysPerWindow;
+        setMode(mode);
+        setWindowSeconds(windowSeconds);
+        setSampleRate(sampleRate);
+    }
+
+    /**
+     * 読み取りを記録
+     *
+     * @return 呼び出し側で個別の監査レコードを出力すべき場合はtrue
+     */
+    public boolean recordRead(String resourceId, String userId) {
+        return recordRead(resourceId, userId, System.currentTimeMillis());
+    }
+
+    boolean recordRead(String resourceId, String userId, long nowMillis) {
+        totalReads.increment();
+        double rate = sampleRate;
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            sampledOutReads.increment();
+            return false;
+        }
+        if (mode == Mode.PER_EVENT) {
+            return true;
+        }
+        windowFor(nowMillis).add(resourceId, userId, 1.0 / rate, maxKeysPerWindow);
+        return false;
+    }
+
+    /**
+     * 終了したウィンドウの集約レコードを出力
+     */
+    @Scheduled(fixedDelayString = "${app.audit.read.flush-interval-ms:1000}")
+    public void flushExpiredWindows() {
+        flushExpiredWindows(System.currentTimeMillis());
+    }
+
+    void flushExpiredWindows(long nowMillis) {
+        Window current = currentWindow.get();
+        if (current != null && nowMillis >= current.end + FLUSH_GRACE_MILLIS
+                && currentWindow.compareAndSet(current, null)) {
+            closedWindows.add(current);
+        }
+
+        Window window;
+        while ((window = closedWindows.peek()) != null && nowMillis >= window.end + FLUSH_GRACE_MILLIS) {
+            closedWindows.poll();
+            emit(window);
+        }
+    }
+
+    /**
+     * 停止時に未出力のウィンドウをすべて出力
+     */
+    @PreDestroy
+    public void flushAll() {
+        Window current = currentWindow.getAndSet(null);
+        if (current != null) {
+            closedWindows.add(current);
+        }
+        Window window;
+        while ((window = closedWindows.poll()) != null) {
+            emit(window);
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode must not be null");
+        }
+        this.mode = mode;
+    }
+
+    public long getWindowSeconds() {
+        return windowMillis / 1000;
+    }
+
+    /**
+     * ウィンドウ幅を変更（次のウィンドウから適用）
+     */
+    public void setWindowSeconds(long windowSeconds) {
+        if (windowSeconds < 1 || windowSeconds > 3600) {
+            throw new IllegalArgumentException("windowSeconds must be between 1 and 3600: " + windowSeconds);
+        }
+        this.windowMillis = windowSeconds * 1000;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        if (!(sampleRate > 0.0 && sampleRate <= 1.0)) {
+            throw new IllegalArgumentException("sampleRate must be in (0, 1]: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * 現在の設定と集計状況を取得
+     */
+    public Map<String, Object> getSettings() {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("mode", mode);
+        settings.put("windowSeconds", getWindowSeconds());
+        settings.put("sampleRate", sampleRate);
+        settings.put("maxKeysPerWindow", maxKeysPerWindow);
+        settings.put("totalReads", totalReads.sum());
+        settings.put("sampledOutReads", sampledOutReads.sum());
+        settings.put("emittedSummaries", emittedSummaries.sum());
+        settings.put("pendingWindows", closedWindows.size() + (currentWindow.get() != null ? 1 : 0));
+        return settings;
+    }
+
+    private Window windowFor(long nowMillis) {
+        while (true) {
+            Window window = currentWindow.get();
+            // 時刻の逆行時は現在のウィンドウに計上する
+            if (window != null && nowMillis < window.end) {
+                return window;
+            }
+            long size = windowMillis;
+            long start = nowMillis - Math.floorMod(nowMillis, size);
+            Window next = new Window(start, start + size);
+            if (currentWindow.compareAndSet(window, next)) {
+                if (window != null) {
+                    closedWindows.add(window);
+                }
+                return next;
+            }
+        }
+    }
+
+    private void emit(Window window) {
+        double rate = sampleRate;
+        String period = toLocalDateTime(window.start) + " - " + toLocalDateTime(window.end);
+        window.counters.forEach((key, counter) -> {
+            long sampled = counter.sampled.sum();
+            long estimated = Math.round(counter.estimated.sum());
+            StringBuilder details = new StringBuilder()
+                    .append("Aggregated reads: ").append(estimated)
+                    .append(" (window ").append(period).append(')');
+            if (sampled != estimated) {
+                details.append(", sampled ").append(sampled).append(" at rate ").append(rate);
+            }
+
+            AuditLogEntry entry = AuditLogEntry.builder()
+                    .timestamp(toLocalDateTime(window.end))
+                    .operation(SUMMARY_OPERATION)
+                    .resourceType("TODO")
+                    .resourceId(key.resourceId())
+                    .userId(key.userId())
+                    .result("SUCCESS")
+                    .details(details.toString())
+                    .build();
+            try {
+                loggingService.logAudit(entry);
+                emittedSummaries.increment();
+            } catch (Exception e) {
+                log.error("Failed to log aggregated read audit for {}", key, e);
+            }
+        });
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record ReadKey(String resourceId, String userId) {
+    }
+
+    private static final class Counter {
+        private final LongAdder sampled = new LongAdder();
+        private final DoubleAdder estimated = new DoubleAdder();
+    }
+
+    /**
+     * 固定時間ウィンドウ
+     */
+    private static final class Window {
+
+        private final long start;
+        private final long end;
+        private final ConcurrentHashMap<ReadKey, Counter> counters = new ConcurrentHashMap<>();
+
+        private Window(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        void add(String resourceId, String userId, double weight, int maxKeys) {
+            ReadKey key = new ReadKey(resourceId, userId);
+            Counter counter = counters.get(key);
+            if (counter == null) {
+                // キー数の上限を超えた場合はユーザー単位の集計にまとめる
+                if (counters.size() >= maxKeys) {
+                    key = new ReadKey(OVERFLOW_RESOURCE_ID, userId);
+                }
+                counter = counters.computeIfAbsent(key, k -> new Counter());
+            }
+            counter.sampled.increment();
+            counter.estimated.add(weight);
+        }
+    }
+}
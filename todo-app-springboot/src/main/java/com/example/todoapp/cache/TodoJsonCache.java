@@ -0,0 +1,155 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.dto.PreSerializedJson;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.util.PageJson;
+import com.example.todoapp.util.TodoMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TodoのシリアライズJSONキャッシュ
+ *
+ * Todoごとに、更新日時（バージョン）とシリアライズ済みのJSONバイト列を保持する。
+ * 読み込んだエンティティのバージョンが一致すればDTOへの変換とシリアライズを省略し、
+ * 一覧はキャッシュした断片とページ情報の断片（{@link PageJson}）を並べるだけで組み立てる。
+ * 不一致・未登録の場合は再利用するObjectWriterでシリアライズしてキャッシュを置き換える。
+ * 更新時は破棄せず、コミット後に更新後のTodoでエントリを置き換える。
+ * 出力はインデントなしの形式とする。
+ */
+@Component
+@Slf4j
+public class TodoJsonCache {
+
+    private static final byte[] SEPARATOR = {','};
+
+    private final ObjectWriter todoWriter;
+    private final Cache<Long, CachedJson> cache;
+
+    public TodoJsonCache(
+            ObjectMapper objectMapper,
+            @Value("${app.json-cache.max-entries:10000}") long maxEntries,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        ObjectMapper compact = objectMapper.copy()
+                .disable(SerializationFeature.INDENT_OUTPUT);
+        // ルートのシリアライザーを事前に解決したWriterを使い回す
+        this.todoWriter = compact.writerFor(TodoResponse.class);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "todoJson");
+        }
+    }
+
+    /**
+     * TodoのJSON
+     */
+    public PreSerializedJson todo(Todo todo) {
+        return PreSerializedJson.of(bytesOf(todo));
+    }
+
+    /**
+     * Todoのページ（{@link PageJson}の形式）のJSON
+     */
+    public PreSerializedJson page(Page<Todo> page) {
+        List<Todo> content = page.getContent();
+        PreSerializedJson.Builder builder = PreSerializedJson.builder(content.size() * 2 + 1);
+        builder.append(PageJson.CONTENT_START);
+        for (int i = 0; i < content.size(); i++) {
+            if (i > 0) {
+                builder.append(SEPARATOR);
+            }
+            builder.append(bytesOf(content.get(i)));
+        }
+        builder.append(PageJson.contentEnd(page));
+        return builder.build();
+    }
+
+    /**
+     * Todoのシリアライズ済みJSON（バージョンが一致すればキャッシュから）
+     */
+    byte[] bytesOf(Todo todo) {
+        if (todo.getId() == null || todo.getUpdatedAt() == null) {
+            return serialize(todo);
+        }
+        long version = versionOf(todo.getUpdatedAt());
+        CachedJson cached = cache.getIfPresent(todo.getId());
+        if (cached != null && cached.version() == version) {
+            return cached.json();
+        }
+        byte[] json = serialize(todo);
+        // 読み込みが前後した場合も新しいバージョンを残す
+        cache.asMap().merge(todo.getId(), new CachedJson(version, json),
+                (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        return json;
+    }
+
+    /**
+     * 更新はコミット後に更新後のTodoのJSONで置き換え（次の読み込みで再シリアライズしない）、削除は破棄する
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        switch (event.type()) {
+            case UPDATED -> bytesOf(event.todo());
+            case DELETED -> cache.invalidate(event.todoId());
+            default -> {
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = cache.stats();
+        return Map.of(
+                "entries", cache.estimatedSize(),
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "hitRate", stats.hitRate());
+    }
+
+    private byte[] serialize(Todo todo) {
+        try {
+            return todoWriter.writeValueAsBytes(TodoMapper.toResponse(todo));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * updatedAtをマイクロ秒に丸めたバージョン（DBのTIMESTAMP精度に合わせる）
+     */
+    static long versionOf(LocalDateTime updatedAt) {
+        return updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000;
+    }
+
+    private record CachedJson(long version, byte[] json) {
+    }
+}
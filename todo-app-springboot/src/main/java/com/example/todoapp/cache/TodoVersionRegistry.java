@@ -0,0 +1,154 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TodoのETag用バージョン管理
+ *
+ * Todoごとのバージョン（楽観的ロックのversion）と一覧全体のバージョンをメモリ上に保持し、
+ * 条件付きGET（If-None-Match）をデータベースへ問い合わせずに判定できるようにする。
+ * バージョンは書き込みのコミット後に{@link TodoChangedEvent}で更新し、
+ * 未登録のTodoは読み込み時に登録する。
+ * コミット前に読み込んだ古いバージョンで上書きしないよう、登録は常に大きい方を残す。
+ * 削除したTodoは墓標（最大値）を一定時間残し、その間は登録を受け付けない。
+ * 件数の上限を超えた場合は使われていないものから破棄する（破棄したTodoは次の読み込みで再登録する）。
+ */
+@Component
+@Slf4j
+public class TodoVersionRegistry {
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final int maxEntries;
+    private final Cache<Long, Long> versions;
+    // 再起動後に以前の一覧ETagと一致しないよう起動時刻から開始
+    private final AtomicLong listVersion = new AtomicLong(System.currentTimeMillis());
+
+    public TodoVersionRegistry(
+            @Value("${app.etag.max-entries:100000}") int maxEntries,
+            @Value("${app.etag.tombstone-ttl-seconds:300}") long tombstoneTtlSeconds) {
+        this.maxEntries = maxEntries;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new TombstoneExpiry(Duration.ofSeconds(tombstoneTtlSeconds).toNanos()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 登録済みのTodoのETag
+     *
+     * @return ETag、未登録または削除済みの場合はnull
+     */
+    public String etagOf(Long id) {
+        Long version = versions.getIfPresent(id);
+        return version != null && version != DELETED ? etag(id, version) : null;
+    }
+
+    /**
+     * 読み込んだTodoのバージョンを登録し、そのTodoのETagを返す
+     */
+    public String register(Todo todo) {
+        long version = todo.getVersion() != null ? todo.getVersion() : 0L;
+        versions.asMap().merge(todo.getId(), version, Math::max);
+        return etag(todo.getId(), version);
+    }
+
+    /**
+     * 一覧・検索結果のETag（いずれかのTodoが変更されると変わる）
+     */
+    public String listEtag() {
+        return "\"L" + Long.toString(listVersion.get(), 36) + "\"";
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.type() == TodoChangedEvent.ChangeType.DELETED) {
+            versions.put(event.todoId(), DELETED);
+            listVersion.incrementAndGet();
+        } else {
+            registerChange(event.todo());
+        }
+    }
+
+    /**
+     * 変更後のTodoのバージョンを登録し、一覧のバージョンを進める
+     * （書き込みを遅延した変更など、コミットを待たずに読み込みへ反映する場合にも使用）
+     */
+    public String registerChange(Todo todo) {
+        String etag = register(todo);
+        listVersion.incrementAndGet();
+        return etag;
+    }
+
+    /**
+     * 全バージョンを破棄（リポジトリを直接更新した場合に使用）
+     */
+    public void invalidateAll() {
+        versions.invalidateAll();
+        listVersion.incrementAndGet();
+        log.info("Todo version registry invalidated");
+    }
+
+    public Map<String, Object> getStatistics() {
+        // 保留中の破棄・期限切れを反映してから件数を数える
+        versions.cleanUp();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("entries", versions.estimatedSize());
+        stats.put("maxEntries", maxEntries);
+        stats.put("evicted", versions.stats().evictionCount());
+        stats.put("listVersion", listVersion.get());
+        return stats;
+    }
+
+    /**
+     * このクラスが発行したTodoのETagからバージョンを取り出す
+     *
+     * @param etag {@link #etagOf(Long)}・{@link #register(Todo)}が返したETag
+     * @return ETagが表すバージョン
+     */
+    public static long versionOf(String etag) {
+        int start = etag.lastIndexOf('-') + 1;
+        int end = etag.endsWith("\"") ? etag.length() - 1 : etag.length();
+        return Long.parseLong(etag.substring(start, end), 36);
+    }
+
+    private static String etag(Long id, long version) {
+        return "\"" + id + "-" + Long.toString(version, 36) + "\"";
+    }
+
+    /**
+     * 墓標のみ一定時間で期限切れにし、バージョンは件数の上限でのみ破棄する
+     */
+    private record TombstoneExpiry(long tombstoneTtlNanos) implements Expiry<Long, Long> {
+
+        @Override
+        public long expireAfterCreate(Long id, Long version, long currentTime) {
+            return version == DELETED ? tombstoneTtlNanos : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Long version, long currentTime, long currentDuration) {
+            return version == DELETED ? tombstoneTtlNanos : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Long version, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
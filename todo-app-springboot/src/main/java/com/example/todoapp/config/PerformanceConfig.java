@@ -1,6 +1,8 @@
 package com.example.todoapp.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -8,7 +10,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
@@ -22,12 +27,15 @@ import java.util.concurrent.TimeUnit;
  * - Asynchronous processing configuration
  * - Thread pool optimization for better performance
  * - Cache management and eviction policies
+ * - Scheduled background maintenance (retention, flushing)
+ * - Virtual-thread execution when spring.threads.virtual.enabled=true on Java 21+
  * 
  * @author System
  */
 @Configuration
 @EnableCaching
 @EnableAsync
+@EnableScheduling
 public class PerformanceConfig {
 
     /**
@@ -108,10 +116,18 @@ public class PerformanceConfig {
      * - Email notifications
      * - Background tasks
      * 
-     * @return configured ThreadPoolTaskExecutor
+     * When virtual threads are active, each task runs on its own virtual thread
+     * and only the number of concurrent tasks is limited.
+     * 
+     * @return configured ThreadPoolTaskExecutor, or a virtual-thread executor
      */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(
+            Environment environment,
+            @Value("${app.async.virtual-concurrency-limit:100}") int virtualConcurrencyLimit) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualTaskExecutor("TodoApp-Async-VT-", virtualConcurrencyLimit, 20);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         
         // Core pool size - minimum threads to keep alive
@@ -147,7 +163,12 @@ public class PerformanceConfig {
      */
     @Bean(name = "productionTaskExecutor")
     @Profile("prod")
-    public Executor productionTaskExecutor() {
+    public Executor productionTaskExecutor(
+            Environment environment,
+            @Value("${app.async.virtual-concurrency-limit:100}") int virtualConcurrencyLimit) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualTaskExecutor("TodoApp-Prod-Async-VT-", virtualConcurrencyLimit, 30);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         
         // Production settings with higher capacity
@@ -164,6 +185,22 @@ public class PerformanceConfig {
         return executor;
     }
 
+    /**
+     * Virtual-thread executor for @Async methods
+     * 
+     * Threads are not pooled; the concurrency limit keeps background work from
+     * exhausting the JDBC connection pool that request handling also depends on.
+     * 
+     * @return SimpleAsyncTaskExecutor backed by virtual threads
+     */
+    private Executor virtualTaskExecutor(String threadNamePrefix, int concurrencyLimit, int terminationSeconds) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(TimeUnit.SECONDS.toMillis(terminationSeconds));
+        return executor;
+    }
+
     /**
      * Development cache manager with debugging features
      * 
@@ -0,0 +1,47 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.dto.PreSerializedJson;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * シリアライズ済みJSON（{@link PreSerializedJson}）を出力するコンバーター
+ *
+ * Jacksonを経由せず、断片をそのまま出力ストリームへ書き込む。書き込み専用。
+ */
+public class PreSerializedJsonHttpMessageConverter extends AbstractHttpMessageConverter<PreSerializedJson> {
+
+    public PreSerializedJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PreSerializedJson.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PreSerializedJson readInternal(Class<? extends PreSerializedJson> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PreSerializedJson is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(PreSerializedJson json, MediaType contentType) {
+        return json.getLength();
+    }
+
+    @Override
+    protected void writeInternal(PreSerializedJson json, HttpOutputMessage outputMessage) throws IOException {
+        json.writeTo(outputMessage.getBody());
+    }
+}
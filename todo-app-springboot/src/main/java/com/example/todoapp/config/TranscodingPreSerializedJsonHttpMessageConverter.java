@@ -0,0 +1,57 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.dto.PreSerializedJson;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+
+/**
+ * シリアライズ済みJSON（{@link PreSerializedJson}）をバイナリ形式（CBOR / Smile）に変換して出力するコンバーター
+ *
+ * JSONの断片をトークン単位で読み、DTOを経由せず出力形式のジェネレーターへそのまま書き写す。
+ * 書き込み専用で、変換後の長さは事前に分からないためContent-Lengthは付けない。
+ */
+public class TranscodingPreSerializedJsonHttpMessageConverter extends AbstractHttpMessageConverter<PreSerializedJson> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonFactory targetFactory;
+
+    public TranscodingPreSerializedJsonHttpMessageConverter(JsonFactory targetFactory, MediaType mediaType) {
+        super(mediaType);
+        this.targetFactory = targetFactory;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PreSerializedJson.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PreSerializedJson readInternal(Class<? extends PreSerializedJson> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PreSerializedJson is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(PreSerializedJson json, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json.openStream());
+             JsonGenerator generator = targetFactory.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            if (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.todoapp.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVCの設定
+ *
+ * JSONに加え、Accept / Content-Typeで application/cbor と application/x-jackson-smile を選択できる。
+ * バイナリ形式はJSONと同じ設定（null値の省略、日付の文字列表現、未知のプロパティは400）とし、JSONより後ろに登録して既定はJSONのままとする。
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * シリアライズ済みJSONのコンバーター（JSON・バイナリ形式）をJacksonより優先して登録し、
+     * 既定のCBOR / Smileコンバーターを同じ設定のものに置き換える
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ObjectMapper cborMapper = binaryMapper(Jackson2ObjectMapperBuilder.cbor());
+        ObjectMapper smileMapper = binaryMapper(Jackson2ObjectMapperBuilder.smile());
+
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(0, new PreSerializedJsonHttpMessageConverter());
+        converters.add(1, new TranscodingPreSerializedJsonHttpMessageConverter(
+                cborMapper.getFactory(), MediaType.APPLICATION_CBOR));
+        converters.add(2, new TranscodingPreSerializedJsonHttpMessageConverter(
+                smileMapper.getFactory(), APPLICATION_SMILE));
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+    }
+
+    private static ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .modulesToInstall(new JavaTimeModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .failOnUnknownProperties(true)
+                .build();
+    }
+}
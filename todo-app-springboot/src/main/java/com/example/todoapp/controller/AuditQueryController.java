@@ -0,0 +1,221 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.audit.AuditSegmentStore;
+import com.example.todoapp.audit.JdbcAuditLogStore;
+import com.example.todoapp.audit.ReadAuditAggregator;
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.dto.AuditLogPage;
+import com.example.todoapp.dto.AuditSearchCriteria;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 監査ログ検索コントローラー
+ * 監査ストア（セグメントストア・audit_logテーブル）に対する
+ * リソース・ユーザー・操作・時刻範囲での検索と、
+ * READ監査（集約・サンプリング）の実行時設定を提供
+ */
+@RestController
+@RequestMapping("/admin/audit")
+@RequiredArgsConstructor
+@Slf4j
+public class AuditQueryController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ObjectProvider<AuditSegmentStore> segmentStore;
+    private final ObjectProvider<JdbcAuditLogStore> jdbcStore;
+    private final ReadAuditAggregator readAuditAggregator;
+
+    /**
+     * 監査ログを検索（新しい順）
+     *
+     * @param resourceType リソース種別
+     * @param resourceId リソースID
+     * @param userId ユーザーID
+     * @param operation 操作種別
+     * @param from 検索開始日時（ISO-8601）
+     * @param to 検索終了日時（ISO-8601）
+     * @param limit 最大取得件数（上限1000）
+     * @return 検索結果、監査ストアが無効の場合は503
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> search(
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String operation,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        AuditSegmentStore store = segmentStore.getIfAvailable();
+        if (store == null) {
+            return storeUnavailable();
+        }
+
+        AuditSearchCriteria criteria = AuditSearchCriteria.builder()
+                .resourceType(resourceType)
+                .resourceId(resourceId)
+                .userId(userId)
+                .operation(operation != null ? operation.toUpperCase() : null)
+                .from(from)
+                .to(to)
+                .limit(Math.min(Math.max(limit, 1), MAX_LIMIT))
+                .build();
+
+        long startTime = System.currentTimeMillis();
+        List<AuditLogEntry> entries = store.search(criteria);
+        long duration = System.currentTimeMillis() - startTime;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("entries", entries);
+        response.put("count", entries.size());
+        response.put("criteria", criteria);
+        response.put("durationMs", duration);
+
+        log.info("Audit search returned {} entries in {}ms", entries.size(), duration);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 監査ストアの統計情報を取得
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        AuditSegmentStore store = segmentStore.getIfAvailable();
+        if (store == null) {
+            return storeUnavailable();
+        }
+        return ResponseEntity.ok(store.getStatistics());
+    }
+
+    /**
+     * audit_logテーブルの監査ログを新しい順に取得（(timestamp, id)によるキーセットページング）
+     *
+     * @param cursor 前ページのレスポンスのnextCursor、先頭ページは未指定
+     * @param limit 1ページの件数（上限1000）
+     * @return ページ、audit_logテーブルが無効の場合は503
+     */
+    @GetMapping("/db")
+    public ResponseEntity<Map<String, Object>> findPage(
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String operation,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        JdbcAuditLogStore store = jdbcStore.getIfAvailable();
+        if (store == null) {
+            return jdbcStoreUnavailable();
+        }
+
+        AuditSearchCriteria criteria = AuditSearchCriteria.builder()
+                .resourceType(resourceType)
+                .resourceId(resourceId)
+                .userId(userId)
+                .operation(operation != null ? operation.toUpperCase() : null)
+                .from(from)
+                .to(to)
+                .limit(Math.min(Math.max(limit, 1), MAX_LIMIT))
+                .build();
+
+        try {
+            AuditLogPage page = store.findPage(criteria, cursor);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("entries", page.getEntries());
+            response.put("count", page.getEntries().size());
+            response.put("nextCursor", page.getNextCursor());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * audit_logテーブル書き込みの統計情報を取得
+     */
+    @GetMapping("/db/stats")
+    public ResponseEntity<Map<String, Object>> getDatabaseStatistics() {
+        JdbcAuditLogStore store = jdbcStore.getIfAvailable();
+        if (store == null) {
+            return jdbcStoreUnavailable();
+        }
+        return ResponseEntity.ok(store.getStatistics());
+    }
+
+    /**
+     * READ監査の設定と集計状況を取得
+     */
+    @GetMapping("/read-settings")
+    public ResponseEntity<Map<String, Object>> getReadSettings() {
+        return ResponseEntity.ok(readAuditAggregator.getSettings());
+    }
+
+    /**
+     * READ監査の設定を変更（指定した項目のみ）
+     * ウィンドウ幅は次のウィンドウから適用される
+     */
+    @PutMapping("/read-settings")
+    public ResponseEntity<Map<String, Object>> updateReadSettings(@RequestBody ReadSettingsRequest request) {
+        try {
+            if (request.getMode() != null) {
+                readAuditAggregator.setMode(ReadAuditAggregator.Mode.valueOf(request.getMode().toUpperCase()));
+            }
+            if (request.getWindowSeconds() != null) {
+                readAuditAggregator.setWindowSeconds(request.getWindowSeconds());
+            }
+            if (request.getSampleRate() != null) {
+                readAuditAggregator.setSampleRate(request.getSampleRate());
+            }
+
+            log.warn("Read audit settings changed: mode={}, windowSeconds={}, sampleRate={}",
+                    readAuditAggregator.getMode(), readAuditAggregator.getWindowSeconds(),
+                    readAuditAggregator.getSampleRate());
+            return ResponseEntity.ok(readAuditAggregator.getSettings());
+
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid read audit settings: {}", request, e);
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Invalid read audit settings: " + e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> storeUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Audit segment store is disabled (app.audit.segment-store.enabled=false)"));
+    }
+
+    private ResponseEntity<Map<String, Object>> jdbcStoreUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Audit log table is disabled (app.audit.jdbc.enabled=false)"));
+    }
+
+    @Data
+    public static class ReadSettingsRequest {
+        private String mode;
+        private Long windowSeconds;
+        private Double sampleRate;
+    }
+}
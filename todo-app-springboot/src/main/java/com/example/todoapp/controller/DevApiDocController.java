@@ -41,12 +41,13 @@ public class DevApiDocController {
         // API endpoints documentation
         List<Map<String, Object>> endpoints = new ArrayList<>();
         
-        endpoints.add(createEndpointDoc("GET", "/api/todos", "Get all todos", "Retrieve all todo items with optional pagination"));
+        endpoints.add(createEndpointDoc("GET", "/api/todos", "Get all todos", "Retrieve all todo items with optional pagination (includeArchived=true also returns archived todos)"));
         endpoints.add(createEndpointDoc("GET", "/api/todos/{id}", "Get todo by ID", "Retrieve a specific todo item by its ID"));
-        endpoints.add(createEndpointDoc("POST", "/api/todos", "Create todo", "Create a new todo item"));
+        endpoints.add(createEndpointDoc("POST", "/api/todos", "Create todo", "Create a new todo item (optional Idempotency-Key header replays the first response)"));
         endpoints.add(createEndpointDoc("PUT", "/api/todos/{id}", "Update todo", "Update an existing todo item"));
+        endpoints.add(createEndpointDoc("PATCH", "/api/todos/{id}", "Patch todo", "Update only the given fields of a todo item (JSON Merge Patch)"));
         endpoints.add(createEndpointDoc("DELETE", "/api/todos/{id}", "Delete todo", "Delete a todo item by its ID"));
-        endpoints.add(createEndpointDoc("GET", "/api/todos/search", "Search todos", "Search todo items with various criteria"));
+        endpoints.add(createEndpointDoc("GET", "/api/todos/search", "Search todos", "Search todo items with various criteria (includeArchived=true also searches archived todos)"));
         
         overview.put("endpoints", endpoints);
         
@@ -1,5 +1,7 @@
 package com.example.todoapp.controller;
 
+import com.example.todoapp.cache.TodoJsonCache;
+import com.example.todoapp.cache.TodoVersionRegistry;
 import com.example.todoapp.entity.Todo;
 import com.example.todoapp.entity.TodoPriority;
 import com.example.todoapp.entity.TodoStatus;
@@ -32,6 +34,13 @@ public class DevDataController {
     @Autowired
     private TodoRepository todoRepository;
 
+    // Repository is updated directly here, so ETag versions and cached JSON are reset after each change
+    @Autowired
+    private TodoVersionRegistry todoVersionRegistry;
+
+    @Autowired
+    private TodoJsonCache todoJsonCache;
+
     /**
      * Get current database statistics
      */
@@ -66,6 +75,9 @@ public class DevDataController {
         loadSampleTodos();
         long newCount = todoRepository.count();
         
+        todoVersionRegistry.invalidateAll();
+        todoJsonCache.invalidateAll();
+        
         Map<String, Object> result = new HashMap<>();
         result.put("message", "Test data reset successfully");
         result.put("deletedCount", deletedCount);
@@ -97,6 +109,9 @@ public class DevDataController {
         
         long afterCount = todoRepository.count();
         
+        todoVersionRegistry.invalidateAll();
+        todoJsonCache.invalidateAll();
+        
         Map<String, Object> result = new HashMap<>();
         result.put("message", "Test data added successfully");
         result.put("beforeCount", beforeCount);
@@ -116,6 +131,9 @@ public class DevDataController {
         long deletedCount = todoRepository.count();
         todoRepository.deleteAll();
         
+        todoVersionRegistry.invalidateAll();
+        todoJsonCache.invalidateAll();
+        
         Map<String, Object> result = new HashMap<>();
         result.put("message", "All data cleared successfully");
         result.put("deletedCount", deletedCount);
@@ -150,6 +168,9 @@ public class DevDataController {
             todoRepository.save(todo);
         }
         
+        todoVersionRegistry.invalidateAll();
+        todoJsonCache.invalidateAll();
+        
         Map<String, Object> result = new HashMap<>();
         result.put("message", "Overdue todos created successfully");
         result.put("createdCount", count);
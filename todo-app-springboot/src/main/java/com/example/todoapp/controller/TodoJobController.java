@@ -0,0 +1,72 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.dto.TodoJobRequest;
+import com.example.todoapp.dto.TodoJobResponse;
+import com.example.todoapp.service.TodoJobService;
+import com.example.todoapp.util.ClientKeys;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Todoの一括処理ジョブAPI
+ * 投入したジョブは202とジョブのURI（Location）を返し、進捗はそのURIをポーリングして取得する
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class TodoJobController {
+
+    private final TodoJobService todoJobService;
+
+    /**
+     * ジョブ投入エンドポイント
+     *
+     * @param request 種別（STATUS_CHANGE, PRIORITY_CHANGE, DELETE）・対象のID・変更後の値
+     * @param httpRequest 投入したクライアント（X-User-ID、未指定の場合は接続元アドレス）の特定に使用
+     * @return 実行待ちのジョブ、202 Acceptedステータス、実行待ちのジョブが上限に達している場合と停止中は503（Retry-After付き）
+     */
+    @PostMapping
+    public ResponseEntity<TodoJobResponse> submitJob(@Valid @RequestBody TodoJobRequest request,
+                                                     HttpServletRequest httpRequest) {
+        log.info("REST API: Submitting {} job for {} todos", request.getType(), request.getIds().size());
+
+        TodoJobResponse job = todoJobService.submit(request, ClientKeys.resolve(httpRequest));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * ジョブの状態・進捗取得エンドポイント
+     *
+     * @param id ジョブのID
+     * @return 状態と進捗（処理件数・処理速度・残り時間の推定）、存在しない場合は404
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<TodoJobResponse> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(todoJobService.get(id));
+    }
+
+    /**
+     * ジョブ取り消しエンドポイント
+     * 実行中のチャンクの完了後に取り消す（処理済みのチャンクは戻さない）
+     *
+     * @param id ジョブのID
+     * @return 取り消しを要求したジョブ（終了済みの場合はその状態）、存在しない場合は404
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<TodoJobResponse> cancelJob(@PathVariable Long id) {
+        log.info("REST API: Cancelling job {}", id);
+        return ResponseEntity.accepted().body(todoJobService.cancel(id));
+    }
+}
@@ -1,28 +1,75 @@
 package com.example.todoapp.controller;
 
+import com.example.todoapp.cache.TodoJsonCache;
+import com.example.todoapp.cache.TodoVersionRegistry;
+import com.example.todoapp.config.WebMvcConfig;
+import com.example.todoapp.dto.PreSerializedJson;
+import com.example.todoapp.dto.TodoDelta;
+import com.example.todoapp.dto.TodoField;
+import com.example.todoapp.dto.TodoMergePatch;
 import com.example.todoapp.dto.TodoRequest;
 import com.example.todoapp.dto.TodoResponse;
 import com.example.todoapp.dto.TodoSearchCriteria;
 import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.exception.PreconditionFailedException;
+import com.example.todoapp.idempotency.IdempotencyStore;
+import com.example.todoapp.service.TodoChangeStreamService;
+import com.example.todoapp.service.TodoDeltaService;
 import com.example.todoapp.service.TodoService;
+import com.example.todoapp.util.ClientKeys;
+import com.example.todoapp.util.ETagUtils;
+import com.example.todoapp.util.SparseTodoJsonWriter;
 import com.example.todoapp.util.TodoMapper;
+import com.example.todoapp.writebehind.TodoStatusWriteBehind;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Todo管理のRESTful APIコントローラー
  * JSON形式でのCRUD操作と検索機能を提供
  * 
+ * 取得系はETagを返し、If-None-Matchが一致する場合はデータベースにアクセスせず304を返す。
+ * 同じURLでもAcceptによりJSON・CBOR・Smileを返すため、ETagは表現ごとに区別し（CBOR / Smileは末尾に形式名を付ける）、
+ * 形式を選択した応答（304を含む）にはVary: Acceptを付ける。If-Matchはいずれの表現のETagでも同じ状態として照合する。
+ * 部分更新はPATCH（JSON Merge Patch）で受け付け、含まれるフィールドの列のみを更新する。
+ * 書き込み遅延が有効な場合、前提条件のないステータスのみのPATCHは保留して202を返し（{@link TodoStatusWriteBehind}）、
+ * 取得系は保留中のステータスを重ねて返す。
+ * 更新・削除はIf-Matchが指定された場合、現在のETagと一致するときのみ、そのバージョンを条件に実行する
+ * （照合後に他の書き込みが先にコミットされた場合も412）。
+ * 一覧・詳細はTodoごとにキャッシュしたシリアライズ済みJSONを並べて返す（{@link TodoJsonCache}）。
+ * 一覧・検索は {"content":[...],"page":{...}} 形式で返し、fieldsパラメータ（例: id,title,status）を
+ * 指定した場合は必要な列だけを問い合わせ、指定フィールドのみを出力する。
+ * 作成はIdempotency-Keyが指定された場合、同じクライアントからの同じキーの再送に最初の応答を返す（{@link IdempotencyStore}）。
+ * 変更の検出はポーリングの代わりに /changes/stream（Server-Sent Events）で購読できる。
+ * 再同期は /delta?since=カーソル で前回以降の作成・更新・削除だけを取得できる。
+ * 一覧・検索は既定でアーカイブしたTodoを含めず、includeArchived=trueの場合のみ併合して返す。
+ * 
  * @author System
  */
 @RestController
@@ -31,33 +78,58 @@ import java.util.List;
 @Slf4j
 public class TodoRestController {
     
+    /**
+     * 応答の形式（コンバーターの登録順）とETagに付ける表現名（JSONは付けない）
+     */
+    private static final Map<MediaType, String> REPRESENTATIONS = representations();
+    
     private final TodoService todoService;
+    private final TodoVersionRegistry todoVersionRegistry;
+    private final TodoJsonCache todoJsonCache;
+    private final TodoChangeStreamService todoChangeStreamService;
+    private final TodoDeltaService todoDeltaService;
+    private final Validator validator;
+    private final TodoStatusWriteBehind todoStatusWriteBehind;
+    private final IdempotencyStore idempotencyStore;
+    private final ContentNegotiationManager contentNegotiationManager;
     
     /**
      * Todo一覧取得エンドポイント
      * ページング対応でTodoの一覧をJSON形式で返却
      * 
      * @param pageable ページング情報（page, size, sort）
-     * @return ページング対応のTodo一覧レスポンス
+     * @param fields 出力するフィールド（カンマ区切り、省略時は全フィールド）
+     * @param includeArchived アーカイブしたTodoも含めるか
+     * @param ifNoneMatch 前回取得時のETag
+     * @return ページング対応のTodo一覧レスポンス、変更がない場合は304
      */
     @GetMapping
-    public ResponseEntity<Page<TodoResponse>> getAllTodos(Pageable pageable) {
-        log.info("REST API: Getting all todos with pagination: {}", pageable);
+    public ResponseEntity<PreSerializedJson> getAllTodos(
+            Pageable pageable,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<TodoField> selected = TodoField.parse(fields);
+        // 問い合わせ前に取得（問い合わせ中の変更は次回の不一致で検出される）
+        String etag = representationEtag(todoVersionRegistry.listEtag());
+        if (ETagUtils.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        log.info("REST API: Getting all todos with pagination: {}, includeArchived: {}", pageable, includeArchived);
         
-        Page<Todo> todoPage = todoService.findAll(pageable);
-        List<TodoResponse> responseList = TodoMapper.toResponseList(todoPage.getContent());
-        Page<TodoResponse> responsePage = new PageImpl<>(
-            responseList, 
-            pageable, 
-            todoPage.getTotalElements()
-        );
+        TodoSearchCriteria criteria = new TodoSearchCriteria();
+        criteria.setIncludeArchived(includeArchived);
+        if (!TodoField.isAll(selected)) {
+            return ok(etag).body(sparsePage(criteria, selected, pageable));
+        }
+        Page<Todo> todoPage = includeArchived ? todoService.search(criteria, pageable) : todoService.findAll(pageable);
         
         log.info("REST API: Returning {} todos in page {} of {}", 
-                responsePage.getNumberOfElements(), 
-                responsePage.getNumber(), 
-                responsePage.getTotalPages());
+                todoPage.getNumberOfElements(), 
+                todoPage.getNumber(), 
+                todoPage.getTotalPages());
         
-        return ResponseEntity.ok(responsePage);
+        return ok(etag).body(todoJsonCache.page(todoPage.map(todoStatusWriteBehind::overlay)));
     }
     
     /**
@@ -65,17 +137,24 @@ public class TodoRestController {
      * 指定されたIDのTodoの詳細情報をJSON形式で返却
      * 
      * @param id TodoのID
-     * @return Todo詳細レスポンス、存在しない場合は404
+     * @param ifNoneMatch 前回取得時のETag
+     * @return Todo詳細レスポンス、変更がない場合は304、存在しない場合は404
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TodoResponse> getTodoById(@PathVariable Long id) {
+    public ResponseEntity<PreSerializedJson> getTodoById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String knownEtag = representationEtag(todoVersionRegistry.etagOf(id));
+        if (knownEtag != null && ETagUtils.matchesIfNoneMatch(ifNoneMatch, knownEtag)) {
+            return notModified(knownEtag);
+        }
         log.info("REST API: Getting todo by id: {}", id);
         
-        Todo todo = todoService.findById(id);
-        TodoResponse response = TodoMapper.toResponse(todo);
+        Todo todo = todoStatusWriteBehind.overlay(todoService.findById(id));
+        String etag = representationEtag(todoVersionRegistry.register(todo));
         
         log.info("REST API: Found todo with id: {}", id);
-        return ResponseEntity.ok(response);
+        return ok(etag).body(todoJsonCache.todo(todo));
     }
     
     /**
@@ -83,12 +162,24 @@ public class TodoRestController {
      * 新しいTodoを作成し、作成されたTodoの情報をJSON形式で返却
      * 
      * @param request Todo作成リクエスト
-     * @return 作成されたTodo情報、201 Createdステータス
+     * @param idempotencyKey 再送の識別キー（指定時は同じクライアントからの同じキーの再送に最初の応答を返す）
+     * @param httpRequest クライアント（X-User-ID、未指定の場合は接続元アドレス）の識別に使用
+     * @return 作成されたTodo情報、201 Createdステータス（再送の場合はIdempotent-Replayed: true付き）
      */
     @PostMapping
-    public ResponseEntity<TodoResponse> createTodo(@Valid @RequestBody TodoRequest request) {
+    public ResponseEntity<TodoResponse> createTodo(
+            @Valid @RequestBody TodoRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest) {
         log.info("REST API: Creating new todo with title: {}", request.getTitle());
-        
+        if (idempotencyKey != null) {
+            return negotiated(idempotencyStore.execute(ClientKeys.resolve(httpRequest), idempotencyKey, request,
+                    TodoResponse.class, () -> create(request)));
+        }
+        return negotiated(create(request));
+    }
+    
+    private ResponseEntity<TodoResponse> create(TodoRequest request) {
         Todo createdTodo = todoService.create(request);
         TodoResponse response = TodoMapper.toResponse(createdTodo);
         
@@ -96,7 +187,9 @@ public class TodoRestController {
         URI location = URI.create("/api/todos/" + createdTodo.getId());
         
         log.info("REST API: Created todo with id: {}", createdTodo.getId());
-        return ResponseEntity.created(location).body(response);
+        return ResponseEntity.created(location)
+                .eTag(todoVersionRegistry.register(createdTodo))
+                .body(response);
     }
     
     /**
@@ -105,19 +198,68 @@ public class TodoRestController {
      * 
      * @param id 更新対象のTodoのID
      * @param request Todo更新リクエスト
-     * @return 更新されたTodo情報、200 OKステータス
+     * @param ifMatch 更新の前提とするETag（省略時は無条件に更新）
+     * @return 更新されたTodo情報、200 OKステータス、ETag不一致の場合は412
      */
     @PutMapping("/{id}")
     public ResponseEntity<TodoResponse> updateTodo(
             @PathVariable Long id, 
-            @Valid @RequestBody TodoRequest request) {
+            @Valid @RequestBody TodoRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("REST API: Updating todo with id: {}", id);
+        Long ifMatchVersion = checkIfMatch(id, ifMatch);
+        todoStatusWriteBehind.flushPending(id);
         
-        Todo updatedTodo = todoService.update(id, request);
+        // 本文のversionを優先し（不一致は409）、なければIf-Matchのバージョンを条件にする（不一致は412）
+        Long conditionalVersion = request.getVersion() == null ? ifMatchVersion : null;
+        if (conditionalVersion != null) {
+            request.setVersion(conditionalVersion);
+        }
+        Todo updatedTodo = whenMatched(id, conditionalVersion, () -> todoService.update(id, request));
         TodoResponse response = TodoMapper.toResponse(updatedTodo);
         
         log.info("REST API: Updated todo with id: {}", id);
-        return ResponseEntity.ok(response);
+        return ok(representationEtag(todoVersionRegistry.register(updatedTodo))).body(response);
+    }
+    
+    /**
+     * Todo部分更新エンドポイント
+     * JSON Merge Patch（RFC 7396）で指定されたフィールドのみを検証し、その列だけを更新する
+     * 
+     * @param id 更新対象のTodoのID
+     * @param patch 変更するフィールドのみを含むJSONオブジェクト（nullは説明・期限の削除）
+     * @param ifMatch 更新の前提とするETag（省略時は無条件に更新）
+     * @return 更新されたTodo情報、200 OKステータス（書き込みを遅延した場合は202）、ETag不一致の場合は412、version不一致の場合は409
+     */
+    @PatchMapping(path = "/{id}", consumes = {TodoMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TodoResponse> patchTodo(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TodoMergePatch mergePatch = TodoMergePatch.parse(patch, validator);
+        log.info("REST API: Patching todo with id: {} fields: {}", id, mergePatch.getChanges().keySet());
+        Long ifMatchVersion = checkIfMatch(id, ifMatch);
+        
+        if (ifMatch == null && mergePatch.getVersion() == null && mergePatch.getChanges().size() == 1
+                && mergePatch.getChanges().get("status") instanceof TodoStatus status
+                && todoStatusWriteBehind.isEnabled()) {
+            Todo pendingTodo = todoStatusWriteBehind.enqueue(todoService.findById(id), status);
+            if (pendingTodo != null) {
+                log.info("REST API: Accepted status change of todo with id: {} for write-behind", id);
+                return ResponseEntity.accepted()
+                        .eTag(representationEtag(todoVersionRegistry.register(pendingTodo)))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(TodoMapper.toResponse(pendingTodo));
+            }
+        }
+        todoStatusWriteBehind.flushPending(id);
+        // 本文のversionを優先し（不一致は409）、なければIf-Matchのバージョンを条件にする（不一致は412）
+        Long conditionalVersion = mergePatch.getVersion() == null ? ifMatchVersion : null;
+        Todo patchedTodo = whenMatched(id, conditionalVersion, () -> todoService.patch(id, mergePatch.getChanges(),
+                mergePatch.getVersion() != null ? mergePatch.getVersion() : conditionalVersion));
+        
+        log.info("REST API: Patched todo with id: {}", id);
+        return ok(representationEtag(todoVersionRegistry.register(patchedTodo))).body(TodoMapper.toResponse(patchedTodo));
     }
     
     /**
@@ -125,13 +267,21 @@ public class TodoRestController {
      * 指定されたIDのTodoを削除
      * 
      * @param id 削除対象のTodoのID
-     * @return 204 No Contentステータス
+     * @param ifMatch 削除の前提とするETag（省略時は無条件に削除）
+     * @return 204 No Contentステータス、ETag不一致の場合は412
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTodo(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteTodo(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("REST API: Deleting todo with id: {}", id);
+        Long ifMatchVersion = checkIfMatch(id, ifMatch);
+        todoStatusWriteBehind.flushPending(id);
         
-        todoService.delete(id);
+        whenMatched(id, ifMatchVersion, () -> {
+            todoService.delete(id, ifMatchVersion);
+            return null;
+        });
         
         log.info("REST API: Deleted todo with id: {}", id);
         return ResponseEntity.noContent().build();
@@ -144,19 +294,33 @@ public class TodoRestController {
      * @param keyword 検索キーワード（タイトルまたは説明に含まれる文字列）
      * @param status ステータスフィルター
      * @param priority 優先度フィルター
-     * @return 検索結果のTodo一覧
+     * @param pageable ページング情報（page, size, sort）
+     * @param fields 出力するフィールド（カンマ区切り、省略時は全フィールド）
+     * @param includeArchived アーカイブしたTodoも含めるか
+     * @param ifNoneMatch 前回取得時のETag
+     * @return ページング対応の検索結果、変更がない場合は304
      */
     @GetMapping("/search")
-    public ResponseEntity<List<TodoResponse>> searchTodos(
+    public ResponseEntity<PreSerializedJson> searchTodos(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String priority) {
+            @RequestParam(required = false) String priority,
+            Pageable pageable,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<TodoField> selected = TodoField.parse(fields);
+        String etag = representationEtag(todoVersionRegistry.listEtag());
+        if (ETagUtils.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
         log.info("REST API: Searching todos with keyword: {}, status: {}, priority: {}", 
                 keyword, status, priority);
         
         // 検索条件DTOを作成
         TodoSearchCriteria criteria = new TodoSearchCriteria();
         criteria.setKeyword(keyword);
+        criteria.setIncludeArchived(includeArchived);
         
         // ステータス文字列をEnumに変換
         if (status != null && !status.trim().isEmpty()) {
@@ -178,10 +342,181 @@ public class TodoRestController {
             }
         }
         
-        List<Todo> searchResults = todoService.search(criteria);
-        List<TodoResponse> responseList = TodoMapper.toResponseList(searchResults);
+        if (!TodoField.isAll(selected)) {
+            return ok(etag).body(sparsePage(criteria, selected, pageable));
+        }
+        Page<Todo> searchResults = todoService.search(criteria, pageable);
+        
+        log.info("REST API: Found {} todos matching search criteria", searchResults.getTotalElements());
+        return ok(etag).body(todoJsonCache.page(searchResults.map(todoStatusWriteBehind::overlay)));
+    }
+    
+    /**
+     * 差分同期エンドポイント
+     * カーソルより後に作成・更新されたTodoと、削除されたTodoのIDを返す。
+     * hasMoreがtrueの間は返されたカーソルで続けて取得し、以降の同期では最後のカーソルを指定する。
+     * 
+     * @param since 前回の同期で返されたカーソル（省略時は全件）
+     * @param limit 返す変更の最大件数
+     * @return 差分と次回のカーソル、カーソルが古すぎる場合は410（sinceなしで取得し直す）
+     */
+    @GetMapping("/delta")
+    public ResponseEntity<TodoDelta> getDelta(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        log.info("REST API: Getting delta since cursor: {}", since);
+        
+        TodoDelta delta = todoDeltaService.findChangesSince(since, limit);
         
-        log.info("REST API: Found {} todos matching search criteria", responseList.size());
-        return ResponseEntity.ok(responseList);
+        log.info("REST API: Returning delta with {} changed and {} deleted todos (hasMore: {})",
+                delta.getChanged().size(), delta.getDeleted().size(), delta.isHasMore());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(delta);
+    }
+    
+    /**
+     * Todo変更の購読エンドポイント（Server-Sent Events）
+     * 作成・更新・削除のコミット後に change イベント（IDはシーケンス番号）を配信する。
+     * Last-Event-IDを指定すると、その番号より後の変更から再送する。
+     * 再送できない場合や受信が遅れた場合は reset イベントを送るため、一覧を再取得すること。
+     * 
+     * @param lastEventId 最後に受信したイベントのID
+     * @return イベントストリーム、購読者数が上限に達している場合は503
+     */
+    @GetMapping(path = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = todoChangeStreamService.subscribe(lastEventId);
+        if (emitter == null) {
+            log.warn("REST API: Change stream subscriber limit reached");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        log.info("REST API: Change stream subscribed (Last-Event-ID: {})", lastEventId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+    
+    /**
+     * 指定フィールドの列のみを問い合わせ、そのフィールドだけのページJSONを返す
+     */
+    private PreSerializedJson sparsePage(TodoSearchCriteria criteria, Set<TodoField> fields, Pageable pageable) {
+        Page<Map<String, Object>> rows = todoService.search(criteria, fields, pageable);
+        log.info("REST API: Returning {} todos with fields {}", rows.getNumberOfElements(), fields);
+        return SparseTodoJsonWriter.page(rows.map(todoStatusWriteBehind::overlay), fields);
+    }
+    
+    /**
+     * If-Matchが指定されている場合、現在のETagと一致しなければ412とする
+     * （未登録の場合のみ読み込んで登録する）
+     * 
+     * @return 一致したETagのバージョン（書き込みの条件にする）、If-Matchがないか「*」の場合はnull
+     */
+    private Long checkIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String currentEtag = todoVersionRegistry.etagOf(id);
+        if (currentEtag == null) {
+            currentEtag = todoVersionRegistry.register(todoService.findById(id));
+        }
+        if (!matchesAnyRepresentation(ifMatch, currentEtag)) {
+            throw new PreconditionFailedException(id, representationEtag(currentEtag));
+        }
+        return "*".equals(ifMatch.trim()) ? null : TodoVersionRegistry.versionOf(currentEtag);
+    }
+    
+    /**
+     * If-Matchのバージョンを条件にした書き込みを実行し、照合後に他の書き込みが先にコミットされていた場合は412とする
+     */
+    private <T> T whenMatched(Long id, Long ifMatchVersion, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatchVersion == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException(id,
+                    representationEtag(todoVersionRegistry.register(todoService.findById(id))));
+        }
+    }
+    
+    /**
+     * If-Matchの照合（JSON・CBOR・SmileのいずれのETagも同じ状態を表す）
+     */
+    private static boolean matchesAnyRepresentation(String ifMatch, String etag) {
+        if (ETagUtils.matchesIfMatch(ifMatch, etag)) {
+            return true;
+        }
+        for (String representation : REPRESENTATIONS.values()) {
+            if (representation != null
+                    && ETagUtils.matchesIfMatch(ifMatch, ETagUtils.withRepresentation(etag, representation))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * このリクエストのAcceptで選択される表現のETag
+     */
+    private String representationEtag(String etag) {
+        return ETagUtils.withRepresentation(etag, representation());
+    }
+    
+    /**
+     * Acceptで選択される表現名（コンバーターと同じく、優先度の高い受け入れ可能な形式から登録順に選ぶ）
+     *
+     * @return CBOR / Smileの場合は表現名、JSON（既定）の場合と選択できない場合はnull
+     */
+    private String representation() {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        List<MediaType> acceptable;
+        try {
+            acceptable = contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return null;
+        }
+        for (MediaType accepted : acceptable) {
+            for (Map.Entry<MediaType, String> representation : REPRESENTATIONS.entrySet()) {
+                if (accepted.isCompatibleWith(representation.getKey())) {
+                    return representation.getValue();
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 形式を選択した応答のETagをその表現のものにし、Vary: Acceptを付ける
+     */
+    private <T> ResponseEntity<T> negotiated(ResponseEntity<T> response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        if (headers.getETag() != null) {
+            headers.setETag(representationEtag(headers.getETag()));
+        }
+        headers.setVary(List.of(HttpHeaders.ACCEPT));
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+    
+    private static ResponseEntity.BodyBuilder ok(String etag) {
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT);
+    }
+    
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+    }
+    
+    private static Map<MediaType, String> representations() {
+        Map<MediaType, String> representations = new LinkedHashMap<>();
+        representations.put(MediaType.APPLICATION_JSON, null);
+        representations.put(MediaType.APPLICATION_CBOR, "cbor");
+        representations.put(WebMvcConfig.APPLICATION_SMILE, "smile");
+        return representations;
     }
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.trace.RequestTracer;
+import com.example.todoapp.trace.TraceRecord;
+import com.example.todoapp.trace.TraceSpan;
+import com.example.todoapp.trace.VirtualThreadPinningMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * リクエストトレース参照コントローラー
+ * 保持中の遅いリクエスト・失敗したリクエストの一覧と、
+ * 個別トレースのスパン（JSONまたはテキストのウォーターフォール表示）、
+ * 仮想スレッド有効時のピン留め発生箇所を提供
+ */
+@RestController
+@RequestMapping("/admin/traces")
+@RequiredArgsConstructor
+public class TraceController {
+
+    private static final int MAX_LIMIT = 1000;
+    private static final int WATERFALL_WIDTH = 40;
+
+    private final RequestTracer requestTracer;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+
+    /**
+     * 保持中のトレース一覧（スパンを含まない概要）
+     *
+     * @param type slowest（所要時間の長い順）、errors（新しい順）、all（両方を所要時間の長い順）
+     * @param limit 最大取得件数（上限1000）
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> list(
+            @RequestParam(defaultValue = "slowest") String type,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        List<TraceRecord> traces;
+        switch (type.toLowerCase()) {
+            case "slowest" -> traces = requestTracer.getSlowest();
+            case "errors" -> traces = requestTracer.getErrors();
+            case "all" -> {
+                traces = new ArrayList<>(requestTracer.getSlowest());
+                traces.addAll(requestTracer.getErrors());
+                traces.sort(Comparator.comparingLong(TraceRecord::durationMicros).reversed());
+            }
+            default -> {
+                return ResponseEntity.badRequest().body(Map.of("error", "Unknown type: " + type));
+            }
+        }
+
+        List<Map<String, Object>> summaries = traces.stream()
+                .limit(Math.min(Math.max(limit, 1), MAX_LIMIT))
+                .map(this::toSummary)
+                .toList();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("type", type.toLowerCase());
+        response.put("count", summaries.size());
+        response.put("traces", summaries);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * トレースの詳細（スパンを含む）
+     */
+    @GetMapping("/{traceId}")
+    public ResponseEntity<TraceRecord> getTrace(@PathVariable String traceId) {
+        return requestTracer.findTrace(traceId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * トレースのウォーターフォール表示
+     */
+    @GetMapping(value = "/{traceId}/waterfall", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getWaterfall(@PathVariable String traceId) {
+        return requestTracer.findTrace(traceId)
+                .map(trace -> ResponseEntity.ok(renderWaterfall(trace)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * トレーサーの統計情報
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        return ResponseEntity.ok(requestTracer.getStatistics());
+    }
+
+    /**
+     * 仮想スレッドのピン留め発生箇所
+     *
+     * @return 集計結果、仮想スレッドが無効の場合は503
+     */
+    @GetMapping("/pinning")
+    public ResponseEntity<Map<String, Object>> getPinning() {
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        if (monitor == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Virtual threads are not enabled"));
+        }
+        return ResponseEntity.ok(monitor.getStatistics());
+    }
+
+    private Map<String, Object> toSummary(TraceRecord trace) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("traceId", trace.traceId());
+        summary.put("method", trace.method());
+        summary.put("uri", trace.uri());
+        summary.put("status", trace.status());
+        summary.put("startTime", trace.startTime());
+        summary.put("durationMicros", trace.durationMicros());
+        summary.put("errored", trace.errored());
+        summary.put("spanCount", trace.spans().size());
+        summary.put("jdbcMicros", trace.spans().stream()
+                .filter(span -> "JDBC".equals(span.layer()))
+                .mapToLong(TraceSpan::durationMicros)
+                .sum());
+        return summary;
+    }
+
+    /**
+     * 各スパンを「開始オフセット・所要時間・階層付きの名前・タイムライン上の位置」の1行で表示
+     */
+    static String renderWaterfall(TraceRecord trace) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(trace.method()).append(' ').append(trace.uri())
+                .append(" -> ").append(trace.status())
+                .append(" (").append(trace.durationMicros()).append("us)");
+        if (trace.error() != null) {
+            sb.append(" error=").append(trace.error());
+        }
+        sb.append('\n');
+
+        long total = Math.max(trace.durationMicros(), 1);
+        for (TraceSpan span : trace.spans()) {
+            int from = (int) Math.min(WATERFALL_WIDTH - 1, span.offsetMicros() * WATERFALL_WIDTH / total);
+            int length = (int) Math.max(1, Math.min(WATERFALL_WIDTH - from, span.durationMicros() * WATERFALL_WIDTH / total));
+            sb.append(String.format("%8dus %8dus  |", span.offsetMicros(), span.durationMicros()))
+                    .append(" ".repeat(from))
+                    .append("#".repeat(length))
+                    .append(" ".repeat(WATERFALL_WIDTH - from - length))
+                    .append("|  ")
+                    .append("  ".repeat(span.depth()))
+                    .append(span.layer()).append(' ').append(span.name());
+            if (span.error() != null) {
+                sb.append("  !! ").append(span.error());
+            }
+            sb.append('\n');
+        }
+        if (trace.droppedSpans() > 0) {
+            sb.append("(").append(trace.droppedSpans()).append(" spans dropped)\n");
+        }
+        return sb.toString();
+    }
+}
@@ -117,6 +117,16 @@ public class AuditLogEntry {
         return message.toString();
     }
     
+    /**
+     * ログ引数として渡された場合の文字列表現
+     * パターンレイアウトでは{@link #toLogMessage()}と同じ内容を出力し、
+     * JSONエンコーダーではこの変換自体が行われない
+     */
+    @Override
+    public String toString() {
+        return toLogMessage();
+    }
+    
     /**
      * 成功した操作のための簡易ファクトリメソッド
      */
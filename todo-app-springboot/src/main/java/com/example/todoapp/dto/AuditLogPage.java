@@ -0,0 +1,25 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 監査ログのページ
+ * キーセットページングの結果と、次ページ取得用のカーソルを保持する
+ */
+@Data
+@AllArgsConstructor
+public class AuditLogPage {
+
+    /**
+     * 監査エントリ（新しい順）
+     */
+    private List<AuditLogEntry> entries;
+
+    /**
+     * 次ページのカーソル（最終ページの場合はnull）
+     */
+    private String nextCursor;
+}
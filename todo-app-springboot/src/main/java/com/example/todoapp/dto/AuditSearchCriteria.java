@@ -0,0 +1,65 @@
+package com.example.todoapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 監査ログ検索条件
+ * 監査ストアに対する絞り込み条件を保持する（未指定の項目は条件に含めない）
+ */
+@Data
+@Builder
+public class AuditSearchCriteria {
+
+    /**
+     * リソース種別（TODO等）
+     */
+    private String resourceType;
+
+    /**
+     * リソースID
+     */
+    private String resourceId;
+
+    /**
+     * ユーザーID
+     */
+    private String userId;
+
+    /**
+     * 操作種別（CREATE, READ, UPDATE, DELETE, SEARCH）
+     */
+    private String operation;
+
+    /**
+     * 検索開始日時（この日時以降）
+     */
+    private LocalDateTime from;
+
+    /**
+     * 検索終了日時（この日時以前）
+     */
+    private LocalDateTime to;
+
+    /**
+     * 最大取得件数
+     */
+    @Builder.Default
+    private int limit = 100;
+
+    /**
+     * 指定されたエントリが条件に一致するかを判定
+     */
+    public boolean matches(AuditLogEntry entry) {
+        return matchesValue(resourceType, entry.getResourceType())
+                && matchesValue(resourceId, entry.getResourceId())
+                && matchesValue(userId, entry.getUserId())
+                && matchesValue(operation, entry.getOperation());
+    }
+
+    private static boolean matchesValue(String expected, String actual) {
+        return expected == null || expected.equals(actual);
+    }
+}
@@ -136,6 +136,16 @@ public class PerformanceLogEntry {
         return message.toString();
     }
     
+    /**
+     * ログ引数として渡された場合の文字列表現
+     * パターンレイアウトでは{@link #toLogMessage()}と同じ内容を出力し、
+     * JSONエンコーダーではこの変換自体が行われない
+     */
+    @Override
+    public String toString() {
+        return toLogMessage();
+    }
+    
     /**
      * バイト数を人間が読みやすい形式にフォーマット
      */
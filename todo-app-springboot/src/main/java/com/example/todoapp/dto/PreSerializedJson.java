@@ -0,0 +1,91 @@
+package com.example.todoapp.dto;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * シリアライズ済みJSONの断片の並び
+ *
+ * レスポンスとして返すと、断片を連結せずそのまま順に出力ストリームへ書き込む。
+ * 断片は共有されたキャッシュの配列を含むため、書き込み後も変更しないこと。
+ */
+public final class PreSerializedJson {
+
+    private final List<byte[]> fragments;
+    private final long length;
+
+    private PreSerializedJson(List<byte[]> fragments, long length) {
+        this.fragments = fragments;
+        this.length = length;
+    }
+
+    /**
+     * 単一のJSON値
+     */
+    public static PreSerializedJson of(byte[] json) {
+        return new PreSerializedJson(List.of(json), json.length);
+    }
+
+    public static Builder builder(int expectedFragments) {
+        return new Builder(expectedFragments);
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        for (byte[] fragment : fragments) {
+            out.write(fragment);
+        }
+    }
+
+    /**
+     * 断片を順に読み出す入力ストリーム（別形式への変換用、断片は複製しない）
+     */
+    public InputStream openStream() {
+        List<InputStream> streams = new ArrayList<>(fragments.size());
+        fragments.forEach(fragment -> streams.add(new ByteArrayInputStream(fragment)));
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    /**
+     * 連結したJSON（テスト・ログ用）
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder((int) length);
+        fragments.forEach(fragment -> sb.append(new String(fragment, StandardCharsets.UTF_8)));
+        return sb.toString();
+    }
+
+    /**
+     * 断片を順に追加するビルダー
+     */
+    public static final class Builder {
+
+        private final List<byte[]> fragments;
+        private long length;
+
+        private Builder(int expectedFragments) {
+            this.fragments = new ArrayList<>(expectedFragments);
+        }
+
+        public Builder append(byte[] fragment) {
+            fragments.add(fragment);
+            length += fragment.length;
+            return this;
+        }
+
+        public PreSerializedJson build() {
+            return new PreSerializedJson(fragments, length);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 差分同期の結果
+ * カーソル以降に作成・更新されたTodoと削除されたTodoのID、次回の同期に使うカーソルを保持する
+ */
+@Data
+@AllArgsConstructor
+public class TodoDelta {
+
+    /**
+     * 作成・更新されたTodo（更新日時の古い順）
+     */
+    private List<TodoResponse> changed;
+
+    /**
+     * 削除されたTodo（削除日時の古い順）
+     */
+    private List<Deleted> deleted;
+
+    /**
+     * 次回のsinceに指定するカーソル
+     */
+    private String cursor;
+
+    /**
+     * 取得件数の上限に達したため、続きがあるか
+     */
+    private boolean hasMore;
+
+    /**
+     * 削除されたTodo
+     *
+     * @param id TodoのID
+     * @param deletedAt 削除日時
+     */
+    public record Deleted(Long id, @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime deletedAt) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.todoapp.dto;
+
+import com.example.todoapp.exception.BusinessException;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * レスポンスで選択できるTodoのフィールド（fieldsパラメータ）
+ *
+ * JSONのプロパティ名と、値の取得元となるエンティティの属性名を対応付ける。
+ * 表示名のフィールドはステータス・優先度の列から導出する。並び順は{@link TodoResponse}と同じ。
+ */
+public enum TodoField {
+
+    ID("id", "id"),
+    TITLE("title", "title"),
+    DESCRIPTION("description", "description"),
+    STATUS("status", "status"),
+    STATUS_DISPLAY_NAME("statusDisplayName", "status"),
+    PRIORITY("priority", "priority"),
+    PRIORITY_DISPLAY_NAME("priorityDisplayName", "priority"),
+    DUE_DATE("dueDate", "dueDate"),
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt"),
+    VERSION("version", "version");
+
+    private static final Set<TodoField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TodoField.class));
+
+    private final String jsonName;
+    private final String attribute;
+
+    TodoField(String jsonName, String attribute) {
+        this.jsonName = jsonName;
+        this.attribute = attribute;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * カンマ区切りのフィールド指定を解析する
+     * 未指定・空の場合は全フィールド
+     *
+     * @throws BusinessException 未知のフィールドが含まれる場合
+     */
+    public static Set<TodoField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<TodoField> selected = EnumSet.noneOf(TodoField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(fromJsonName(trimmed));
+            }
+        }
+        return selected.isEmpty() ? ALL : selected;
+    }
+
+    /**
+     * 全フィールドが選択されているか
+     */
+    public static boolean isAll(Set<TodoField> fields) {
+        return fields.size() == ALL.size();
+    }
+
+    /**
+     * 選択したフィールドの値に必要なエンティティの属性名（重複なし）
+     */
+    public static Set<String> attributesOf(Set<TodoField> fields) {
+        Set<String> attributes = new LinkedHashSet<>();
+        fields.forEach(field -> attributes.add(field.attribute));
+        return attributes;
+    }
+
+    /**
+     * 並び替えに使える属性名かどうか
+     */
+    public static boolean isAttribute(String attribute) {
+        for (TodoField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TodoField fromJsonName(String name) {
+        for (TodoField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new BusinessException("Unknown field: " + name, "INVALID_FIELDS");
+    }
+}
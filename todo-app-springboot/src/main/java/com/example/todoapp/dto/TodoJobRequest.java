@@ -0,0 +1,40 @@
+package com.example.todoapp.dto;
+
+import com.example.todoapp.entity.TodoJobType;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 一括処理ジョブの投入リクエスト
+ * 種別に応じてstatus（STATUS_CHANGE）またはpriority（PRIORITY_CHANGE）を指定する
+ */
+@Data
+public class TodoJobRequest {
+
+    /**
+     * 種別
+     */
+    @NotNull(message = "種別は必須項目です")
+    private TodoJobType type;
+
+    /**
+     * 対象のTodoのID
+     */
+    @NotEmpty(message = "対象のIDを1件以上指定してください")
+    private List<Long> ids;
+
+    /**
+     * 変更後のステータス（STATUS_CHANGEの場合）
+     */
+    private TodoStatus status;
+
+    /**
+     * 変更後の優先度（PRIORITY_CHANGEの場合）
+     */
+    private TodoPriority priority;
+}
@@ -0,0 +1,76 @@
+package com.example.todoapp.dto;
+
+import com.example.todoapp.entity.TodoJobState;
+import com.example.todoapp.entity.TodoJobType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDateTime;
+
+/**
+ * 一括処理ジョブの状態と進捗
+ * 実行中のジョブはメモリ上の進捗から、それ以外はジョブテーブルから組み立てる
+ */
+@Data
+@Builder
+@Jacksonized
+public class TodoJobResponse {
+
+    private Long id;
+
+    private TodoJobType type;
+
+    /**
+     * 変更後の値（削除の場合はnull）
+     */
+    private String targetValue;
+
+    private TodoJobState state;
+
+    /**
+     * 対象件数
+     */
+    private int total;
+
+    /**
+     * 処理済みの件数（チャンク単位で進む）
+     */
+    private int processed;
+
+    /**
+     * 実際に更新・削除した件数（存在しないIDは含まない）
+     */
+    private int affected;
+
+    /**
+     * 進捗率（0〜100）
+     */
+    private double percent;
+
+    /**
+     * 開始からの処理速度（件/秒、実行中のみ）
+     */
+    private Double throughputPerSecond;
+
+    /**
+     * 残りの推定秒数（実行中で処理速度が求まる場合のみ）
+     */
+    private Long etaSeconds;
+
+    private boolean cancelRequested;
+
+    private String message;
+
+    private String requestedBy;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedAt;
+}
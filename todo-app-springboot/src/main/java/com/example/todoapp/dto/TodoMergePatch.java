@@ -0,0 +1,126 @@
+package com.example.todoapp.dto;
+
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.exception.BusinessException;
+import com.example.todoapp.validation.ValidationGroups;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Todoの部分更新リクエスト（JSON Merge Patch, RFC 7396）
+ *
+ * 含まれるプロパティだけを変更対象とし、nullは値の削除（説明・期限のみ可）を表す。
+ * 検証は含まれるプロパティだけを{@link TodoRequest}の制約（更新グループ）で行う。
+ * versionは変更対象ではなく、更新の前提とするバージョンとして扱う。
+ */
+public final class TodoMergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final Map<String, Object> changes;
+    private final Long version;
+
+    private TodoMergePatch(Map<String, Object> changes, Long version) {
+        this.changes = Collections.unmodifiableMap(changes);
+        this.version = version;
+    }
+
+    /**
+     * リクエストボディを解析し、含まれるプロパティを検証する
+     *
+     * @param body リクエストボディ（JSONオブジェクト）
+     * @param validator 制約の検証に使うValidator
+     * @throws BusinessException オブジェクトでない、未知のプロパティ、型・形式の誤り、削除できないプロパティのnull
+     * @throws ConstraintViolationException 制約を満たさない値が含まれる場合
+     */
+    public static TodoMergePatch parse(JsonNode body, Validator validator) {
+        if (body == null || !body.isObject()) {
+            throw new BusinessException("Merge patch must be a JSON object", "INVALID_PATCH");
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Long version = null;
+        var fields = body.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+            switch (name) {
+                case "title" -> changes.put(name, text(name, value));
+                case "description" -> changes.put(name, value.isNull() ? null : text(name, value));
+                case "status" -> changes.put(name, enumValue(TodoStatus.class, name, value));
+                case "priority" -> changes.put(name, enumValue(TodoPriority.class, name, value));
+                case "dueDate" -> changes.put(name, value.isNull() ? null : date(name, value));
+                case "version" -> version = value.isNull() ? null : number(name, value);
+                default -> throw new BusinessException("Unknown or read-only property: " + name, "INVALID_PATCH");
+            }
+        }
+
+        Set<ConstraintViolation<TodoRequest>> violations = new HashSet<>();
+        changes.forEach((name, value) -> violations.addAll(
+                validator.validateValue(TodoRequest.class, name, value, ValidationGroups.Update.class)));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return new TodoMergePatch(changes, version);
+    }
+
+    /**
+     * 変更する属性名と値（パッチに含まれる順）
+     */
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+
+    /**
+     * 更新の前提とするバージョン（未指定の場合はnull）
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    private static String text(String name, JsonNode value) {
+        if (!value.isTextual()) {
+            throw invalid(name, "a string");
+        }
+        return value.textValue();
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name, JsonNode value) {
+        try {
+            return Enum.valueOf(type, text(name, value));
+        } catch (IllegalArgumentException e) {
+            throw invalid(name, "one of " + Arrays.toString(type.getEnumConstants()));
+        }
+    }
+
+    private static LocalDate date(String name, JsonNode value) {
+        try {
+            return LocalDate.parse(text(name, value));
+        } catch (DateTimeParseException e) {
+            throw invalid(name, "a date (yyyy-MM-dd)");
+        }
+    }
+
+    private static Long number(String name, JsonNode value) {
+        if (!value.canConvertToLong() || !value.isIntegralNumber()) {
+            throw invalid(name, "an integer");
+        }
+        return value.longValue();
+    }
+
+    private static BusinessException invalid(String name, String expected) {
+        return new BusinessException("Property '" + name + "' must be " + expected, "INVALID_PATCH");
+    }
+}
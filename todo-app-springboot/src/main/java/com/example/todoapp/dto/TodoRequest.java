@@ -46,6 +46,11 @@ public class TodoRequest {
     @NotPastDate(message = "期限は今日以降の日付を指定してください", groups = {ValidationGroups.Create.class, ValidationGroups.Update.class})
     private LocalDate dueDate;
     
+    /**
+     * 更新の前提とするバージョン（任意、指定時は一致する場合のみ更新し、不一致は409）
+     */
+    private Long version;
+    
     /**
      * デフォルトコンストラクタ
      */
@@ -94,6 +99,10 @@ public class TodoRequest {
         return dueDate;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
     // Setter methods
     
     public void setTitle(String title) {
@@ -116,6 +125,10 @@ public class TodoRequest {
         this.dueDate = dueDate;
     }
     
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -125,12 +138,13 @@ public class TodoRequest {
                Objects.equals(description, that.description) &&
                status == that.status &&
                priority == that.priority &&
-               Objects.equals(dueDate, that.dueDate);
+               Objects.equals(dueDate, that.dueDate) &&
+               Objects.equals(version, that.version);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(title, description, status, priority, dueDate);
+        return Objects.hash(title, description, status, priority, dueDate, version);
     }
     
     @Override
@@ -141,6 +155,7 @@ public class TodoRequest {
                 ", status=" + status +
                 ", priority=" + priority +
                 ", dueDate=" + dueDate +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
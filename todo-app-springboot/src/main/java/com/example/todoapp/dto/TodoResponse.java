@@ -69,6 +69,11 @@ public class TodoResponse {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime updatedAt;
     
+    /**
+     * バージョン（更新時にリクエストのversionへ指定する）
+     */
+    private Long version;
+    
     /**
      * デフォルトコンストラクタ
      */
@@ -144,6 +149,10 @@ public class TodoResponse {
         return updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
     // Setter methods
     
     public void setId(Long id) {
@@ -188,6 +197,10 @@ public class TodoResponse {
         this.updatedAt = updatedAt;
     }
     
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -214,6 +227,7 @@ public class TodoResponse {
                 ", dueDate=" + dueDate +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
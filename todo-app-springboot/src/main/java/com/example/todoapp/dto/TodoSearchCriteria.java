@@ -55,6 +55,11 @@ public class TodoSearchCriteria {
      */
     private LocalDate createdTo;
     
+    /**
+     * アーカイブしたTodo（todo_archive）も対象にするか（既定はtodoテーブルのみ）
+     */
+    private boolean includeArchived;
+    
     /**
      * デフォルトコンストラクタ
      */
@@ -146,6 +151,10 @@ public class TodoSearchCriteria {
         return createdTo;
     }
     
+    public boolean isIncludeArchived() {
+        return includeArchived;
+    }
+    
     // Setter methods
     
     public void setKeyword(String keyword) {
@@ -176,6 +185,10 @@ public class TodoSearchCriteria {
         this.createdTo = createdTo;
     }
     
+    public void setIncludeArchived(boolean includeArchived) {
+        this.includeArchived = includeArchived;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -187,12 +200,13 @@ public class TodoSearchCriteria {
                Objects.equals(dueDateFrom, that.dueDateFrom) &&
                Objects.equals(dueDateTo, that.dueDateTo) &&
                Objects.equals(createdFrom, that.createdFrom) &&
-               Objects.equals(createdTo, that.createdTo);
+               Objects.equals(createdTo, that.createdTo) &&
+               includeArchived == that.includeArchived;
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(keyword, status, priority, dueDateFrom, dueDateTo, createdFrom, createdTo);
+        return Objects.hash(keyword, status, priority, dueDateFrom, dueDateTo, createdFrom, createdTo, includeArchived);
     }
     
     @Override
@@ -205,6 +219,7 @@ public class TodoSearchCriteria {
                 ", dueDateTo=" + dueDateTo +
                 ", createdFrom=" + createdFrom +
                 ", createdTo=" + createdTo +
+                ", includeArchived=" + includeArchived +
                 '}';
     }
 }
\ No newline at end of file
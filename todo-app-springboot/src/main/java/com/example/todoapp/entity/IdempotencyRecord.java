@@ -0,0 +1,142 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * クライアントとIdempotency-Keyの組ごとに記録した最初の実行の応答
+ *
+ * 応答と同じトランザクションで記録し、同じキーの再送には処理を再実行せずこの応答を返す。
+ * 有効期限を過ぎたものは定期的に削除する。
+ * 既存の記録を上書きしないよう、保存は常に新規の挿入として扱う（キーの重複は一意制約違反になる）。
+ */
+@Entity
+@Table(name = "idempotency_record",
+    indexes = {
+        @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at")
+    }
+)
+public class IdempotencyRecord implements Persistable<String> {
+
+    /**
+     * クライアントのキーとIdempotency-Keyを改行で連結したキー
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 200)
+    private String idempotencyKey;
+
+    /**
+     * リクエスト本文のハッシュ（同じキーで異なるリクエストが送られた場合の検出用）
+     */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status_code", nullable = false)
+    private int statusCode;
+
+    @Column(name = "location", length = 255)
+    private String location;
+
+    @Column(name = "etag", length = 100)
+    private String etag;
+
+    @Column(name = "body", length = 8000)
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Transient
+    private boolean loaded;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    public IdempotencyRecord() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param idempotencyKey クライアントのキーとIdempotency-Keyを改行で連結したキー
+     * @param requestHash リクエスト本文のハッシュ
+     * @param statusCode 応答のステータスコード
+     * @param location 応答のLocationヘッダー
+     * @param etag 応答のETagヘッダー
+     * @param body 応答の本文（JSON）
+     * @param createdAt 記録日時
+     * @param expiresAt 有効期限
+     */
+    public IdempotencyRecord(String idempotencyKey, String requestHash, int statusCode, String location, String etag,
+                             String body, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.statusCode = statusCode;
+        this.location = location;
+        this.etag = etag;
+        this.body = body;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !loaded;
+    }
+
+    @PostLoad
+    void markLoaded() {
+        this.loaded = true;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+                "idempotencyKey='" + idempotencyKey + '\'' +
+                ", statusCode=" + statusCode +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.todoapp.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -11,19 +14,30 @@ import java.util.Objects;
 /**
  * Todoエンティティクラス
  * 
+ * versionは楽観的ロック用で、更新のたびに1増える。
+ * 更新文は変更された列のみを含める（{@link DynamicUpdate}）。
+ * 削除はdeleted_atを設定する論理削除で、論理削除済みの行はすべての読み込み・問い合わせから除外する（{@link SQLRestriction}）。
+ * 論理削除済みの行は差分同期の削除の記録を兼ね、一定時間後にバッチで物理削除する（{@code TodoPurgeService}）。
+ * H2には部分インデックスがないため、既存のインデックスにdeleted_atは加えない。論理削除済みの行は短時間で物理削除され
+ * 少数に保たれるので、除外の条件はステータス・期限のインデックスで絞り込んだ行への追加の判定で済む。
+ * 
  * @author System
  */
 @Entity
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 @Table(name = "todo", 
     indexes = {
         @Index(name = "idx_todo_status", columnList = "status"),
         @Index(name = "idx_todo_priority", columnList = "priority"),
         @Index(name = "idx_todo_due_date", columnList = "due_date"),
         @Index(name = "idx_todo_created_at", columnList = "created_at"),
+        @Index(name = "idx_todo_updated_at_id", columnList = "updated_at, id"),
         @Index(name = "idx_todo_status_priority", columnList = "status, priority"),
         @Index(name = "idx_todo_status_due_date", columnList = "status, due_date"),
         @Index(name = "idx_todo_title_search", columnList = "title"),
-        @Index(name = "idx_todo_composite_search", columnList = "status, due_date, priority")
+        @Index(name = "idx_todo_composite_search", columnList = "status, due_date, priority"),
+        @Index(name = "idx_todo_deleted_at_id", columnList = "deleted_at, id")
     }
 )
 public class Todo {
@@ -57,6 +71,14 @@ public class Todo {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+    
     /**
      * デフォルトコンストラクタ
      */
@@ -123,6 +145,14 @@ public class Todo {
         return updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    
     // Setter methods
     
     public void setId(Long id) {
@@ -157,6 +187,14 @@ public class Todo {
         this.updatedAt = updatedAt;
     }
     
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -181,6 +219,7 @@ public class Todo {
                 ", dueDate=" + dueDate +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
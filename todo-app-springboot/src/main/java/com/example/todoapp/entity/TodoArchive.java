@@ -0,0 +1,108 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * アーカイブしたTodo（todo_archive）
+ *
+ * 完了から一定期間を過ぎたTodoをtodoテーブルから移したもの。IDと各列の値はtodoのものをそのまま引き継ぐ。
+ * 列は{@link Todo}と同じにし、includeArchivedの検索でtodoとUNION ALLできるようにする。
+ * 既定の一覧・検索は対象とせず、includeArchivedを指定した場合のみ読み込むため、インデックスは検索条件の主なものに限る。
+ */
+@Entity
+@Table(name = "todo_archive",
+    indexes = {
+        @Index(name = "idx_todo_archive_status_priority", columnList = "status, priority"),
+        @Index(name = "idx_todo_archive_archived_at", columnList = "archived_at")
+    }
+)
+public class TodoArchive {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "title", nullable = false, length = 100)
+    private String title;
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TodoStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false)
+    private TodoPriority priority;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    public TodoArchive() {
+    }
+
+    /**
+     * アーカイブ時点の内容を持つTodo（永続化コンテキストに属さない）
+     */
+    public Todo toTodo() {
+        Todo todo = new Todo(title, description, status, priority);
+        todo.setId(id);
+        todo.setDueDate(dueDate);
+        todo.setCreatedAt(createdAt);
+        todo.setUpdatedAt(updatedAt);
+        todo.setVersion(version);
+        return todo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TodoArchive that = (TodoArchive) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "TodoArchive{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", status=" + status +
+                ", updatedAt=" + updatedAt +
+                ", archivedAt=" + archivedAt +
+                '}';
+    }
+}
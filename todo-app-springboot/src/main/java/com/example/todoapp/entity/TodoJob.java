@@ -0,0 +1,186 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 一括処理ジョブの状態
+ *
+ * 投入時に記録し、チャンクごとに処理件数を更新する。対象のIDは保持しないため、
+ * 再起動時に実行待ち・実行中だったジョブは中断（INTERRUPTED）として記録し、再開はしない。
+ */
+@Entity
+@Table(name = "todo_job",
+    indexes = {
+        @Index(name = "idx_todo_job_state", columnList = "state")
+    }
+)
+public class TodoJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 32)
+    private TodoJobType type;
+
+    /**
+     * 変更後の値（ステータス・優先度の名前、削除の場合はnull）
+     */
+    @Column(name = "target_value", length = 32)
+    private String targetValue;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 16)
+    private TodoJobState state;
+
+    @Column(name = "total", nullable = false)
+    private int total;
+
+    @Column(name = "processed", nullable = false)
+    private int processed;
+
+    /**
+     * 実際に更新・削除した件数（存在しないIDは含まない）
+     */
+    @Column(name = "affected", nullable = false)
+    private int affected;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    @Column(name = "message", length = 500)
+    private String message;
+
+    /**
+     * 投入したクライアント（X-User-ID、未指定の場合は接続元アドレス）
+     */
+    @Column(name = "requested_by", length = 80)
+    private String requestedBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    public TodoJob() {
+    }
+
+    /**
+     * コンストラクタ（実行待ちとして作成）
+     *
+     * @param type 種別
+     * @param targetValue 変更後の値
+     * @param total 対象件数
+     * @param requestedBy 投入したクライアント
+     * @param createdAt 投入日時
+     */
+    public TodoJob(TodoJobType type, String targetValue, int total, String requestedBy, LocalDateTime createdAt) {
+        this.type = type;
+        this.targetValue = targetValue;
+        this.state = TodoJobState.QUEUED;
+        this.total = total;
+        this.requestedBy = requestedBy;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public TodoJobType getType() {
+        return type;
+    }
+
+    public String getTargetValue() {
+        return targetValue;
+    }
+
+    public TodoJobState getState() {
+        return state;
+    }
+
+    public void setState(TodoJobState state) {
+        this.state = state;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getRequestedBy() {
+        return requestedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoJob{" +
+                "id=" + id +
+                ", type=" + type +
+                ", state=" + state +
+                ", processed=" + processed +
+                "/" + total +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.todoapp.entity;
+
+/**
+ * 一括処理ジョブの状態
+ */
+public enum TodoJobState {
+
+    /**
+     * 実行待ち
+     */
+    QUEUED,
+
+    /**
+     * 実行中
+     */
+    RUNNING,
+
+    /**
+     * 全件を処理して終了
+     */
+    SUCCEEDED,
+
+    /**
+     * エラーで終了（エラーまでのチャンクは反映済み）
+     */
+    FAILED,
+
+    /**
+     * 取り消しにより終了（取り消しまでのチャンクは反映済み）
+     */
+    CANCELLED,
+
+    /**
+     * 停止・再起動により中断（中断までのチャンクは反映済み）
+     */
+    INTERRUPTED;
+
+    /**
+     * 終了した状態か
+     */
+    public boolean isFinished() {
+        return this != QUEUED && this != RUNNING;
+    }
+}
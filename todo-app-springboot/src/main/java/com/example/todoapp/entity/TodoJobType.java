@@ -0,0 +1,22 @@
+package com.example.todoapp.entity;
+
+/**
+ * 一括処理ジョブの種別
+ */
+public enum TodoJobType {
+
+    /**
+     * ステータスの一括変更
+     */
+    STATUS_CHANGE,
+
+    /**
+     * 優先度の一括変更
+     */
+    PRIORITY_CHANGE,
+
+    /**
+     * 一括削除
+     */
+    DELETE
+}
@@ -0,0 +1,111 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Todo変更の送信待ちイベント（トランザクショナルアウトボックス）
+ *
+ * Todoの変更と同じトランザクションで記録し、リレーが後から送信先へ配信する。
+ * 配信済みの行はpublished_atを設定し、保持期間後に削除する。
+ * lease_untilは配信中の行の貸出期限で、期限切れの行は再配信の対象になる。
+ */
+@Entity
+@Table(name = "todo_outbox",
+    indexes = {
+        @Index(name = "idx_todo_outbox_published_at_id", columnList = "published_at, id")
+    }
+)
+public class TodoOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "todo_id", nullable = false)
+    private Long todoId;
+
+    @Column(name = "event_type", nullable = false, length = 16)
+    private String eventType;
+
+    @Column(name = "payload", length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    public TodoOutboxEvent() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param todoId 変更されたTodoのID
+     * @param eventType 変更種別（CREATED, UPDATED, DELETED）
+     * @param payload 変更後のTodoのJSON（削除時はnull）
+     * @param createdAt 記録日時
+     */
+    public TodoOutboxEvent(Long todoId, String eventType, String payload, LocalDateTime createdAt) {
+        this.todoId = todoId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoOutboxEvent{" +
+                "id=" + id +
+                ", todoId=" + todoId +
+                ", eventType='" + eventType + '\'' +
+                ", createdAt=" + createdAt +
+                ", attempts=" + attempts +
+                ", publishedAt=" + publishedAt +
+                '}';
+    }
+}
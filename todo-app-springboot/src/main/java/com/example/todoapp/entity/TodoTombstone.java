@@ -0,0 +1,74 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 削除済みTodoの記録（トゥームストーン）
+ *
+ * 差分同期（/api/todos/delta）で削除をクライアントへ伝えるため、削除と同じトランザクションで記録する。
+ * 保持期間を過ぎたものは定期的に削除する。
+ */
+@Entity
+@Table(name = "todo_tombstone",
+    indexes = {
+        @Index(name = "idx_todo_tombstone_deleted_at_id", columnList = "deleted_at, todo_id")
+    }
+)
+public class TodoTombstone {
+
+    @Id
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    public TodoTombstone() {
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param todoId 削除したTodoのID
+     * @param deletedAt 削除日時
+     */
+    public TodoTombstone(Long todoId, LocalDateTime deletedAt) {
+        this.todoId = todoId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TodoTombstone that = (TodoTombstone) o;
+        return Objects.equals(todoId, that.todoId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(todoId);
+    }
+
+    @Override
+    public String toString() {
+        return "TodoTombstone{" +
+                "todoId=" + todoId +
+                ", deletedAt=" + deletedAt +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.todoapp.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 変更ログ（{@link TodoChangeLog}）の1件
+ *
+ * @param sequence 変更ログ内で単調増加するシーケンス番号
+ * @param type 変更種別
+ * @param todoId TodoのID
+ * @param updatedAt 変更後の更新日時（削除時はnull）
+ * @param recordedAt 変更ログへの記録日時
+ */
+public record TodoChange(long sequence, TodoChangedEvent.ChangeType type, Long todoId,
+                         LocalDateTime updatedAt, LocalDateTime recordedAt) {
+}
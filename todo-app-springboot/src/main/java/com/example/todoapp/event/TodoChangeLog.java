@@ -0,0 +1,124 @@
+package com.example.todoapp.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Todoの変更ログ（メモリ上のリングバッファ）
+ *
+ * 作成・更新・削除のコミット後に{@link TodoChangedEvent}を受けて記録し、シーケンス番号を採番する。
+ * 書き込みはシーケンス番号の取得とスロットへの格納のみでロックを使わず、読み出しは任意のスレッドから
+ * 指定した番号以降を取り出せる。容量を超えた古い変更は上書きされ、その範囲の読み出しは欠落として通知する。
+ * 再起動後に以前の番号と重ならないよう、番号は起動時刻（ミリ秒 × 1000）から開始する。
+ */
+@Component
+@Slf4j
+public class TodoChangeLog {
+
+    private final AtomicReferenceArray<TodoChange> slots;
+    private final int mask;
+    private final long initialSequence;
+    private final AtomicLong sequence;
+    private final List<Runnable> appendListeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public TodoChangeLog(@Value("${app.change-stream.log-capacity:4096}") int requestedCapacity) {
+        this(requestedCapacity, System.currentTimeMillis() * 1000);
+    }
+
+    TodoChangeLog(int requestedCapacity, long initialSequence) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.initialSequence = initialSequence;
+        this.sequence = new AtomicLong(initialSequence);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        append(event.type(), event.todoId(), event.todo() != null ? event.todo().getUpdatedAt() : null);
+    }
+
+    /**
+     * 変更を記録し、追記の通知先を呼び出す
+     *
+     * @return 採番したシーケンス番号
+     */
+    public long append(TodoChangedEvent.ChangeType type, Long todoId, LocalDateTime updatedAt) {
+        long next = sequence.incrementAndGet();
+        slots.set((int) (next & mask), new TodoChange(next, type, todoId, updatedAt, LocalDateTime.now()));
+        for (Runnable listener : appendListeners) {
+            listener.run();
+        }
+        return next;
+    }
+
+    /**
+     * 追記のたびに（追記したスレッドで）呼び出す処理を登録する。処理はブロックしないこと
+     */
+    public void addAppendListener(Runnable listener) {
+        appendListeners.add(listener);
+    }
+
+    /**
+     * 最後に採番したシーケンス番号（未採番の場合は開始番号）
+     */
+    public long getLastSequence() {
+        return sequence.get();
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * 指定した番号より後の変更を番号順に最大件数まで取り出す
+     * 採番済みで未格納の変更があればその手前までとする。
+     *
+     * @param after 取得済みの最後のシーケンス番号
+     * @param maxChanges 最大件数
+     * @return 取り出した変更。{@code after}の直後から連続して取り出せない場合は欠落あり
+     */
+    public Slice readAfter(long after, int maxChanges) {
+        long last = sequence.get();
+        if (after > last || after < initialSequence || last - after > slots.length()) {
+            return Slice.TRUNCATED;
+        }
+        List<TodoChange> changes = new ArrayList<>((int) Math.min(maxChanges, last - after));
+        for (long next = after + 1; next <= last && changes.size() < maxChanges; next++) {
+            TodoChange change = slots.get((int) (next & mask));
+            if (change == null || change.sequence() < next) {
+                // 番号取得済みで未格納の書き込みは次回に回す
+                break;
+            }
+            if (change.sequence() > next) {
+                // 読み出し中に上書きされた
+                return Slice.TRUNCATED;
+            }
+            changes.add(change);
+        }
+        return new Slice(changes, false);
+    }
+
+    /**
+     * 取り出した変更
+     *
+     * @param changes 番号順の変更
+     * @param truncated 要求した位置の変更がすでに上書きされている（または番号が不正）
+     */
+    public record Slice(List<TodoChange> changes, boolean truncated) {
+
+        static final Slice TRUNCATED = new Slice(List.of(), true);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.todoapp.event;
+
+import com.example.todoapp.entity.Todo;
+
+/**
+ * Todoの変更イベント
+ *
+ * TodoServiceが作成・更新・削除時に発行する。
+ * コミット後に処理するリスナーは{@code @TransactionalEventListener(phase = AFTER_COMMIT)}で受信すること。
+ *
+ * @param type 変更種別
+ * @param todoId TodoのID
+ * @param todo 変更後のTodo（削除時はnull）
+ */
+public record TodoChangedEvent(ChangeType type, Long todoId, Todo todo) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static TodoChangedEvent created(Todo todo) {
+        return new TodoChangedEvent(ChangeType.CREATED, todo.getId(), todo);
+    }
+
+    public static TodoChangedEvent updated(Todo todo) {
+        return new TodoChangedEvent(ChangeType.UPDATED, todo.getId(), todo);
+    }
+
+    public static TodoChangedEvent deleted(Long todoId) {
+        return new TodoChangedEvent(ChangeType.DELETED, todoId, null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.todoapp.exception;
+
+/**
+ * 差分同期のカーソルが削除記録の保持期間より古く、差分を返せない場合にスローされる例外
+ * クライアントはsinceを指定せずに全件を取得し直す
+ */
+public class CursorExpiredException extends RuntimeException {
+
+    public CursorExpiredException(long retentionDays) {
+        super("Cursor is older than the " + retentionDays + "-day deletion history; resync without 'since'");
+    }
+}
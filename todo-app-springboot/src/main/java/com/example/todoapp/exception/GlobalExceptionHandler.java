@@ -5,6 +5,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -52,6 +54,95 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
     
+    /**
+     * TodoJobNotFoundException の処理
+     * 404 Not Found を返却
+     */
+    @ExceptionHandler(TodoJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTodoJobNotFoundException(TodoJobNotFoundException e) {
+        logger.warn("Job not found: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            e.getMessage(),
+            getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+    
+    /**
+     * TodoJobRejectedException の処理
+     * 503 Service Unavailable を返却（Retry-Afterを設定）
+     */
+    @ExceptionHandler(TodoJobRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTodoJobRejectedException(TodoJobRejectedException e) {
+        logger.warn("Job rejected: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            e.getMessage(),
+            getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+    
+    /**
+     * IdempotencyKeyException の処理
+     * 409 Conflict（処理中）または 422 Unprocessable Entity（異なるリクエストでのキーの再利用）を返却
+     */
+    @ExceptionHandler(IdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyException(IdempotencyKeyException e) {
+        logger.warn("Idempotency key rejected: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            e.getStatus().value(),
+            e.getMessage(),
+            getRequestURI()
+        );
+        
+        return ResponseEntity.status(e.getStatus()).body(errorResponse);
+    }
+    
+    /**
+     * PreconditionFailedException の処理
+     * 412 Precondition Failed を返却（現在のETagをヘッダーに設定）
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException e) {
+        logger.warn("Precondition failed: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.PRECONDITION_FAILED.value(),
+            e.getMessage(),
+            getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(e.getCurrentEtag())
+                .body(errorResponse);
+    }
+    
+    /**
+     * CursorExpiredException の処理
+     * 410 Gone を返却（クライアントは全件を取得し直す）
+     */
+    @ExceptionHandler(CursorExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleCursorExpiredException(CursorExpiredException e) {
+        logger.warn("Delta cursor expired: {}", e.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.GONE.value(),
+            e.getMessage(),
+            getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.GONE).body(errorResponse);
+    }
+
     /**
      * BusinessException の処理
      * 400 Bad Request を返却
@@ -216,6 +307,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
     
+    /**
+     * 楽観的ロックの競合（バージョン不一致）の処理
+     * 409 Conflict を返却（クライアントは最新を取得し直してから更新する）
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        logger.warn("Optimistic locking conflict: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            e.getMessage(),
+            getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+    
     /**
      * データ整合性違反エラーの処理
      * 409 Conflict を返却
@@ -0,0 +1,21 @@
+package com.example.todoapp.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Idempotency-Keyの再送を処理できない場合にスローされる例外
+ * 同じキーの最初のリクエストが処理中の場合は409、異なるリクエストに同じキーを使った場合は422とする
+ */
+public class IdempotencyKeyException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public IdempotencyKeyException(String message, HttpStatus status) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
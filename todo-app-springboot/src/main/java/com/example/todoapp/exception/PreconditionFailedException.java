@@ -0,0 +1,18 @@
+package com.example.todoapp.exception;
+
+/**
+ * If-Matchで指定されたETagが現在のリソースと一致しない場合にスローされる例外
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private final String currentEtag;
+
+    public PreconditionFailedException(Long id, String currentEtag) {
+        super("Todo has been modified since it was read: " + id);
+        this.currentEtag = currentEtag;
+    }
+
+    public String getCurrentEtag() {
+        return currentEtag;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.todoapp.exception;
+
+/**
+ * 一括処理ジョブが見つからない場合にスローされる例外
+ */
+public class TodoJobNotFoundException extends RuntimeException {
+
+    public TodoJobNotFoundException(Long id) {
+        super("Job not found with id: " + id);
+    }
+}
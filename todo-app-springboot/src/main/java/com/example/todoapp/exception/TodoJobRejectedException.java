@@ -0,0 +1,19 @@
+package com.example.todoapp.exception;
+
+/**
+ * 一括処理ジョブを受け付けられない場合（停止中・実行待ちのジョブが上限に達している場合）にスローされる例外
+ * 503とし、Retry-Afterで再投入までの秒数を示す
+ */
+public class TodoJobRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TodoJobRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
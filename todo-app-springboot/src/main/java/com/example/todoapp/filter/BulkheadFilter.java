@@ -0,0 +1,293 @@
+package com.example.todoapp.filter;
+
+import com.example.todoapp.limit.Bulkhead;
+import com.example.todoapp.trace.ActiveTrace;
+import com.example.todoapp.trace.RequestTracer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ルートグループごとのバルクヘッドフィルター
+ *
+ * /api/todos/search と /api/** は非同期サーブレット処理を開始してDispatcherServletの実行を
+ * 専用スレッドプールへ移し、Tomcatのスレッドは画面表示やヘルスチェックのために空けておく。
+ * /admin/** と /dev/** はTomcatのスレッド上で同時実行数のみを制限する。どの区画にも属さないパスは制限しない。
+ * 長時間接続を保持するストリーム（Server-Sent Events）は自身で非同期処理を開始するため、除外パスとして区画に入れない。
+ * 区画が満杯の場合は待たせずに503（Retry-After付き）を返す。
+ *
+ * Tomcatのフィルターチェーンは元のスレッドが戻った時点で再利用されるため、このフィルターは最後に実行し、
+ * 区画のスレッドではDispatcherServletを直接呼び出す。MDCとリクエストトレースは区画のスレッドへ引き継ぐ。
+ * 組み込みWebサーバー以外（MockMvc等）では非同期の受け渡しができないため、
+ * 専用スレッドプールの区画も呼び出し元スレッドで同時実行数のみを制限して実行する。
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "app.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class BulkheadFilter implements Filter {
+
+    private static final byte[] REJECTED_BODY =
+            "{\"status\":503,\"message\":\"Server is busy, please retry later\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final List<Partition> partitions;
+    private final List<PathPattern> excludePatterns;
+    private final ObjectProvider<DispatcherServlet> dispatcherServlet;
+    private final RequestTracer requestTracer;
+    private final boolean asyncDispatch;
+    private final String retryAfterSeconds;
+    private final Duration shutdownTimeout;
+
+    @Autowired
+    public BulkheadFilter(
+            @Value("${app.bulkhead.search.patterns:/api/todos/search}") String[] searchPatterns,
+            @Value("${app.bulkhead.search.threads:2}") int searchThreads,
+            @Value("${app.bulkhead.search.queue-capacity:20}") int searchQueue,
+            @Value("${app.bulkhead.api.patterns:/api/**}") String[] apiPatterns,
+            @Value("${app.bulkhead.api.threads:6}") int apiThreads,
+            @Value("${app.bulkhead.api.queue-capacity:100}") int apiQueue,
+            @Value("${app.bulkhead.admin.patterns:/admin/**}") String[] adminPatterns,
+            @Value("${app.bulkhead.admin.max-concurrent:4}") int adminMaxConcurrent,
+            @Value("${app.bulkhead.dev.patterns:/dev/**}") String[] devPatterns,
+            @Value("${app.bulkhead.dev.max-concurrent:4}") int devMaxConcurrent,
+            @Value("${app.bulkhead.exclude-patterns:/api/todos/changes/stream}") String[] excludePatterns,
+            @Value("${app.bulkhead.retry-after-seconds:1}") int retryAfterSeconds,
+            @Value("${app.bulkhead.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds,
+            ApplicationContext applicationContext,
+            ObjectProvider<DispatcherServlet> dispatcherServlet,
+            RequestTracer requestTracer,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(List.of(
+                        new Partition(Bulkhead.threadPool("search", searchThreads, searchQueue), parsePatterns(searchPatterns)),
+                        new Partition(Bulkhead.threadPool("api", apiThreads, apiQueue), parsePatterns(apiPatterns)),
+                        new Partition(Bulkhead.semaphore("admin", adminMaxConcurrent), parsePatterns(adminPatterns)),
+                        new Partition(Bulkhead.semaphore("dev", devMaxConcurrent), parsePatterns(devPatterns))),
+                parsePatterns(excludePatterns), dispatcherServlet, requestTracer, applicationContext instanceof WebServerApplicationContext,
+                retryAfterSeconds, Duration.ofSeconds(shutdownTimeoutSeconds));
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            partitions.forEach(partition -> registerMetrics(registry, partition.bulkhead()));
+        }
+        log.info("Bulkheads enabled (search={} threads/{} queued, api={} threads/{} queued, admin={}, dev={}, async={})",
+                searchThreads, searchQueue, apiThreads, apiQueue, adminMaxConcurrent, devMaxConcurrent, asyncDispatch);
+    }
+
+    BulkheadFilter(List<Partition> partitions, List<PathPattern> excludePatterns,
+                   ObjectProvider<DispatcherServlet> dispatcherServlet, RequestTracer requestTracer,
+                   boolean asyncDispatch, int retryAfterSeconds, Duration shutdownTimeout) {
+        this.partitions = partitions;
+        this.excludePatterns = excludePatterns;
+        this.dispatcherServlet = dispatcherServlet;
+        this.requestTracer = requestTracer;
+        this.asyncDispatch = asyncDispatch;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        Bulkhead bulkhead = resolveBulkhead(httpRequest);
+        if (bulkhead == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (bulkhead.isThreadPool() && canDispatch(httpRequest)) {
+            dispatch(bulkhead, httpRequest, (HttpServletResponse) response);
+            return;
+        }
+
+        if (!bulkhead.tryAcquire()) {
+            reject((HttpServletResponse) response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 非同期処理を開始し、区画のスレッドでDispatcherServletを実行する
+     */
+    private void dispatch(Bulkhead bulkhead, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        // タイムアウトはアプリケーション側（DBのタイムアウト等）に任せる
+        asyncContext.setTimeout(0);
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        ActiveTrace trace = requestTracer.currentTrace();
+        DispatcherServlet servlet = dispatcherServlet.getObject();
+        boolean submitted = bulkhead.trySubmit(() -> {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            requestTracer.attachTrace(trace);
+            try {
+                servlet.service(request, response);
+            } catch (Exception e) {
+                log.error("Unhandled exception in bulkhead {}: {} {}", bulkhead.getName(),
+                        request.getMethod(), request.getRequestURI(), e);
+                sendServerError(response);
+            } finally {
+                requestTracer.detachTrace();
+                MDC.clear();
+                asyncContext.complete();
+            }
+        });
+        if (!submitted) {
+            reject(response);
+            asyncContext.complete();
+        }
+    }
+
+    /**
+     * 組み込みWebサーバー上でDispatcherServletへ向かうリクエストのみ区画のスレッドへ移す
+     */
+    private boolean canDispatch(HttpServletRequest request) {
+        return asyncDispatch
+                && request.isAsyncSupported()
+                && !request.isAsyncStarted()
+                && DispatcherServletAutoConfiguration.DEFAULT_DISPATCHER_SERVLET_BEAN_NAME
+                        .equals(request.getHttpServletMapping().getServletName());
+    }
+
+    /**
+     * 区画ごとの状態
+     */
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (Partition partition : partitions) {
+            Bulkhead bulkhead = partition.bulkhead();
+            stats.put(bulkhead.getName(), Map.of(
+                    "threadPool", bulkhead.isThreadPool() && asyncDispatch,
+                    "active", bulkhead.getActive(),
+                    "maxConcurrent", bulkhead.getMaxConcurrent(),
+                    "queueDepth", bulkhead.getQueueDepth(),
+                    "queueCapacity", bulkhead.getQueueCapacity(),
+                    "rejected", bulkhead.getRejected(),
+                    "saturated", bulkhead.isSaturated()));
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partitions.forEach(partition -> partition.bulkhead().shutdown(shutdownTimeout));
+    }
+
+    Bulkhead resolveBulkhead(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (PathPattern pattern : excludePatterns) {
+            if (pattern.matches(path)) {
+                return null;
+            }
+        }
+        for (Partition partition : partitions) {
+            for (PathPattern pattern : partition.patterns()) {
+                if (pattern.matches(path)) {
+                    return partition.bulkhead();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+
+    private static void sendServerError(HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        try {
+            response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        } catch (IOException e) {
+            log.debug("Failed to send error response: {}", e.getMessage());
+        }
+    }
+
+    private static void registerMetrics(MeterRegistry registry, Bulkhead bulkhead) {
+        Gauge.builder("app.bulkhead.active", bulkhead, Bulkhead::getActive)
+                .description("Requests currently running in the bulkhead")
+                .tag("partition", bulkhead.getName())
+                .register(registry);
+        Gauge.builder("app.bulkhead.max.concurrent", bulkhead, Bulkhead::getMaxConcurrent)
+                .tag("partition", bulkhead.getName())
+                .register(registry);
+        Gauge.builder("app.bulkhead.queue.depth", bulkhead, Bulkhead::getQueueDepth)
+                .description("Requests waiting for a bulkhead thread")
+                .tag("partition", bulkhead.getName())
+                .register(registry);
+        Gauge.builder("app.bulkhead.queue.capacity", bulkhead, Bulkhead::getQueueCapacity)
+                .tag("partition", bulkhead.getName())
+                .register(registry);
+        FunctionCounter.builder("app.bulkhead.rejected", bulkhead, Bulkhead::getRejected)
+                .description("Requests rejected with 503 because the bulkhead was full")
+                .tag("partition", bulkhead.getName())
+                .register(registry);
+        FunctionTimer.builder("app.bulkhead.queue.wait", bulkhead, Bulkhead::getStarted,
+                        Bulkhead::getQueueWaitSeconds, TimeUnit.SECONDS)
+                .description("Time requests spent queued before a bulkhead thread picked them up")
+                .tag("partition", bulkhead.getName())
+                .register(registry);
+    }
+
+    private static List<PathPattern> parsePatterns(String[] patterns) {
+        PathPatternParser parser = new PathPatternParser();
+        return Arrays.stream(patterns)
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .map(parser::parse)
+                .toList();
+    }
+
+    record Partition(Bulkhead bulkhead, List<PathPattern> patterns) {
+    }
+}
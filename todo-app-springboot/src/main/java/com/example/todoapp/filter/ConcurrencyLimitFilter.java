@@ -0,0 +1,238 @@
+package com.example.todoapp.filter;
+
+import com.example.todoapp.limit.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 適応的な同時実行数制限フィルター
+ *
+ * 対象パス（既定は/api/**）の同時実行数を{@link AdaptiveConcurrencyLimiter}で制限し、
+ * 上限を超えたリクエストはTomcatのスレッドや接続プールで待たせずに503（Retry-After付き）で即座に拒否する。
+ * 相関IDの設定やログ出力より前に判定し、拒否時の処理を最小限にする。
+ * 後続で非同期処理が開始された場合（{@link BulkheadFilter}）は、完了時に実行枠を返却する。
+ * 304（条件付きGET）・412・429・503など本来の処理を省略した応答は、応答時間を上限の調整に使わない。
+ */
+@Component
+@Order(-1)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ConcurrencyLimitFilter implements Filter {
+
+    /**
+     * 本来の処理を省略して返す応答（応答時間が処理の重さを表さない）
+     */
+    private static final Set<Integer> SHORT_CIRCUIT_STATUSES = Set.of(
+            HttpStatus.NOT_MODIFIED.value(),
+            HttpStatus.PRECONDITION_FAILED.value(),
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            HttpStatus.SERVICE_UNAVAILABLE.value());
+
+    private static final byte[] REJECTED_BODY =
+            "{\"status\":503,\"message\":\"Server is overloaded, please retry later\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<PathPattern> includePatterns;
+    private final List<PathPattern> excludePatterns;
+    private final String retryAfterSeconds;
+
+    @Autowired
+    public ConcurrencyLimitFilter(
+            @Value("${app.concurrency-limit.initial-limit:50}") int initialLimit,
+            @Value("${app.concurrency-limit.min-limit:10}") int minLimit,
+            @Value("${app.concurrency-limit.max-limit:400}") int maxLimit,
+            @Value("${app.concurrency-limit.window-ms:100}") long windowMillis,
+            @Value("${app.concurrency-limit.min-window-samples:10}") int minWindowSamples,
+            @Value("${app.concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds,
+            @Value("${app.concurrency-limit.include-patterns:/api/**}") String[] includePatterns,
+            @Value("${app.concurrency-limit.exclude-patterns:/api/todos/changes/stream}") String[] excludePatterns,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, windowMillis, minWindowSamples),
+                retryAfterSeconds, includePatterns, excludePatterns);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registerMetrics(registry);
+        }
+        log.info("Concurrency limit enabled for {} (initial={}, min={}, max={})",
+                Arrays.toString(includePatterns), initialLimit, minLimit, maxLimit);
+    }
+
+    ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, int retryAfterSeconds,
+                           String[] includePatterns, String[] excludePatterns) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.includePatterns = parsePatterns(includePatterns);
+        this.excludePatterns = parsePatterns(excludePatterns);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        if (!isLimited(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long start = limiter.tryAcquire();
+        if (start < 0) {
+            reject((HttpServletResponse) response);
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(start, (HttpServletResponse) response));
+            } else {
+                limiter.release(start, isSampled((HttpServletResponse) response));
+            }
+        }
+    }
+
+    /**
+     * 現在の制限状態
+     */
+    public Map<String, Object> getStatistics() {
+        return Map.of(
+                "limit", limiter.getLimit(),
+                "inFlight", limiter.getInFlight(),
+                "accepted", limiter.getAccepted(),
+                "rejected", limiter.getRejected(),
+                "unsampled", limiter.getUnsampled(),
+                "shortRttMillis", limiter.getShortRttMillis());
+    }
+
+    /**
+     * 現在の負荷（実行中のリクエスト数 / 同時実行数の上限）
+     * バックグラウンドの一括処理が、リクエストの処理が混んでいる間は実行を控える判定に使う
+     */
+    public double getUtilization() {
+        return (double) limiter.getInFlight() / Math.max(1, limiter.getLimit());
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+
+    /**
+     * 応答時間を上限の調整に使う応答か（処理を省略した応答は除く）
+     */
+    static boolean isSampled(HttpServletResponse response) {
+        return !SHORT_CIRCUIT_STATUSES.contains(response.getStatus());
+    }
+
+    private boolean isLimited(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (PathPattern pattern : excludePatterns) {
+            if (pattern.matches(path)) {
+                return false;
+            }
+        }
+        for (PathPattern pattern : includePatterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        Gauge.builder("app.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("app.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently holding a concurrency permit")
+                .register(registry);
+        FunctionCounter.builder("app.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .description("Requests rejected with 503 by the concurrency limiter")
+                .register(registry);
+    }
+
+    /**
+     * 非同期処理の完了・エラー・タイムアウトのいずれかで一度だけ実行枠を返却する
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final long start;
+        private final HttpServletResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnCompletion(long start, HttpServletResponse response) {
+            this.start = start;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(start, isSampled(response));
+            }
+        }
+    }
+
+    private static List<PathPattern> parsePatterns(String[] patterns) {
+        PathPatternParser parser = new PathPatternParser();
+        return Arrays.stream(patterns)
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .map(parser::parse)
+                .toList();
+    }
+}
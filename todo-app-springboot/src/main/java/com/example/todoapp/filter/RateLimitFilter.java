@@ -0,0 +1,198 @@
+package com.example.todoapp.filter;
+
+import com.example.todoapp.limit.KeyedRateLimiter;
+import com.example.todoapp.util.ClientKeys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * クライアントごとのレート制限フィルター
+ *
+ * X-User-ID（未指定の場合は接続元アドレス、{@link ClientKeys}）をキーとして、ルートグループ（参照・更新・検索）ごとの
+ * トークンバケットでリクエスト数を制限する。判定結果はRateLimit-Limit/Remaining/Resetヘッダーで返し、
+ * 超過時は429とRetry-Afterを返す。特定のクライアントが接続プールを占有しないよう、
+ * 同時実行数制限（{@link ConcurrencyLimitFilter}）より前で判定する。
+ */
+@Component
+@Order(-2)
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RateLimitFilter implements Filter {
+
+    static final String LIMIT_HEADER_NAME = "RateLimit-Limit";
+    static final String REMAINING_HEADER_NAME = "RateLimit-Remaining";
+    static final String RESET_HEADER_NAME = "RateLimit-Reset";
+
+    private static final byte[] REJECTED_BODY =
+            "{\"status\":429,\"message\":\"Rate limit exceeded, please retry later\"}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * レート制限のルートグループ
+     */
+    enum RouteGroup {
+        READ, WRITE, SEARCH
+    }
+
+    private final Map<RouteGroup, KeyedRateLimiter> limiters;
+    private final List<PathPattern> includePatterns;
+    private final List<PathPattern> searchPatterns;
+
+    @Autowired
+    public RateLimitFilter(
+            @Value("${app.rate-limit.read.capacity:200}") int readCapacity,
+            @Value("${app.rate-limit.read.refill-per-second:100}") double readRefill,
+            @Value("${app.rate-limit.write.capacity:60}") int writeCapacity,
+            @Value("${app.rate-limit.write.refill-per-second:20}") double writeRefill,
+            @Value("${app.rate-limit.search.capacity:30}") int searchCapacity,
+            @Value("${app.rate-limit.search.refill-per-second:10}") double searchRefill,
+            @Value("${app.rate-limit.max-keys:10000}") long maxKeys,
+            @Value("${app.rate-limit.idle-timeout-seconds:300}") long idleTimeoutSeconds,
+            @Value("${app.rate-limit.include-patterns:/api/**}") String[] includePatterns,
+            @Value("${app.rate-limit.search-patterns:/api/todos/search}") String[] searchPatterns,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(createLimiters(readCapacity, readRefill, writeCapacity, writeRefill, searchCapacity, searchRefill,
+                maxKeys, Duration.ofSeconds(idleTimeoutSeconds)), includePatterns, searchPatterns);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registerMetrics(registry);
+        }
+        log.info("Rate limit enabled for {} (read={}/{}s, write={}/{}s, search={}/{}s)",
+                Arrays.toString(includePatterns), readCapacity, readRefill,
+                writeCapacity, writeRefill, searchCapacity, searchRefill);
+    }
+
+    RateLimitFilter(Map<RouteGroup, KeyedRateLimiter> limiters, String[] includePatterns, String[] searchPatterns) {
+        this.limiters = limiters;
+        this.includePatterns = parsePatterns(includePatterns);
+        this.searchPatterns = parsePatterns(searchPatterns);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        RouteGroup group = resolveGroup(httpRequest);
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        KeyedRateLimiter.Decision decision = limiters.get(group).tryAcquire(ClientKeys.resolve(httpRequest));
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        httpResponse.setHeader(LIMIT_HEADER_NAME, String.valueOf(decision.limit()));
+        httpResponse.setHeader(REMAINING_HEADER_NAME, String.valueOf(decision.remaining()));
+        httpResponse.setHeader(RESET_HEADER_NAME, String.valueOf(decision.resetSeconds()));
+        if (!decision.permitted()) {
+            reject(httpResponse, decision.retryAfterSeconds());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * ルートグループごとのキー数・許可数・拒否数
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        limiters.forEach((group, limiter) -> stats.put(group.name().toLowerCase(Locale.ROOT), Map.of(
+                "keys", limiter.getKeyCount(),
+                "allowed", limiter.getAllowed(),
+                "rejected", limiter.getRejected())));
+        return stats;
+    }
+
+    RouteGroup resolveGroup(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        if (!matchesAny(includePatterns, path)) {
+            return null;
+        }
+        if (matchesAny(searchPatterns, path)) {
+            return RouteGroup.SEARCH;
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> RouteGroup.READ;
+            default -> RouteGroup.WRITE;
+        };
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        limiters.forEach((group, limiter) -> {
+            String tag = group.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("app.ratelimit.keys", limiter, KeyedRateLimiter::getKeyCount)
+                    .description("Client keys currently tracked by the rate limiter")
+                    .tag("group", tag)
+                    .register(registry);
+            FunctionCounter.builder("app.ratelimit.rejected", limiter, KeyedRateLimiter::getRejected)
+                    .description("Requests rejected with 429 by the rate limiter")
+                    .tag("group", tag)
+                    .register(registry);
+        });
+    }
+
+    private static Map<RouteGroup, KeyedRateLimiter> createLimiters(
+            int readCapacity, double readRefill, int writeCapacity, double writeRefill,
+            int searchCapacity, double searchRefill, long maxKeys, Duration idleTimeout) {
+        Map<RouteGroup, KeyedRateLimiter> limiters = new EnumMap<>(RouteGroup.class);
+        limiters.put(RouteGroup.READ, new KeyedRateLimiter(readCapacity, readRefill, maxKeys, idleTimeout));
+        limiters.put(RouteGroup.WRITE, new KeyedRateLimiter(writeCapacity, writeRefill, maxKeys, idleTimeout));
+        limiters.put(RouteGroup.SEARCH, new KeyedRateLimiter(searchCapacity, searchRefill, maxKeys, idleTimeout));
+        return limiters;
+    }
+
+    private static boolean matchesAny(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathPattern> parsePatterns(String[] patterns) {
+        PathPatternParser parser = new PathPatternParser();
+        return Arrays.stream(patterns)
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .map(parser::parse)
+                .toList();
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.todoapp.filter;
 
 import com.example.todoapp.service.LoggingService;
+import com.example.todoapp.trace.ActiveTrace;
+import com.example.todoapp.trace.RequestTracer;
+import com.example.todoapp.util.CorrelationIdGenerator;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,32 +13,59 @@ import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.server.PathContainer;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * リクエスト相関IDフィルター
  * 各HTTPリクエストに対して一意の相関IDを生成し、ログコンテキストに設定
+ *
+ * 処理内容はパスにより3段階に切り替える:
+ * - スキップ対象（静的リソース等）: 何もせず後続へ渡す
+ * - 軽量対象（ヘルスチェック等）: 相関IDの設定のみ行い、開始・完了ログは出力しない
+ * - 上記以外: 相関ID・MDCの設定と開始・完了ログの出力、リクエストトレースの記録
+ *
+ * 後続で非同期処理が開始された場合（{@link BulkheadFilter}）は、完了ログの出力とトレースの終了を
+ * 非同期処理の完了時まで遅らせる。
  */
 @Component
 @Order(1)
-@RequiredArgsConstructor
 @Slf4j
 public class RequestCorrelationFilter implements Filter {
     
     private final LoggingService loggingService;
+    private final RequestTracer requestTracer;
+    private final List<PathPattern> skipPatterns;
+    private final List<PathPattern> lightPatterns;
     
     // ヘッダー名定数
     private static final String CORRELATION_ID_HEADER_NAME = "X-Correlation-ID";
     private static final String USER_ID_HEADER_NAME = "X-User-ID";
     private static final String SESSION_ID_HEADER_NAME = "X-Session-ID";
     
+    public RequestCorrelationFilter(
+            LoggingService loggingService,
+            RequestTracer requestTracer,
+            @Value("${app.correlation.skip-patterns:}") String[] skipPatterns,
+            @Value("${app.correlation.light-patterns:}") String[] lightPatterns) {
+        this.loggingService = loggingService;
+        this.requestTracer = requestTracer;
+        this.skipPatterns = parsePatterns(skipPatterns);
+        this.lightPatterns = parsePatterns(lightPatterns);
+    }
+    
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
@@ -41,37 +73,108 @@ public class RequestCorrelationFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
         
+        FilterMode mode = resolveMode(httpRequest);
+        if (mode == FilterMode.SKIP) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
         long startTime = System.currentTimeMillis();
+        String clientIp = null;
+        String failure = null;
         
         try {
             // 相関IDの設定
             String correlationId = extractOrGenerateCorrelationId(httpRequest);
-            setupCorrelationContext(httpRequest, correlationId);
+            loggingService.setCorrelationId(correlationId);
             
             // レスポンスヘッダーに相関IDを設定
             httpResponse.setHeader(CORRELATION_ID_HEADER_NAME, correlationId);
             
+            if (mode == FilterMode.LIGHT) {
+                chain.doFilter(request, response);
+                return;
+            }
+            
+            clientIp = getClientIpAddress(httpRequest);
+            setupRequestContext(httpRequest, clientIp);
+            requestTracer.startTrace(correlationId, httpRequest.getMethod(), httpRequest.getRequestURI());
+            
             // リクエスト開始ログ
-            logRequestStart(httpRequest, correlationId);
+            logRequestStart(httpRequest, clientIp);
             
             // 次のフィルターまたはサーブレットを実行
             chain.doFilter(request, response);
             
         } catch (Exception e) {
+            failure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
             // エラー時のログ記録
-            logRequestError(httpRequest, e);
+            logRequestError(httpRequest, clientIp != null ? clientIp : getClientIpAddress(httpRequest), e);
             throw e;
             
         } finally {
             // リクエスト完了ログ
-            long duration = System.currentTimeMillis() - startTime;
-            logRequestEnd(httpRequest, httpResponse, duration);
+            if (mode == FilterMode.FULL) {
+                if (failure == null && httpRequest.isAsyncStarted()) {
+                    completeOnAsyncEnd(httpRequest, httpResponse, startTime);
+                } else {
+                    long duration = System.currentTimeMillis() - startTime;
+                    logRequestEnd(httpRequest, httpResponse, duration);
+                    requestTracer.finishTrace(failure != null ? 500 : httpResponse.getStatus(), failure);
+                }
+            }
             
             // ログコンテキストのクリーンアップ
             loggingService.clearContext();
         }
     }
     
+    /**
+     * 非同期処理の完了時に完了ログの出力とトレースの終了を行う
+     */
+    private void completeOnAsyncEnd(HttpServletRequest request, HttpServletResponse response, long startTime) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        ActiveTrace trace = requestTracer.detachTrace();
+        AtomicBoolean completed = new AtomicBoolean();
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                complete(null);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                complete("Async request timed out");
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                Throwable error = event.getThrowable();
+                complete(error != null && error.getMessage() != null ? error.getMessage() : "Async request failed");
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                event.getAsyncContext().addListener(this);
+            }
+
+            private void complete(String failure) {
+                if (!completed.compareAndSet(false, true)) {
+                    return;
+                }
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    logRequestEnd(request, response, System.currentTimeMillis() - startTime);
+                    requestTracer.finishTrace(trace, failure != null ? 500 : response.getStatus(), failure);
+                } finally {
+                    loggingService.clearContext();
+                }
+            }
+        });
+    }
+    
     /**
      * 相関IDを抽出または生成
      */
@@ -93,12 +196,9 @@ public class RequestCorrelationFilter implements Filter {
     }
     
     /**
-     * 相関コンテキストの設定
+     * リクエストコンテキストの設定
      */
-    private void setupCorrelationContext(HttpServletRequest request, String correlationId) {
-        // 相関IDを設定
-        loggingService.setCorrelationId(correlationId);
-        
+    private void setupRequestContext(HttpServletRequest request, String clientIp) {
         // ユーザーコンテキストの設定（ヘッダーから取得）
         String userId = request.getHeader(USER_ID_HEADER_NAME);
         if (userId != null && !userId.trim().isEmpty()) {
@@ -108,8 +208,11 @@ public class RequestCorrelationFilter implements Filter {
         // 追加のコンテキスト情報をMDCに設定
         MDC.put("requestMethod", request.getMethod());
         MDC.put("requestURI", request.getRequestURI());
-        MDC.put("remoteAddr", getClientIpAddress(request));
-        MDC.put("userAgent", request.getHeader("User-Agent"));
+        MDC.put("remoteAddr", clientIp);
+        String userAgent = request.getHeader("User-Agent");
+        if (userAgent != null) {
+            MDC.put("userAgent", userAgent);
+        }
         
         String sessionId = request.getHeader(SESSION_ID_HEADER_NAME);
         if (sessionId != null) {
@@ -120,51 +223,32 @@ public class RequestCorrelationFilter implements Filter {
     /**
      * リクエスト開始ログ
      */
-    private void logRequestStart(HttpServletRequest request, String correlationId) {
-        String method = request.getMethod();
-        String uri = request.getRequestURI();
+    private void logRequestStart(HttpServletRequest request, String clientIp) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
         String queryString = request.getQueryString();
-        String userAgent = request.getHeader("User-Agent");
-        String clientIp = getClientIpAddress(request);
-        
-        StringBuilder logMessage = new StringBuilder();
-        logMessage.append("Request started: ").append(method).append(" ").append(uri);
-        
         if (queryString != null && !queryString.isEmpty()) {
-            logMessage.append("?").append(queryString);
+            log.info("Request started: {} {}?{} from {}", request.getMethod(), request.getRequestURI(),
+                    queryString, clientIp);
+        } else {
+            log.info("Request started: {} {} from {}", request.getMethod(), request.getRequestURI(), clientIp);
         }
-        
-        logMessage.append(" from ").append(clientIp);
-        
-        log.info(logMessage.toString());
-        
-        // API呼び出しログ（開始時点）
-        loggingService.logBusinessOperation("HTTP_REQUEST_START", 
-                String.format("%s %s from %s", method, uri, clientIp));
     }
     
     /**
-     * リクエスト完了ログ
+     * リクエスト完了ログ（ステータスに応じたレベルでAPI呼び出しログに記録）
      */
     private void logRequestEnd(HttpServletRequest request, HttpServletResponse response, long duration) {
-        String method = request.getMethod();
-        String uri = request.getRequestURI();
-        int statusCode = response.getStatus();
-        
-        log.info("Request completed: {} {} - Status: {}, Duration: {}ms", 
-                method, uri, statusCode, duration);
-        
-        // API呼び出しログ
-        loggingService.logApiCall(method, uri, statusCode, duration);
+        loggingService.logApiCall(request.getMethod(), request.getRequestURI(), response.getStatus(), duration);
     }
     
     /**
      * リクエストエラーログ
      */
-    private void logRequestError(HttpServletRequest request, Exception e) {
+    private void logRequestError(HttpServletRequest request, String clientIp, Exception e) {
         String method = request.getMethod();
         String uri = request.getRequestURI();
-        String clientIp = getClientIpAddress(request);
         
         log.error("Request error: {} {} from {} - Error: {}", 
                 method, uri, clientIp, e.getMessage(), e);
@@ -177,10 +261,44 @@ public class RequestCorrelationFilter implements Filter {
     }
     
     /**
-     * 相関IDの生成
+     * 相関IDの生成（時刻順・ロックフリー）
      */
     private String generateCorrelationId() {
-        return UUID.randomUUID().toString().replace("-", "");
+        return CorrelationIdGenerator.next();
+    }
+    
+    /**
+     * パスに応じた処理モードを判定
+     */
+    private FilterMode resolveMode(HttpServletRequest request) {
+        if (skipPatterns.isEmpty() && lightPatterns.isEmpty()) {
+            return FilterMode.FULL;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        if (matchesAny(skipPatterns, path)) {
+            return FilterMode.SKIP;
+        }
+        if (matchesAny(lightPatterns, path)) {
+            return FilterMode.LIGHT;
+        }
+        return FilterMode.FULL;
+    }
+    
+    private static boolean matchesAny(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static List<PathPattern> parsePatterns(String[] patterns) {
+        return Arrays.stream(patterns)
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
     }
     
     /**
@@ -213,4 +331,13 @@ public class RequestCorrelationFilter implements Filter {
                errorType.contains("forbidden") ||
                errorType.contains("unauthorized");
     }
-}
\ No newline at end of file
+    
+    /**
+     * フィルターの処理モード
+     */
+    private enum FilterMode {
+        SKIP,
+        LIGHT,
+        FULL
+    }
+}
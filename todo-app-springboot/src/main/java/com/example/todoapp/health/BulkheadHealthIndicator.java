@@ -0,0 +1,41 @@
+package com.example.todoapp.health;
+
+import com.example.todoapp.filter.BulkheadFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * バルクヘッドの状態を返すヘルスインジケーター
+ *
+ * データベースに触れずメモリ上のカウンターのみを返すため、API区画が飽和していても即座に応答する。
+ * 飽和は過負荷であって障害ではないため、状態はUPのまま詳細に区画ごとの飽和を示す。
+ * livenessグループに含めており、/actuator/health/liveness はAPI区画の飽和時も応答し続ける。
+ */
+@Component("bulkhead")
+public class BulkheadHealthIndicator implements HealthIndicator {
+
+    private final ObjectProvider<BulkheadFilter> bulkheadFilter;
+
+    public BulkheadHealthIndicator(ObjectProvider<BulkheadFilter> bulkheadFilter) {
+        this.bulkheadFilter = bulkheadFilter;
+    }
+
+    @Override
+    public Health health() {
+        BulkheadFilter filter = bulkheadFilter.getIfAvailable();
+        if (filter == null) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        Map<String, Map<String, Object>> partitions = filter.getStatistics();
+        boolean saturated = partitions.values().stream().anyMatch(stats -> Boolean.TRUE.equals(stats.get("saturated")));
+        return Health.up()
+                .withDetail("enabled", true)
+                .withDetail("saturated", saturated)
+                .withDetail("partitions", partitions)
+                .build();
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.todoapp.idempotency;
+
+import com.example.todoapp.entity.IdempotencyRecord;
+import com.example.todoapp.exception.BusinessException;
+import com.example.todoapp.exception.IdempotencyKeyException;
+import com.example.todoapp.repository.IdempotencyRecordRepository;
+import com.example.todoapp.util.ClientKeys;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Keyによる重複実行の防止
+ *
+ * キーごとに最初の実行の応答（ステータス・Location・ETag・本文）を記録し、同じキーの再送には処理を再実行せず
+ * 記録した応答を返す（Idempotent-Replayed: true を付ける）。
+ * キーはクライアント（{@link ClientKeys}）ごとに区別し、他のクライアントが同じキーを使っても応答を共有しない。
+ * 記録は処理と同じトランザクションでidempotency_recordに書き込み、有効期限（ttl-hours）まで件数上限付きの
+ * Caffeineキャッシュにも保持する。キャッシュにない場合はテーブルから読み込むため、再起動後や他のインスタンスでも有効。
+ * 同じキーの実行中に届いた再送は最初の実行の完了を待ち（wait-timeout-msを超えた場合は409）、
+ * 同じキーで異なるリクエストが送られた場合は422とする。
+ * 処理が失敗した場合は何も記録せず、再送で再実行できる。
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private static final String CACHE_NAME = "idempotency";
+
+    private final ObjectMapper objectMapper;
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final long waitTimeoutMillis;
+    private final int purgeChunkSize;
+
+    private final Cache<String, StoredResponse> cache;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+
+    public IdempotencyStore(
+            ObjectMapper objectMapper,
+            IdempotencyRecordRepository repository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${app.idempotency.max-entries:10000}") long maxEntries,
+            @Value("${app.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+            @Value("${app.idempotency.purge-chunk-size:1000}") int purgeChunkSize,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.purgeChunkSize = purgeChunkSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registerMetrics(registry);
+        }
+    }
+
+    /**
+     * クライアントのキーに対して処理を1回だけ実行し、その応答を返す
+     *
+     * @param clientKey クライアントのキー（{@link ClientKeys#resolve}）
+     * @param idempotencyKey Idempotency-Key
+     * @param request リクエスト本文（同じキーで異なるリクエストが送られていないかの照合に使う）
+     * @param bodyType 応答本文の型（記録した応答の復元に使う）
+     * @param action 処理（記録と同じトランザクションで実行する）
+     * @return 処理の応答、または記録した応答
+     * @throws BusinessException キーが空または長すぎる場合
+     * @throws IdempotencyKeyException 同じキーの実行中に待ち時間を超えた場合（409）、異なるリクエストの場合（422）
+     */
+    public <T> ResponseEntity<T> execute(String clientKey, String idempotencyKey, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters",
+                    "INVALID_IDEMPOTENCY_KEY");
+        }
+        // 改行はヘッダー値に含まれないため、区切りとしてクライアントのキーとIdempotency-Keyの組を一意に表せる
+        String key = clientKey + "\n" + idempotencyKey;
+        String requestHash = hash(request);
+        while (true) {
+            StoredResponse stored = lookup(key);
+            if (stored != null) {
+                return replay(key, stored, requestHash, bodyType);
+            }
+
+            CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, execution);
+            if (running != null) {
+                waited.increment();
+                stored = await(key, running);
+                if (stored != null) {
+                    return replay(key, stored, requestHash, bodyType);
+                }
+                // 最初の実行が失敗した場合は記録がないため、この再送で実行する
+                continue;
+            }
+
+            try {
+                // 確認してから登録するまでの間に別の実行が完了している場合がある
+                stored = lookup(key);
+                if (stored == null) {
+                    stored = executeAndRecord(key, requestHash, action);
+                    cache.put(key, stored);
+                    execution.complete(stored);
+                    return deserialize(stored, bodyType, false);
+                }
+                execution.complete(stored);
+                return replay(key, stored, requestHash, bodyType);
+            } catch (DataIntegrityViolationException e) {
+                // 他のインスタンスが同じキーを先に記録した（処理はロールバック済み）
+                stored = load(key);
+                if (stored == null) {
+                    execution.completeExceptionally(e);
+                    throw e;
+                }
+                cache.put(key, stored);
+                execution.complete(stored);
+                return replay(key, stored, requestHash, bodyType);
+            } catch (RuntimeException e) {
+                execution.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, execution);
+            }
+        }
+    }
+
+    /**
+     * 有効期限を過ぎた記録をチャンク単位で削除
+     *
+     * @return 削除した件数
+     */
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 20 * * * *}")
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = repository.deleteExpired(now, purgeChunkSize);
+            total += deleted;
+        } while (deleted >= purgeChunkSize);
+
+        purged.add(total);
+        if (total > 0) {
+            log.info("Purged {} expired idempotency records", total);
+        }
+        return total;
+    }
+
+    /**
+     * キャッシュを破棄する（記録はテーブルから読み直す）
+     */
+    public void invalidateCache() {
+        cache.invalidateAll();
+    }
+
+    private <T> StoredResponse executeAndRecord(String key, String requestHash, Supplier<ResponseEntity<T>> action) {
+        return transactionTemplate.execute(status -> {
+            // 期限切れで未削除の記録があればキーを再利用できるよう先に削除する
+            repository.deleteIfExpired(key, LocalDateTime.now());
+            ResponseEntity<T> response = action.get();
+            HttpHeaders headers = response.getHeaders();
+            URI location = headers.getLocation();
+            StoredResponse stored = new StoredResponse(requestHash, response.getStatusCode().value(),
+                    location != null ? location.toString() : null, headers.getETag(), serialize(response.getBody()));
+            LocalDateTime now = LocalDateTime.now();
+            repository.saveAndFlush(new IdempotencyRecord(key, requestHash, stored.statusCode(), stored.location(),
+                    stored.etag(), stored.body(), now, now.plus(ttl)));
+            return stored;
+        });
+    }
+
+    private StoredResponse lookup(String key) {
+        StoredResponse stored = cache.getIfPresent(key);
+        if (stored != null) {
+            return stored;
+        }
+        stored = load(key);
+        if (stored != null) {
+            cache.put(key, stored);
+        }
+        return stored;
+    }
+
+    private StoredResponse load(String key) {
+        return repository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(record -> new StoredResponse(record.getRequestHash(), record.getStatusCode(),
+                        record.getLocation(), record.getEtag(), record.getBody()))
+                .orElse(null);
+    }
+
+    private StoredResponse await(String key, CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyException(
+                    "A request with this " + HEADER + " is still being processed", HttpStatus.CONFLICT);
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyException(
+                    "Interrupted while waiting for the request with this " + HEADER, HttpStatus.CONFLICT);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(String key, StoredResponse stored, String requestHash, Class<T> bodyType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyException(
+                    HEADER + " was already used for a different request", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        replayed.increment();
+        log.debug("Replaying stored response for idempotency key {}", key.replace('\n', ' '));
+        return deserialize(stored, bodyType, true);
+    }
+
+    private <T> ResponseEntity<T> deserialize(StoredResponse stored, Class<T> bodyType, boolean replay) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.statusCode());
+        if (stored.location() != null) {
+            builder.location(URI.create(stored.location()));
+        }
+        if (stored.etag() != null) {
+            builder.eTag(stored.etag());
+        }
+        if (replay) {
+            builder.header(REPLAYED_HEADER, "true");
+        }
+        try {
+            return builder.body(stored.body() != null ? objectMapper.readValue(stored.body(), bodyType) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response is not a " + bodyType.getSimpleName(), e);
+        }
+    }
+
+    private String serialize(Object body) {
+        try {
+            return body != null ? objectMapper.writeValueAsString(body) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response body cannot be stored", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Request cannot be fingerprinted", e);
+        }
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        FunctionCounter.builder("app.idempotency.replayed", replayed, LongAdder::sum)
+                .description("Requests answered with the stored response of an earlier request with the same key")
+                .register(registry);
+        FunctionCounter.builder("app.idempotency.waited", waited, LongAdder::sum)
+                .description("Requests that waited for an in-flight request with the same key")
+                .register(registry);
+        FunctionCounter.builder("app.idempotency.purged", purged, LongAdder::sum)
+                .description("Expired idempotency records deleted")
+                .register(registry);
+    }
+
+    /**
+     * 記録した応答（本文はJSON）
+     */
+    private record StoredResponse(String requestHash, int statusCode, String location, String etag, String body) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.todoapp.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 応答時間に基づく適応的な同時実行数制限（Gradient方式）
+ *
+ * 一定間隔（ウィンドウ）ごとに平均応答時間を求め、無負荷時の応答時間（観測した最小値）と比較して上限を調整する。
+ * 平均が無負荷時より大きく遅ければ待ち行列が発生しているとみなして上限を下げ（1回あたり最大で半分）、
+ * 同等であれば√上限 だけ上げる。処理中の件数が上限の半分未満の期間は負荷が足りず
+ * 応答時間から判断できないため、上限を変えない。
+ * 無負荷時の応答時間はゆっくり引き上げ、データ量の増加等で処理自体が遅くなった場合にも追従する。
+ * 304など処理を省略した応答の応答時間は、無負荷時の応答時間を実際の処理より小さく見せ
+ * 上限を下げ続けてしまうため、呼び出し側で記録から除外する（{@link #release(long, boolean)}）。
+ * 上限に達したリクエストは待たせずに即座に拒否する。
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // 平均が無負荷時のこの倍率以内であれば待ち行列は発生していないとみなす
+    private static final double TOLERANCE = 2.0;
+    private static final double SMOOTHING = 0.2;
+    // 無負荷時の応答時間をウィンドウごとに引き上げる割合（100ms間隔で約35秒で2倍）
+    private static final double NO_LOAD_RTT_DRIFT = 0.002;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // 現在のウィンドウの集計
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicLong windowMinRtt = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicLong windowStart;
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private double noLoadRtt;
+    private volatile double lastShortRtt;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder unsampled = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long windowMillis, int minWindowSamples) {
+        this(initialLimit, minLimit, maxLimit, windowMillis, minWindowSamples, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                               long windowMillis, int minWindowSamples, LongSupplier clock) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("minLimit must be between 1 and maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.minWindowSamples = minWindowSamples;
+        this.clock = clock;
+        this.windowStart = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * 実行枠の取得を試みる（待機しない）
+     *
+     * @return 取得した場合は開始時刻（{@link #release}に渡す）、上限に達している場合は-1
+     */
+    public long tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return -1;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+        accepted.increment();
+        return clock.getAsLong();
+    }
+
+    /**
+     * 実行枠を返却し、応答時間を記録
+     *
+     * @param startNanos {@link #tryAcquire}の戻り値
+     */
+    public void release(long startNanos) {
+        release(startNanos, true);
+    }
+
+    /**
+     * 実行枠を返却する
+     *
+     * @param startNanos {@link #tryAcquire}の戻り値
+     * @param sample 応答時間を記録する場合true（処理を省略した応答ではfalse）
+     */
+    public void release(long startNanos, boolean sample) {
+        if (!sample) {
+            inFlight.decrementAndGet();
+            unsampled.increment();
+            return;
+        }
+        long now = clock.getAsLong();
+        long rtt = now - startNanos;
+        inFlight.decrementAndGet();
+        windowRttSum.add(rtt);
+        windowSamples.increment();
+        windowMinRtt.accumulateAndGet(rtt, Math::min);
+
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowSamples.sum() >= minWindowSamples && updateLock.tryLock()) {
+            try {
+                if (windowStart.compareAndSet(start, now)) {
+                    updateLimit();
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private void updateLimit() {
+        long samples = windowSamples.sumThenReset();
+        double shortRtt = (double) windowRttSum.sumThenReset() / Math.max(1, samples);
+        long minRtt = windowMinRtt.getAndSet(Long.MAX_VALUE);
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        lastShortRtt = shortRtt;
+
+        noLoadRtt = noLoadRtt == 0
+                ? minRtt
+                : Math.min(minRtt, noLoadRtt * (1 + NO_LOAD_RTT_DRIFT));
+
+        double current = limit;
+        if (maxInFlight < current / 2 || shortRtt <= 0) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * noLoadRtt / shortRtt));
+        double newLimit = current * gradient + Math.sqrt(current);
+        newLimit = current * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * 応答時間を記録せずに返却した件数
+     */
+    public long getUnsampled() {
+        return unsampled.sum();
+    }
+
+    /**
+     * 直近ウィンドウの平均応答時間（ミリ秒）
+     */
+    public double getShortRttMillis() {
+        return lastShortRtt / 1_000_000.0;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.todoapp.limit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ルートグループごとの実行区画（バルクヘッド）
+ *
+ * 区画ごとに同時実行数の上限を持ち、他の区画の処理が詰まっても影響を受けないようにする。
+ * 専用スレッドプールを持つ区画は有界キューで待機させ、キューが満杯の場合は拒否する。
+ * 呼び出し元スレッドで実行する場合はセマフォで同時実行数のみを制限し、待機はしない。
+ */
+@Slf4j
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore inlinePermits;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    private Bulkhead(String name, int maxConcurrent, int queueCapacity, boolean threadPool) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = threadPool ? queueCapacity : 0;
+        this.inlinePermits = new Semaphore(maxConcurrent);
+        this.executor = threadPool ? createExecutor(name, maxConcurrent, queueCapacity) : null;
+    }
+
+    /**
+     * 専用スレッドプールで実行する区画
+     */
+    public static Bulkhead threadPool(String name, int threads, int queueCapacity) {
+        return new Bulkhead(name, threads, queueCapacity, true);
+    }
+
+    /**
+     * 呼び出し元スレッドで実行し、同時実行数のみを制限する区画
+     */
+    public static Bulkhead semaphore(String name, int maxConcurrent) {
+        return new Bulkhead(name, maxConcurrent, 0, false);
+    }
+
+    public boolean isThreadPool() {
+        return executor != null;
+    }
+
+    /**
+     * 専用スレッドプールへ処理を投入する（キューが満杯の場合は実行せずfalse）
+     */
+    public boolean trySubmit(Runnable task) {
+        long submitted = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueWaitNanos.add(System.nanoTime() - submitted);
+                started.increment();
+                task.run();
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return false;
+        }
+    }
+
+    /**
+     * 呼び出し元スレッドで実行するための枠を取得する（待機しない）
+     */
+    public boolean tryAcquire() {
+        if (inlinePermits.tryAcquire()) {
+            started.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        inlinePermits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getActive() {
+        int inline = maxConcurrent - inlinePermits.availablePermits();
+        return executor != null ? executor.getActiveCount() + inline : inline;
+    }
+
+    public int getQueueDepth() {
+        return executor != null ? executor.getQueue().size() : 0;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getStarted() {
+        return started.sum();
+    }
+
+    public double getQueueWaitSeconds() {
+        return queueWaitNanos.sum() / 1_000_000_000.0;
+    }
+
+    /**
+     * 全枠が使用中で、キューがある場合はキューも満杯
+     */
+    public boolean isSaturated() {
+        return getActive() >= maxConcurrent && getQueueDepth() >= queueCapacity;
+    }
+
+    /**
+     * 投入済みの処理の完了を待って停止する
+     */
+    public void shutdown(Duration timeout) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Bulkhead {} did not terminate within {}ms", name, timeout.toMillis());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor(String name, int threads, int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.todoapp.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * キー（クライアント）ごとのトークンバケットによるレート制限
+ *
+ * バケットはCaffeineに保持し、キー数の上限と一定時間アクセスのないキーの破棄で
+ * メモリ使用量を抑える。破棄されたキーは次回アクセス時に満杯のバケットから再開する
+ * （アイドル時間は満杯に戻るまでの時間より長くしておく）。
+ */
+public class KeyedRateLimiter {
+
+    private final int capacity;
+    private final double refillPerSecond;
+    private final LongSupplier clock;
+    private final Cache<String, TokenBucket> buckets;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public KeyedRateLimiter(int capacity, double refillPerSecond, long maxKeys, Duration idleTimeout) {
+        this(capacity, refillPerSecond, maxKeys, idleTimeout, System::nanoTime);
+    }
+
+    KeyedRateLimiter(int capacity, double refillPerSecond, long maxKeys, Duration idleTimeout, LongSupplier clock) {
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                // 破棄処理は呼び出し元スレッドで行い、共有プールの負荷に左右されず上限を守る
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * トークンを1つ消費する
+     */
+    public Decision tryAcquire(String key) {
+        long now = clock.getAsLong();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, refillPerSecond, now));
+        boolean permitted = bucket.tryConsume(now);
+        (permitted ? allowed : rejected).increment();
+        return new Decision(permitted, bucket, now);
+    }
+
+    public long getKeyCount() {
+        return buckets.estimatedSize();
+    }
+
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * 判定結果（レスポンスヘッダー用の値を含む）
+     */
+    public record Decision(boolean permitted, TokenBucket bucket, long nowNanos) {
+
+        public int limit() {
+            return bucket.getCapacity();
+        }
+
+        public int remaining() {
+            return bucket.remaining(nowNanos);
+        }
+
+        /**
+         * 満杯に戻るまでの秒数（切り上げ）
+         */
+        public long resetSeconds() {
+            return toSecondsCeil(bucket.nanosUntilFull(nowNanos));
+        }
+
+        /**
+         * 次のトークンが補充されるまでの秒数（切り上げ、最低1秒）
+         */
+        public long retryAfterSeconds() {
+            return Math.max(1, toSecondsCeil(bucket.nanosUntilAvailable(nowNanos)));
+        }
+
+        private static long toSecondsCeil(long nanos) {
+            return (nanos + 999_999_999L) / 1_000_000_000L;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.todoapp.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ロックフリーのトークンバケット
+ *
+ * 残りトークン数と最終補充時刻の代わりに「バケットが満杯に戻る時刻」1つだけを保持し（GCRA）、
+ * 消費はその値のCAS更新のみで行う。時刻は{@link System#nanoTime()}基準のナノ秒。
+ */
+public final class TokenBucket {
+
+    private final int capacity;
+    private final long nanosPerToken;
+    private final long burstNanos;
+
+    // この時刻までに満杯に戻る（現在時刻以前であれば満杯）
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = nanosPerToken * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * トークンを1つ消費する
+     *
+     * @return 消費できた場合true、トークンが残っていない場合false
+     */
+    public boolean tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            if (next - nowNanos > burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 残りトークン数
+     */
+    public int remaining(long nowNanos) {
+        long used = Math.max(0, fullAt.get() - nowNanos);
+        return (int) Math.max(0, (burstNanos - used) / nanosPerToken);
+    }
+
+    /**
+     * 次のトークンが補充されるまでの時間（残りがある場合は0）
+     */
+    public long nanosUntilAvailable(long nowNanos) {
+        return Math.max(0, fullAt.get() + nanosPerToken - burstNanos - nowNanos);
+    }
+
+    /**
+     * 満杯に戻るまでの時間
+     */
+    public long nanosUntilFull(long nowNanos) {
+        return Math.max(0, fullAt.get() - nowNanos);
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.todoapp.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 1行JSON出力用の軽量ストリーミングライター
+ *
+ * 再利用可能なbyte配列へUTF-8で直接書き込む。フィールド名は{@link #name(String)}で
+ * 事前にエンコードしたものを使うため、イベントごとの文字列生成・エスケープ処理は値のみとなる。
+ * スレッドセーフではないため、スレッドごとにインスタンスを保持して使用すること。
+ */
+final class JsonLineWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private byte[] buffer;
+    private int position;
+    private boolean firstField;
+
+    JsonLineWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * フィールド名を事前エンコード（"name": の形式）
+     */
+    static byte[] name(String fieldName) {
+        return ("\"" + fieldName + "\":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    void reset() {
+        // 巨大なイベントで拡張されたバッファは保持し続けない
+        if (buffer.length > MAX_RETAINED_CAPACITY) {
+            buffer = new byte[MAX_RETAINED_CAPACITY];
+        }
+        position = 0;
+        firstField = true;
+    }
+
+    void startObject() {
+        ensureCapacity(1);
+        buffer[position++] = '{';
+        firstField = true;
+    }
+
+    void endObject() {
+        ensureCapacity(1);
+        buffer[position++] = '}';
+        firstField = false;
+    }
+
+    /**
+     * ネストしたオブジェクトを開始
+     */
+    void startObject(byte[] name) {
+        writeName(name);
+        startObject();
+    }
+
+    void stringField(byte[] name, String value) {
+        if (value == null) {
+            return;
+        }
+        writeName(name);
+        writeString(value);
+    }
+
+    /**
+     * 実行時に決まるフィールド名（MDCキー等）で文字列フィールドを出力
+     */
+    void stringField(String name, String value) {
+        if (value == null) {
+            return;
+        }
+        separator();
+        writeString(name);
+        ensureCapacity(1);
+        buffer[position++] = ':';
+        writeString(value);
+    }
+
+    void stringField(byte[] name, char[] chars, int length) {
+        writeName(name);
+        ensureCapacity(length + 2);
+        buffer[position++] = '"';
+        for (int i = 0; i < length; i++) {
+            buffer[position++] = (byte) chars[i];
+        }
+        buffer[position++] = '"';
+    }
+
+    void numberField(byte[] name, long value) {
+        writeName(name);
+        writeLong(value);
+    }
+
+    void numberField(String name, long value) {
+        separator();
+        writeString(name);
+        ensureCapacity(1);
+        buffer[position++] = ':';
+        writeLong(value);
+    }
+
+    void rawField(String name, String rawValue) {
+        separator();
+        writeString(name);
+        byte[] bytes = rawValue.getBytes(StandardCharsets.US_ASCII);
+        ensureCapacity(bytes.length + 1);
+        buffer[position++] = ':';
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    void newLine() {
+        ensureCapacity(1);
+        buffer[position++] = '\n';
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeName(byte[] name) {
+        separator();
+        ensureCapacity(name.length);
+        System.arraycopy(name, 0, buffer, position, name.length);
+        position += name.length;
+    }
+
+    private void separator() {
+        if (firstField) {
+            firstField = false;
+        } else {
+            ensureCapacity(1);
+            buffer[position++] = ',';
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            byte[] bytes = Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int start = position;
+        do {
+            buffer[position++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+        // 逆順に書いた桁を反転
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+    }
+
+    /**
+     * 文字列をエスケープしてUTF-8で出力（ASCII文字は1文字1バイトで高速に処理）
+     */
+    private void writeString(String value) {
+        int length = value.length();
+        // 最悪ケース（全文字が\\uXXXXまたは3バイトUTF-8）を見込んで確保
+        ensureCapacity(length * 6 + 2);
+        byte[] out = buffer;
+        int pos = position;
+        out[pos++] = '"';
+
+        // エスケープ不要なASCIIの先頭部分は一括コピー
+        int plain = 0;
+        while (plain < length) {
+            char c = value.charAt(plain);
+            if (c >= 0x80 || c < 0x20 || c == '"' || c == '\\') {
+                break;
+            }
+            plain++;
+        }
+        if (plain > 0) {
+            copyAscii(value, plain, out, pos);
+            pos += plain;
+        }
+
+        for (int i = plain; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    out[pos++] = (byte) c;
+                } else {
+                    pos = writeEscaped(out, pos, c);
+                }
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                out[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 対になっていないサロゲートは置換文字として出力
+                out[pos++] = (byte) 0xEF;
+                out[pos++] = (byte) 0xBF;
+                out[pos++] = (byte) 0xBD;
+            } else {
+                out[pos++] = (byte) (0xE0 | (c >> 12));
+                out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        out[pos++] = '"';
+        position = pos;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void copyAscii(String value, int length, byte[] out, int offset) {
+        // ASCII範囲のみであることを確認済みのため、下位バイトのコピーでUTF-8と一致する
+        value.getBytes(0, length, out, offset);
+    }
+
+    private static int writeEscaped(byte[] out, int pos, char c) {
+        out[pos++] = '\\';
+        switch (c) {
+            case '"' -> out[pos++] = '"';
+            case '\\' -> out[pos++] = '\\';
+            case '\n' -> out[pos++] = 'n';
+            case '\r' -> out[pos++] = 'r';
+            case '\t' -> out[pos++] = 't';
+            case '\b' -> out[pos++] = 'b';
+            case '\f' -> out[pos++] = 'f';
+            default -> {
+                out[pos++] = 'u';
+                out[pos++] = '0';
+                out[pos++] = '0';
+                out[pos++] = HEX[c >> 4];
+                out[pos++] = HEX[c & 0xF];
+            }
+        }
+        return pos;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = position + additional;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+}
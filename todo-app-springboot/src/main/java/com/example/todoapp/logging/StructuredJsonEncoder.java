@@ -0,0 +1,284 @@
+package com.example.todoapp.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.dto.PerformanceLogEntry;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * 構造化JSONエンコーダー
+ *
+ * 監査ログ・パフォーマンスログを1イベント1行のJSONとして出力する。
+ * ログ引数に{@link AuditLogEntry}または{@link PerformanceLogEntry}が渡された場合は
+ * メッセージ文字列を組み立てずにエントリのフィールドを直接書き出し、
+ * MDCもそのままJSONオブジェクトとして出力する。
+ *
+ * 出力バッファ（{@link JsonLineWriter}）とタイムスタンプ書式はスレッドごとに再利用するため、
+ * イベントあたりの割り当ては最終的なbyte[]のみとなる。
+ *
+ * logback-spring.xmlでの設定例:
+ * <pre>
+ * &lt;encoder class="com.example.todoapp.logging.StructuredJsonEncoder"&gt;
+ *     &lt;includeMdc&gt;true&lt;/includeMdc&gt;
+ * &lt;/encoder&gt;
+ * </pre>
+ */
+public class StructuredJsonEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] TIMESTAMP = JsonLineWriter.name("timestamp");
+    private static final byte[] LEVEL = JsonLineWriter.name("level");
+    private static final byte[] LOGGER = JsonLineWriter.name("logger");
+    private static final byte[] THREAD = JsonLineWriter.name("thread");
+    private static final byte[] MESSAGE = JsonLineWriter.name("message");
+    private static final byte[] MDC = JsonLineWriter.name("mdc");
+    private static final byte[] EXCEPTION = JsonLineWriter.name("exception");
+    private static final byte[] CLASS = JsonLineWriter.name("class");
+
+    // 監査ログ
+    private static final byte[] AUDIT = JsonLineWriter.name("audit");
+    private static final byte[] OPERATION = JsonLineWriter.name("operation");
+    private static final byte[] RESOURCE_TYPE = JsonLineWriter.name("resourceType");
+    private static final byte[] RESOURCE_ID = JsonLineWriter.name("resourceId");
+    private static final byte[] USER_ID = JsonLineWriter.name("userId");
+    private static final byte[] RESULT = JsonLineWriter.name("result");
+    private static final byte[] DETAILS = JsonLineWriter.name("details");
+    private static final byte[] OLD_VALUE = JsonLineWriter.name("oldValue");
+    private static final byte[] NEW_VALUE = JsonLineWriter.name("newValue");
+    private static final byte[] IP_ADDRESS = JsonLineWriter.name("ipAddress");
+    private static final byte[] USER_AGENT = JsonLineWriter.name("userAgent");
+    private static final byte[] SESSION_ID = JsonLineWriter.name("sessionId");
+    private static final byte[] CORRELATION_ID = JsonLineWriter.name("correlationId");
+    private static final byte[] ERROR_MESSAGE = JsonLineWriter.name("errorMessage");
+    private static final byte[] ERROR_CODE = JsonLineWriter.name("errorCode");
+
+    // パフォーマンスログ
+    private static final byte[] PERFORMANCE = JsonLineWriter.name("performance");
+    private static final byte[] OPERATION_NAME = JsonLineWriter.name("operationName");
+    private static final byte[] CLASS_NAME = JsonLineWriter.name("className");
+    private static final byte[] METHOD_NAME = JsonLineWriter.name("methodName");
+    private static final byte[] EXECUTION_TIME_MS = JsonLineWriter.name("executionTimeMs");
+    private static final byte[] CPU_TIME_NANOS = JsonLineWriter.name("cpuTimeNanos");
+    private static final byte[] MEMORY_USED_BYTES = JsonLineWriter.name("memoryUsedBytes");
+    private static final byte[] DB_ACCESS_COUNT = JsonLineWriter.name("dbAccessCount");
+    private static final byte[] RECORD_COUNT = JsonLineWriter.name("recordCount");
+    private static final byte[] PERFORMANCE_LEVEL = JsonLineWriter.name("performanceLevel");
+    private static final byte[] RETURN_VALUE = JsonLineWriter.name("returnValue");
+    private static final byte[] PARAMETERS = JsonLineWriter.name("parameters");
+    private static final byte[] ADDITIONAL_METRICS = JsonLineWriter.name("additionalMetrics");
+
+    private final ThreadLocal<EncoderState> state = ThreadLocal.withInitial(EncoderState::new);
+
+    private boolean includeMdc = true;
+    private boolean includeThread = true;
+
+    public void setIncludeMdc(boolean includeMdc) {
+        this.includeMdc = includeMdc;
+    }
+
+    public void setIncludeThread(boolean includeThread) {
+        this.includeThread = includeThread;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        EncoderState current = state.get();
+        JsonLineWriter writer = current.writer;
+        writer.reset();
+
+        writer.startObject();
+        current.timestampFormat.write(writer, event.getTimeStamp());
+        writer.stringField(LEVEL, event.getLevel().levelStr);
+        writer.stringField(LOGGER, event.getLoggerName());
+        if (includeThread) {
+            writer.stringField(THREAD, event.getThreadName());
+        }
+
+        Object payload = findPayload(event.getArgumentArray());
+        if (payload instanceof AuditLogEntry audit) {
+            writeAudit(writer, audit);
+        } else if (payload instanceof PerformanceLogEntry performance) {
+            writePerformance(writer, performance);
+        } else {
+            writer.stringField(MESSAGE, event.getFormattedMessage());
+        }
+
+        if (includeMdc) {
+            Map<String, String> mdc = event.getMDCPropertyMap();
+            if (mdc != null && !mdc.isEmpty()) {
+                writer.startObject(MDC);
+                for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                    writer.stringField(entry.getKey(), entry.getValue());
+                }
+                writer.endObject();
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            writer.startObject(EXCEPTION);
+            writer.stringField(CLASS, throwable.getClassName());
+            writer.stringField(MESSAGE, throwable.getMessage());
+            writer.endObject();
+        }
+
+        writer.endObject();
+        writer.newLine();
+        return writer.toByteArray();
+    }
+
+    private static void writeAudit(JsonLineWriter writer, AuditLogEntry entry) {
+        writer.startObject(AUDIT);
+        writer.stringField(OPERATION, entry.getOperation());
+        writer.stringField(RESOURCE_TYPE, entry.getResourceType());
+        writer.stringField(RESOURCE_ID, entry.getResourceId());
+        writer.stringField(USER_ID, entry.getUserId());
+        writer.stringField(RESULT, entry.getResult());
+        writer.stringField(DETAILS, entry.getDetails());
+        writer.stringField(OLD_VALUE, entry.getOldValue());
+        writer.stringField(NEW_VALUE, entry.getNewValue());
+        writer.stringField(IP_ADDRESS, entry.getIpAddress());
+        writer.stringField(USER_AGENT, entry.getUserAgent());
+        writer.stringField(SESSION_ID, entry.getSessionId());
+        writer.stringField(CORRELATION_ID, entry.getCorrelationId());
+        writer.stringField(ERROR_MESSAGE, entry.getErrorMessage());
+        writer.stringField(ERROR_CODE, entry.getErrorCode());
+        writer.endObject();
+    }
+
+    private static void writePerformance(JsonLineWriter writer, PerformanceLogEntry entry) {
+        writer.startObject(PERFORMANCE);
+        writer.stringField(OPERATION_NAME, entry.getOperationName());
+        writer.stringField(CLASS_NAME, entry.getClassName());
+        writer.stringField(METHOD_NAME, entry.getMethodName());
+        writer.numberField(EXECUTION_TIME_MS, entry.getExecutionTimeMs());
+        writeNumberIfPresent(writer, CPU_TIME_NANOS, entry.getCpuTimeNanos());
+        writeNumberIfPresent(writer, MEMORY_USED_BYTES, entry.getMemoryUsedBytes());
+        writeNumberIfPresent(writer, DB_ACCESS_COUNT, entry.getDbAccessCount());
+        writeNumberIfPresent(writer, RECORD_COUNT, entry.getRecordCount());
+        writer.stringField(PERFORMANCE_LEVEL, entry.getPerformanceLevel());
+        writer.stringField(CORRELATION_ID, entry.getCorrelationId());
+        writer.stringField(USER_ID, entry.getUserId());
+        writer.stringField(RETURN_VALUE, entry.getReturnValue());
+        writer.stringField(ERROR_MESSAGE, entry.getErrorMessage());
+        writeMapIfPresent(writer, PARAMETERS, entry.getParameters());
+        writeMapIfPresent(writer, ADDITIONAL_METRICS, entry.getAdditionalMetrics());
+        writer.endObject();
+    }
+
+    private static Object findPayload(Object[] arguments) {
+        if (arguments == null) {
+            return null;
+        }
+        for (Object argument : arguments) {
+            if (argument instanceof AuditLogEntry || argument instanceof PerformanceLogEntry) {
+                return argument;
+            }
+        }
+        return null;
+    }
+
+    private static void writeNumberIfPresent(JsonLineWriter writer, byte[] name, Number value) {
+        if (value != null) {
+            writer.numberField(name, value.longValue());
+        }
+    }
+
+    private static void writeMapIfPresent(JsonLineWriter writer, byte[] name, Map<String, Object> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        writer.startObject(name);
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            Object value = entry.getValue();
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+                writer.numberField(entry.getKey(), ((Number) value).longValue());
+            } else if (value instanceof Double || value instanceof Float) {
+                double number = ((Number) value).doubleValue();
+                if (Double.isFinite(number)) {
+                    writer.rawField(entry.getKey(), Double.toString(number));
+                } else {
+                    // NaN/InfinityはJSONの数値として表現できないため文字列で出力
+                    writer.stringField(entry.getKey(), Double.toString(number));
+                }
+            } else if (value instanceof Boolean bool) {
+                writer.rawField(entry.getKey(), bool.toString());
+            } else {
+                writer.stringField(entry.getKey(), value.toString());
+            }
+        }
+        writer.endObject();
+    }
+
+    /**
+     * スレッドごとに再利用するエンコード状態
+     */
+    private static final class EncoderState {
+        private final JsonLineWriter writer = new JsonLineWriter(1024);
+        private final TimestampFormat timestampFormat = new TimestampFormat();
+    }
+
+    /**
+     * ISO-8601形式（yyyy-MM-ddTHH:mm:ss.SSS）のタイムスタンプを文字配列上で組み立てる
+     * 秒単位の部分はキャッシュし、同一秒内はミリ秒部分のみ書き換える
+     */
+    private static final class TimestampFormat {
+
+        private final char[] chars = new char[23];
+        private long cachedSecond = Long.MIN_VALUE;
+
+        void write(JsonLineWriter writer, long epochMillis) {
+            long second = Math.floorDiv(epochMillis, 1000);
+            if (second != cachedSecond) {
+                LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault());
+                fillSeconds(time);
+                cachedSecond = second;
+            }
+            int millis = Math.floorMod(epochMillis, 1000);
+            chars[20] = (char) ('0' + millis / 100);
+            chars[21] = (char) ('0' + (millis / 10) % 10);
+            chars[22] = (char) ('0' + millis % 10);
+            writer.stringField(TIMESTAMP, chars, chars.length);
+        }
+
+        private void fillSeconds(LocalDateTime time) {
+            putDigits(0, time.getYear(), 4);
+            chars[4] = '-';
+            putDigits(5, time.getMonthValue(), 2);
+            chars[7] = '-';
+            putDigits(8, time.getDayOfMonth(), 2);
+            chars[10] = 'T';
+            putDigits(11, time.getHour(), 2);
+            chars[13] = ':';
+            putDigits(14, time.getMinute(), 2);
+            chars[16] = ':';
+            putDigits(17, time.getSecond(), 2);
+            chars[19] = '.';
+        }
+
+        private void putDigits(int offset, int value, int width) {
+            for (int i = offset + width - 1; i >= offset; i--) {
+                chars[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+    }
+}
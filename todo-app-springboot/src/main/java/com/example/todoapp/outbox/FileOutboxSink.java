@@ -0,0 +1,71 @@
+package com.example.todoapp.outbox;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * JSON Linesファイルへ追記する送信先（外部の配信先の代わりにローカル環境・テストで使用）
+ *
+ * 1行に1イベント（id, todoId, eventType, createdAt, payload）を書き、バッチごとにディスクへ同期してから
+ * 配信済みとする。
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "file")
+@Slf4j
+public class FileOutboxSink implements OutboxSink {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Path path;
+
+    public FileOutboxSink(@Value("${app.outbox.file.path:logs/outbox.jsonl}") String path) throws IOException {
+        this.path = Path.of(path);
+        Path parent = this.path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        log.info("Outbox events will be appended to {}", this.path.toAbsolutePath());
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            JsonGenerator generator = jsonFactory.createGenerator(Channels.newOutputStream(channel), JsonEncoding.UTF8);
+            generator.setRootValueSeparator(null);
+            for (OutboxMessage message : messages) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", message.id());
+                generator.writeNumberField("todoId", message.todoId());
+                generator.writeStringField("eventType", message.eventType());
+                generator.writeStringField("createdAt", message.createdAt().toString());
+                generator.writeFieldName("payload");
+                if (message.payload() != null) {
+                    generator.writeRawValue(message.payload());
+                } else {
+                    generator.writeNull();
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            channel.force(false);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.todoapp.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * 送信先へ配信するTodo変更イベント
+ *
+ * @param id アウトボックスの行ID（送信先での重複排除に使用できる）
+ * @param todoId 変更されたTodoのID
+ * @param eventType 変更種別（CREATED, UPDATED, DELETED）
+ * @param payload 変更後のTodoのJSON（削除時はnull）
+ * @param createdAt 変更のコミット前に記録された日時
+ */
+public record OutboxMessage(long id, Long todoId, String eventType, String payload, LocalDateTime createdAt) {
+}
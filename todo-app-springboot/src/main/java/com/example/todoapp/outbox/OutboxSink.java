@@ -0,0 +1,18 @@
+package com.example.todoapp.outbox;
+
+import java.util.List;
+
+/**
+ * アウトボックスの配信先インターフェース
+ * app.outbox.sinkで実装を選択する（event: アプリケーション内のリスナー、file: JSON Linesファイル）
+ */
+public interface OutboxSink {
+
+    /**
+     * イベントをまとめて配信する
+     * 例外をスローした場合、バッチ全体を次回のポーリングで再配信する（少なくとも1回の配信）
+     *
+     * @param messages 配信するイベント（ID順）
+     */
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
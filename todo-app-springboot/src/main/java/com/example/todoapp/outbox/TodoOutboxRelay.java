@@ -0,0 +1,236 @@
+package com.example.todoapp.outbox;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * アウトボックスのリレー
+ *
+ * 未配信の行をID順にバッチで取得して{@link OutboxSink}へ配信し、配信済みとして記録する。
+ * 取得は SELECT ... FOR UPDATE SKIP LOCKED で他のリレーが取得中の行を読み飛ばし、貸出期限（lease_until）を
+ * 設定して短いトランザクションで確定する。配信中は行ロックも接続も保持せず、リレーが配信中に停止した場合は
+ * 貸出期限の経過後に再配信する（少なくとも1回の配信、受信側はidで重複を排除する）。
+ * 配信に失敗した場合は貸出を解除してそのポーリングを終え、次回に同じ行から再試行する（順序を保つ）。
+ * 配信済みの行は保持期間後にチャンク単位で削除する。
+ */
+@Component
+@Slf4j
+public class TodoOutboxRelay {
+
+    private static final String CLAIM_SQL = "SELECT id, todo_id, event_type, payload, created_at FROM todo_outbox "
+            + "WHERE published_at IS NULL AND (lease_until IS NULL OR lease_until < :now) "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED";
+
+    private static final String LEASE_SQL =
+            "UPDATE todo_outbox SET lease_until = :leaseUntil, attempts = attempts + 1 WHERE id IN (:ids)";
+
+    private static final String PUBLISHED_SQL =
+            "UPDATE todo_outbox SET published_at = :publishedAt, lease_until = NULL WHERE id IN (:ids)";
+
+    private static final String RELEASE_SQL = "UPDATE todo_outbox SET lease_until = NULL WHERE id IN (:ids)";
+
+    private static final String OLDEST_PENDING_SQL =
+            "SELECT MIN(created_at) FROM todo_outbox WHERE published_at IS NULL";
+
+    private static final String PURGE_SQL = "DELETE FROM todo_outbox WHERE id IN "
+            + "(SELECT id FROM todo_outbox WHERE published_at < :threshold ORDER BY published_at, id LIMIT :limit)";
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getLong("todo_id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Duration leaseDuration;
+    private final long retentionMinutes;
+    private final int purgeChunkSize;
+
+    // スケジューラーと手動実行の同時配信を防ぐ
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private final Timer lagTimer;
+
+    public TodoOutboxRelay(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            OutboxSink sink,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.max-batches-per-poll:10}") int maxBatchesPerPoll,
+            @Value("${app.outbox.lease-seconds:30}") long leaseSeconds,
+            @Value("${app.outbox.retention-minutes:60}") long retentionMinutes,
+            @Value("${app.outbox.purge-chunk-size:1000}") int purgeChunkSize,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.retentionMinutes = retentionMinutes;
+        this.purgeChunkSize = purgeChunkSize;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.lagTimer = registry != null ? registerMetrics(registry) : null;
+    }
+
+    /**
+     * 未配信のイベントを配信する
+     *
+     * @return 配信した件数
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:200}")
+    public int relay() {
+        if (!relayLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int total = 0;
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                List<OutboxMessage> batch = claim();
+                if (batch.isEmpty() || !publish(batch)) {
+                    break;
+                }
+                total += batch.size();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+            updateOldestPending();
+            return total;
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    /**
+     * 配信済みで保持期間を過ぎた行をチャンク単位で削除
+     *
+     * @return 削除した件数
+     */
+    @Scheduled(cron = "${app.outbox.purge-cron:0 */10 * * * *}")
+    public int purgePublished() {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("threshold", Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes)))
+                .addValue("limit", purgeChunkSize);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, params);
+            total += deleted;
+        } while (deleted >= purgeChunkSize);
+
+        purged.add(total);
+        if (total > 0) {
+            log.info("Purged {} published outbox rows older than {} minutes", total, retentionMinutes);
+        }
+        return total;
+    }
+
+    /**
+     * 未配信の行を取得し、貸出期限を設定する
+     */
+    private List<OutboxMessage> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = jdbcTemplate.query(CLAIM_SQL, new MapSqlParameterSource()
+                    .addValue("now", Timestamp.valueOf(now))
+                    .addValue("limit", batchSize), ROW_MAPPER);
+            if (!batch.isEmpty()) {
+                jdbcTemplate.update(LEASE_SQL, new MapSqlParameterSource()
+                        .addValue("leaseUntil", Timestamp.valueOf(now.plus(leaseDuration)))
+                        .addValue("ids", idsOf(batch)));
+            }
+            return batch;
+        });
+    }
+
+    private boolean publish(List<OutboxMessage> batch) {
+        try {
+            sink.publish(batch);
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.warn("Outbox relay failed to publish {} events starting at id {}, will retry: {}",
+                    batch.size(), batch.get(0).id(), e.getMessage());
+            jdbcTemplate.update(RELEASE_SQL, new MapSqlParameterSource("ids", idsOf(batch)));
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(PUBLISHED_SQL, new MapSqlParameterSource()
+                .addValue("publishedAt", Timestamp.valueOf(now))
+                .addValue("ids", idsOf(batch)));
+        published.add(batch.size());
+        if (lagTimer != null) {
+            batch.forEach(message -> lagTimer.record(Duration.between(message.createdAt(), now)));
+        }
+        return true;
+    }
+
+    private void updateOldestPending() {
+        Timestamp oldest = jdbcTemplate.getJdbcTemplate().queryForObject(OLDEST_PENDING_SQL, Timestamp.class);
+        oldestPendingMillis.set(oldest == null ? 0L
+                : Math.max(0L, Duration.between(oldest.toLocalDateTime(), LocalDateTime.now()).toMillis()));
+    }
+
+    private static List<Long> idsOf(List<OutboxMessage> batch) {
+        return batch.stream().map(OutboxMessage::id).toList();
+    }
+
+    private Timer registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("app.outbox.published", published, LongAdder::sum)
+                .description("Outbox events delivered to the sink")
+                .register(registry);
+        FunctionCounter.builder("app.outbox.failed", failed, LongAdder::sum)
+                .description("Outbox event deliveries that failed and will be retried")
+                .register(registry);
+        FunctionCounter.builder("app.outbox.purged", purged, LongAdder::sum)
+                .description("Published outbox rows removed after retention")
+                .register(registry);
+        Gauge.builder("app.outbox.oldest-pending", oldestPendingMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox event")
+                .baseUnit("seconds")
+                .register(registry);
+        return Timer.builder("app.outbox.lag")
+                .description("Time from recording an outbox event to delivering it")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getOldestPendingMillis() {
+        return oldestPendingMillis.get();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.todoapp.outbox;
+
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.entity.TodoOutboxEvent;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoOutboxRepository;
+import com.example.todoapp.util.TodoMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Todoの変更をアウトボックスへ記録する
+ *
+ * TodoServiceが発行する{@link TodoChangedEvent}をコミット直前に受信し、変更と同じトランザクションで
+ * todo_outboxへ1行追加する。変更がロールバックされた場合は記録も残らない。
+ * 配信は{@link TodoOutboxRelay}が別スレッドで行うため、書き込みのトランザクションは配信を待たない。
+ */
+@Component
+public class TodoOutboxWriter {
+
+    private final TodoOutboxRepository todoOutboxRepository;
+    private final ObjectWriter todoWriter;
+
+    public TodoOutboxWriter(TodoOutboxRepository todoOutboxRepository, ObjectMapper objectMapper) {
+        this.todoOutboxRepository = todoOutboxRepository;
+        this.todoWriter = objectMapper.copy()
+                .disable(SerializationFeature.INDENT_OUTPUT)
+                .writerFor(TodoResponse.class);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        todoOutboxRepository.save(new TodoOutboxEvent(
+                event.todoId(), event.type().name(), payloadOf(event), LocalDateTime.now()));
+    }
+
+    private String payloadOf(TodoChangedEvent event) {
+        if (event.todo() == null) {
+            return null;
+        }
+        try {
+            return todoWriter.writeValueAsString(TodoMapper.toResponse(event.todo()));
+        } catch (JsonProcessingException e) {
+            // 記録できない変更はコミットさせない
+            throw new IllegalStateException("Failed to serialize outbox payload for todo " + event.todoId(), e);
+        }
+    }
+}
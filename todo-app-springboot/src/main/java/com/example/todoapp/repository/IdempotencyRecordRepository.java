@@ -0,0 +1,39 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Keyの記録のデータアクセス層
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * 指定したキーの記録が有効期限を過ぎていれば削除
+     *
+     * @return 削除した件数
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    /**
+     * 有効期限を過ぎた記録を最大limit件削除
+     *
+     * @return 削除した件数
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_record WHERE idempotency_key IN "
+            + "(SELECT idempotency_key FROM idempotency_record WHERE expires_at < :now ORDER BY expires_at LIMIT :limit)",
+            nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
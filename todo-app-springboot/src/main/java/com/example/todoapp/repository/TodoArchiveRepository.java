@@ -0,0 +1,14 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.TodoArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * アーカイブしたTodoのデータアクセス層
+ * アーカイブへの移動は{@link TodoConditionalUpdateRepository#archiveDone}、
+ * 一覧・検索への合流は{@link TodoSearchRepository}で行う
+ */
+@Repository
+public interface TodoArchiveRepository extends JpaRepository<TodoArchive, Long> {
+}
@@ -0,0 +1,115 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.Todo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 読み込みを伴わない条件付き更新
+ * 実装は{@link TodoConditionalUpdateRepositoryImpl}（1回のUPDATE文で更新し、更新前の行を受け取る）
+ */
+public interface TodoConditionalUpdateRepository {
+
+    /**
+     * 指定した列のみを更新する
+     * UPDATE todo SET 指定列, updated_at, version = version + 1 WHERE id = ? [AND version = ?] を1回だけ発行する
+     *
+     * @param id 更新対象のTodoのID
+     * @param expectedVersion 更新の前提とするバージョン（nullの場合はバージョンを条件にしない）
+     * @param changes 更新する属性名と値（title, description, status, priority, dueDate）
+     * @param updatedAt 更新日時
+     * @return 更新前後のTodo、該当する行がない（存在しないかバージョン不一致）場合は空
+     */
+    default Optional<ConditionalUpdate> updateColumns(Long id, Long expectedVersion, Map<String, Object> changes,
+                                                      LocalDateTime updatedAt) {
+        return updateColumns(id, expectedVersion, changes, updatedAt, 1);
+    }
+
+    /**
+     * 指定した列のみを更新し、versionを指定した数だけ進める
+     * （書き込みを遅延してまとめた複数の変更を、それぞれのバージョンを消費した状態で書き込む場合に使用）
+     *
+     * @param versionIncrement versionに加える数（1以上）
+     * @see #updateColumns(Long, Long, Map, LocalDateTime)
+     */
+    Optional<ConditionalUpdate> updateColumns(Long id, Long expectedVersion, Map<String, Object> changes,
+                                              LocalDateTime updatedAt, int versionIncrement);
+
+    /**
+     * 複数のTodoの指定した列を一括で更新する
+     * UPDATE todo SET 指定列, updated_at, version = version + 1 WHERE id IN (...) を1回だけ発行する
+     *
+     * @param ids 更新対象のTodoのID
+     * @param changes 更新する属性名と値（title, description, status, priority, dueDate）
+     * @param updatedAt 更新日時
+     * @return 更新後のTodo（存在しないIDは含まない）
+     */
+    List<Todo> updateColumnsIn(Collection<Long> ids, Map<String, Object> changes, LocalDateTime updatedAt);
+
+    /**
+     * Todoを論理削除する
+     * UPDATE todo SET deleted_at = ?, version = version + 1 WHERE id = ? AND deleted_at IS NULL を1回だけ発行する
+     *
+     * @param id 削除対象のTodoのID
+     * @param deletedAt 削除日時
+     * @return 削除した場合はtrue、該当する行がない（存在しないか削除済み）場合はfalse
+     */
+    default boolean softDelete(Long id, LocalDateTime deletedAt) {
+        return softDelete(id, null, deletedAt);
+    }
+
+    /**
+     * Todoを指定したバージョンのときのみ論理削除する
+     * UPDATE todo SET deleted_at = ?, version = version + 1 WHERE id = ? AND deleted_at IS NULL [AND version = ?] を1回だけ発行する
+     *
+     * @param expectedVersion 削除の前提とするバージョン（nullの場合はバージョンを条件にしない）
+     * @return 削除した場合はtrue、該当する行がない（存在しないか削除済みかバージョン不一致）場合はfalse
+     * @see #softDelete(Long, LocalDateTime)
+     */
+    boolean softDelete(Long id, Long expectedVersion, LocalDateTime deletedAt);
+
+    /**
+     * 複数のTodoを一括で論理削除する
+     * UPDATE todo SET deleted_at = ?, version = version + 1 WHERE id IN (...) AND deleted_at IS NULL を1回だけ発行する
+     *
+     * @param ids 削除対象のTodoのID
+     * @param deletedAt 削除日時
+     * @return 削除したTodoのID（存在しないIDと削除済みのIDは含まない）
+     */
+    List<Long> softDeleteAllByIdIn(Collection<Long> ids, LocalDateTime deletedAt);
+
+    /**
+     * 指定日時より前に論理削除したTodoを最大limit件物理削除し、削除の記録（todo_tombstone）に移す
+     * 削除日時とIDはそのまま引き継ぐため、差分同期のカーソルの位置は変わらない
+     *
+     * @param threshold この日時より前に論理削除したTodoを対象とする
+     * @param limit 最大件数
+     * @return 物理削除した件数
+     */
+    int purgeDeleted(LocalDateTime threshold, int limit);
+
+    /**
+     * 指定日時より前に最後に更新された完了済み（DONE）のTodoを最大limit件、todo_archiveに移す
+     * todoからの削除と移した行の受け取りは1回の文で行い、アーカイブと削除の記録（todo_tombstone）への挿入は
+     * 同じトランザクションでバッチ実行する（差分同期ではアーカイブ日時の削除として伝わる）
+     *
+     * @param threshold この日時より前に更新されたTodoを対象とする
+     * @param archivedAt アーカイブ日時
+     * @param limit 最大件数
+     * @return 移したTodoのID
+     */
+    List<Long> archiveDone(LocalDateTime threshold, LocalDateTime archivedAt, int limit);
+
+    /**
+     * 条件付き更新の結果
+     *
+     * @param previous 更新前のTodo
+     * @param current 更新後のTodo（更新前の行に変更を適用したもの）
+     */
+    record ConditionalUpdate(Todo previous, Todo current) {
+    }
+}
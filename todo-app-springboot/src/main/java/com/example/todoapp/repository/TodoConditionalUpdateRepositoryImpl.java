@@ -0,0 +1,315 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link TodoConditionalUpdateRepository}の実装
+ *
+ * H2のデルタテーブル（SELECT ... FROM OLD TABLE (UPDATE ...)）で、更新と更新前の行の取得を1回の文で行う。
+ * 更新後のTodoは更新前の行に変更を適用して組み立てるため、更新後の再読み込みは行わない。
+ * 一括更新・論理削除はFINAL TABLEで更新後の行を、物理削除はOLD TABLEで削除した行を同じ文で受け取る。
+ * 論理削除済みの行は更新・削除の対象にしない。
+ * 物理削除・アーカイブは、OLD TABLEで受け取った行を同じトランザクションで削除の記録・アーカイブに挿入する。
+ * 永続化コンテキスト上の同じTodoは古い状態になるため、更新後に切り離す。
+ */
+public class TodoConditionalUpdateRepositoryImpl implements TodoConditionalUpdateRepository {
+
+    private static final String COLUMN_LIST = "id, title, description, status, priority, due_date, "
+            + "created_at, updated_at, version";
+
+    private static final String SELECT_PREVIOUS = "SELECT " + COLUMN_LIST + " FROM OLD TABLE (";
+
+    private static final String SELECT_UPDATED = "SELECT " + COLUMN_LIST + " FROM FINAL TABLE (";
+
+    /**
+     * 更新できる属性と列の対応
+     */
+    private static final Map<String, Column> COLUMNS = Map.of(
+            "title", new Column("title", (todo, value) -> todo.setTitle((String) value)),
+            "description", new Column("description", (todo, value) -> todo.setDescription((String) value)),
+            "status", new Column("status", (todo, value) -> todo.setStatus((TodoStatus) value)),
+            "priority", new Column("priority", (todo, value) -> todo.setPriority((TodoPriority) value)),
+            "dueDate", new Column("due_date", (todo, value) -> todo.setDueDate((LocalDate) value)));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<ConditionalUpdate> updateColumns(Long id, Long expectedVersion, Map<String, Object> changes,
+                                                     LocalDateTime updatedAt, int versionIncrement) {
+        if (versionIncrement < 1) {
+            throw new IllegalArgumentException("versionIncrement must be positive: " + versionIncrement);
+        }
+        List<Object> params = new ArrayList<>(changes.size() + 4);
+        StringBuilder sql = new StringBuilder(SELECT_PREVIOUS)
+                .append(updateStatement(changes, updatedAt, versionIncrement, params))
+                .append("id = ?");
+        params.add(id);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            params.add(expectedVersion);
+        }
+        sql.append(')');
+
+        List<Todo> rows = query(sql.toString(), params, List.of(id));
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Todo previous = rows.get(0);
+        Todo current = copyOf(previous);
+        changes.forEach((attribute, value) -> COLUMNS.get(attribute).setter().accept(current, value));
+        current.setUpdatedAt(updatedAt);
+        current.setVersion(previous.getVersion() + versionIncrement);
+        return Optional.of(new ConditionalUpdate(previous, current));
+    }
+
+    @Override
+    public List<Todo> updateColumnsIn(Collection<Long> ids, Map<String, Object> changes, LocalDateTime updatedAt) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> params = new ArrayList<>(changes.size() + ids.size() + 1);
+        String sql = SELECT_UPDATED + updateStatement(changes, updatedAt, 1, params) + "id IN (" + placeholders(ids, params) + "))";
+        return query(sql, params, ids);
+    }
+
+    @Override
+    public boolean softDelete(Long id, Long expectedVersion, LocalDateTime deletedAt) {
+        StringBuilder sql = new StringBuilder(
+                "UPDATE todo SET deleted_at = ?, version = version + 1 WHERE id = ? AND deleted_at IS NULL");
+        List<Object> params = new ArrayList<>(3);
+        params.add(deletedAt);
+        params.add(id);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            params.add(expectedVersion);
+        }
+
+        entityManager.flush();
+        int updated = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = prepare(connection, sql.toString(), params)) {
+                return statement.executeUpdate();
+            }
+        });
+        if (updated > 0) {
+            detach(List.of(id));
+        }
+        return updated > 0;
+    }
+
+    @Override
+    public List<Long> softDeleteAllByIdIn(Collection<Long> ids, LocalDateTime deletedAt) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> params = new ArrayList<>(ids.size() + 1);
+        params.add(deletedAt);
+        String sql = "SELECT id FROM FINAL TABLE (UPDATE todo SET deleted_at = ?, version = version + 1 "
+                + "WHERE deleted_at IS NULL AND id IN (" + placeholders(ids, params) + "))";
+
+        entityManager.flush();
+        List<Long> deleted = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = prepare(connection, sql, params);
+                 ResultSet rs = statement.executeQuery()) {
+                List<Long> result = new ArrayList<>();
+                while (rs.next()) {
+                    result.add(rs.getLong(1));
+                }
+                return result;
+            }
+        });
+        detach(deleted);
+        return deleted;
+    }
+
+    @Override
+    public int purgeDeleted(LocalDateTime threshold, int limit) {
+        String delete = "SELECT id, deleted_at FROM OLD TABLE (DELETE FROM todo WHERE id IN "
+                + "(SELECT id FROM todo WHERE deleted_at < ? ORDER BY deleted_at, id LIMIT ?))";
+        String insert = "INSERT INTO todo_tombstone (todo_id, deleted_at) VALUES (?, ?)";
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            int purged = 0;
+            try (PreparedStatement statement = prepare(connection, delete, List.of(threshold, limit));
+                 ResultSet rs = statement.executeQuery();
+                 PreparedStatement tombstones = connection.prepareStatement(insert)) {
+                while (rs.next()) {
+                    tombstones.setLong(1, rs.getLong("id"));
+                    tombstones.setTimestamp(2, rs.getTimestamp("deleted_at"));
+                    tombstones.addBatch();
+                    purged++;
+                }
+                if (purged > 0) {
+                    tombstones.executeBatch();
+                }
+            }
+            return purged;
+        });
+    }
+
+    @Override
+    public List<Long> archiveDone(LocalDateTime threshold, LocalDateTime archivedAt, int limit) {
+        String delete = "SELECT " + COLUMN_LIST + " FROM OLD TABLE (DELETE FROM todo WHERE id IN "
+                + "(SELECT id FROM todo WHERE status = 'DONE' AND deleted_at IS NULL AND updated_at < ? "
+                + "ORDER BY updated_at, id LIMIT ?))";
+        String insert = "INSERT INTO todo_archive (" + COLUMN_LIST + ", archived_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String tombstone = "INSERT INTO todo_tombstone (todo_id, deleted_at) VALUES (?, ?)";
+
+        entityManager.flush();
+        List<Long> archived = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            List<Long> ids = new ArrayList<>();
+            try (PreparedStatement statement = prepare(connection, delete, List.of(threshold, limit));
+                 ResultSet rs = statement.executeQuery();
+                 PreparedStatement archive = connection.prepareStatement(insert);
+                 PreparedStatement tombstones = connection.prepareStatement(tombstone)) {
+                while (rs.next()) {
+                    Todo todo = toTodo(rs);
+                    List<Object> values = Arrays.asList(todo.getId(), todo.getTitle(), todo.getDescription(),
+                            todo.getStatus(), todo.getPriority(), todo.getDueDate(), todo.getCreatedAt(),
+                            todo.getUpdatedAt(), todo.getVersion(), archivedAt);
+                    for (int i = 0; i < values.size(); i++) {
+                        bind(archive, i + 1, values.get(i));
+                    }
+                    archive.addBatch();
+                    tombstones.setLong(1, todo.getId());
+                    bind(tombstones, 2, archivedAt);
+                    tombstones.addBatch();
+                    ids.add(todo.getId());
+                }
+                if (!ids.isEmpty()) {
+                    archive.executeBatch();
+                    tombstones.executeBatch();
+                }
+            }
+            return ids;
+        });
+        detach(archived);
+        return archived;
+    }
+
+    /**
+     * UPDATE todo SET 指定列 = ?, updated_at = ?, version = version + ? WHERE deleted_at IS NULL AND （条件は呼び出し側で続ける）
+     */
+    private static String updateStatement(Map<String, Object> changes, LocalDateTime updatedAt, int versionIncrement,
+                                          List<Object> params) {
+        StringBuilder sql = new StringBuilder("UPDATE todo SET ");
+        changes.forEach((attribute, value) -> {
+            Column column = COLUMNS.get(attribute);
+            if (column == null) {
+                throw new IllegalArgumentException("Not an updatable attribute: " + attribute);
+            }
+            sql.append(column.name()).append(" = ?, ");
+            params.add(value);
+        });
+        params.add(updatedAt);
+        params.add(versionIncrement);
+        return sql.append("updated_at = ?, version = version + ? WHERE deleted_at IS NULL AND ").toString();
+    }
+
+    private static String placeholders(Collection<Long> ids, List<Object> params) {
+        params.addAll(ids);
+        return String.join(", ", Collections.nCopies(ids.size(), "?"));
+    }
+
+    /**
+     * 保留中の変更を先に反映してから文を実行し、返された行を読む
+     * 永続化コンテキスト上の対象のTodoは古い状態になるため切り離す
+     */
+    private List<Todo> query(String sql, List<Object> params, Collection<Long> ids) {
+        // 保留中の変更を先に反映し、この更新を後から上書きさせない
+        entityManager.flush();
+        List<Todo> rows = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = prepare(connection, sql, params);
+                 ResultSet rs = statement.executeQuery()) {
+                List<Todo> result = new ArrayList<>();
+                while (rs.next()) {
+                    result.add(toTodo(rs));
+                }
+                return result;
+            }
+        });
+        if (!rows.isEmpty()) {
+            detach(ids);
+        }
+        return rows;
+    }
+
+    private void detach(Collection<Long> ids) {
+        ids.forEach(id -> entityManager.detach(entityManager.getReference(Todo.class, id)));
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, List<Object> params) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        try {
+            for (int i = 0; i < params.size(); i++) {
+                bind(statement, i + 1, params.get(i));
+            }
+            return statement;
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+    }
+
+    private static void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value instanceof Enum<?> e) {
+            statement.setString(index, e.name());
+        } else if (value instanceof LocalDate date) {
+            statement.setDate(index, Date.valueOf(date));
+        } else if (value instanceof LocalDateTime dateTime) {
+            statement.setTimestamp(index, Timestamp.valueOf(dateTime));
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+
+    private static Todo toTodo(ResultSet rs) throws SQLException {
+        Todo todo = new Todo();
+        todo.setId(rs.getLong("id"));
+        todo.setTitle(rs.getString("title"));
+        todo.setDescription(rs.getString("description"));
+        todo.setStatus(TodoStatus.valueOf(rs.getString("status")));
+        todo.setPriority(TodoPriority.valueOf(rs.getString("priority")));
+        Date dueDate = rs.getDate("due_date");
+        todo.setDueDate(dueDate != null ? dueDate.toLocalDate() : null);
+        todo.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        todo.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        todo.setVersion(rs.getLong("version"));
+        return todo;
+    }
+
+    private static Todo copyOf(Todo source) {
+        Todo copy = new Todo(source.getTitle(), source.getDescription(), source.getStatus(), source.getPriority());
+        copy.setId(source.getId());
+        copy.setDueDate(source.getDueDate());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+
+    private record Column(String name, BiConsumer<Todo, Object> setter) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.TodoJob;
+import com.example.todoapp.entity.TodoJobState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * 一括処理ジョブのデータアクセス層
+ * 実行中の進捗はチャンクごとに対象の列だけを更新する
+ */
+@Repository
+public interface TodoJobRepository extends JpaRepository<TodoJob, Long> {
+
+    /**
+     * 処理件数を更新
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TodoJob j SET j.processed = :processed, j.affected = :affected WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id, @Param("processed") int processed, @Param("affected") int affected);
+
+    /**
+     * 取り消しの要求を記録
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TodoJob j SET j.cancelRequested = true WHERE j.id = :id")
+    int requestCancel(@Param("id") Long id);
+
+    /**
+     * 指定した状態のジョブを中断として終了させる（起動時に前回の実行待ち・実行中のジョブに対して使用）
+     *
+     * @return 更新した件数
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TodoJob j SET j.state = com.example.todoapp.entity.TodoJobState.INTERRUPTED, "
+            + "j.finishedAt = :now, j.message = :message WHERE j.state IN :states")
+    int interruptAll(@Param("states") Collection<TodoJobState> states,
+                     @Param("now") LocalDateTime now,
+                     @Param("message") String message);
+}
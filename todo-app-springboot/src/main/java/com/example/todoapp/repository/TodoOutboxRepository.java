@@ -0,0 +1,18 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.TodoOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Todo変更の送信待ちイベントのデータアクセス層
+ * 記録のみを行う。配信側の取得・更新は{@link com.example.todoapp.outbox.TodoOutboxRelay}がSQLで行う
+ */
+@Repository
+public interface TodoOutboxRepository extends JpaRepository<TodoOutboxEvent, Long> {
+
+    /**
+     * 未配信の件数
+     */
+    long countByPublishedAtIsNull();
+}
@@ -11,19 +11,23 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * TodoRepositoryインターフェース
  * Spring Data JPAを使用したTodoエンティティのデータアクセス層
  * 基本的なCRUD操作に加え、カスタムクエリメソッドとページング機能を提供
+ * 条件を組み合わせた検索・列の射影は{@link TodoSearchRepository}で提供
+ * 読み込みを伴わない条件付き更新は{@link TodoConditionalUpdateRepository}で提供
  * 
  * 要件8（JPA使用）、要件6（検索機能）、要件2（降順ソート）に対応
  * 
  * @author System
  */
 @Repository
-public interface TodoRepository extends JpaRepository<Todo, Long> {
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoSearchRepository,
+        TodoConditionalUpdateRepository {
     
     // ===========================================
     // 基本的なCRUD操作は JpaRepository により自動実装
@@ -182,4 +186,22 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
      * @return 期限切れかつ指定ステータス以外のTodo件数
      */
     Long countByDueDateBeforeAndStatusNot(LocalDate date, TodoStatus status);
+
+    /**
+     * 指定位置より後に更新されたTodoを(updatedAt, id)順に取得
+     * 差分同期用。(updated_at, id)のインデックスを範囲で走査する
+     *
+     * @param updatedAt 前回の位置の更新日時
+     * @param id 前回の位置のTodoのID
+     * @param until 取得する更新日時の上限
+     * @param pageable 取得件数
+     * @return 更新順のTodo一覧
+     */
+    @Query("SELECT t FROM Todo t WHERE t.updatedAt >= :updatedAt "
+           + "AND (t.updatedAt > :updatedAt OR t.id > :id) AND t.updatedAt <= :until "
+           + "ORDER BY t.updatedAt ASC, t.id ASC")
+    List<Todo> findUpdatedAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                @Param("id") Long id,
+                                @Param("until") LocalDateTime until,
+                                Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.dto.TodoSearchCriteria;
+import com.example.todoapp.entity.Todo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 検索条件による動的な検索（ページング・射影対応）
+ * 実装は{@link TodoSearchRepositoryImpl}（Criteria APIで条件を組み立てる）
+ */
+public interface TodoSearchRepository {
+
+    /**
+     * 検索条件に一致するTodoをページ単位で取得
+     * キーワード（タイトル・説明の部分一致）、ステータス、優先度、期限・作成日の範囲で絞り込む
+     *
+     * @param criteria 検索条件
+     * @param pageable ページング情報（並び替えはTodoの属性のみ）
+     * @return ページ情報を含む検索結果
+     * @throws com.example.todoapp.exception.BusinessException 並び替えの属性が不正な場合
+     */
+    Page<Todo> searchPage(TodoSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * 検索条件に一致するTodoの指定属性のみをページ単位で取得
+     * エンティティを読み込まず、指定した列だけを問い合わせる
+     *
+     * @param criteria 検索条件
+     * @param attributes 取得する属性名
+     * @param pageable ページング情報（並び替えはTodoの属性のみ）
+     * @return 属性名と値の組のページ
+     * @throws com.example.todoapp.exception.BusinessException 並び替えの属性が不正な場合
+     */
+    Page<Map<String, Object>> searchProjected(TodoSearchCriteria criteria, Set<String> attributes, Pageable pageable);
+}
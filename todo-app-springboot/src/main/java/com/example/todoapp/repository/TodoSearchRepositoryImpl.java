@@ -0,0 +1,353 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.dto.TodoField;
+import com.example.todoapp.dto.TodoSearchCriteria;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoArchive;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.exception.BusinessException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * {@link TodoSearchRepository}の実装
+ *
+ * 指定された条件だけを述語にし、並び替えの末尾にはIDを加えてページ間の順序を安定させる。
+ * 件数の問い合わせは、取得件数から総件数が確定しない場合のみ行う。
+ * includeArchivedを指定した場合は、todoとtodo_archiveを同じ条件でUNION ALLし、並び替えとページの切り出し
+ * （ORDER BY / LIMIT / OFFSET）をデータベースで行う（総件数は両テーブルの件数の和）。
+ * 読み飛ばす件数は両テーブルの合計に対してかかるため、オフセットはapp.archive.max-search-offsetまでに制限する。
+ */
+public class TodoSearchRepositoryImpl implements TodoSearchRepository {
+
+    /**
+     * UNION ALLで選択する属性と列の対応（並び順は{@link TodoField}と同じ）
+     */
+    private static final Map<String, String> COLUMNS = Map.of(
+            "id", "id",
+            "title", "title",
+            "description", "description",
+            "status", "status",
+            "priority", "priority",
+            "dueDate", "due_date",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "version", "version");
+
+    private static final Map<String, Class<?>> TYPES = Map.of(
+            "id", Long.class,
+            "title", String.class,
+            "description", String.class,
+            "status", String.class,
+            "priority", String.class,
+            "dueDate", LocalDate.class,
+            "createdAt", LocalDateTime.class,
+            "updatedAt", LocalDateTime.class,
+            "version", Long.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final long maxArchiveOffset;
+
+    public TodoSearchRepositoryImpl(@Value("${app.archive.max-search-offset:10000}") long maxArchiveOffset) {
+        this.maxArchiveOffset = maxArchiveOffset;
+    }
+
+    @Override
+    public Page<Todo> searchPage(TodoSearchCriteria criteria, Pageable pageable) {
+        if (includesArchive(criteria)) {
+            List<Todo> content = unionAll(criteria, COLUMNS.keySet(), pageable).stream()
+                    .map(TodoSearchRepositoryImpl::toTodo)
+                    .toList();
+            return PageableExecutionUtils.getPage(content, pageable, () -> countWithArchive(criteria));
+        }
+        List<Todo> content = paged(entityQuery(Todo.class, criteria, pageable.getSort()), pageable).getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(Todo.class, criteria));
+    }
+
+    @Override
+    public Page<Map<String, Object>> searchProjected(
+            TodoSearchCriteria criteria, Set<String> attributes, Pageable pageable) {
+        if (includesArchive(criteria)) {
+            // ORDER BYは選択した列しか参照できないため、並び替えに必要な属性も選択し、取得後に取り除く
+            Set<String> selected = new LinkedHashSet<>(attributes);
+            pageable.getSort().forEach(order -> selected.add(order.getProperty()));
+            selected.add("id");
+            List<Map<String, Object>> content = unionAll(criteria, selected, pageable);
+            if (selected.size() > attributes.size()) {
+                content.forEach(row -> row.keySet().retainAll(attributes));
+            }
+            return PageableExecutionUtils.getPage(content, pageable, () -> countWithArchive(criteria));
+        }
+        List<Map<String, Object>> content = rows(paged(tupleQuery(Todo.class, criteria, attributes, pageable.getSort()), pageable));
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(Todo.class, criteria));
+    }
+
+    /**
+     * todoとtodo_archiveを1つの問い合わせ（UNION ALL）で並び替え、ページの範囲だけを読み込む
+     * 列挙型は名前の文字列で並び替えるため、todoだけの問い合わせと同じ順序になる
+     */
+    private List<Map<String, Object>> unionAll(TodoSearchCriteria criteria, Set<String> attributes, Pageable pageable) {
+        if (pageable.isPaged() && pageable.getOffset() > maxArchiveOffset) {
+            throw new BusinessException("Offset must not exceed " + maxArchiveOffset + " when includeArchived is set",
+                    "OFFSET_TOO_LARGE");
+        }
+        StringJoiner columns = new StringJoiner(", ");
+        for (String attribute : attributes) {
+            String column = COLUMNS.get(attribute);
+            if (column == null) {
+                throw new BusinessException("Unknown sort property: " + attribute, "INVALID_SORT");
+            }
+            columns.add(column + " AS \"" + attribute + "\"");
+        }
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String where = nativePredicates(criteria, parameters);
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT ").append(columns).append(" FROM todo WHERE deleted_at IS NULL").append(where)
+                .append(" UNION ALL SELECT ").append(columns).append(" FROM todo_archive WHERE 1 = 1").append(where)
+                .append(" ORDER BY ").append(nativeOrders(pageable.getSort()));
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+            parameters.put("limit", pageable.getPageSize());
+            parameters.put("offset", pageable.getOffset());
+        }
+
+        NativeQuery<?> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        attributes.forEach(attribute -> query.addScalar(attribute, TYPES.get(attribute)));
+        parameters.forEach(query::setParameter);
+
+        List<?> results = query.getResultList();
+        List<Map<String, Object>> content = new ArrayList<>(results.size());
+        for (Object result : results) {
+            Object[] values = attributes.size() == 1 ? new Object[]{result} : (Object[]) result;
+            Map<String, Object> row = new LinkedHashMap<>();
+            int i = 0;
+            for (String attribute : attributes) {
+                row.put(attribute, enumValue(attribute, values[i++]));
+            }
+            content.add(row);
+        }
+        return content;
+    }
+
+    private static Object enumValue(String attribute, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (attribute) {
+            case "status" -> TodoStatus.valueOf((String) value);
+            case "priority" -> TodoPriority.valueOf((String) value);
+            default -> value;
+        };
+    }
+
+    private static Todo toTodo(Map<String, Object> row) {
+        Todo todo = new Todo((String) row.get("title"), (String) row.get("description"),
+                (TodoStatus) row.get("status"), (TodoPriority) row.get("priority"));
+        todo.setId((Long) row.get("id"));
+        todo.setDueDate((LocalDate) row.get("dueDate"));
+        todo.setCreatedAt((LocalDateTime) row.get("createdAt"));
+        todo.setUpdatedAt((LocalDateTime) row.get("updatedAt"));
+        todo.setVersion((Long) row.get("version"));
+        return todo;
+    }
+
+    /**
+     * {@link #predicates}と同じ条件を、両方の問い合わせで共有するパラメータ付きのSQLにする
+     */
+    private static String nativePredicates(TodoSearchCriteria criteria, Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder();
+        if (criteria.hasKeyword()) {
+            where.append(" AND (title LIKE :keyword ESCAPE '\\' OR description LIKE :keyword ESCAPE '\\')");
+            parameters.put("keyword", "%" + escapeLike(criteria.getKeyword().trim()) + "%");
+        }
+        if (criteria.getStatus() != null) {
+            where.append(" AND status = :status");
+            parameters.put("status", criteria.getStatus().name());
+        }
+        if (criteria.getPriority() != null) {
+            where.append(" AND priority = :priority");
+            parameters.put("priority", criteria.getPriority().name());
+        }
+        if (criteria.getDueDateFrom() != null) {
+            where.append(" AND due_date >= :dueDateFrom");
+            parameters.put("dueDateFrom", criteria.getDueDateFrom());
+        }
+        if (criteria.getDueDateTo() != null) {
+            where.append(" AND due_date <= :dueDateTo");
+            parameters.put("dueDateTo", criteria.getDueDateTo());
+        }
+        if (criteria.getCreatedFrom() != null) {
+            where.append(" AND created_at >= :createdFrom");
+            parameters.put("createdFrom", criteria.getCreatedFrom().atStartOfDay());
+        }
+        if (criteria.getCreatedTo() != null) {
+            where.append(" AND created_at < :createdTo");
+            parameters.put("createdTo", criteria.getCreatedTo().plusDays(1).atStartOfDay());
+        }
+        return where.toString();
+    }
+
+    /**
+     * {@link #orders}と同じ並び順（末尾はIDの昇順）を、選択した列の別名で指定する
+     */
+    private static String nativeOrders(Sort sort) {
+        StringJoiner orders = new StringJoiner(", ");
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            if (!COLUMNS.containsKey(property)) {
+                throw new BusinessException("Unknown sort property: " + property, "INVALID_SORT");
+            }
+            hasId |= property.equals("id");
+            orders.add("\"" + property + "\"" + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        if (!hasId) {
+            orders.add("\"id\" ASC");
+        }
+        return orders.toString();
+    }
+
+    private <T> TypedQuery<T> entityQuery(Class<T> type, TodoSearchCriteria criteria, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        query.select(root)
+                .where(predicates(cb, root, criteria))
+                .orderBy(orders(cb, root, sort));
+        return entityManager.createQuery(query);
+    }
+
+    private TypedQuery<Tuple> tupleQuery(Class<?> type, TodoSearchCriteria criteria, Set<String> attributes, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(type);
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections)
+                .where(predicates(cb, root, criteria))
+                .orderBy(orders(cb, root, sort));
+        return entityManager.createQuery(query);
+    }
+
+    private static List<Map<String, Object>> rows(TypedQuery<Tuple> query) {
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> content = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            content.add(row);
+        }
+        return content;
+    }
+
+    private long count(Class<?> type, TodoSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<?> root = query.from(type);
+        query.select(cb.count(root)).where(predicates(cb, root, criteria));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private long countWithArchive(TodoSearchCriteria criteria) {
+        return count(Todo.class, criteria) + count(TodoArchive.class, criteria);
+    }
+
+    private static boolean includesArchive(TodoSearchCriteria criteria) {
+        return criteria != null && criteria.isIncludeArchived();
+    }
+
+    private static <T> TypedQuery<T> paged(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<?> root, TodoSearchCriteria criteria) {
+        if (criteria == null) {
+            return new Predicate[0];
+        }
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.hasKeyword()) {
+            String pattern = "%" + escapeLike(criteria.getKeyword().trim()) + "%";
+            predicates.add(cb.or(
+                    cb.like(root.get("title"), pattern, '\\'),
+                    cb.like(root.get("description"), pattern, '\\')));
+        }
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getPriority() != null) {
+            predicates.add(cb.equal(root.get("priority"), criteria.getPriority()));
+        }
+        if (criteria.getDueDateFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), criteria.getDueDateFrom()));
+        }
+        if (criteria.getDueDateTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), criteria.getDueDateTo()));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("createdAt"),
+                    criteria.getCreatedFrom().atStartOfDay()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(root.<LocalDateTime>get("createdAt"),
+                    criteria.getCreatedTo().plusDays(1).atStartOfDay()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static List<Order> orders(CriteriaBuilder cb, Root<?> root, Sort sort) {
+        List<Order> orders = new ArrayList<>();
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            if (!TodoField.isAttribute(property)) {
+                throw new BusinessException("Unknown sort property: " + property, "INVALID_SORT");
+            }
+            hasId |= property.equals("id");
+            orders.add(order.isAscending() ? cb.asc(root.get(property)) : cb.desc(root.get(property)));
+        }
+        if (!hasId) {
+            orders.add(cb.asc(root.get("id")));
+        }
+        return orders;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
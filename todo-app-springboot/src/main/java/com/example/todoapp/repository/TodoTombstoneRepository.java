@@ -0,0 +1,57 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.TodoTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 削除済みTodoの記録（トゥームストーン）のデータアクセス層
+ * 差分同期の読み込みは、物理削除済みの記録と論理削除済みのTodoを
+ * それぞれの(deleted_at, id)のインデックスで範囲走査して併合する
+ */
+@Repository
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+
+    /**
+     * 指定位置より後に削除されたTodoの記録を(deletedAt, todoId)順に取得
+     * 物理削除前の論理削除済みのTodoも削除の記録として含める（物理削除時に同じ位置の記録に移る）
+     *
+     * @param deletedAt 前回の位置の削除日時
+     * @param todoId 前回の位置のTodoのID
+     * @param until 取得する削除日時の上限
+     * @param limit 取得件数
+     */
+    @Query(value = "SELECT todo_id, deleted_at FROM ("
+            + "(SELECT todo_id, deleted_at FROM todo_tombstone WHERE deleted_at >= :deletedAt "
+            + "AND (deleted_at > :deletedAt OR todo_id > :todoId) AND deleted_at <= :until "
+            + "ORDER BY deleted_at, todo_id LIMIT :limit) "
+            + "UNION ALL "
+            + "(SELECT id AS todo_id, deleted_at FROM todo WHERE deleted_at >= :deletedAt "
+            + "AND (deleted_at > :deletedAt OR id > :todoId) AND deleted_at <= :until "
+            + "ORDER BY deleted_at, id LIMIT :limit)"
+            + ") ORDER BY deleted_at, todo_id LIMIT :limit",
+            nativeQuery = true)
+    List<TodoTombstone> findDeletedAfter(@Param("deletedAt") LocalDateTime deletedAt,
+                                         @Param("todoId") Long todoId,
+                                         @Param("until") LocalDateTime until,
+                                         @Param("limit") int limit);
+
+    /**
+     * 指定日時より前の記録を最大limit件削除
+     *
+     * @return 削除した件数
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM todo_tombstone WHERE todo_id IN "
+            + "(SELECT todo_id FROM todo_tombstone WHERE deleted_at < :threshold ORDER BY deleted_at, todo_id LIMIT :limit)",
+            nativeQuery = true)
+    int deleteOlderThan(@Param("threshold") LocalDateTime threshold, @Param("limit") int limit);
+}
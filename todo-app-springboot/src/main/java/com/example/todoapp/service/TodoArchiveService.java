@@ -0,0 +1,173 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.cache.TodoVersionRegistry;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoArchiveRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.writebehind.TodoStatusWriteBehind;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 完了済みTodoのアーカイブ（todo → todo_archive）
+ *
+ * 最後の更新からage-daysを過ぎたDONEのTodoを、チャンクごとに1つのトランザクションでtodo_archiveに移す。
+ * todoテーブルとそのインデックスを現役のTodoだけに保ち、既定の一覧・件数・キーワード検索の走査量を抑える。
+ * 1回の実行で移す件数はmax-chunks-per-runチャンクまでとし、残りは次回の実行で移す。
+ * 実行の前に保留中のステータス変更（{@link TodoStatusWriteBehind}）を書き込む。
+ * 移したTodoは現役のTodoから外れるため、同じトランザクションで削除の記録（todo_tombstone）を残し、
+ * {@link TodoChangedEvent}（DELETED）を発行する（差分同期・変更ログ・アウトボックスには削除として伝わる）。
+ * 移した後はキャッシュとETagを破棄する（アーカイブしたTodoは一覧・検索でincludeArchivedを指定した場合のみ返す）。
+ * 各テーブルの行数はtable-size-refresh-msごとに数え直し、ゲージとして公開する（スクレイプのたびには数えない）。
+ */
+@Service
+@Slf4j
+public class TodoArchiveService {
+
+    private static final List<String> CACHES = List.of("todos", "todo-counts", "todo-search-results", "todo-statistics");
+
+    private final TodoRepository todoRepository;
+    private final TodoArchiveRepository todoArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final TodoVersionRegistry todoVersionRegistry;
+    private final TodoStatusWriteBehind todoStatusWriteBehind;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ageDays;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    private final ReentrantLock archiveLock = new ReentrantLock();
+    private final LongAdder archived = new LongAdder();
+    private final AtomicLong hotRows = new AtomicLong();
+    private final AtomicLong archivedRows = new AtomicLong();
+    private final Timer chunkTimer;
+
+    public TodoArchiveService(
+            TodoRepository todoRepository,
+            TodoArchiveRepository todoArchiveRepository,
+            PlatformTransactionManager transactionManager,
+            CacheManager cacheManager,
+            TodoVersionRegistry todoVersionRegistry,
+            TodoStatusWriteBehind todoStatusWriteBehind,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.archive.age-days:365}") long ageDays,
+            @Value("${app.archive.chunk-size:500}") int chunkSize,
+            @Value("${app.archive.max-chunks-per-run:200}") int maxChunksPerRun,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.todoRepository = todoRepository;
+        this.todoArchiveRepository = todoArchiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.todoVersionRegistry = todoVersionRegistry;
+        this.todoStatusWriteBehind = todoStatusWriteBehind;
+        this.eventPublisher = eventPublisher;
+        this.ageDays = ageDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            FunctionCounter.builder("app.archive.archived", archived, LongAdder::sum)
+                    .description("Done todos moved from todo to todo_archive")
+                    .register(registry);
+            Gauge.builder("app.archive.table.rows", hotRows, AtomicLong::get)
+                    .tag("table", "todo")
+                    .description("Rows in the table at the last refresh")
+                    .register(registry);
+            Gauge.builder("app.archive.table.rows", archivedRows, AtomicLong::get)
+                    .tag("table", "todo_archive")
+                    .description("Rows in the table at the last refresh")
+                    .register(registry);
+            this.chunkTimer = Timer.builder("app.archive.chunk")
+                    .description("Time to move one chunk of todos to todo_archive")
+                    .register(registry);
+        } else {
+            this.chunkTimer = null;
+        }
+    }
+
+    /**
+     * 保持期間を過ぎた完了済みTodoをチャンク単位でアーカイブに移す
+     *
+     * @return 移した件数（他の実行中の場合は0）
+     */
+    @Scheduled(cron = "${app.archive.cron:0 50 2 * * *}")
+    public int archiveDone() {
+        if (!archiveLock.tryLock()) {
+            return 0;
+        }
+        try {
+            // 保留中のステータス変更を先に書き込み、変更前の状態でアーカイブしない
+            todoStatusWriteBehind.flushAll();
+            LocalDateTime threshold = LocalDateTime.now().minusDays(ageDays);
+            long started = System.nanoTime();
+            int total = 0;
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                long chunkStarted = System.nanoTime();
+                Integer moved = transactionTemplate.execute(status -> {
+                    List<Long> ids = todoRepository.archiveDone(threshold, LocalDateTime.now(), chunkSize);
+                    ids.forEach(id -> eventPublisher.publishEvent(TodoChangedEvent.deleted(id)));
+                    return ids.size();
+                });
+                if (chunkTimer != null && moved > 0) {
+                    chunkTimer.record(System.nanoTime() - chunkStarted, TimeUnit.NANOSECONDS);
+                }
+                total += moved;
+                if (moved < chunkSize) {
+                    break;
+                }
+            }
+
+            if (total > 0) {
+                archived.add(total);
+                invalidateCaches();
+                long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                log.info("Archived {} done todos not updated for {} days in {} ms ({} rows/s)",
+                        total, ageDays, millis, total * 1000L / millis);
+                refreshTableSizes();
+            }
+            return total;
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    /**
+     * 各テーブルの行数を数え直す
+     */
+    @Scheduled(fixedDelayString = "${app.archive.table-size-refresh-ms:60000}")
+    public void refreshTableSizes() {
+        hotRows.set(todoRepository.count());
+        archivedRows.set(todoArchiveRepository.count());
+    }
+
+    private void invalidateCaches() {
+        for (String name : CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        todoVersionRegistry.invalidateAll();
+    }
+}
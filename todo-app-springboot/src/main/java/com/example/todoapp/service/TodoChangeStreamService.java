@@ -0,0 +1,471 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.event.TodoChange;
+import com.example.todoapp.event.TodoChangeLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Todo変更のServer-Sent Events配信
+ *
+ * 購読者ごとに変更ログ（{@link TodoChangeLog}）上の送信済み位置だけを持ち、追記の通知で送信処理を
+ * 送信用スレッドへ依頼する。購読者ごとの送信は同時に1つまでとし、変更を複製したキューは持たない。
+ * 購読者の未送信分（バッファ）は最大遅延件数までとし、超えた購読者には reset を送って切断する。
+ * 遅延件数の確認は追記時にも行い、送信が止まっている購読者（受信しないクライアント）は送信の完了を待たずに切り離す。
+ * 送信が一定時間（send-timeout-ms）を超えた購読者も監視で切り離し、止まった送信用スレッドの代わりに
+ * スレッドを1つ追加する（上限max-stalled-senders、止まった送信が戻った時点で減らす）ため、
+ * 1つのクライアントの停止が他の購読者への配信を止めない。
+ * Last-Event-IDで再接続した購読者には、その番号以降を変更ログから再送する。
+ * 変更ログから失われている場合は reset（一覧の再取得を促す）を送り、最新の位置から配信を続ける。
+ * 接続の維持と切断の検出のため、一定間隔でコメント行を送る。
+ */
+@Service
+@Slf4j
+public class TodoChangeStreamService {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final TodoChangeLog changeLog;
+    private final int maxSubscribers;
+    private final int maxLag;
+    private final int batchSize;
+    private final long timeoutMillis;
+    private final long reconnectMillis;
+    private final long sendTimeoutNanos;
+    private final int senderThreads;
+    private final int maxStalledSenders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService heartbeat;
+    // 止まった送信の代わりに追加したスレッド数（poolLock配下で更新）
+    private final ReentrantLock poolLock = new ReentrantLock();
+    private int stalledSenders;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder stalled = new LongAdder();
+
+    public TodoChangeStreamService(
+            TodoChangeLog changeLog,
+            @Value("${app.change-stream.max-subscribers:1000}") int maxSubscribers,
+            @Value("${app.change-stream.max-lag:256}") int maxLag,
+            @Value("${app.change-stream.batch-size:64}") int batchSize,
+            @Value("${app.change-stream.sender-threads:2}") int senderThreads,
+            @Value("${app.change-stream.heartbeat-seconds:15}") long heartbeatSeconds,
+            @Value("${app.change-stream.timeout-minutes:30}") long timeoutMinutes,
+            @Value("${app.change-stream.reconnect-millis:3000}") long reconnectMillis,
+            @Value("${app.change-stream.send-timeout-ms:5000}") long sendTimeoutMillis,
+            @Value("${app.change-stream.max-stalled-senders:16}") int maxStalledSenders,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.changeLog = changeLog;
+        this.maxSubscribers = maxSubscribers;
+        this.maxLag = Math.min(maxLag, changeLog.getCapacity());
+        this.batchSize = batchSize;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.reconnectMillis = reconnectMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.senderThreads = senderThreads;
+        this.maxStalledSenders = maxStalledSenders;
+        // 購読者ごとに依頼は1件までのため、キューは購読者数で上限が決まる
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxSubscribers), daemonThreads("change-stream-sender-"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("change-stream-heartbeat-"));
+        heartbeat.scheduleAtFixedRate(this::requestHeartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        long checkMillis = Math.max(10, sendTimeoutMillis / 2);
+        heartbeat.scheduleAtFixedRate(this::abandonStalledSends, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        changeLog.addAppendListener(this::onAppend);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registerMetrics(registry);
+        }
+    }
+
+    /**
+     * 購読を開始する
+     *
+     * @param lastEventId 再接続時のLast-Event-ID（最後に受信したシーケンス番号、省略時は新しい変更のみ）
+     * @return 配信用のSseEmitter、購読者数が上限に達している場合はnull
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            dropped.increment();
+            return null;
+        }
+        return subscribe(new SseEmitter(timeoutMillis), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Long resumeFrom = parseSequence(lastEventId);
+        Subscriber subscriber = new Subscriber(emitter,
+                resumeFrom != null ? resumeFrom : changeLog.getLastSequence());
+        // 再送がない購読者は最初から遅延件数の上限を適用する
+        subscriber.live = resumeFrom == null;
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Change stream subscribed (from={}, subscribers={})", subscriber.cursor, subscribers.size());
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> {
+            close(subscriber);
+            subscriber.emitter.complete();
+        });
+    }
+
+    private void onAppend() {
+        long last = changeLog.getLastSequence();
+        subscribers.forEach(subscriber -> {
+            // 送信中のまま遅延件数を超えた購読者は、送信用スレッドを待たずに切り離す
+            if (subscriber.live && subscriber.sendStartedNanos != 0 && last - subscriber.cursor > maxLag) {
+                abandon(subscriber, "lagging " + (last - subscriber.cursor) + " changes behind while sending");
+            } else {
+                schedule(subscriber);
+            }
+        });
+    }
+
+    /**
+     * 送信が送信タイムアウトを超えて止まっている購読者を切り離す
+     */
+    private void abandonStalledSends() {
+        long now = System.nanoTime();
+        subscribers.forEach(subscriber -> {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > sendTimeoutNanos) {
+                abandon(subscriber, "send blocked for more than "
+                        + TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos) + " ms");
+            }
+        });
+    }
+
+    /**
+     * 送信中の購読者を切り離し、止まった送信用スレッドの代わりを追加する
+     * SseEmitterは送信中のスレッドがロックを持つため、ここでは操作せず送信が戻った時点で完了させる
+     */
+    private void abandon(Subscriber subscriber, String reason) {
+        boolean running;
+        subscriber.lock.lock();
+        try {
+            if (subscriber.closed || subscriber.abandoned) {
+                return;
+            }
+            subscriber.abandoned = true;
+            // 以後の送信処理は何も送らない
+            close(subscriber);
+            running = subscriber.running;
+            if (running) {
+                subscriber.completeOnFinish = true;
+                subscriber.compensated = addStalledSender();
+                // 送信処理の終了（running=false）より前にだけ割り込み、終了時に解除させる
+                Thread thread = subscriber.sendingThread;
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
+        } finally {
+            subscriber.lock.unlock();
+        }
+        dropped.increment();
+        stalled.increment();
+        log.info("Dropping change stream subscriber: {}", reason);
+        if (!running) {
+            // 判定の直後に送信が戻っていた場合は、ここで完了させる
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean addStalledSender() {
+        poolLock.lock();
+        try {
+            if (stalledSenders >= maxStalledSenders) {
+                return false;
+            }
+            stalledSenders++;
+            resizeSender();
+            return true;
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    private void removeStalledSender() {
+        poolLock.lock();
+        try {
+            stalledSenders--;
+            resizeSender();
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    /**
+     * 送信用スレッド数を、既定数と止まった送信の数の合計にする（poolLock配下で呼ぶこと）
+     */
+    private void resizeSender() {
+        int size = senderThreads + stalledSenders;
+        if (size > sender.getMaximumPoolSize()) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private void requestHeartbeat() {
+        subscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        });
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed || !subscriber.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.scheduled.set(false);
+            drop(subscriber, "sender queue full");
+        }
+    }
+
+    /**
+     * 購読者の送信済み位置より後の変更を送信する（購読者ごとに同時に1つ）
+     */
+    private void drain(Subscriber subscriber) {
+        subscriber.lock.lock();
+        try {
+            subscriber.running = true;
+        } finally {
+            subscriber.lock.unlock();
+        }
+        subscriber.sendingThread = Thread.currentThread();
+        try {
+            if (!subscriber.started && !subscriber.closed) {
+                subscriber.started = true;
+                send(subscriber, SseEmitter.event().reconnectTime(reconnectMillis).comment("connected"));
+            }
+            boolean sentAny = false;
+            while (!subscriber.closed) {
+                long last = changeLog.getLastSequence();
+                if (subscriber.live && last - subscriber.cursor > maxLag) {
+                    sendReset(subscriber, last);
+                    drop(subscriber, "lagging " + (last - subscriber.cursor) + " changes behind");
+                    return;
+                }
+                TodoChangeLog.Slice slice = changeLog.readAfter(subscriber.cursor, batchSize);
+                if (slice.truncated()) {
+                    sendReset(subscriber, last);
+                    subscriber.cursor = last;
+                    continue;
+                }
+                if (slice.changes().isEmpty()) {
+                    break;
+                }
+                for (TodoChange change : slice.changes()) {
+                    if (subscriber.closed) {
+                        break;
+                    }
+                    send(subscriber, SseEmitter.event()
+                            .id(Long.toString(change.sequence()))
+                            .name("change")
+                            .data(toJson(change), MediaType.APPLICATION_JSON));
+                    subscriber.cursor = change.sequence();
+                    sent.increment();
+                }
+                sentAny = true;
+            }
+            // 再送を終えた後は遅延件数の上限を適用する
+            subscriber.live = true;
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                if (!sentAny && !subscriber.closed) {
+                    send(subscriber, SseEmitter.event().comment("keepalive"));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 切断済み（送信失敗時の後始末はコンテナ側で行われる）
+            log.debug("Change stream subscriber disconnected: {}", e.getMessage());
+            close(subscriber);
+            return;
+        } finally {
+            subscriber.sendingThread = null;
+            subscriber.scheduled.set(false);
+            finishDrain(subscriber);
+            // 切り離し時の割り込みを他の購読者の送信へ持ち越さない
+            Thread.interrupted();
+        }
+        // 送信中に追記された変更の通知を取りこぼさないよう再確認する
+        if (changeLog.getLastSequence() > subscriber.cursor || subscriber.heartbeatDue) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * 送信処理の終了を記録し、送信中に切り離された購読者を完了させて追加したスレッドを減らす
+     */
+    private void finishDrain(Subscriber subscriber) {
+        boolean complete;
+        boolean compensated;
+        subscriber.lock.lock();
+        try {
+            subscriber.running = false;
+            complete = subscriber.completeOnFinish;
+            compensated = subscriber.compensated;
+            subscriber.completeOnFinish = false;
+            subscriber.compensated = false;
+        } finally {
+            subscriber.lock.unlock();
+        }
+        if (complete) {
+            subscriber.emitter.complete();
+        }
+        if (compensated) {
+            removeStalledSender();
+        }
+    }
+
+    /**
+     * 送信開始時刻を記録して送信する（監視で送信の停止を検出するため）
+     */
+    private static void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendStartedNanos = Math.max(1, System.nanoTime());
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.sendStartedNanos = 0;
+        }
+    }
+
+    private void sendReset(Subscriber subscriber, long sequence) throws IOException {
+        send(subscriber, SseEmitter.event()
+                .id(Long.toString(sequence))
+                .name("reset")
+                .data("{\"sequence\":" + sequence + "}", MediaType.APPLICATION_JSON));
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        dropped.increment();
+        log.info("Dropping change stream subscriber: {}", reason);
+        close(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    private static String toJson(TodoChange change) {
+        StringBuilder json = new StringBuilder(128)
+                .append("{\"sequence\":").append(change.sequence())
+                .append(",\"type\":\"").append(change.type().name())
+                .append("\",\"todoId\":").append(change.todoId());
+        if (change.updatedAt() != null) {
+            json.append(",\"updatedAt\":\"").append(DATE_TIME.format(change.updatedAt())).append('"');
+        }
+        return json.append(",\"recordedAt\":\"").append(DATE_TIME.format(change.recordedAt())).append("\"}")
+                .toString();
+    }
+
+    private static Long parseSequence(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        Gauge.builder("app.change-stream.subscribers", subscribers, Set::size)
+                .description("Connected change stream subscribers")
+                .register(registry);
+        FunctionCounter.builder("app.change-stream.sent", sent, LongAdder::sum)
+                .description("Change events sent to subscribers")
+                .register(registry);
+        FunctionCounter.builder("app.change-stream.dropped", dropped, LongAdder::sum)
+                .description("Subscribers refused or disconnected because they could not keep up")
+                .register(registry);
+        FunctionCounter.builder("app.change-stream.stalled", stalled, LongAdder::sum)
+                .description("Subscribers disconnected while a send was blocked")
+                .register(registry);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 購読者ごとの状態（cursor・started・live・送信中の情報は送信処理からのみ更新）
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // 以下の4つは送信処理と切り離しの間でlock配下で受け渡す
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean running;
+        private boolean abandoned;
+        private boolean completeOnFinish;
+        private boolean compensated;
+        private volatile long sendStartedNanos;
+        private volatile Thread sendingThread;
+        private volatile long cursor;
+        private volatile boolean started;
+        private volatile boolean live;
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
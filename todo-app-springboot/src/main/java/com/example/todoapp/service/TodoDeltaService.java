@@ -0,0 +1,172 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoDelta;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoTombstone;
+import com.example.todoapp.exception.BusinessException;
+import com.example.todoapp.exception.CursorExpiredException;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoTombstoneRepository;
+import com.example.todoapp.util.TodoMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Todoの差分同期
+ *
+ * カーソル（最後に返した変更の(更新日時, ID)）より後に作成・更新されたTodoと、削除の記録（トゥームストーンと論理削除済みのTodo）を
+ * それぞれのインデックス順に読み、日時順に併合して返す。再同期の費用は全件ではなく変更件数に比例する。
+ * コミット前の更新を読み飛ばさないよう、直近settle-millis以内の変更は次回の同期で返す。
+ * 削除の記録は保持期間を過ぎると削除するため、それより古いカーソルは受け付けない（全件の再取得を求める）。
+ */
+@Service
+@Slf4j
+public class TodoDeltaService {
+
+    private static final Comparator<Cursor> ORDER =
+            Comparator.comparing(Cursor::time).thenComparingLong(Cursor::id);
+
+    private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final int maxLimit;
+    private final long settleMillis;
+    private final long tombstoneRetentionDays;
+    private final int purgeChunkSize;
+
+    public TodoDeltaService(
+            TodoRepository todoRepository,
+            TodoTombstoneRepository todoTombstoneRepository,
+            @Value("${app.delta.max-limit:1000}") int maxLimit,
+            @Value("${app.delta.settle-millis:1000}") long settleMillis,
+            @Value("${app.delta.tombstone-retention-days:30}") long tombstoneRetentionDays,
+            @Value("${app.delta.purge-chunk-size:1000}") int purgeChunkSize) {
+        this.todoRepository = todoRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.maxLimit = maxLimit;
+        this.settleMillis = settleMillis;
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+        this.purgeChunkSize = purgeChunkSize;
+    }
+
+    /**
+     * カーソルより後の変更を取得する
+     *
+     * @param since 前回の{@link TodoDelta#getCursor()}、省略時は全件（初回同期）
+     * @param limit 返す変更の最大件数（作成・更新と削除の合計）
+     * @throws BusinessException カーソルの形式が不正な場合
+     * @throws CursorExpiredException カーソルが削除記録の保持期間より古い場合
+     */
+    @Transactional(readOnly = true)
+    public TodoDelta findChangesSince(String since, int limit) {
+        int size = Math.max(1, Math.min(limit, maxLimit));
+        LocalDateTime now = LocalDateTime.now();
+        Cursor from = since == null || since.isBlank() ? Cursor.START : Cursor.decode(since);
+        if (from != Cursor.START && from.time().isBefore(now.minusDays(tombstoneRetentionDays))) {
+            throw new CursorExpiredException(tombstoneRetentionDays);
+        }
+        LocalDateTime until = now.minus(settleMillis, ChronoUnit.MILLIS);
+
+        // 1件多く読み、続きがあるかを判定する
+        Pageable window = PageRequest.of(0, size + 1);
+        List<Todo> todos = todoRepository.findUpdatedAfter(from.time(), from.id(), until, window);
+        List<TodoTombstone> tombstones = todoTombstoneRepository.findDeletedAfter(
+                from.time(), from.id(), until, size + 1);
+
+        List<TodoResponse> changed = new ArrayList<>();
+        List<TodoDelta.Deleted> deleted = new ArrayList<>();
+        Cursor last = from;
+        int t = 0;
+        int d = 0;
+        while (changed.size() + deleted.size() < size && (t < todos.size() || d < tombstones.size())) {
+            Cursor todoPosition = t < todos.size() ? Cursor.of(todos.get(t)) : null;
+            Cursor tombstonePosition = d < tombstones.size() ? Cursor.of(tombstones.get(d)) : null;
+            if (tombstonePosition == null
+                    || (todoPosition != null && ORDER.compare(todoPosition, tombstonePosition) <= 0)) {
+                changed.add(TodoMapper.toResponse(todos.get(t++)));
+                last = todoPosition;
+            } else {
+                TodoTombstone tombstone = tombstones.get(d++);
+                deleted.add(new TodoDelta.Deleted(tombstone.getTodoId(), tombstone.getDeletedAt()));
+                last = tombstonePosition;
+            }
+        }
+        boolean hasMore = t < todos.size() || d < tombstones.size();
+        if (!hasMore) {
+            // 上限時刻までの変更は返し終えたため、カーソルを上限時刻まで進める
+            Cursor settled = new Cursor(until, Long.MAX_VALUE);
+            if (ORDER.compare(settled, last) > 0) {
+                last = settled;
+            }
+        }
+        log.debug("Delta since {}: {} changed, {} deleted, hasMore={}", from, changed.size(), deleted.size(), hasMore);
+        return new TodoDelta(changed, deleted, last.encode(), hasMore);
+    }
+
+    /**
+     * 保持期間を過ぎた削除の記録をチャンク単位で削除
+     *
+     * @return 削除した件数
+     */
+    @Scheduled(cron = "${app.delta.tombstone-purge-cron:0 15 4 * * *}")
+    public int purgeExpiredTombstones() {
+        LocalDateTime threshold = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = todoTombstoneRepository.deleteOlderThan(threshold, purgeChunkSize);
+            total += deleted;
+        } while (deleted >= purgeChunkSize);
+
+        if (total > 0) {
+            log.info("Purged {} todo tombstones older than {} days", total, tombstoneRetentionDays);
+        }
+        return total;
+    }
+
+    /**
+     * 差分同期の位置（最後に返した変更の(日時, ID)）
+     * URLにそのまま載せられるようBase64URLでエンコードする
+     */
+    private record Cursor(LocalDateTime time, long id) {
+
+        static final Cursor START = new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+        static Cursor of(Todo todo) {
+            return new Cursor(todo.getUpdatedAt(), todo.getId());
+        }
+
+        static Cursor of(TodoTombstone tombstone) {
+            return new Cursor(tombstone.getDeletedAt(), tombstone.getTodoId());
+        }
+
+        String encode() {
+            String raw = time + "," + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf(',');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new BusinessException("Invalid cursor: " + cursor, "INVALID_CURSOR");
+            }
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.dto.TodoJobRequest;
+import com.example.todoapp.dto.TodoJobResponse;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoJob;
+import com.example.todoapp.entity.TodoJobState;
+import com.example.todoapp.entity.TodoJobType;
+import com.example.todoapp.exception.BusinessException;
+import com.example.todoapp.exception.TodoJobNotFoundException;
+import com.example.todoapp.exception.TodoJobRejectedException;
+import com.example.todoapp.repository.TodoJobRepository;
+import com.example.todoapp.writebehind.TodoStatusWriteBehind;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Todoの一括処理ジョブ
+ *
+ * ステータス変更・優先度変更・削除の一括処理を専用のスレッドで実行し、投入時にジョブIDを返す。
+ * 対象はチャンクに分け、チャンクごとに1つのトランザクション（1回のUPDATE/DELETE文）で処理する。
+ * 各チャンクの前に、対象のTodoの保留中のステータス変更（{@link TodoStatusWriteBehind}）を書き込む。
+ * 進捗（処理件数・処理速度・残り時間の推定）はメモリ上で更新し、チャンクごとにジョブテーブルへ記録する。
+ * 処理したチャンクごとに、ジョブID・変更・削除したTodoのID・投入したクライアントを監査ログに記録する。
+ * 取り消しはチャンクの間で反映し、それまでに処理したチャンクは戻さない。
+ * 実行待ちのジョブはmax-queued件までとし、それを超える投入と停止中の投入は503（Retry-After付き）で拒否する。
+ * 対象のIDは保持しないため、停止時は実行中のジョブをチャンクの間で中断し、
+ * 起動時には前回の実行待ち・実行中のジョブを中断（INTERRUPTED）として記録する。
+ */
+@Service
+@Slf4j
+public class TodoJobService {
+
+    private static final List<TodoJobState> UNFINISHED = List.of(TodoJobState.QUEUED, TodoJobState.RUNNING);
+
+    private final TodoService todoService;
+    private final TodoJobRepository todoJobRepository;
+    private final TodoStatusWriteBehind todoStatusWriteBehind;
+    private final LoggingService loggingService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxIds;
+    private final long shutdownTimeoutSeconds;
+    private final int maxQueued;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<Long, RunningJob> active = new ConcurrentHashMap<>();
+    private volatile boolean shuttingDown;
+
+    private final LongAdder processedItems = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public TodoJobService(
+            TodoService todoService,
+            TodoJobRepository todoJobRepository,
+            TodoStatusWriteBehind todoStatusWriteBehind,
+            LoggingService loggingService,
+            ObjectMapper objectMapper,
+            @Value("${app.jobs.chunk-size:500}") int chunkSize,
+            @Value("${app.jobs.max-ids:100000}") int maxIds,
+            @Value("${app.jobs.concurrency:2}") int concurrency,
+            @Value("${app.jobs.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds,
+            @Value("${app.jobs.max-queued:100}") int maxQueued,
+            @Value("${app.jobs.retry-after-seconds:30}") long retryAfterSeconds,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.todoService = todoService;
+        this.todoJobRepository = todoJobRepository;
+        this.todoStatusWriteBehind = todoStatusWriteBehind;
+        this.loggingService = loggingService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        this.maxQueued = maxQueued;
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxQueued),
+                runnable -> new Thread(runnable, "todo-job-" + sequence.incrementAndGet()));
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registerMetrics(registry);
+        }
+    }
+
+    /**
+     * ジョブを投入する
+     *
+     * @param request 種別・対象のID・変更後の値
+     * @param requestedBy 投入したクライアント（監査ログに記録する）
+     * @return 実行待ちのジョブ
+     * @throws BusinessException 対象のIDが上限を超える場合、種別に必要な値がない場合
+     * @throws TodoJobRejectedException 停止中の場合、実行待ちのジョブが上限に達している場合
+     */
+    public TodoJobResponse submit(TodoJobRequest request, String requestedBy) {
+        if (shuttingDown) {
+            throw unavailable();
+        }
+        // 重複を除き、指定順を保つ
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(request.getIds()));
+        if (ids.size() > maxIds) {
+            throw new BusinessException("Too many ids: " + ids.size() + " (max " + maxIds + ")", "TOO_MANY_IDS");
+        }
+        Map<String, Object> changes = changesOf(request);
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw saturated();
+        }
+
+        TodoJob job = todoJobRepository.save(new TodoJob(request.getType(), targetValueOf(changes), ids.size(),
+                requestedBy, LocalDateTime.now()));
+        RunningJob running = new RunningJob(job, MDC.get("correlationId"));
+        active.put(job.getId(), running);
+        try {
+            executor.execute(() -> run(running, ids, changes));
+        } catch (RejectedExecutionException e) {
+            // 確認の後に実行待ちが埋まった、または停止が始まった場合は、記録したジョブを取り消す
+            active.remove(job.getId());
+            todoJobRepository.delete(job);
+            throw shuttingDown ? unavailable() : saturated();
+        }
+        log.info("Submitted job {} ({}) for {} todos", job.getId(), job.getType(), ids.size());
+        return running.toResponse();
+    }
+
+    /**
+     * ジョブの状態と進捗を取得する
+     *
+     * @throws TodoJobNotFoundException ジョブが存在しない場合
+     */
+    public TodoJobResponse get(Long id) {
+        RunningJob running = active.get(id);
+        if (running != null) {
+            return running.toResponse();
+        }
+        return todoJobRepository.findById(id)
+                .map(TodoJobService::toResponse)
+                .orElseThrow(() -> new TodoJobNotFoundException(id));
+    }
+
+    /**
+     * ジョブの取り消しを要求する（次のチャンクの前に反映する）
+     * 終了済みのジョブはそのままの状態を返す
+     *
+     * @throws TodoJobNotFoundException ジョブが存在しない場合
+     */
+    public TodoJobResponse cancel(Long id) {
+        RunningJob running = active.get(id);
+        if (running == null) {
+            return get(id);
+        }
+        running.cancelRequested = true;
+        todoJobRepository.requestCancel(id);
+        log.info("Cancellation requested for job {}", id);
+        return running.toResponse();
+    }
+
+    /**
+     * 前回の起動で終了しなかったジョブを中断として記録する
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void interruptUnfinishedJobs() {
+        int interrupted = todoJobRepository.interruptAll(UNFINISHED, LocalDateTime.now(),
+                "Interrupted by application restart");
+        if (interrupted > 0) {
+            log.warn("Marked {} unfinished jobs from a previous run as interrupted", interrupted);
+        }
+    }
+
+    /**
+     * 停止時は新しいチャンクを開始せず、実行中のチャンクの完了を待つ
+     */
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("Jobs did not stop within {} seconds", shutdownTimeoutSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(RunningJob running, List<Long> ids, Map<String, Object> changes) {
+        TodoJob job = running.job;
+        if (running.cancelRequested || shuttingDown) {
+            finish(running, running.cancelRequested ? TodoJobState.CANCELLED : TodoJobState.INTERRUPTED, null);
+            return;
+        }
+        job.setState(TodoJobState.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        todoJobRepository.save(job);
+        running.startedNanos = System.nanoTime();
+        running.state = TodoJobState.RUNNING;
+
+        try {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                if (running.cancelRequested) {
+                    finish(running, TodoJobState.CANCELLED, null);
+                    return;
+                }
+                if (shuttingDown) {
+                    finish(running, TodoJobState.INTERRUPTED, "Interrupted by application shutdown");
+                    return;
+                }
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                // 保留中のステータス変更を先に書き込み、受け付けた順に反映する
+                todoStatusWriteBehind.flushPending(chunk);
+                List<Long> affected = job.getType() == TodoJobType.DELETE
+                        ? todoService.bulkDelete(chunk)
+                        : todoService.bulkUpdate(chunk, changes).stream().map(Todo::getId).toList();
+                audit(running, chunk.size(), affected, changes);
+
+                running.processed += chunk.size();
+                running.affected += affected.size();
+                processedItems.add(chunk.size());
+                todoJobRepository.updateProgress(job.getId(), running.processed, running.affected);
+            }
+            finish(running, TodoJobState.SUCCEEDED, null);
+        } catch (RuntimeException e) {
+            log.error("Job {} failed after {} of {} todos", job.getId(), running.processed, job.getTotal(), e);
+            finish(running, TodoJobState.FAILED, e.getMessage());
+        }
+    }
+
+    private void finish(RunningJob running, TodoJobState state, String message) {
+        TodoJob job = running.job;
+        job.setState(state);
+        job.setProcessed(running.processed);
+        job.setAffected(running.affected);
+        job.setCancelRequested(running.cancelRequested);
+        job.setMessage(message != null && message.length() > 500 ? message.substring(0, 500) : message);
+        job.setFinishedAt(LocalDateTime.now());
+        try {
+            todoJobRepository.save(job);
+        } finally {
+            running.state = state;
+            active.remove(job.getId());
+        }
+        log.info("Job {} finished as {} ({} of {} processed, {} affected)",
+                job.getId(), state, running.processed, job.getTotal(), running.affected);
+    }
+
+    private void audit(RunningJob running, int chunkSize, List<Long> affected, Map<String, Object> changes) {
+        TodoJob job = running.job;
+        try {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("ids", affected);
+            value.putAll(changes);
+            AuditLogEntry entry = AuditLogEntry.builder()
+                    .operation(job.getType() == TodoJobType.DELETE ? "DELETE" : "UPDATE")
+                    .resourceType("TODO_JOB")
+                    .resourceId(job.getId().toString())
+                    .userId(job.getRequestedBy())
+                    .result("SUCCESS")
+                    .newValue(serializeCompact(value))
+                    .details("Bulk job " + job.getType() + " - " + affected.size() + " of " + chunkSize
+                            + " todos in chunk " + (running.processed / this.chunkSize + 1))
+                    .correlationId(running.correlationId)
+                    .build();
+            loggingService.logAudit(entry);
+        } catch (Exception e) {
+            log.error("Failed to log audit for chunk of job {}", job.getId(), e);
+        }
+    }
+
+    private String serializeCompact(Object value) throws JsonProcessingException {
+        return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(value);
+    }
+
+    private TodoJobRejectedException unavailable() {
+        rejected.increment();
+        return new TodoJobRejectedException("Jobs are not accepted while shutting down", retryAfterSeconds);
+    }
+
+    private TodoJobRejectedException saturated() {
+        rejected.increment();
+        return new TodoJobRejectedException("Too many queued jobs (max " + maxQueued + ")", retryAfterSeconds);
+    }
+
+    private static Map<String, Object> changesOf(TodoJobRequest request) {
+        return switch (request.getType()) {
+            case STATUS_CHANGE -> {
+                if (request.getStatus() == null) {
+                    throw new BusinessException("status is required for STATUS_CHANGE", "INVALID_JOB");
+                }
+                yield Map.of("status", request.getStatus());
+            }
+            case PRIORITY_CHANGE -> {
+                if (request.getPriority() == null) {
+                    throw new BusinessException("priority is required for PRIORITY_CHANGE", "INVALID_JOB");
+                }
+                yield Map.of("priority", request.getPriority());
+            }
+            case DELETE -> Map.of();
+        };
+    }
+
+    private static String targetValueOf(Map<String, Object> changes) {
+        return changes.isEmpty() ? null : changes.values().iterator().next().toString();
+    }
+
+    private static TodoJobResponse toResponse(TodoJob job) {
+        return TodoJobResponse.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .targetValue(job.getTargetValue())
+                .state(job.getState())
+                .total(job.getTotal())
+                .processed(job.getProcessed())
+                .affected(job.getAffected())
+                .percent(percentOf(job.getProcessed(), job.getTotal()))
+                .cancelRequested(job.isCancelRequested())
+                .message(job.getMessage())
+                .requestedBy(job.getRequestedBy())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private static double percentOf(int processed, int total) {
+        return total == 0 ? 100.0 : Math.round(processed * 1000.0 / total) / 10.0;
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        Gauge.builder("app.jobs.active", active, Map::size)
+                .description("Bulk jobs queued or running")
+                .register(registry);
+        FunctionCounter.builder("app.jobs.rejected", rejected, LongAdder::sum)
+                .description("Bulk jobs rejected with 503 because the queue was full or the application was stopping")
+                .register(registry);
+        FunctionCounter.builder("app.jobs.processed", processedItems, LongAdder::sum)
+                .description("Todos processed by bulk jobs")
+                .register(registry);
+    }
+
+    /**
+     * 実行待ち・実行中のジョブのメモリ上の進捗（進捗はジョブのスレッドのみが更新する）
+     */
+    private static final class RunningJob {
+
+        private final TodoJob job;
+        private final String correlationId;
+        private volatile TodoJobState state = TodoJobState.QUEUED;
+        private volatile int processed;
+        private volatile int affected;
+        private volatile long startedNanos;
+        private volatile boolean cancelRequested;
+
+        private RunningJob(TodoJob job, String correlationId) {
+            this.job = job;
+            this.correlationId = correlationId;
+        }
+
+        private TodoJobResponse toResponse() {
+            TodoJobResponse response = TodoJobService.toResponse(job);
+            int done = processed;
+            response.setState(state);
+            response.setProcessed(done);
+            response.setAffected(affected);
+            response.setPercent(percentOf(done, job.getTotal()));
+            response.setCancelRequested(cancelRequested);
+            response.setStartedAt(state == TodoJobState.QUEUED ? null : job.getStartedAt());
+            long started = startedNanos;
+            if (started != 0 && done > 0) {
+                double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+                double throughput = done / Math.max(seconds, 0.001);
+                response.setThroughputPerSecond(Math.round(throughput * 10) / 10.0);
+                response.setEtaSeconds((long) Math.ceil((job.getTotal() - done) / throughput));
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.filter.ConcurrencyLimitFilter;
+import com.example.todoapp.repository.TodoRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 論理削除したTodoの物理削除
+ *
+ * 論理削除からpurge-after-minutesを過ぎた行を、チャンクごとに1つのトランザクションで物理削除し、
+ * 同じ削除日時・IDのまま削除の記録（todo_tombstone）に移す。差分同期のクライアントは移動の前後を問わず同じ位置で削除を受け取る。
+ * 1回の実行で削除する件数はmax-chunks-per-runチャンクまでとし、残りは次回の実行で削除する。
+ * 各チャンクの前に負荷（{@link ConcurrencyLimitFilter#getUtilization()}）を確認し、max-loadを超えている間は
+ * busy-backoff-msから倍々（busy-max-backoff-msまで）で待つ。busy-max-wait-msを超えても混んでいる場合は残りを次回の実行に回す。
+ */
+@Service
+@Slf4j
+public class TodoPurgeService {
+
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long purgeAfterMinutes;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final double maxLoad;
+    private final long busyBackoffMillis;
+    private final long busyMaxBackoffMillis;
+    private final long busyMaxWaitMillis;
+    private final ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilter;
+
+    private final ReentrantLock purgeLock = new ReentrantLock();
+    private final LongAdder purged = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+
+    public TodoPurgeService(
+            TodoRepository todoRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.soft-delete.purge-after-minutes:60}") long purgeAfterMinutes,
+            @Value("${app.soft-delete.purge-chunk-size:500}") int chunkSize,
+            @Value("${app.soft-delete.max-chunks-per-run:200}") int maxChunksPerRun,
+            @Value("${app.soft-delete.max-load:0.5}") double maxLoad,
+            @Value("${app.soft-delete.busy-backoff-ms:200}") long busyBackoffMillis,
+            @Value("${app.soft-delete.busy-max-backoff-ms:5000}") long busyMaxBackoffMillis,
+            @Value("${app.soft-delete.busy-max-wait-ms:60000}") long busyMaxWaitMillis,
+            ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilter,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.todoRepository = todoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgeAfterMinutes = purgeAfterMinutes;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.maxLoad = maxLoad;
+        this.busyBackoffMillis = busyBackoffMillis;
+        this.busyMaxBackoffMillis = busyMaxBackoffMillis;
+        this.busyMaxWaitMillis = busyMaxWaitMillis;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            FunctionCounter.builder("app.todos.purged", purged, LongAdder::sum)
+                    .description("Soft-deleted todos physically deleted and moved to todo_tombstone")
+                    .register(registry);
+            FunctionCounter.builder("app.todos.purge.deferred", deferred, LongAdder::sum)
+                    .description("Purge runs stopped early because request load stayed above max-load")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * 保持時間を過ぎた論理削除済みのTodoをチャンク単位で物理削除
+     *
+     * @return 物理削除した件数（他の実行中の場合は0）
+     */
+    @Scheduled(cron = "${app.soft-delete.purge-cron:0 40 * * * *}")
+    public int purgeDeleted() {
+        if (!purgeLock.tryLock()) {
+            return 0;
+        }
+        try {
+            LocalDateTime threshold = LocalDateTime.now().minusMinutes(purgeAfterMinutes);
+            int total = 0;
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                if (!awaitQuiet()) {
+                    deferred.increment();
+                    log.info("Purge deferred after {} todos: request load stayed above {}", total, maxLoad);
+                    break;
+                }
+                Integer deleted = transactionTemplate.execute(status -> todoRepository.purgeDeleted(threshold, chunkSize));
+                total += deleted;
+                if (deleted < chunkSize) {
+                    break;
+                }
+            }
+
+            purged.add(total);
+            if (total > 0) {
+                log.info("Purged {} todos soft-deleted more than {} minutes ago", total, purgeAfterMinutes);
+            }
+            return total;
+        } finally {
+            purgeLock.unlock();
+        }
+    }
+
+    /**
+     * 負荷がmax-load以下になるまで間隔を倍にしながら待つ
+     *
+     * @return 次のチャンクを削除してよい場合true（busy-max-wait-msを過ぎても混んでいる、または割り込まれた場合false）
+     */
+    private boolean awaitQuiet() {
+        ConcurrencyLimitFilter filter = concurrencyLimitFilter.getIfAvailable();
+        if (filter == null) {
+            return true;
+        }
+        long waited = 0;
+        long backoff = busyBackoffMillis;
+        while (filter.getUtilization() > maxLoad) {
+            if (waited >= busyMaxWaitMillis) {
+                return false;
+            }
+            long sleep = Math.min(backoff, busyMaxWaitMillis - waited);
+            try {
+                Thread.sleep(sleep);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            waited += sleep;
+            backoff = Math.min(backoff * 2, busyMaxBackoffMillis);
+        }
+        return true;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.todoapp.service;
 
+import com.example.todoapp.dto.TodoField;
 import com.example.todoapp.dto.TodoRequest;
 import com.example.todoapp.dto.TodoSearchCriteria;
 import com.example.todoapp.entity.Todo;
@@ -8,6 +9,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Todoに関するビジネスロジックを提供するサービスインターフェース
@@ -38,20 +41,59 @@ public interface TodoService {
     
     /**
      * 既存Todoの更新
+     * リクエストにversionが指定された場合は、そのバージョンのときのみ更新する
      * @param id 更新対象のID
      * @param request Todo更新リクエスト
      * @return 更新されたTodo
      * @throws com.example.todoapp.exception.TodoNotFoundException Todoが見つからない場合
+     * @throws org.springframework.dao.OptimisticLockingFailureException versionが現在のバージョンと一致しない場合
      */
     Todo update(Long id, TodoRequest request);
     
     /**
-     * Todoの削除
+     * 既存Todoの部分更新
+     * 指定された属性の列のみを更新し、expectedVersionが指定された場合はそのバージョンのときのみ更新する
+     * @param id 更新対象のID
+     * @param changes 変更する属性名と値（title, description, status, priority, dueDate）
+     * @param expectedVersion 更新の前提とするバージョン（nullの場合は無条件）
+     * @return 更新されたTodo（変更がない場合は現在のTodo）
+     * @throws com.example.todoapp.exception.TodoNotFoundException Todoが見つからない場合
+     * @throws org.springframework.dao.OptimisticLockingFailureException versionが現在のバージョンと一致しない場合
+     */
+    Todo patch(Long id, Map<String, Object> changes, Long expectedVersion);
+    
+    /**
+     * Todoの削除（論理削除）
      * @param id 削除対象のID
      * @throws com.example.todoapp.exception.TodoNotFoundException Todoが見つからない場合
      */
     void delete(Long id);
     
+    /**
+     * Todoの削除（論理削除）
+     * expectedVersionが指定された場合はそのバージョンのときのみ削除する
+     * @param id 削除対象のID
+     * @param expectedVersion 削除の前提とするバージョン（nullの場合は無条件）
+     * @throws com.example.todoapp.exception.TodoNotFoundException Todoが見つからない場合
+     * @throws org.springframework.dao.OptimisticLockingFailureException versionが現在のバージョンと一致しない場合
+     */
+    void delete(Long id, Long expectedVersion);
+    
+    /**
+     * 複数Todoの一括更新（1回のUPDATE文、一括処理のチャンク単位で呼び出す）
+     * @param ids 更新対象のID
+     * @param changes 変更する属性名と値（title, description, status, priority, dueDate）
+     * @return 更新されたTodo（存在しないIDは含まない）
+     */
+    List<Todo> bulkUpdate(List<Long> ids, Map<String, Object> changes);
+    
+    /**
+     * 複数Todoの一括削除（1回の論理削除のUPDATE文、一括処理のチャンク単位で呼び出す）
+     * @param ids 削除対象のID
+     * @return 削除されたTodoのID（存在しないIDと削除済みのIDは含まない）
+     */
+    List<Long> bulkDelete(List<Long> ids);
+    
     /**
      * 検索条件によるTodo検索
      * @param criteria 検索条件
@@ -59,6 +101,24 @@ public interface TodoService {
      */
     List<Todo> search(TodoSearchCriteria criteria);
     
+    /**
+     * 検索条件によるTodo検索（ページング対応）
+     * @param criteria 検索条件
+     * @param pageable ページング情報
+     * @return ページング対応の検索結果
+     */
+    Page<Todo> search(TodoSearchCriteria criteria, Pageable pageable);
+    
+    /**
+     * 検索条件によるTodo検索（指定フィールドのみ取得）
+     * 指定フィールドに必要な列だけを問い合わせる
+     * @param criteria 検索条件（空の場合は全件）
+     * @param fields 取得するフィールド
+     * @param pageable ページング情報
+     * @return 属性名と値の組のページ
+     */
+    Page<Map<String, Object>> search(TodoSearchCriteria criteria, Set<TodoField> fields, Pageable pageable);
+    
     /**
      * ステータスによるTodo取得
      * @param status 対象のステータス
@@ -1,5 +1,6 @@
 package com.example.todoapp.service.impl;
 
+import com.example.todoapp.audit.AuditSink;
 import com.example.todoapp.dto.AuditLogEntry;
 import com.example.todoapp.dto.PerformanceLogEntry;
 import com.example.todoapp.service.LoggingService;
@@ -7,8 +8,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * 構造化ログ記録サービスの実装
  * アプリケーション全体でのログ記録の統一と管理を提供
@@ -29,18 +33,31 @@ public class LoggingServiceImpl implements LoggingService {
     private static final String RESOURCE_ID = "resourceId";
     private static final String RESULT = "result";
     
+    // テキストログ以外の監査ログ出力先（監査ストア等、有効化されたもののみ）
+    private List<AuditSink> auditSinks = List.of();
+    
+    @Autowired(required = false)
+    public void setAuditSinks(List<AuditSink> auditSinks) {
+        this.auditSinks = List.copyOf(auditSinks);
+    }
+    
     @Override
     public void logAudit(AuditLogEntry entry) {
         try {
             // MDCに監査情報を設定
             setMdcForAudit(entry);
             
-            // 監査ログを記録
-            auditLogger.info(entry.toLogMessage());
+            // 監査ログを記録（エントリを引数で渡し、JSONエンコーダーでは文字列化を省略）
+            auditLogger.info("{}", entry);
+            
+            // 監査ストアへ転送
+            for (AuditSink sink : auditSinks) {
+                sink.write(entry);
+            }
             
             // 失敗の場合は通常ログにも警告として記録
             if ("FAILURE".equals(entry.getResult())) {
-                log.warn("Audit: Operation failed - {}", entry.toLogMessage());
+                log.warn("Audit: Operation failed - {}", entry);
             }
             
         } catch (Exception e) {
@@ -53,12 +70,12 @@ public class LoggingServiceImpl implements LoggingService {
     @Override
     public void logPerformance(PerformanceLogEntry entry) {
         try {
-            // パフォーマンスログを記録
-            performanceLogger.info(entry.toLogMessage());
+            // パフォーマンスログを記録（エントリを引数で渡し、JSONエンコーダーでは文字列化を省略）
+            performanceLogger.info("{}", entry);
             
             // 重要なパフォーマンス問題は通常ログにも記録
             if ("CRITICAL".equals(entry.getPerformanceLevel()) || "POOR".equals(entry.getPerformanceLevel())) {
-                log.warn("Performance Issue: {}", entry.toLogMessage());
+                log.warn("Performance Issue: {}", entry);
             }
             
         } catch (Exception e) {
@@ -79,14 +96,14 @@ public class LoggingServiceImpl implements LoggingService {
     @Override
     public void logApiCall(String method, String endpoint, int statusCode, long duration) {
         String level = determineApiLogLevel(statusCode);
-        String message = String.format("API Call: %s %s - Status: %d, Duration: %dms", 
-                                      method, endpoint, statusCode, duration);
+        String message = "API Call: {} {} - Status: {}, Duration: {}ms";
         
+        // 出力されないレベルではメッセージを組み立てない
         switch (level) {
-            case "ERROR" -> log.error(message);
-            case "WARN" -> log.warn(message);
-            case "INFO" -> log.info(message);
-            default -> log.debug(message);
+            case "ERROR" -> log.error(message, method, endpoint, statusCode, duration);
+            case "WARN" -> log.warn(message, method, endpoint, statusCode, duration);
+            case "INFO" -> log.info(message, method, endpoint, statusCode, duration);
+            default -> log.debug(message, method, endpoint, statusCode, duration);
         }
         
         // パフォーマンスが悪い場合はパフォーマンスログにも記録
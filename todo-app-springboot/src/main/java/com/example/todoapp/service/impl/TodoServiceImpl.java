@@ -1,16 +1,23 @@
 package com.example.todoapp.service.impl;
 
+import com.example.todoapp.audit.AuditChangeContext;
+import com.example.todoapp.audit.FieldChanges;
+import com.example.todoapp.dto.TodoField;
 import com.example.todoapp.dto.TodoRequest;
 import com.example.todoapp.dto.TodoSearchCriteria;
 import com.example.todoapp.entity.Todo;
 import com.example.todoapp.entity.TodoStatus;
 import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.event.TodoChangedEvent;
 import com.example.todoapp.exception.TodoNotFoundException;
+import com.example.todoapp.repository.TodoConditionalUpdateRepository.ConditionalUpdate;
 import com.example.todoapp.repository.TodoRepository;
 import com.example.todoapp.service.TodoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
@@ -21,10 +28,17 @@ import java.util.concurrent.CompletableFuture;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Todoに関するビジネスロジックの実装クラス
+ * 作成・更新・削除時には{@link TodoChangedEvent}を発行する
+ * 削除は読み込みを行わない論理削除のUPDATE文1回で行い、論理削除済みの行が差分同期の削除の記録を兼ねる
+ * 更新は読み込みを行わず、変更する列のみの条件付きUPDATE文1回で行う（versionによる楽観的ロック）
+ * 部分更新（patch）はキャッシュ"todos"を破棄せず、更新後のTodoで置き換える
  */
 @Service
 @Transactional
@@ -33,6 +47,7 @@ import java.util.List;
 public class TodoServiceImpl implements TodoService {
     
     private final TodoRepository todoRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional(readOnly = true)
@@ -71,6 +86,7 @@ public class TodoServiceImpl implements TodoService {
         todo.setUpdatedAt(now);
         
         Todo savedTodo = todoRepository.save(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.created(savedTodo));
         log.info("Created todo with id: {}", savedTodo.getId());
         
         return savedTodo;
@@ -82,44 +98,122 @@ public class TodoServiceImpl implements TodoService {
         @CacheEvict(value = {"todo-counts", "todo-search-results", "todo-statistics"}, allEntries = true)
     })
     public Todo update(Long id, TodoRequest request) {
-        log.info("Updating todo with id: {}", id);
+        log.info("Updating todo with id: {} (expected version: {})", id, request.getVersion());
         
-        Todo existingTodo = findById(id); // 存在チェックを兼ねる
+        // 未指定のステータス・優先度は現在の値のまま（列に含めない）
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("title", request.getTitle());
+        changes.put("description", request.getDescription());
+        if (request.getStatus() != null) {
+            changes.put("status", request.getStatus());
+        }
+        if (request.getPriority() != null) {
+            changes.put("priority", request.getPriority());
+        }
+        changes.put("dueDate", request.getDueDate());
         
-        // 更新内容を設定
-        existingTodo.setTitle(request.getTitle());
-        existingTodo.setDescription(request.getDescription());
-        existingTodo.setStatus(request.getStatus() != null ? request.getStatus() : existingTodo.getStatus());
-        existingTodo.setPriority(request.getPriority() != null ? request.getPriority() : existingTodo.getPriority());
-        existingTodo.setDueDate(request.getDueDate());
+        return updateColumns(id, request.getVersion(), changes);
+    }
+    
+    @Override
+    @Caching(put = @CachePut(value = "todos", key = "#id"),
+        evict = @CacheEvict(value = {"todo-counts", "todo-search-results", "todo-statistics"}, allEntries = true))
+    public Todo patch(Long id, Map<String, Object> changes, Long expectedVersion) {
+        log.info("Patching todo with id: {} fields: {} (expected version: {})", id, changes.keySet(), expectedVersion);
         
-        // 更新日時を自動更新
-        existingTodo.setUpdatedAt(LocalDateTime.now());
+        if (changes.isEmpty()) {
+            // 空のパッチは何も書き込まない
+            Todo current = todoRepository.findById(id).orElseThrow(() -> new TodoNotFoundException(id));
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw updateFailure(id, expectedVersion);
+            }
+            return current;
+        }
+        return updateColumns(id, expectedVersion, changes);
+    }
+    
+    /**
+     * 指定した列のみを条件付きUPDATE文1回で更新し、監査の差分と変更イベントを記録する
+     */
+    private Todo updateColumns(Long id, Long expectedVersion, Map<String, Object> changes) {
+        ConditionalUpdate result = todoRepository
+                .updateColumns(id, expectedVersion, changes, LocalDateTime.now())
+                .orElseThrow(() -> updateFailure(id, expectedVersion));
+        Todo previous = result.previous();
+        Todo updatedTodo = result.current();
+        
+        // 監査用の差分を更新前の行から算出（追加の問い合わせは行わない）
+        AuditChangeContext.record(new FieldChanges()
+                .compare("title", previous.getTitle(), updatedTodo.getTitle())
+                .compare("description", previous.getDescription(), updatedTodo.getDescription())
+                .compare("status", previous.getStatus(), updatedTodo.getStatus())
+                .compare("priority", previous.getPriority(), updatedTodo.getPriority())
+                .compare("dueDate", previous.getDueDate(), updatedTodo.getDueDate()));
         
-        Todo updatedTodo = todoRepository.save(existingTodo);
-        log.info("Updated todo with id: {}", updatedTodo.getId());
+        eventPublisher.publishEvent(TodoChangedEvent.updated(updatedTodo));
+        log.info("Updated todo with id: {} to version {}", updatedTodo.getId(), updatedTodo.getVersion());
         
         return updatedTodo;
     }
     
+    /**
+     * 条件付き更新で行が更新されなかった理由を判定する（失敗時のみ問い合わせる）
+     */
+    private RuntimeException updateFailure(Long id, Long expectedVersion) {
+        if (expectedVersion != null && todoRepository.existsById(id)) {
+            log.warn("Version conflict while updating todo with id: {} (expected version: {})", id, expectedVersion);
+            return new OptimisticLockingFailureException(
+                    "Todo has been modified by another request: " + id + " (expected version " + expectedVersion + ")");
+        }
+        log.warn("Todo not found with id: {}", id);
+        return new TodoNotFoundException(id);
+    }
+    
     @Override
     @Caching(evict = {
         @CacheEvict(value = "todos", key = "#id"),
         @CacheEvict(value = {"todo-counts", "todo-search-results", "todo-statistics"}, allEntries = true)
     })
     public void delete(Long id) {
-        log.info("Deleting todo with id: {}", id);
+        delete(id, null);
+    }
+    
+    @Override
+    @Caching(evict = {
+        @CacheEvict(value = "todos", key = "#id"),
+        @CacheEvict(value = {"todo-counts", "todo-search-results", "todo-statistics"}, allEntries = true)
+    })
+    public void delete(Long id, Long expectedVersion) {
+        log.info("Deleting todo with id: {} (expected version: {})", id, expectedVersion);
         
-        // 存在チェック
-        if (!todoRepository.existsById(id)) {
-            log.warn("Attempted to delete non-existent todo with id: {}", id);
-            throw new TodoNotFoundException(id);
+        if (!todoRepository.softDelete(id, expectedVersion, LocalDateTime.now())) {
+            throw updateFailure(id, expectedVersion);
         }
         
-        todoRepository.deleteById(id);
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(id));
         log.info("Deleted todo with id: {}", id);
     }
     
+    @Override
+    @CacheEvict(value = {"todos", "todo-counts", "todo-search-results", "todo-statistics"}, allEntries = true)
+    public List<Todo> bulkUpdate(List<Long> ids, Map<String, Object> changes) {
+        log.info("Bulk updating {} todos with fields: {}", ids.size(), changes.keySet());
+        
+        List<Todo> updated = todoRepository.updateColumnsIn(ids, changes, LocalDateTime.now());
+        updated.forEach(todo -> eventPublisher.publishEvent(TodoChangedEvent.updated(todo)));
+        return updated;
+    }
+    
+    @Override
+    @CacheEvict(value = {"todos", "todo-counts", "todo-search-results", "todo-statistics"}, allEntries = true)
+    public List<Long> bulkDelete(List<Long> ids) {
+        log.info("Bulk deleting {} todos", ids.size());
+        
+        List<Long> deleted = todoRepository.softDeleteAllByIdIn(ids, LocalDateTime.now());
+        deleted.forEach(id -> eventPublisher.publishEvent(TodoChangedEvent.deleted(id)));
+        return deleted;
+    }
+    
     @Override
     @Transactional(readOnly = true)
     @Cacheable(value = "todo-search-results", key = "#criteria.toString()")
@@ -145,6 +239,20 @@ public class TodoServiceImpl implements TodoService {
         }
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Todo> search(TodoSearchCriteria criteria, Pageable pageable) {
+        log.info("Searching todos with criteria: {}, pagination: {}", criteria, pageable);
+        return todoRepository.searchPage(criteria, pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> search(TodoSearchCriteria criteria, Set<TodoField> fields, Pageable pageable) {
+        log.info("Searching todos with criteria: {}, fields: {}, pagination: {}", criteria, fields, pageable);
+        return todoRepository.searchProjected(criteria, TodoField.attributesOf(fields), pageable);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     @Cacheable(value = "status-counts", key = "#status")
@@ -182,36 +290,6 @@ public class TodoServiceImpl implements TodoService {
         return CompletableFuture.completedFuture(null);
     }
     
-    /**
-     * Batch operation to process multiple todos efficiently
-     * Uses batch processing for better performance
-     */
-    @Async
-    public CompletableFuture<Void> batchUpdateStatus(List<Long> todoIds, TodoStatus newStatus) {
-        log.info("Starting batch status update for {} todos", todoIds.size());
-        
-        // Process in batches to avoid memory issues
-        int batchSize = 100;
-        for (int i = 0; i < todoIds.size(); i += batchSize) {
-            int endIndex = Math.min(i + batchSize, todoIds.size());
-            List<Long> batch = todoIds.subList(i, endIndex);
-            
-            for (Long id : batch) {
-                try {
-                    Todo todo = findById(id);
-                    todo.setStatus(newStatus);
-                    todo.setUpdatedAt(LocalDateTime.now());
-                    todoRepository.save(todo);
-                } catch (TodoNotFoundException e) {
-                    log.warn("Todo not found during batch update: {}", id);
-                }
-            }
-        }
-        
-        log.info("Batch status update completed for {} todos", todoIds.size());
-        return CompletableFuture.completedFuture(null);
-    }
-    
     @Override
     @Transactional(readOnly = true)
     public long countByStatus(TodoStatus status) {
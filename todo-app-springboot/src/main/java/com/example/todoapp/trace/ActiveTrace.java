@@ -0,0 +1,96 @@
+package com.example.todoapp.trace;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 実行中のトレース
+ *
+ * 同時に使用するのは1スレッドのみ。非同期処理では{@link RequestTracer#detachTrace()}と
+ * {@link RequestTracer#attachTrace}でスレッド間を受け渡す。
+ */
+public final class ActiveTrace {
+
+    private static final int MAX_DEPTH = 64;
+
+    private final String traceId;
+    private final String method;
+    private final String uri;
+    private final long startEpochMillis;
+    private final long startNanos;
+    private final int maxSpans;
+
+    private final List<OpenSpan> spans = new ArrayList<>();
+    private final OpenSpan[] stack = new OpenSpan[MAX_DEPTH];
+    private int depth;
+    private int droppedSpans;
+
+    ActiveTrace(String traceId, String method, String uri, int maxSpans) {
+        this.traceId = traceId;
+        this.method = method;
+        this.uri = uri;
+        this.startEpochMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        this.maxSpans = maxSpans;
+    }
+
+    /**
+     * スパンを開始（上限超過時はnullを返し、件数のみ記録）
+     */
+    OpenSpan open(String layer, String name) {
+        if (spans.size() >= maxSpans || depth >= MAX_DEPTH) {
+            droppedSpans++;
+            return null;
+        }
+        OpenSpan span = new OpenSpan(layer, name, depth, System.nanoTime());
+        spans.add(span);
+        stack[depth++] = span;
+        return span;
+    }
+
+    void close(OpenSpan span, String error) {
+        span.endNanos = System.nanoTime();
+        span.error = error;
+        // 閉じ忘れたスパンがあっても対応するスパンまで巻き戻す
+        for (int i = depth - 1; i >= 0; i--) {
+            if (stack[i] == span) {
+                for (int j = i; j < depth; j++) {
+                    stack[j] = null;
+                }
+                depth = i;
+                break;
+            }
+        }
+    }
+
+    /**
+     * 完了済みの子スパンを現在のスパンの下に追加（JDBC実行時間の記録用）
+     */
+    void addCompleted(String layer, String name, long startNanos, long durationNanos, String error) {
+        if (spans.size() >= maxSpans) {
+            droppedSpans++;
+            return;
+        }
+        OpenSpan span = new OpenSpan(layer, name, depth, startNanos);
+        span.endNanos = startNanos + durationNanos;
+        span.error = error;
+        spans.add(span);
+    }
+
+    TraceRecord finish(int status, String error) {
+        long endNanos = System.nanoTime();
+        List<TraceSpan> finished = new ArrayList<>(spans.size());
+        for (OpenSpan span : spans) {
+            long spanEnd = span.endNanos > 0 ? span.endNanos : endNanos;
+            finished.add(new TraceSpan(span.layer, span.name, span.depth,
+                    (span.startNanos - startNanos) / 1000, (spanEnd - span.startNanos) / 1000, span.error));
+        }
+        LocalDateTime startTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(startEpochMillis), ZoneId.systemDefault());
+        boolean errored = status >= 500 || error != null;
+        return new TraceRecord(traceId, method, uri, status, startTime, (endNanos - startNanos) / 1000,
+                errored, error, droppedSpans, List.copyOf(finished));
+    }
+}
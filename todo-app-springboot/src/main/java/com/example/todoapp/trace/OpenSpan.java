@@ -0,0 +1,22 @@
+package com.example.todoapp.trace;
+
+/**
+ * 記録中のスパン
+ * {@link RequestTracer#openSpan}で取得し、処理終了時に{@link RequestTracer#closeSpan}へ渡す
+ */
+public final class OpenSpan {
+
+    final String layer;
+    final String name;
+    final int depth;
+    final long startNanos;
+    long endNanos;
+    String error;
+
+    OpenSpan(String layer, String name, int depth, long startNanos) {
+        this.layer = layer;
+        this.name = name;
+        this.depth = depth;
+        this.startNanos = startNanos;
+    }
+}
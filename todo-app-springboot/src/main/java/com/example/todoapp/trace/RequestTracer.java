@@ -0,0 +1,260 @@
+package com.example.todoapp.trace;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * インメモリのリクエストトレーサー
+ *
+ * RequestCorrelationFilterがリクエスト単位のトレースを開始し、PerformanceLoggingAspectが
+ * コントローラー・サービス・リポジトリ呼び出しのスパンを、TracingDataSourceがJDBC実行時間のスパンを追加する。
+ * 完了したトレースはロックフリーのリングバッファに積み、定期的な保持処理（テールベース）で
+ * 遅いものと失敗したものだけを残す。保持件数を超えた遅いトレースは所要時間の短いものから破棄し、
+ * 保持期間を過ぎたものは順位に関係なく破棄する。
+ */
+@Component
+@Slf4j
+public class RequestTracer {
+
+    private static final Comparator<TraceRecord> BY_DURATION = Comparator.comparingLong(TraceRecord::durationMicros);
+
+    private final boolean enabled;
+    private final int maxSpans;
+    private final int retainedSlowest;
+    private final int retainedErrors;
+    private final long retentionMinutes;
+
+    private final ThreadLocal<ActiveTrace> current = new ThreadLocal<>();
+    private final TraceRingBuffer buffer;
+
+    private final ReentrantLock retentionLock = new ReentrantLock();
+    private final PriorityQueue<TraceRecord> slowest;
+    private final ArrayDeque<TraceRecord> errors;
+    private volatile List<TraceRecord> slowestSnapshot = List.of();
+    private volatile List<TraceRecord> errorSnapshot = List.of();
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+
+    public RequestTracer(
+            @Value("${app.tracing.enabled:true}") boolean enabled,
+            @Value("${app.tracing.buffer-size:1024}") int bufferSize,
+            @Value("${app.tracing.max-spans:256}") int maxSpans,
+            @Value("${app.tracing.retained-slowest:100}") int retainedSlowest,
+            @Value("${app.tracing.retained-errors:100}") int retainedErrors,
+            @Value("${app.tracing.retention-minutes:15}") long retentionMinutes) {
+        this.enabled = enabled;
+        this.maxSpans = maxSpans;
+        this.retainedSlowest = retainedSlowest;
+        this.retainedErrors = retainedErrors;
+        this.retentionMinutes = retentionMinutes;
+        this.buffer = new TraceRingBuffer(bufferSize);
+        this.slowest = new PriorityQueue<>(Math.max(1, retainedSlowest), BY_DURATION);
+        this.errors = new ArrayDeque<>(Math.max(1, retainedErrors));
+    }
+
+    /**
+     * 現在のスレッドでトレースを開始
+     */
+    public void startTrace(String traceId, String method, String uri) {
+        if (!enabled) {
+            return;
+        }
+        current.set(new ActiveTrace(traceId, method, uri, maxSpans));
+        started.increment();
+    }
+
+    /**
+     * 現在のスレッドのトレースを終了し、リングバッファへ渡す
+     *
+     * @param status レスポンスステータス
+     * @param error リクエストが例外で終了した場合のメッセージ
+     */
+    public void finishTrace(int status, String error) {
+        finishTrace(detachTrace(), status, error);
+    }
+
+    /**
+     * 受け渡し中のトレースを終了し、リングバッファへ渡す（非同期処理の完了時）
+     */
+    public void finishTrace(ActiveTrace trace, int status, String error) {
+        if (trace == null) {
+            return;
+        }
+        buffer.offer(trace.finish(status, error));
+        finished.increment();
+    }
+
+    /**
+     * 現在のスレッドからトレースを切り離す
+     *
+     * @return 切り離したトレース、トレース中でない場合はnull
+     */
+    public ActiveTrace detachTrace() {
+        ActiveTrace trace = current.get();
+        if (trace != null) {
+            current.remove();
+        }
+        return trace;
+    }
+
+    /**
+     * 他のスレッドで開始したトレースを現在のスレッドで継続する
+     */
+    public void attachTrace(ActiveTrace trace) {
+        if (trace != null) {
+            current.set(trace);
+        }
+    }
+
+    /**
+     * 現在のスレッドのトレース（切り離さない）
+     */
+    public ActiveTrace currentTrace() {
+        return current.get();
+    }
+
+    /**
+     * 現在のトレースがあるか
+     */
+    public boolean isTracing() {
+        return current.get() != null;
+    }
+
+    /**
+     * スパンを開始
+     *
+     * @return {@link #closeSpan}に渡すスパン、トレース中でない場合はnull
+     */
+    public OpenSpan openSpan(String layer, String name) {
+        ActiveTrace trace = current.get();
+        return trace != null ? trace.open(layer, name) : null;
+    }
+
+    public void closeSpan(OpenSpan span, String error) {
+        if (span == null) {
+            return;
+        }
+        ActiveTrace trace = current.get();
+        if (trace != null) {
+            trace.close(span, error);
+        }
+    }
+
+    /**
+     * 完了済みの処理（JDBC実行等）を現在のスパンの子として記録
+     */
+    public void recordCompleted(String layer, String name, long startNanos, long durationNanos, String error) {
+        ActiveTrace trace = current.get();
+        if (trace != null) {
+            trace.addCompleted(layer, name, startNanos, durationNanos, error);
+        }
+    }
+
+    /**
+     * リングバッファのトレースを取り出し、遅いもの・失敗したものだけを保持
+     */
+    @Scheduled(fixedDelayString = "${app.tracing.drain-interval-ms:1000}")
+    public void drain() {
+        retentionLock.lock();
+        try {
+            buffer.drain(this::retain);
+
+            LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+            slowest.removeIf(trace -> trace.startTime().isBefore(threshold));
+            errors.removeIf(trace -> trace.startTime().isBefore(threshold));
+
+            List<TraceRecord> sortedSlowest = new ArrayList<>(slowest);
+            sortedSlowest.sort(BY_DURATION.reversed());
+            slowestSnapshot = List.copyOf(sortedSlowest);
+
+            List<TraceRecord> sortedErrors = new ArrayList<>(errors);
+            sortedErrors.sort(Comparator.comparing(TraceRecord::startTime).reversed());
+            errorSnapshot = List.copyOf(sortedErrors);
+        } finally {
+            retentionLock.unlock();
+        }
+    }
+
+    /**
+     * 保持中の遅いトレース（所要時間の長い順）
+     */
+    public List<TraceRecord> getSlowest() {
+        drain();
+        return slowestSnapshot;
+    }
+
+    /**
+     * 保持中の失敗したトレース（新しい順）
+     */
+    public List<TraceRecord> getErrors() {
+        drain();
+        return errorSnapshot;
+    }
+
+    public Optional<TraceRecord> findTrace(String traceId) {
+        drain();
+        return errorSnapshot.stream()
+                .filter(trace -> trace.traceId().equals(traceId))
+                .findFirst()
+                .or(() -> slowestSnapshot.stream().filter(trace -> trace.traceId().equals(traceId)).findFirst());
+    }
+
+    /**
+     * トレーサーの統計情報を取得
+     */
+    public Map<String, Object> getStatistics() {
+        drain();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("started", started.sum());
+        stats.put("finished", finished.sum());
+        stats.put("bufferCapacity", buffer.capacity());
+        stats.put("overwritten", buffer.overwritten());
+        stats.put("retainedSlowest", slowestSnapshot.size());
+        stats.put("retainedErrors", errorSnapshot.size());
+        stats.put("maxRetainedSlowest", retainedSlowest);
+        stats.put("maxRetainedErrors", retainedErrors);
+        stats.put("retentionMinutes", retentionMinutes);
+        if (!slowestSnapshot.isEmpty()) {
+            // これより速いトレースは現在保持されない
+            stats.put("slowestAdmissionMicros", slowestSnapshot.get(slowestSnapshot.size() - 1).durationMicros());
+        }
+        return stats;
+    }
+
+    private void retain(TraceRecord trace) {
+        if (trace.errored()) {
+            if (retainedErrors > 0) {
+                if (errors.size() >= retainedErrors) {
+                    errors.pollFirst();
+                }
+                errors.addLast(trace);
+            }
+            return;
+        }
+        if (retainedSlowest <= 0) {
+            return;
+        }
+        if (slowest.size() < retainedSlowest) {
+            slowest.add(trace);
+        } else if (trace.durationMicros() > slowest.peek().durationMicros()) {
+            slowest.poll();
+            slowest.add(trace);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.todoapp.trace;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 完了したリクエストのトレース
+ *
+ * @param traceId トレースID（相関ID）
+ * @param method HTTPメソッド
+ * @param uri リクエストURI
+ * @param status レスポンスステータス
+ * @param startTime 開始日時
+ * @param durationMicros 所要時間（マイクロ秒）
+ * @param errored 5xxまたは例外で終了したか
+ * @param error 例外メッセージ（例外終了時のみ）
+ * @param droppedSpans 上限超過により記録しなかったスパン数
+ * @param spans スパン（開始順）
+ */
+public record TraceRecord(
+        String traceId,
+        String method,
+        String uri,
+        int status,
+        LocalDateTime startTime,
+        long durationMicros,
+        boolean errored,
+        String error,
+        int droppedSpans,
+        List<TraceSpan> spans) {
+}
@@ -0,0 +1,73 @@
+package com.example.todoapp.trace;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 完了トレースの受け渡し用リングバッファ
+ *
+ * 書き込み（リクエストスレッド）はシーケンス番号の取得とスロットへの格納のみでロックを使わない。
+ * 読み出しは単一の保持処理から行い、取り出しが追いつかない場合は古いものから上書きされる。
+ */
+final class TraceRingBuffer {
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final int mask;
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    // 読み出し側（保持処理のロック内）でのみ更新
+    private long readSequence;
+    private long overwritten;
+
+    TraceRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    void offer(TraceRecord record) {
+        long sequence = writeSequence.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot(sequence, record));
+    }
+
+    /**
+     * 未読のトレースを取り出す（同時に呼び出さないこと）
+     *
+     * @return 取り出した件数
+     */
+    int drain(Consumer<TraceRecord> consumer) {
+        long end = writeSequence.get();
+        long start = Math.max(readSequence, end - slots.length());
+        overwritten += start - readSequence;
+
+        int drained = 0;
+        long sequence = start;
+        for (; sequence < end; sequence++) {
+            Slot slot = slots.get((int) (sequence & mask));
+            if (slot == null || slot.sequence < sequence) {
+                // 番号取得済みで未格納の書き込みは次回に回す
+                break;
+            }
+            if (slot.sequence > sequence) {
+                overwritten++;
+                continue;
+            }
+            consumer.accept(slot.record);
+            drained++;
+        }
+        readSequence = sequence;
+        return drained;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    long overwritten() {
+        return overwritten;
+    }
+
+    private record Slot(long sequence, TraceRecord record) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.todoapp.trace;
+
+/**
+ * トレース内のスパン（1区間の処理）
+ *
+ * @param layer 階層（CONTROLLER, SERVICE, REPOSITORY, JDBC）
+ * @param name 処理名（クラス名.メソッド名、またはSQL）
+ * @param depth ネストの深さ（0がリクエスト直下）
+ * @param offsetMicros リクエスト開始からの開始オフセット（マイクロ秒）
+ * @param durationMicros 所要時間（マイクロ秒）
+ * @param error エラーメッセージ（正常終了時はnull）
+ */
+public record TraceSpan(
+        String layer,
+        String name,
+        int depth,
+        long offsetMicros,
+        long durationMicros,
+        String error) {
+}
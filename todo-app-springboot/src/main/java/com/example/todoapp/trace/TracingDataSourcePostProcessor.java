@@ -0,0 +1,34 @@
+package com.example.todoapp.trace;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSourceをTracingDataSourceでラップし、JDBC実行時間をトレースに含める
+ * RequestTracerはBeanPostProcessorの早期初期化を避けるため、ラップ時に遅延取得する
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.tracing.jdbc", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TracingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RequestTracer> tracerProvider;
+
+    public TracingDataSourcePostProcessor(ObjectProvider<RequestTracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+            RequestTracer tracer = tracerProvider.getIfAvailable();
+            if (tracer != null) {
+                return new TracingDataSource(dataSource, tracer);
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.todoapp.trace;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 仮想スレッドのピン留め（キャリアスレッドの占有）監視
+ *
+ * JFRの{@code jdk.VirtualThreadPinned}イベント（synchronized内やネイティブフレーム上でのブロック）を
+ * アプリ内でストリーミング受信し、発生箇所ごとに件数・合計時間を集計する。
+ * 発生箇所はスタック上で最も内側にあるアプリケーションのフレームとし、
+ * アプリケーションのフレームがない場合は最内フレームとする。
+ * 新しい発生箇所は初回のみWARNログに出力し、件数はメトリクス{@code app.virtual.threads.pinned}に記録する。
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "app.virtual-threads.pinning-monitor", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.example.todoapp.";
+    private static final String OVERFLOW_SITE = "*";
+
+    private final Duration threshold;
+    private final int maxSites;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Map<String, PinningSite> sites = new ConcurrentHashMap<>();
+    private final LongAdder events = new LongAdder();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinning-monitor.threshold-ms:20}") long thresholdMillis,
+            @Value("${app.virtual-threads.pinning-monitor.max-sites:100}") int maxSites,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.maxSites = maxSites;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold={}ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null
+                ? event.getStackTrace().getFrames()
+                : List.of();
+        record(resolveSite(frames), event.getDuration(), event.getStackTrace());
+    }
+
+    /**
+     * ピン留めを集計（発生箇所数の上限を超えた場合は"*"にまとめる）
+     */
+    void record(String site, Duration duration, RecordedStackTrace stackTrace) {
+        events.increment();
+        String key = sites.containsKey(site) || sites.size() < maxSites ? site : OVERFLOW_SITE;
+        PinningSite pinningSite = sites.computeIfAbsent(key, k -> {
+            log.warn("Virtual thread pinned at {} for {}ms{}", k, duration.toMillis(), formatStack(stackTrace));
+            return new PinningSite();
+        });
+        pinningSite.count.increment();
+        pinningSite.totalNanos.add(duration.toNanos());
+        pinningSite.maxNanos.accumulateAndGet(duration.toNanos(), Math::max);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter("app.virtual.threads.pinned", "site", key).increment();
+        }
+    }
+
+    /**
+     * 最も内側のアプリケーションのフレームを発生箇所とする
+     */
+    static String resolveSite(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APP_PACKAGE)) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        if (frames.isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame top = frames.get(0);
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName();
+    }
+
+    private static String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        stackTrace.getFrames().stream().limit(12).forEach(frame -> sb.append("\n\tat ")
+                .append(frame.getMethod().getType().getName()).append('.')
+                .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber()));
+        return sb.toString();
+    }
+
+    /**
+     * 発生箇所ごとの集計（合計時間の長い順）
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("thresholdMillis", threshold.toMillis());
+        stats.put("events", events.sum());
+
+        Map<String, Object> bySite = new LinkedHashMap<>();
+        sites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, PinningSite> e) -> e.getValue().totalNanos.sum()).reversed())
+                .forEach(e -> bySite.put(e.getKey(), Map.of(
+                        "count", e.getValue().count.sum(),
+                        "totalMillis", e.getValue().totalNanos.sum() / 1_000_000,
+                        "maxMillis", e.getValue().maxNanos.get() / 1_000_000)));
+        stats.put("sites", bySite);
+        return stats;
+    }
+
+    private static final class PinningSite {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.todoapp.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * リクエストの送信元クライアントを識別するキー
+ *
+ * X-User-IDを優先し、未指定の場合は接続元アドレスを使う（「user:ID」または「ip:アドレス」）。
+ * レート制限のバケットとIdempotency-Keyの記録は、同じキーでクライアントを区別する。
+ */
+public final class ClientKeys {
+
+    public static final String USER_ID_HEADER = "X-User-ID";
+    public static final int MAX_USER_ID_LENGTH = 64;
+
+    private ClientKeys() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * クライアントのキー（X-User-IDは前後の空白を除き、64文字までとする）
+     */
+    public static String resolve(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (userId == null || userId.isBlank()) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        userId = userId.trim();
+        return "user:" + (userId.length() > MAX_USER_ID_LENGTH ? userId.substring(0, MAX_USER_ID_LENGTH) : userId);
+    }
+}
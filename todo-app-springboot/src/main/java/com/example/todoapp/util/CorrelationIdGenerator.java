@@ -0,0 +1,54 @@
+package com.example.todoapp.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 相関ID生成ユーティリティ
+ *
+ * ULID形式（Crockford Base32、26文字）の時刻順IDをロックなしで生成する。
+ * 構成は 48bit ミリ秒タイムスタンプ + 16bit 単調増加カウンター + 64bit 乱数。
+ * 乱数は{@link ThreadLocalRandom}から取得するため、{@code UUID.randomUUID()}のような
+ * SecureRandomの共有状態での競合は発生しない。
+ * 同一ミリ秒内の順序はカウンターにより概ね保たれる（65536件で一巡）。
+ */
+public final class CorrelationIdGenerator {
+
+    private static final char[] ENCODING = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 26;
+
+    private static final AtomicInteger COUNTER = new AtomicInteger(ThreadLocalRandom.current().nextInt());
+
+    private CorrelationIdGenerator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 新しい相関IDを生成
+     */
+    public static String next() {
+        return generate(System.currentTimeMillis(), COUNTER.getAndIncrement() & 0xFFFF,
+                ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * 指定した構成要素からIDを組み立てる
+     * 上位64bit = タイムスタンプ(48bit) + カウンター(16bit)、下位64bit = 乱数
+     */
+    static String generate(long timestampMillis, int counter, long random) {
+        long high = (timestampMillis << 16) | (counter & 0xFFFF);
+        char[] chars = new char[LENGTH];
+
+        // 128bitを先頭から5bitずつ出力（先頭文字は上位3bitのみ）
+        chars[0] = ENCODING[(int) (high >>> 61)];
+        for (int i = 1; i < 13; i++) {
+            chars[i] = ENCODING[(int) (high >>> (61 - i * 5)) & 0x1F];
+        }
+        // 13文字目は上位の残り1bitと下位の先頭4bit
+        chars[13] = ENCODING[(int) (((high & 0x1) << 4) | (random >>> 60))];
+        for (int i = 14; i < LENGTH; i++) {
+            chars[i] = ENCODING[(int) (random >>> (60 - (i - 13) * 5)) & 0x1F];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.todoapp.util;
+
+/**
+ * 条件付きリクエスト（If-None-Match / If-Match）のETag照合ユーティリティ
+ *
+ * ヘッダー値は「*」またはカンマ区切りのETag一覧（弱いETagは「W/」付き）として解釈する。
+ */
+public final class ETagUtils {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETagUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * If-None-Matchの照合（弱い比較）
+     *
+     * @return 一致する場合はtrue（304を返してよい）
+     */
+    public static boolean matchesIfNoneMatch(String header, String etag) {
+        return matches(header, etag, false);
+    }
+
+    /**
+     * If-Matchの照合（強い比較）
+     *
+     * @return 一致する場合はtrue（更新を続行してよい）
+     */
+    public static boolean matchesIfMatch(String header, String etag) {
+        return matches(header, etag, true);
+    }
+
+    /**
+     * 同じ状態の別の表現（形式）を区別するETag
+     * 引用符の内側の末尾に「+表現名」を付ける（例: "12-3" → "12-3+cbor"）
+     *
+     * @param representation 表現名（nullの場合は元のETagのまま）
+     */
+    public static String withRepresentation(String etag, String representation) {
+        if (etag == null || representation == null) {
+            return etag;
+        }
+        return etag.endsWith("\"")
+                ? etag.substring(0, etag.length() - 1) + "+" + representation + "\""
+                : etag + "+" + representation;
+    }
+
+    private static boolean matches(String header, String etag, boolean strong) {
+        if (header == null || etag == null) {
+            return false;
+        }
+        String target = strip(etag);
+        int start = 0;
+        int length = header.length();
+        while (start < length) {
+            int end = header.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            String candidate = header.substring(start, end).trim();
+            if ("*".equals(candidate)) {
+                return true;
+            }
+            boolean weak = candidate.startsWith(WEAK_PREFIX);
+            if (!(strong && weak) && strip(candidate).equals(target)) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private static String strip(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+    }
+}
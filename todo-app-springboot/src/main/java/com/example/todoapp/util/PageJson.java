@@ -0,0 +1,34 @@
+package com.example.todoapp.util;
+
+import org.springframework.data.domain.Page;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ページ形式レスポンスのJSON断片
+ *
+ * 形式は {"content":[...],"page":{"size":..,"number":..,"totalElements":..,"totalPages":..}} で固定する。
+ * PageImplの内部構造（pageable, sort等）は出力しない。
+ */
+public final class PageJson {
+
+    /**
+     * contentの配列の開始
+     */
+    public static final byte[] CONTENT_START = "{\"content\":[".getBytes(StandardCharsets.UTF_8);
+
+    private PageJson() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * contentの配列の終了とページ情報
+     */
+    public static byte[] contentEnd(Page<?> page) {
+        return ("],\"page\":{\"size\":" + page.getSize()
+                + ",\"number\":" + page.getNumber()
+                + ",\"totalElements\":" + page.getTotalElements()
+                + ",\"totalPages\":" + page.getTotalPages()
+                + "}}").getBytes(StandardCharsets.US_ASCII);
+    }
+}
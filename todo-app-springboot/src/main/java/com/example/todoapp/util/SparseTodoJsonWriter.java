@@ -0,0 +1,82 @@
+package com.example.todoapp.util;
+
+import com.example.todoapp.dto.PreSerializedJson;
+import com.example.todoapp.dto.TodoField;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.data.domain.Page;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 指定フィールドのみのTodo JSON（fieldsパラメータ）の書き出し
+ *
+ * 射影した属性値から、選択されたフィールドだけをストリーミングで書き出す。
+ * 値の形式（日付書式・表示名）は{@link com.example.todoapp.dto.TodoResponse}と同じで、nullのフィールドは出力しない。
+ */
+public final class SparseTodoJsonWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final int ESTIMATED_ROW_BYTES = 96;
+
+    private SparseTodoJsonWriter() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 属性名と値の組のページを、選択フィールドのみのページ形式JSONにする
+     */
+    public static PreSerializedJson page(Page<Map<String, Object>> page, Set<TodoField> fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                PageJson.CONTENT_START.length + ESTIMATED_ROW_BYTES * page.getNumberOfElements() + 80);
+        out.writeBytes(PageJson.CONTENT_START);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            boolean first = true;
+            for (Map<String, Object> row : page.getContent()) {
+                if (!first) {
+                    generator.writeRaw(',');
+                }
+                first = false;
+                writeRow(generator, row, fields);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        out.writeBytes(PageJson.contentEnd(page));
+        return PreSerializedJson.of(out.toByteArray());
+    }
+
+    private static void writeRow(JsonGenerator generator, Map<String, Object> row, Set<TodoField> fields)
+            throws IOException {
+        generator.writeStartObject();
+        for (TodoField field : fields) {
+            Object value = row.get(field.getAttribute());
+            if (value == null) {
+                continue;
+            }
+            generator.writeFieldName(field.getJsonName());
+            switch (field) {
+                case ID, VERSION -> generator.writeNumber((Long) value);
+                case STATUS -> generator.writeString(((TodoStatus) value).name());
+                case STATUS_DISPLAY_NAME -> generator.writeString(((TodoStatus) value).getDisplayName());
+                case PRIORITY -> generator.writeString(((TodoPriority) value).name());
+                case PRIORITY_DISPLAY_NAME -> generator.writeString(((TodoPriority) value).getDisplayName());
+                case DUE_DATE -> generator.writeString(((LocalDate) value).toString());
+                case CREATED_AT, UPDATED_AT -> generator.writeString(DATE_TIME.format((LocalDateTime) value));
+                default -> generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+    }
+}
@@ -41,6 +41,7 @@ public class TodoMapper {
         response.setDueDate(todo.getDueDate());
         response.setCreatedAt(todo.getCreatedAt());
         response.setUpdatedAt(todo.getUpdatedAt());
+        response.setVersion(todo.getVersion());
         
         return response;
     }
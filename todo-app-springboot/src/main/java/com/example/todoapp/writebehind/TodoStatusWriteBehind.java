@@ -0,0 +1,415 @@
+package com.example.todoapp.writebehind;
+
+import com.example.todoapp.audit.FieldChanges;
+import com.example.todoapp.cache.TodoVersionRegistry;
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoConditionalUpdateRepository.ConditionalUpdate;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.LoggingService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ステータスのみの変更の書き込み遅延（write-behind）
+ *
+ * 有効な場合（app.write-behind.enabled=true）、ステータスだけを変更するPATCHはTodoごとに最新の状態だけを保持し、
+ * 一定間隔または保留件数が上限に達した時点で、まとめて1つのトランザクションで書き込む。
+ * 同じTodoへの連続した変更（TODO→IN_PROGRESS→DONE など）は1回の更新にまとまり、検索系キャッシュの破棄も
+ * 書き込みごとではなくバッチごとに1回となる。
+ * 読み込みは保留中の状態を重ねて返し、ETagも保留中の状態で登録する（フィルタ条件の評価は反映済みの状態で行う）。
+ * 保留中の変更はそれぞれversionを1つずつ消費し、書き込み時はまとめた変更の数だけversionを進めるため、
+ * 途中の状態のETagと書き込み後のETagが一致することはない。
+ * updated_atは書き込み時点の日時とする（保留中は受け付けた日時を重ねて返す）。
+ * 同じTodoへの同期的な書き込み・一括処理・アーカイブの前と、停止時には保留中の変更をすべて書き込む。
+ * 書き込みは保留を始めた時点のversionを条件とし、その後に他の書き込みが反映されていた場合は
+ * 保留中の変更を破棄する（反映済みの書き込みを優先し、versionだけを進める）。
+ * 監査ログ（UPDATE）は書き込んだ行ごとに、書き込み前後のステータスの差分と最後に受け付けたリクエストの相関IDで記録する
+ * （破棄した変更は書き込まれないため記録しない）。
+ */
+@Component
+@Slf4j
+public class TodoStatusWriteBehind {
+
+    private static final String TODOS_CACHE = "todos";
+    private static final List<String> LIST_CACHES = List.of("todo-counts", "todo-search-results", "todo-statistics");
+
+    private final boolean enabled;
+    private final int maxPending;
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final TodoVersionRegistry todoVersionRegistry;
+    private final LoggingService loggingService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    // スケジューラー・上限到達・同期書き込み前の書き込みを直列化する
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean closed;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    public TodoStatusWriteBehind(
+            @Value("${app.write-behind.enabled:false}") boolean enabled,
+            @Value("${app.write-behind.max-pending:500}") int maxPending,
+            TodoRepository todoRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            CacheManager cacheManager,
+            TodoVersionRegistry todoVersionRegistry,
+            LoggingService loggingService,
+            ObjectMapper objectMapper,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.todoRepository = todoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.todoVersionRegistry = todoVersionRegistry;
+        this.loggingService = loggingService;
+        this.objectMapper = objectMapper;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registerMetrics(registry);
+        }
+    }
+
+    /**
+     * 書き込み遅延を受け付けるか
+     */
+    public boolean isEnabled() {
+        return enabled && !closed;
+    }
+
+    /**
+     * ステータスの変更を保留する
+     *
+     * @param current 現在のTodo（反映済みの状態）
+     * @param status 変更後のステータス
+     * @return 保留中の状態を重ねたTodo、受け付けない場合はnull（呼び出し側で同期的に書き込む）
+     */
+    public Todo enqueue(Todo current, TodoStatus status) {
+        if (!isEnabled()) {
+            return null;
+        }
+        long currentVersion = current.getVersion() != null ? current.getVersion() : 0L;
+        LocalDateTime now = LocalDateTime.now();
+        String correlationId = MDC.get("correlationId");
+        Pending change = pending.compute(current.getId(), (id, previous) -> {
+            if (previous != null && previous.baseVersion() == currentVersion) {
+                coalesced.increment();
+                return new Pending(status, now, previous.baseVersion(), previous.targetVersion() + 1, correlationId);
+            }
+            // 保留なし、または書き込み済みで取り除く前の変更は引き継がない
+            return new Pending(status, now, currentVersion, currentVersion + 1, correlationId);
+        });
+        enqueued.increment();
+
+        Todo overlaid = apply(current, change);
+        todoVersionRegistry.registerChange(overlaid);
+        if (pending.size() >= maxPending || closed) {
+            flush();
+        }
+        return overlaid;
+    }
+
+    /**
+     * 保留中の変更があれば重ねたTodoを返す（元のTodoは変更しない）
+     */
+    public Todo overlay(Todo todo) {
+        Pending change = pending.isEmpty() ? null : pending.get(todo.getId());
+        return change != null ? apply(todo, change) : todo;
+    }
+
+    /**
+     * 属性名と値の組（指定フィールドのみの検索結果）に保留中の変更を重ねる
+     * IDを含まない場合はそのまま返す
+     */
+    public Map<String, Object> overlay(Map<String, Object> row) {
+        if (pending.isEmpty() || !(row.get("id") instanceof Long id)) {
+            return row;
+        }
+        Pending change = pending.get(id);
+        if (change == null) {
+            return row;
+        }
+        Map<String, Object> overlaid = new LinkedHashMap<>(row);
+        overlaid.computeIfPresent("status", (key, value) -> change.status());
+        overlaid.computeIfPresent("updatedAt", (key, value) -> change.updatedAt());
+        overlaid.computeIfPresent("version", (key, value) -> change.targetVersion());
+        return overlaid;
+    }
+
+    /**
+     * 指定したTodoに保留中の変更があれば書き込む（同期的な書き込みの前に呼び出し、順序を保つ）
+     */
+    public void flushPending(Long id) {
+        if (pending.containsKey(id)) {
+            flushAll();
+        }
+    }
+
+    /**
+     * 指定したTodoのいずれかに保留中の変更があれば書き込む（一括処理のチャンクの前に呼び出し、順序を保つ）
+     */
+    public void flushPending(Collection<Long> ids) {
+        if (!pending.isEmpty() && ids.stream().anyMatch(pending::containsKey)) {
+            flushAll();
+        }
+    }
+
+    /**
+     * 保留中の変更を書き込む（他の書き込み中の場合は完了を待つ）
+     */
+    public void flushAll() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushBatch();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 保留中の変更を1つのトランザクションで書き込む
+     *
+     * @return 書き込んだ件数（他の書き込み中の場合は0）
+     */
+    @Scheduled(fixedDelayString = "${app.write-behind.flush-interval-ms:500}")
+    public int flush() {
+        if (!flushLock.tryLock()) {
+            return 0;
+        }
+        try {
+            return flushBatch();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 停止時に保留中の変更をすべて書き込む
+     */
+    @PreDestroy
+    public void drain() {
+        closed = true;
+        flushLock.lock();
+        try {
+            while (!pending.isEmpty()) {
+                if (flushBatch() == 0 && !pending.isEmpty()) {
+                    log.error("Write-behind drain failed, {} pending status changes are lost", pending.size());
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private int flushBatch() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Pending> batch = new HashMap<>(pending);
+        // 受け付けた日時ではなく書き込む日時で更新する（差分同期のカーソルより前の日時で書き込まない）
+        LocalDateTime flushedAt = LocalDateTime.now();
+        Set<Long> superseded = new HashSet<>();
+        List<ConditionalUpdate> applied = new ArrayList<>();
+        List<Todo> updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                superseded.clear();
+                applied.clear();
+                List<Todo> result = new ArrayList<>(batch.size());
+                batch.forEach((id, change) -> {
+                    Optional<ConditionalUpdate> update = todoRepository.updateColumns(id, change.baseVersion(),
+                            Map.of("status", change.status()), flushedAt, change.versionIncrement());
+                    if (update.isEmpty()) {
+                        // 他の書き込みが先に反映されている: 変更は破棄し、保留中の状態に発行したバージョン（ETag）が
+                        // 反映済みの行と一致しないよう、列は変えずにversionだけを進める
+                        superseded.add(id);
+                        update = todoRepository.updateColumns(id, null, Map.of(), flushedAt,
+                                change.versionIncrement());
+                    } else {
+                        update.ifPresent(applied::add);
+                    }
+                    update.ifPresent(written -> {
+                        result.add(written.current());
+                        eventPublisher.publishEvent(TodoChangedEvent.updated(written.current()));
+                    });
+                });
+                return result;
+            });
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            log.warn("Write-behind flush of {} status changes failed, will retry: {}", batch.size(), e.getMessage());
+            return 0;
+        }
+        // 保留を取り除く前に破棄し、取り除いた後に古いキャッシュ（保留を重ねない状態）を読ませない
+        evictCaches(batch.keySet());
+        batch.forEach((id, change) -> {
+            if (superseded.contains(id)) {
+                // 同じ起点に重ねた変更も反映済みの行とは前提が異なるため破棄する
+                pending.computeIfPresent(id, (key, newer) -> newer.baseVersion() == change.baseVersion() ? null : newer);
+            } else if (!pending.remove(id, change)) {
+                // 書き込み中に同じTodoへ重ねた変更は残し、書き込んだバージョンを起点にする
+                pending.computeIfPresent(id, (key, newer) -> newer.baseVersion() == change.baseVersion()
+                        ? newer.rebase(change.targetVersion()) : newer);
+            }
+        });
+        applied.forEach(update -> audit(update, batch.get(update.current().getId()).correlationId()));
+        flushed.add(updated.size() - superseded.size());
+        if (!superseded.isEmpty()) {
+            discarded.add(superseded.size());
+            log.info("Write-behind discarded {} status changes to todos changed by another write", superseded.size());
+        }
+        log.debug("Write-behind flushed {} status changes ({} todos no longer exist)",
+                updated.size() - superseded.size(), batch.size() - updated.size());
+        return batch.size();
+    }
+
+    /**
+     * 書き込んだステータスの変更を監査ログ（UPDATE）に記録する（差分は書き込み前の行から算出）
+     */
+    private void audit(ConditionalUpdate update, String correlationId) {
+        try {
+            Todo current = update.current();
+            FieldChanges changes = new FieldChanges()
+                    .compare("status", update.previous().getStatus(), current.getStatus());
+            AuditLogEntry entry = AuditLogEntry.builder()
+                    .operation("UPDATE")
+                    .resourceType("TODO")
+                    .resourceId(current.getId().toString())
+                    .userId("system")
+                    .result("SUCCESS")
+                    .oldValue(changes.isEmpty() ? null : serializeCompact(changes.getOldValues()))
+                    .newValue(changes.isEmpty() ? null : serializeCompact(changes.getNewValues()))
+                    .details(changes.isEmpty()
+                            ? "Todo updated by write-behind (no field changes)"
+                            : "Todo updated by write-behind - changed: " + changes.fieldNames())
+                    .correlationId(correlationId)
+                    .build();
+            loggingService.logAudit(entry);
+        } catch (Exception e) {
+            log.error("Failed to log audit for write-behind update of todo {}", update.current().getId(), e);
+        }
+    }
+
+    private String serializeCompact(Object value) throws JsonProcessingException {
+        return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(value);
+    }
+
+    private void evictCaches(Iterable<Long> ids) {
+        Cache todos = cacheManager.getCache(TODOS_CACHE);
+        if (todos != null) {
+            ids.forEach(todos::evict);
+        }
+        for (String name : LIST_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * 保留中の変更を重ねたコピー（versionは書き込み後の値とする）
+     */
+    private static Todo apply(Todo source, Pending change) {
+        Todo copy = new Todo(source.getTitle(), source.getDescription(), change.status(), source.getPriority());
+        copy.setId(source.getId());
+        copy.setDueDate(source.getDueDate());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(change.updatedAt());
+        copy.setVersion(change.targetVersion());
+        return copy;
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("app.write-behind.enqueued", enqueued, LongAdder::sum)
+                .description("Status changes accepted into the write-behind buffer")
+                .register(registry);
+        FunctionCounter.builder("app.write-behind.coalesced", coalesced, LongAdder::sum)
+                .description("Status changes that replaced a pending change for the same todo")
+                .register(registry);
+        FunctionCounter.builder("app.write-behind.flushed", flushed, LongAdder::sum)
+                .description("Todo rows written by write-behind flushes")
+                .register(registry);
+        FunctionCounter.builder("app.write-behind.failed", failed, LongAdder::sum)
+                .description("Pending status changes in flushes that failed and will be retried")
+                .register(registry);
+        FunctionCounter.builder("app.write-behind.discarded", discarded, LongAdder::sum)
+                .description("Pending status changes dropped because the todo was changed by another write before the flush")
+                .register(registry);
+        Gauge.builder("app.write-behind.pending", pending, Map::size)
+                .description("Status changes waiting to be written")
+                .register(registry);
+    }
+
+    /**
+     * 保留中の変更
+     *
+     * @param updatedAt 受け付けた日時（読み込みに重ねる値、書き込みには使わない）
+     * @param baseVersion 保留を始めた時点の反映済みのversion
+     * @param targetVersion 書き込み後のversion（まとめた変更の数だけbaseVersionより大きい）
+     * @param correlationId 最後に受け付けたリクエストの相関ID（監査ログに記録する）
+     */
+    private record Pending(TodoStatus status, LocalDateTime updatedAt, long baseVersion, long targetVersion,
+                           String correlationId) {
+
+        int versionIncrement() {
+            return (int) (targetVersion - baseVersion);
+        }
+
+        Pending rebase(long writtenVersion) {
+            return new Pending(status, updatedAt, writtenVersion, targetVersion, correlationId);
+        }
+    }
+}
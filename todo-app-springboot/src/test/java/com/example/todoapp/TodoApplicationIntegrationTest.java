@@ -145,10 +145,10 @@ class TodoApplicationIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content", hasSize(3)))
-                .andExpect(jsonPath("$.totalElements").value(5))
-                .andExpect(jsonPath("$.totalPages").value(2))
-                .andExpect(jsonPath("$.number").value(0))
-                .andExpect(jsonPath("$.size").value(3));
+                .andExpect(jsonPath("$.page.totalElements").value(5))
+                .andExpect(jsonPath("$.page.totalPages").value(2))
+                .andExpect(jsonPath("$.page.number").value(0))
+                .andExpect(jsonPath("$.page.size").value(3));
 
         // Test second page
         mockMvc.perform(get("/api/todos")
@@ -157,7 +157,7 @@ class TodoApplicationIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content", hasSize(2)))
-                .andExpect(jsonPath("$.number").value(1));
+                .andExpect(jsonPath("$.page.number").value(1));
     }
 
     @Test
@@ -188,32 +188,51 @@ class TodoApplicationIntegrationTest {
         mockMvc.perform(get("/api/todos/search")
                 .param("keyword", "Programming"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(2)));
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content", hasSize(2)));
 
         // Test status search
         mockMvc.perform(get("/api/todos/search")
                 .param("status", "TODO"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].title").value("Java Programming"));
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Java Programming"));
 
-        // Test priority search - Note: Current implementation doesn't filter by priority, returns all
+        // Test priority search
         mockMvc.perform(get("/api/todos/search")
                 .param("priority", "HIGH"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(3))); // Returns all todos because priority filtering is not implemented
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Java Programming"));
 
         // Test combined search
         mockMvc.perform(get("/api/todos/search")
                 .param("keyword", "framework")
                 .param("status", "TODO"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].title").value("Java Programming"));
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Java Programming"));
+
+        // Test sparse fieldset with paging
+        mockMvc.perform(get("/api/todos/search")
+                .param("keyword", "Programming")
+                .param("fields", "id,title,status")
+                .param("sort", "title,desc")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Python Programming"))
+                .andExpect(jsonPath("$.content[0].status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.page.totalElements").value(2));
+
+        // Test unknown field
+        mockMvc.perform(get("/api/todos/search")
+                .param("fields", "id,secret"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
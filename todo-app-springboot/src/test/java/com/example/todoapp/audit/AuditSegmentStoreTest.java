@@ -0,0 +1,188 @@
+package com.example.todoapp.audit;
+
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.dto.AuditSearchCriteria;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 監査セグメントストアのテストクラス
+ */
+class AuditSegmentStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AuditSegmentStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void testSearchByResourceAndOperation() {
+        store = openStore(1024);
+        store.write(entry("CREATE", "1", "alice", LocalDateTime.now().minusMinutes(5)));
+        store.write(entry("UPDATE", "1", "bob", LocalDateTime.now().minusMinutes(3)));
+        store.write(entry("UPDATE", "2", "alice", LocalDateTime.now().minusMinutes(2)));
+        store.write(entry("DELETE", "1", "alice", LocalDateTime.now().minusMinutes(1)));
+
+        List<AuditLogEntry> results = store.search(AuditSearchCriteria.builder()
+                .resourceId("1")
+                .operation("UPDATE")
+                .build());
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getUserId()).isEqualTo("bob");
+        assertThat(results.get(0).getResourceType()).isEqualTo("TODO");
+    }
+
+    @Test
+    void testSearchReturnsNewestFirstWithinTimeRange() {
+        store = openStore(1024);
+        LocalDateTime base = LocalDateTime.now().minusDays(10);
+        for (int day = 0; day < 10; day++) {
+            store.write(entry("UPDATE", "123", "alice", base.plusDays(day)));
+        }
+
+        List<AuditLogEntry> results = store.search(AuditSearchCriteria.builder()
+                .resourceId("123")
+                .from(base.plusDays(3))
+                .to(base.plusDays(6))
+                .build());
+
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0).getTimestamp()).isAfter(results.get(3).getTimestamp());
+    }
+
+    @Test
+    void testSearchByUserAcrossRolledSegments() throws Exception {
+        store = openStore(100);
+        for (int i = 0; i < 350; i++) {
+            store.write(entry("READ", String.valueOf(i), i % 50 == 0 ? "carol" : "alice", LocalDateTime.now()));
+        }
+
+        List<AuditLogEntry> results = store.search(AuditSearchCriteria.builder()
+                .userId("carol")
+                .limit(100)
+                .build());
+
+        assertThat(results).hasSize(7);
+        assertThat(countSegmentFiles()).isEqualTo(4);
+    }
+
+    @Test
+    void testLimitIsApplied() {
+        store = openStore(1024);
+        for (int i = 0; i < 20; i++) {
+            store.write(entry("READ", "7", "alice", LocalDateTime.now()));
+        }
+
+        List<AuditLogEntry> results = store.search(AuditSearchCriteria.builder()
+                .resourceId("7")
+                .limit(5)
+                .build());
+
+        assertThat(results).hasSize(5);
+    }
+
+    @Test
+    void testReopenRebuildsIndex() {
+        store = openStore(1024);
+        store.write(entry("CREATE", "42", "alice", LocalDateTime.now()));
+        store.write(entry("UPDATE", "42", "dave", LocalDateTime.now()));
+        store.close();
+
+        store = openStore(1024);
+        store.write(entry("DELETE", "42", "dave", LocalDateTime.now()));
+
+        List<AuditLogEntry> results = store.search(AuditSearchCriteria.builder()
+                .resourceId("42")
+                .userId("dave")
+                .build());
+
+        assertThat(results).extracting(AuditLogEntry::getOperation).containsExactly("DELETE", "UPDATE");
+    }
+
+    @Test
+    void testLongValuesAreStoredInFull() {
+        store = openStore(16);
+        String json = "{\"id\":9,\"title\":\"" + "タイトル".repeat(100) + "\",\"status\":\"DONE\"}";
+        AuditLogEntry entry = entry("UPDATE", "9", "alice", LocalDateTime.now());
+        entry.setDetails("更新".repeat(500));
+        entry.setNewValue(json);
+        store.write(entry);
+        store.write(entry("READ", "10", "alice", LocalDateTime.now()));
+
+        AuditLogEntry stored = store.search(AuditSearchCriteria.builder().resourceId("9").build()).get(0);
+
+        assertThat(stored.getDetails()).isEqualTo("更新".repeat(500));
+        assertThat(stored.getNewValue()).isEqualTo(json);
+        assertThat(stored.getOldValue()).isNull();
+        assertThat(store.search(AuditSearchCriteria.builder().resourceId("10").build())).hasSize(1);
+    }
+
+    @Test
+    void testOversizedValueIsMarkedAsTruncated() {
+        store = openStore(16);
+        AuditLogEntry entry = entry("UPDATE", "9", "alice", LocalDateTime.now());
+        entry.setDetails("更".repeat(AuditSegment.MAX_VALUE_BYTES));
+        store.write(entry);
+
+        AuditLogEntry stored = store.search(AuditSearchCriteria.builder().resourceId("9").build()).get(0);
+
+        assertThat(stored.getDetails()).startsWith("更更")
+                .endsWith("...[truncated, " + AuditSegment.MAX_VALUE_BYTES * 3 + " bytes]")
+                .doesNotContain("\uFFFD");
+    }
+
+    @Test
+    void testPurgeKeepsActiveSegment() {
+        store = new AuditSegmentStore(tempDir.toString(), 10, 0);
+        store.open();
+        for (int i = 0; i < 25; i++) {
+            store.write(entry("READ", "1", "alice", LocalDateTime.now().minusDays(1)));
+        }
+
+        int deleted = store.purgeExpiredSegments();
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(store.getStatistics().get("segments")).isEqualTo(1);
+    }
+
+    private AuditSegmentStore openStore(int capacity) {
+        AuditSegmentStore segmentStore = new AuditSegmentStore(tempDir.toString(), capacity, 90);
+        segmentStore.open();
+        return segmentStore;
+    }
+
+    private long countSegmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).count();
+        }
+    }
+
+    private static AuditLogEntry entry(String operation, String resourceId, String userId, LocalDateTime timestamp) {
+        return AuditLogEntry.builder()
+                .operation(operation)
+                .resourceType("TODO")
+                .resourceId(resourceId)
+                .userId(userId)
+                .result("SUCCESS")
+                .details("Todo " + operation.toLowerCase())
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.todoapp.audit;
+
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.dto.AuditLogPage;
+import com.example.todoapp.dto.AuditSearchCriteria;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * データベース監査ログストアのテストクラス
+ */
+class JdbcAuditLogStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcAuditLogStore store;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        store = newStore(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(dataSource).execute("SHUTDOWN");
+    }
+
+    @Test
+    void testWritesAreBufferedUntilFlush() {
+        store.write(entry("CREATE", "1", "alice", LocalDateTime.now()));
+        store.write(entry("UPDATE", "1", "alice", LocalDateTime.now()));
+
+        assertThat(countRows()).isZero();
+        assertThat(store.flush()).isEqualTo(2);
+        assertThat(countRows()).isEqualTo(2);
+        assertThat(store.getStatistics()).containsEntry("written", 2L);
+    }
+
+    @Test
+    void testKeysetPagingWalksAllRowsNewestFirst() {
+        // 同一時刻の行を含めてページ境界で重複・欠落しないこと
+        LocalDateTime sameTime = LocalDateTime.of(2026, 1, 1, 12, 0);
+        for (int i = 0; i < 7; i++) {
+            store.write(entry("UPDATE", String.valueOf(i), "alice", i < 4 ? sameTime : sameTime.plusMinutes(i)));
+        }
+        store.flush();
+
+        List<AuditLogEntry> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AuditLogPage page = store.findPage(AuditSearchCriteria.builder().limit(3).build(), cursor);
+            all.addAll(page.getEntries());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(all).hasSize(7);
+        Set<String> ids = new HashSet<>();
+        all.forEach(e -> ids.add(e.getResourceId()));
+        assertThat(ids).hasSize(7);
+        assertThat(all.get(0).getResourceId()).isEqualTo("6");
+        for (int i = 1; i < all.size(); i++) {
+            assertThat(all.get(i).getTimestamp()).isBeforeOrEqualTo(all.get(i - 1).getTimestamp());
+        }
+    }
+
+    @Test
+    void testFindPageFiltersByCriteria() {
+        LocalDateTime now = LocalDateTime.now();
+        store.write(entry("CREATE", "1", "alice", now.minusMinutes(3)));
+        store.write(entry("UPDATE", "1", "bob", now.minusMinutes(2)));
+        store.write(entry("UPDATE", "2", "alice", now.minusMinutes(1)));
+        store.flush();
+
+        AuditLogPage page = store.findPage(AuditSearchCriteria.builder()
+                .resourceType("TODO")
+                .resourceId("1")
+                .operation("UPDATE")
+                .build(), null);
+
+        assertThat(page.getEntries()).hasSize(1);
+        assertThat(page.getEntries().get(0).getUserId()).isEqualTo("bob");
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testPurgeDeletesExpiredRowsInChunks() {
+        JdbcAuditLogStore chunked = new JdbcAuditLogStore(dataSource, 100, 10, 30, 2,
+                tempDir.resolve("spill.jsonl").toString(), 5, 0, 0);
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        for (int i = 0; i < 5; i++) {
+            chunked.write(entry("CREATE", String.valueOf(i), "alice", old));
+        }
+        chunked.write(entry("CREATE", "recent", "alice", LocalDateTime.now()));
+        chunked.flush();
+
+        assertThat(chunked.purgeExpired()).isEqualTo(5);
+        assertThat(countRows()).isEqualTo(1);
+    }
+
+    @Test
+    void testFullBufferSpillsEntriesAndReplaysThem() {
+        JdbcAuditLogStore small = newStore(2);
+        for (int i = 0; i < 5; i++) {
+            small.write(entry("CREATE", String.valueOf(i), "alice", LocalDateTime.now()));
+        }
+
+        assertThat(small.getStatistics()).containsEntry("spilled", 3L).containsEntry("dropped", 0L);
+        assertThat(small.flush()).isEqualTo(5);
+        assertThat(countRows()).isEqualTo(5);
+        assertThat(tempDir.resolve("spill.jsonl")).doesNotExist();
+    }
+
+    @Test
+    void testFailedBatchIsRetriedInsteadOfDiscarded() {
+        store.write(entry("CREATE", "1", "alice", LocalDateTime.now()));
+        store.write(entry("UPDATE", "1", "alice", LocalDateTime.now()));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("ALTER TABLE audit_log RENAME TO audit_log_moved");
+
+        assertThat(store.flush()).isZero();
+        assertThat(store.getStatistics()).containsEntry("failed", 2L).containsEntry("written", 0L);
+
+        jdbcTemplate.execute("ALTER TABLE audit_log_moved RENAME TO audit_log");
+        store.write(entry("DELETE", "1", "alice", LocalDateTime.now()));
+
+        assertThat(store.flush()).isEqualTo(3);
+        assertThat(countRows()).isEqualTo(3);
+        assertThat(store.getStatistics()).containsEntry("retried", 2L).containsEntry("dropped", 0L);
+    }
+
+    @Test
+    void testBatchIsSpilledAfterMaxRetriesAndReplayedLater() throws Exception {
+        JdbcAuditLogStore limited = new JdbcAuditLogStore(dataSource, 100, 50, 90, 1000,
+                tempDir.resolve("spill.jsonl").toString(), 1, 0, 0);
+        limited.initializeSchema();
+        limited.write(entry("CREATE", "1", "alice", LocalDateTime.now()));
+        limited.write(entry("UPDATE", "1", "bob", LocalDateTime.now()));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("ALTER TABLE audit_log RENAME TO audit_log_moved");
+
+        limited.flush();
+        limited.flush();
+
+        assertThat(limited.getStatistics()).containsEntry("spilled", 2L);
+        assertThat(Files.readAllLines(tempDir.resolve("spill.jsonl"))).hasSize(2);
+
+        // テーブル復旧前の再投入失敗では退避ファイルの行を失わない
+        assertThat(limited.flush()).isZero();
+        assertThat(Files.readAllLines(tempDir.resolve("spill.jsonl"))).hasSize(2);
+        assertThat(tempDir.resolve("spill.jsonl.replay")).doesNotExist();
+
+        jdbcTemplate.execute("ALTER TABLE audit_log_moved RENAME TO audit_log");
+        limited.write(entry("DELETE", "1", "alice", LocalDateTime.now()));
+
+        assertThat(limited.flush()).isEqualTo(3);
+        assertThat(countRows()).isEqualTo(3);
+        assertThat(limited.findPage(AuditSearchCriteria.builder().userId("bob").build(), null).getEntries())
+                .singleElement()
+                .satisfies(e -> assertThat(e.getOperation()).isEqualTo("UPDATE"));
+        assertThat(tempDir.resolve("spill.jsonl")).doesNotExist();
+    }
+
+    @Test
+    void testInvalidCursorIsRejected() {
+        assertThatThrownBy(() -> store.findPage(AuditSearchCriteria.builder().build(), "not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private JdbcAuditLogStore newStore(int bufferCapacity) {
+        JdbcAuditLogStore created = new JdbcAuditLogStore(dataSource, bufferCapacity, 50, 90, 1000,
+                tempDir.resolve("spill.jsonl").toString(), 5, 0, 0);
+        created.initializeSchema();
+        return created;
+    }
+
+    private int countRows() {
+        Integer count = new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM audit_log", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private static AuditLogEntry entry(String operation, String resourceId, String userId, LocalDateTime timestamp) {
+        return AuditLogEntry.builder()
+                .timestamp(timestamp)
+                .operation(operation)
+                .resourceType("TODO")
+                .resourceId(resourceId)
+                .userId(userId)
+                .result("SUCCESS")
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.todoapp.audit;
+
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.service.LoggingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * READ監査集約のテストクラス
+ */
+class ReadAuditAggregatorTest {
+
+    private static final long BASE = 1_700_000_040_000L; // 60秒境界
+
+    private LoggingService loggingService;
+
+    @BeforeEach
+    void setUp() {
+        loggingService = mock(LoggingService.class);
+    }
+
+    @Test
+    void testPerEventModeLogsEachRead() {
+        ReadAuditAggregator aggregator = aggregator(ReadAuditAggregator.Mode.PER_EVENT, 100);
+
+        assertThat(aggregator.recordRead("1", "alice", BASE)).isTrue();
+        aggregator.flushAll();
+
+        verify(loggingService, never()).logAudit(any());
+    }
+
+    @Test
+    void testAggregatedModeEmitsOneSummaryPerKeyAndWindow() {
+        ReadAuditAggregator aggregator = aggregator(ReadAuditAggregator.Mode.AGGREGATED, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(aggregator.recordRead("1", "alice", BASE + i * 1000)).isFalse();
+        }
+        aggregator.recordRead("1", "bob", BASE + 10_000);
+        aggregator.recordRead("2", "alice", BASE + 20_000);
+
+        // ウィンドウ終了前（猶予期間内）は出力しない
+        aggregator.flushExpiredWindows(BASE + 60_500);
+        verify(loggingService, never()).logAudit(any());
+
+        aggregator.flushExpiredWindows(BASE + 61_000);
+        List<AuditLogEntry> entries = captureEntries(3);
+
+        AuditLogEntry aliceOne = entries.get(0);
+        assertThat(aliceOne.getOperation()).isEqualTo(ReadAuditAggregator.SUMMARY_OPERATION);
+        assertThat(aliceOne.getResourceId()).isEqualTo("1");
+        assertThat(aliceOne.getUserId()).isEqualTo("alice");
+        assertThat(aliceOne.getDetails()).startsWith("Aggregated reads: 5 ");
+    }
+
+    @Test
+    void testReadsInNextWindowAreSeparated() {
+        ReadAuditAggregator aggregator = aggregator(ReadAuditAggregator.Mode.AGGREGATED, 100);
+
+        aggregator.recordRead("1", "alice", BASE);
+        aggregator.recordRead("1", "alice", BASE + 60_000);
+        aggregator.recordRead("1", "alice", BASE + 61_000);
+
+        aggregator.flushExpiredWindows(BASE + 61_000);
+        verify(loggingService, times(1)).logAudit(any());
+
+        aggregator.flushAll();
+        List<AuditLogEntry> entries = captureEntries(2);
+        assertThat(entries.get(0).getDetails()).startsWith("Aggregated reads: 1 ");
+        assertThat(entries.get(1).getDetails()).startsWith("Aggregated reads: 2 ");
+    }
+
+    @Test
+    void testKeysBeyondLimitAreFoldedPerUser() {
+        ReadAuditAggregator aggregator = aggregator(ReadAuditAggregator.Mode.AGGREGATED, 2);
+
+        aggregator.recordRead("1", "alice", BASE);
+        aggregator.recordRead("2", "alice", BASE);
+        aggregator.recordRead("3", "alice", BASE);
+        aggregator.recordRead("4", "alice", BASE);
+        aggregator.flushAll();
+
+        List<AuditLogEntry> entries = captureEntries(3);
+        assertThat(entries).extracting(AuditLogEntry::getResourceId)
+                .containsExactly(ReadAuditAggregator.OVERFLOW_RESOURCE_ID, "1", "2");
+        assertThat(entries.get(0).getDetails()).startsWith("Aggregated reads: 2 ");
+    }
+
+    @Test
+    void testRuntimeSettingsValidation() {
+        ReadAuditAggregator aggregator = aggregator(ReadAuditAggregator.Mode.PER_EVENT, 100);
+
+        aggregator.setMode(ReadAuditAggregator.Mode.AGGREGATED);
+        aggregator.setWindowSeconds(10);
+        aggregator.setSampleRate(0.5);
+
+        assertThat(aggregator.getSettings())
+                .containsEntry("mode", ReadAuditAggregator.Mode.AGGREGATED)
+                .containsEntry("windowSeconds", 10L)
+                .containsEntry("sampleRate", 0.5);
+        assertThatThrownBy(() -> aggregator.setSampleRate(0.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> aggregator.setSampleRate(1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> aggregator.setWindowSeconds(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSamplingScalesEstimatedCount() {
+        ReadAuditAggregator aggregator = aggregator(ReadAuditAggregator.Mode.AGGREGATED, 100);
+        aggregator.setSampleRate(0.5);
+
+        int reads = 10_000;
+        for (int i = 0; i < reads; i++) {
+            aggregator.recordRead("1", "alice", BASE);
+        }
+        aggregator.flushAll();
+
+        AuditLogEntry entry = captureEntries(1).get(0);
+        long estimated = Long.parseLong(entry.getDetails().split(" ")[2]);
+        assertThat(estimated).isBetween(9_000L, 11_000L);
+        assertThat(entry.getDetails()).contains("sampled").contains("at rate 0.5");
+    }
+
+    private ReadAuditAggregator aggregator(ReadAuditAggregator.Mode mode, int maxKeys) {
+        return new ReadAuditAggregator(loggingService, mode, 60, 1.0, maxKeys);
+    }
+
+    private List<AuditLogEntry> captureEntries(int expected) {
+        ArgumentCaptor<AuditLogEntry> captor = ArgumentCaptor.forClass(AuditLogEntry.class);
+        verify(loggingService, times(expected)).logAudit(captor.capture());
+        return captor.getAllValues().stream()
+                .sorted(Comparator.comparing(AuditLogEntry::getTimestamp)
+                        .thenComparing(AuditLogEntry::getResourceId)
+                        .thenComparing(AuditLogEntry::getUserId))
+                .toList();
+    }
+}
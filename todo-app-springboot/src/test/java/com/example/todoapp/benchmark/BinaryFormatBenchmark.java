@@ -0,0 +1,120 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.cache.TodoJsonCache;
+import com.example.todoapp.config.LoggingConfig;
+import com.example.todoapp.config.TranscodingPreSerializedJsonHttpMessageConverter;
+import com.example.todoapp.config.WebMvcConfig;
+import com.example.todoapp.dto.PreSerializedJson;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Todo一覧ページ（既定1,000件）のJSON / CBOR / Smileの比較
+ *
+ * - payload: 各形式のページのバイト数
+ * - decode: クライアント側でページをDTO（日付を含む）へ読み込む時間
+ * - encode: サーバー側の出力時間（キャッシュ済みJSONをそのまま出力 / CBOR・Smileへ変換して出力）
+ *
+ * 実行: {@code mvn test -Dbenchmark=true -Dtest=BinaryFormatBenchmark}
+ * 調整: -Dbenchmark.pageSize=1000
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BinaryFormatBenchmark {
+
+    private static final int PAGE_SIZE = Integer.getInteger("benchmark.pageSize", 1000);
+
+    private final ObjectMapper jsonMapper = new LoggingConfig().loggingObjectMapper()
+            .disable(SerializationFeature.INDENT_OUTPUT);
+    private final ObjectMapper cborMapper = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+    private final ObjectMapper smileMapper = SmileMapper.builder().addModule(new JavaTimeModule()).build();
+
+    @Test
+    void benchmarkPagePayloadAndThroughput() throws Exception {
+        TodoJsonCache cache = new TodoJsonCache(jsonMapper, 10_000,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        Page<Todo> page = createPage();
+        PreSerializedJson json = cache.page(page);
+
+        TranscodingPreSerializedJsonHttpMessageConverter toCbor =
+                new TranscodingPreSerializedJsonHttpMessageConverter(cborMapper.getFactory(), MediaType.APPLICATION_CBOR);
+        TranscodingPreSerializedJsonHttpMessageConverter toSmile =
+                new TranscodingPreSerializedJsonHttpMessageConverter(smileMapper.getFactory(), WebMvcConfig.APPLICATION_SMILE);
+
+        byte[] jsonBytes = json.toString().getBytes();
+        byte[] cborBytes = write(toCbor, json, MediaType.APPLICATION_CBOR);
+        byte[] smileBytes = write(toSmile, json, WebMvcConfig.APPLICATION_SMILE);
+        System.out.printf("[benchmark] %d-item page bytes: json=%,d cbor=%,d (%.0f%%) smile=%,d (%.0f%%)%n",
+                PAGE_SIZE, jsonBytes.length,
+                cborBytes.length, 100.0 * cborBytes.length / jsonBytes.length,
+                smileBytes.length, 100.0 * smileBytes.length / jsonBytes.length);
+
+        MicroBenchmark.measure("decode json", () -> jsonMapper.readValue(jsonBytes, PageBody.class).content.size());
+        MicroBenchmark.measure("decode cbor", () -> cborMapper.readValue(cborBytes, PageBody.class).content.size());
+        MicroBenchmark.measure("decode smile", () -> smileMapper.readValue(smileBytes, PageBody.class).content.size());
+
+        MicroBenchmark.measure("encode json (cached fragments)", () -> {
+            MockHttpOutputMessage message = new MockHttpOutputMessage();
+            cache.page(page).writeTo(message.getBody());
+            return message.getBodyAsBytes().length;
+        });
+        MicroBenchmark.measure("encode cbor (transcoded)",
+                () -> write(toCbor, cache.page(page), MediaType.APPLICATION_CBOR).length);
+        MicroBenchmark.measure("encode smile (transcoded)",
+                () -> write(toSmile, cache.page(page), WebMvcConfig.APPLICATION_SMILE).length);
+    }
+
+    private static byte[] write(TranscodingPreSerializedJsonHttpMessageConverter converter,
+                                PreSerializedJson json, MediaType mediaType) throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(json, mediaType, message);
+        return message.getBodyAsBytes();
+    }
+
+    private static Page<Todo> createPage() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<Todo> todos = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Todo todo = new Todo();
+            todo.setId((long) i + 1);
+            todo.setTitle("Benchmark todo " + i);
+            todo.setDescription("Description for benchmark todo number " + i);
+            todo.setStatus(TodoStatus.values()[i % TodoStatus.values().length]);
+            todo.setPriority(TodoPriority.values()[i % TodoPriority.values().length]);
+            todo.setDueDate(LocalDate.of(2024, 2, 1).plusDays(i));
+            todo.setCreatedAt(now.plusMinutes(i));
+            todo.setUpdatedAt(now.plusMinutes(i).plusNanos(123_000));
+            todos.add(todo);
+        }
+        return new PageImpl<>(todos, PageRequest.of(0, PAGE_SIZE), PAGE_SIZE * 10L);
+    }
+
+    /**
+     * クライアント側の読み込み先
+     */
+    static class PageBody {
+        public List<TodoResponse> content;
+        public Map<String, Object> page;
+    }
+}
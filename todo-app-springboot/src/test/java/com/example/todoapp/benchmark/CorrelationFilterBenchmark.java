@@ -0,0 +1,103 @@
+package com.example.todoapp.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.todoapp.filter.RequestCorrelationFilter;
+import com.example.todoapp.service.impl.LoggingServiceImpl;
+import com.example.todoapp.trace.RequestTracer;
+import com.example.todoapp.util.CorrelationIdGenerator;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * リクエスト相関フィルターのスループット比較
+ *
+ * ログはINFOレベルで破棄用の出力先へフォーマットまで行う（I/Oは含まない）。
+ * 各計測値にはモックリクエスト生成のコストも含まれるため、"mock request only"を基準として比較する。
+ *
+ * 実行: {@code mvn test -Dbenchmark=true -Dtest=CorrelationFilterBenchmark}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CorrelationFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+    private static final List<String> PATHS = List.of("/api/todos/1", "/css/style.css", "/actuator/health");
+
+    private Logger root;
+    private OutputStreamAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level [%X{correlationId:-}] %logger{36} - %msg%n");
+        encoder.start();
+        appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        root.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        root.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Test
+    void benchmarkIdGeneration() throws Exception {
+        MicroBenchmark.measure("UUID.randomUUID", () -> UUID.randomUUID().toString().replace("-", "").length());
+        MicroBenchmark.measure("CorrelationIdGenerator.next", () -> CorrelationIdGenerator.next().length());
+    }
+
+    @Test
+    void benchmarkFilterChain() throws Exception {
+        RequestCorrelationFilter filter = new RequestCorrelationFilter(new LoggingServiceImpl(),
+                new RequestTracer(true, 1024, 256, 100, 100, 15),
+                new String[]{"/css/**", "/js/**", "/images/**", "/webjars/**", "/favicon.ico"},
+                new String[]{"/actuator/health/**", "/actuator/info", "/actuator/prometheus"});
+
+        // 全パスのコードをJITコンパイルさせてから計測
+        for (int i = 0; i < 50_000; i++) {
+            runFilter(filter, PATHS.get(i % PATHS.size()));
+        }
+
+        MicroBenchmark.measure("mock request only", () -> newRequest("/api/todos/1").getRequestURI().length());
+        for (String path : PATHS) {
+            MicroBenchmark.measure("filter " + path, () -> runFilter(filter, path));
+        }
+    }
+
+    private static long runFilter(RequestCorrelationFilter filter, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(newRequest(path), response, NOOP_CHAIN);
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest newRequest(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("User-Agent", "Mozilla/5.0 (X11; Linux x86_64)");
+        return request;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.todoapp.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.dto.PerformanceLogEntry;
+import com.example.todoapp.logging.StructuredJsonEncoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Map;
+
+/**
+ * 監査・パフォーマンスログのエンコードコスト比較
+ *
+ * 従来: 呼び出し側でtoLogMessage()により文字列を組み立て、PatternLayoutEncoderで出力
+ * 新規: エントリを引数として渡し、StructuredJsonEncoderでフィールドを直接出力
+ *
+ * 実行: {@code mvn test -Dbenchmark=true -Dtest=LogEncoderBenchmark}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LogEncoderBenchmark {
+
+    private static final Map<String, String> MDC = Map.of(
+            "correlationId", "01HF8ZQ6W3M5T0V9K2R7C4N8PX",
+            "userId", "user1",
+            "requestMethod", "PUT",
+            "requestURI", "/api/todos/123");
+
+    private LoggerContext context;
+    private PatternLayoutEncoder auditPatternEncoder;
+    private PatternLayoutEncoder performancePatternEncoder;
+    private StructuredJsonEncoder auditJsonEncoder;
+    private StructuredJsonEncoder performanceJsonEncoder;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+
+        auditPatternEncoder = patternEncoder("%d{yyyy-MM-dd HH:mm:ss} [%X{correlationId:-}] %X{userId:-} - %msg%n");
+        performancePatternEncoder = patternEncoder("%d{yyyy-MM-dd HH:mm:ss} [%X{correlationId:-}] - %msg%n");
+
+        // logback-spring.xmlと同じ設定
+        auditJsonEncoder = jsonEncoder(false);
+        performanceJsonEncoder = jsonEncoder(true);
+    }
+
+    @Test
+    void benchmarkAuditEncoding() throws Exception {
+        Logger logger = context.getLogger("audit");
+        AuditLogEntry entry = AuditLogEntry.builder()
+                .operation("UPDATE")
+                .resourceType("TODO")
+                .resourceId("123")
+                .userId("user1")
+                .result("SUCCESS")
+                .details("Todo updated successfully")
+                .oldValue("{\"status\":\"TODO\"}")
+                .newValue("{\"status\":\"DONE\"}")
+                .correlationId("01HF8ZQ6W3M5T0V9K2R7C4N8PX")
+                .build();
+
+        MicroBenchmark.measure("audit: toLogMessage + pattern", () -> {
+            LoggingEvent event = event(logger, entry.toLogMessage(), null);
+            return auditPatternEncoder.encode(event).length;
+        });
+        MicroBenchmark.measure("audit: structured json", () -> {
+            LoggingEvent event = event(logger, "{}", new Object[]{entry});
+            return auditJsonEncoder.encode(event).length;
+        });
+    }
+
+    @Test
+    void benchmarkPerformanceEncoding() throws Exception {
+        Logger logger = context.getLogger("performance");
+        PerformanceLogEntry entry = PerformanceLogEntry.forMethod("TodoServiceImpl", "findAll", 734);
+        entry.setRecordCount(20);
+        entry.setMemoryUsedBytes(1_572_864L);
+        entry.setCpuTimeNanos(12_500_000L);
+        entry.setAdditionalMetrics(Map.of("layer", "SERVICE", "resultType", "PageImpl"));
+
+        MicroBenchmark.measure("performance: toLogMessage + pattern", () -> {
+            LoggingEvent event = event(logger, entry.toLogMessage(), null);
+            return performancePatternEncoder.encode(event).length;
+        });
+        MicroBenchmark.measure("performance: structured json", () -> {
+            LoggingEvent event = event(logger, "{}", new Object[]{entry});
+            return performanceJsonEncoder.encode(event).length;
+        });
+    }
+
+    private PatternLayoutEncoder patternEncoder(String pattern) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(pattern);
+        encoder.start();
+        return encoder;
+    }
+
+    private StructuredJsonEncoder jsonEncoder(boolean includeThread) {
+        StructuredJsonEncoder encoder = new StructuredJsonEncoder();
+        encoder.setContext(context);
+        encoder.setIncludeThread(includeThread);
+        encoder.start();
+        return encoder;
+    }
+
+    private static LoggingEvent event(Logger logger, String message, Object[] arguments) {
+        LoggingEvent event = new LoggingEvent(LogEncoderBenchmark.class.getName(), logger, Level.INFO,
+                message, null, arguments);
+        event.setMDCPropertyMap(MDC);
+        return event;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.todoapp.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ベンチマーク用の簡易計測ユーティリティ
+ *
+ * ベンチマークテストは通常のテスト実行から除外されており、
+ * {@code mvn test -Dbenchmark=true -Dtest=<クラス名>} で実行する。
+ * ウォームアップ後に一定時間の反復実行を行い、スループットと1回あたりの時間を出力する。
+ */
+public final class MicroBenchmark {
+
+    private static final long WARMUP_MILLIS = Long.getLong("benchmark.warmupMs", 2000);
+    private static final long MEASURE_MILLIS = Long.getLong("benchmark.measureMs", 3000);
+
+    // 最適化による処理の除去を防ぐための結果の受け皿
+    private static volatile long blackhole;
+
+    private MicroBenchmark() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * ベンチマーク対象の処理
+     */
+    @FunctionalInterface
+    public interface Operation {
+        long run() throws Exception;
+    }
+
+    /**
+     * 計測結果
+     */
+    public record Result(String name, int threads, long operations, long elapsedNanos) {
+
+        public double opsPerSecond() {
+            return operations * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public double nanosPerOp() {
+            return (double) elapsedNanos * threads / operations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-40s threads=%-3d %,15.0f ops/s %,12.1f ns/op",
+                    name, threads, opsPerSecond(), nanosPerOp());
+        }
+    }
+
+    /**
+     * 単一スレッドで計測
+     */
+    public static Result measure(String name, Operation operation) throws Exception {
+        return measure(name, 1, operation);
+    }
+
+    /**
+     * 指定スレッド数で並行に計測
+     */
+    public static Result measure(String name, int threads, Operation operation) throws Exception {
+        runFor(threads, WARMUP_MILLIS, operation, new LongAdder());
+
+        LongAdder operations = new LongAdder();
+        long start = System.nanoTime();
+        runFor(threads, MEASURE_MILLIS, operation, operations);
+        long elapsed = System.nanoTime() - start;
+
+        Result result = new Result(name, threads, operations.sum(), elapsed);
+        System.out.println("[benchmark] " + result);
+        return result;
+    }
+
+    private static void runFor(int threads, long millis, Operation operation, LongAdder counter)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        CountDownLatch done = new CountDownLatch(threads);
+        Throwable[] failure = new Throwable[1];
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                long local = 0;
+                long sink = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        for (int i = 0; i < 100; i++) {
+                            sink += operation.run();
+                        }
+                        local += 100;
+                    }
+                } catch (Throwable e) {
+                    failure[0] = e;
+                } finally {
+                    blackhole += sink;
+                    counter.add(local);
+                    done.countDown();
+                }
+            }, "benchmark-" + t);
+            worker.start();
+        }
+
+        done.await();
+        if (failure[0] != null) {
+            throw new IllegalStateException("Benchmark operation failed", failure[0]);
+        }
+    }
+}
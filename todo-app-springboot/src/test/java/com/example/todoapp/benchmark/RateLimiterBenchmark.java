@@ -0,0 +1,65 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.limit.KeyedRateLimiter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * レート制限の判定スループット
+ *
+ * 1キーに全スレッドが集中する場合（CAS競合が最大）、アクティブなキーが1,000件の場合、
+ * キー数の上限（10,000件）を超えて破棄が発生し続ける場合を、スレッド数を変えて計測する。
+ * いずれも上限に達しないよう補充速度は十分大きくしており、判定処理そのものの費用を測る。
+ *
+ * 実行: {@code mvn test -Dbenchmark=true -Dtest=RateLimiterBenchmark}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RateLimiterBenchmark {
+
+    private static final int MAX_THREADS = Integer.getInteger("benchmark.threads",
+            Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+    @Test
+    void benchmarkSingleHotKey() throws Exception {
+        KeyedRateLimiter limiter = newLimiter();
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            MicroBenchmark.measure("hot key", threads, () -> limiter.tryAcquire("user:hot").permitted() ? 1 : 0);
+        }
+    }
+
+    @Test
+    void benchmarkActiveKeys() throws Exception {
+        KeyedRateLimiter limiter = newLimiter();
+        String[] keys = keys(1_000);
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            MicroBenchmark.measure("1,000 active keys", threads,
+                    () -> limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(keys.length)]).remaining());
+        }
+    }
+
+    @Test
+    void benchmarkKeyChurn() throws Exception {
+        KeyedRateLimiter limiter = newLimiter();
+        String[] keys = keys(100_000);
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            MicroBenchmark.measure("100,000 keys (evicting)", threads,
+                    () -> limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(keys.length)]).remaining());
+        }
+        System.out.println("[benchmark] tracked keys after churn: " + limiter.getKeyCount());
+    }
+
+    private static KeyedRateLimiter newLimiter() {
+        return new KeyedRateLimiter(1_000_000, 1e9, 10_000, Duration.ofMinutes(5));
+    }
+
+    private static String[] keys(int count) {
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = "user:client-" + i;
+        }
+        return keys;
+    }
+}
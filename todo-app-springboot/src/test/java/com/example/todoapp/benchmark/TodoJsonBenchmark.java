@@ -0,0 +1,107 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.cache.TodoJsonCache;
+import com.example.todoapp.config.LoggingConfig;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.util.TodoMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Todo一覧ページ（既定20件）のシリアライズ費用の比較
+ *
+ * - baseline: 従来どおりTodoMapperでDTOへ変換し、インデント付きのObjectMapperでページを出力
+ * - reused writer: インデントなし・事前解決済みのObjectWriterでページを出力（キャッシュミス時の経路）
+ * - cached fragments: キャッシュしたTodoごとのバイト列とページ情報を並べて出力
+ *
+ * いずれも破棄用の出力ストリームへ書き込み、1ページあたりの時間を比較する。
+ *
+ * 実行: {@code mvn test -Dbenchmark=true -Dtest=TodoJsonBenchmark}
+ * 調整: -Dbenchmark.pageSize=20
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TodoJsonBenchmark {
+
+    private static final int PAGE_SIZE = Integer.getInteger("benchmark.pageSize", 20);
+
+    private final ObjectMapper objectMapper = new LoggingConfig().loggingObjectMapper();
+    private final Page<Todo> page = createPage();
+
+    @Test
+    void benchmarkPageSerialization() throws Exception {
+        // Jacksonは書き込み後に出力先を閉じるため、閉じても書き込める破棄用の出力先を使う
+        OutputStream sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        MicroBenchmark.measure("baseline (mapper + indented)", () -> {
+            Page<TodoResponse> responses = new PageImpl<>(
+                    TodoMapper.toResponseList(page.getContent()), page.getPageable(), page.getTotalElements());
+            objectMapper.writeValue(sink, responses);
+            return responses.getNumberOfElements();
+        });
+
+        ObjectWriter writer = objectMapper.copy()
+                .disable(SerializationFeature.INDENT_OUTPUT)
+                .writerFor(PageImpl.class);
+        MicroBenchmark.measure("reused writer (compact)", () -> {
+            Page<TodoResponse> responses = new PageImpl<>(
+                    TodoMapper.toResponseList(page.getContent()), page.getPageable(), page.getTotalElements());
+            writer.writeValue(sink, responses);
+            return responses.getNumberOfElements();
+        });
+
+        TodoJsonCache cache = new TodoJsonCache(objectMapper, 10_000,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        MicroBenchmark.measure("cached fragments", () -> {
+            cache.page(page).writeTo(sink);
+            return page.getNumberOfElements();
+        });
+
+        System.out.printf("[benchmark] page bytes: baseline=%d compact=%d%n",
+                objectMapper.writeValueAsBytes(new PageImpl<>(TodoMapper.toResponseList(page.getContent()),
+                        page.getPageable(), page.getTotalElements())).length,
+                cache.page(page).getLength());
+    }
+
+    private static Page<Todo> createPage() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<Todo> todos = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Todo todo = new Todo();
+            todo.setId((long) i + 1);
+            todo.setTitle("Benchmark todo " + i);
+            todo.setDescription("Description for benchmark todo number " + i);
+            todo.setStatus(TodoStatus.values()[i % TodoStatus.values().length]);
+            todo.setPriority(TodoPriority.values()[i % TodoPriority.values().length]);
+            todo.setDueDate(LocalDate.of(2024, 2, 1).plusDays(i));
+            todo.setCreatedAt(now.plusMinutes(i));
+            todo.setUpdatedAt(now.plusMinutes(i).plusNanos(123_000));
+            todos.add(todo);
+        }
+        return new PageImpl<>(todos, PageRequest.of(0, PAGE_SIZE), 1000);
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.TodoApplication;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * スレッドプールと仮想スレッドの負荷比較
+ *
+ * 同時接続クライアント（既定2000）が、JDBC接続を保持したまま一定時間ブロックするエンドポイントを繰り返し呼び出し、
+ * スループットとレイテンシ（p50/p99）を出力する。
+ * スレッドプール側は本番と同じ server.tomcat.threads.max=400、仮想スレッド側は Java 21 以降でのみ実行する。
+ * 接続プールは両方式で同じ大きさとし、スレッド数以外の条件を揃えている。
+ *
+ * 実行: {@code mvn test -Dbenchmark=true -Dtest=VirtualThreadLoadBenchmark}
+ * （Java 21: {@code mvn -Pjava21 test -Dbenchmark=true -Dtest=VirtualThreadLoadBenchmark}）
+ * 調整: -Dload.clients=2000 -Dload.warmupSeconds=5 -Dload.seconds=15 -Dload.dbLatencyMs=20
+ * （-Dload.path=/api/todos 等で任意のエンドポイントも計測可能）
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 2000);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 5);
+    private static final int MEASURE_SECONDS = Integer.getInteger("load.seconds", 15);
+    private static final long DB_LATENCY_MILLIS = Long.getLong("load.dbLatencyMs", 20);
+    private static final String PATH = System.getProperty("load.path", "/bench/blocking-query?millis=" + DB_LATENCY_MILLIS);
+
+    private static final String COMMON_PROPERTIES = "spring.datasource.hikari.maximum-pool-size=1000";
+
+    @Nested
+    @SpringBootTest(classes = {TodoApplication.class, BlockingQueryController.class},
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {
+                    COMMON_PROPERTIES,
+                    "spring.threads.virtual.enabled=false",
+                    "server.tomcat.threads.max=400",
+                    "server.tomcat.max-connections=16384",
+                    "server.tomcat.accept-count=2000",
+                    "logging.level.com.example.todoapp=WARN",
+                    "spring.jpa.show-sql=false"
+            })
+    class PlatformThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void benchmarkThreadPool() throws Exception {
+            runLoad("thread pool (max 400)", port);
+        }
+    }
+
+    @Nested
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @SpringBootTest(classes = {TodoApplication.class, BlockingQueryController.class},
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {
+                    COMMON_PROPERTIES,
+                    "spring.threads.virtual.enabled=true",
+                    "server.tomcat.max-connections=16384",
+                    "server.tomcat.accept-count=2000",
+                    "logging.level.com.example.todoapp=WARN",
+                    "spring.jpa.show-sql=false"
+            })
+    class VirtualThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void benchmarkVirtualThreads() throws Exception {
+            runLoad("virtual threads", port);
+        }
+    }
+
+    /**
+     * 全クライアントを同時に開始し、ウォームアップ後の計測期間のみ集計する
+     */
+    private static void runLoad(String name, int port) throws Exception {
+        URL url = new URL("http://localhost:" + port + PATH);
+        long warmupEnd = System.nanoTime() + WARMUP_SECONDS * 1_000_000_000L;
+        long measureEnd = warmupEnd + MEASURE_SECONDS * 1_000_000_000L;
+
+        CountDownLatch start = new CountDownLatch(1);
+        LongAdder errors = new LongAdder();
+        List<long[]> latencies = new ArrayList<>(CLIENTS);
+        int[] counts = new int[CLIENTS];
+        List<Thread> clients = new ArrayList<>(CLIENTS);
+
+        for (int i = 0; i < CLIENTS; i++) {
+            int client = i;
+            long[] samples = new long[(int) Math.max(16, MEASURE_SECONDS * 1000 / Math.max(1, DB_LATENCY_MILLIS))];
+            latencies.add(samples);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    while (true) {
+                        long begin = System.nanoTime();
+                        if (begin >= measureEnd) {
+                            break;
+                        }
+                        boolean ok = call(url);
+                        long end = System.nanoTime();
+                        if (begin < warmupEnd) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.increment();
+                        } else if (counts[client] < samples.length) {
+                            samples[counts[client]++] = end - begin;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "load-client-" + i);
+            thread.setDaemon(true);
+            clients.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for (Thread thread : clients) {
+            thread.join();
+        }
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < CLIENTS; i++) {
+            System.arraycopy(latencies.get(i), 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+
+        System.out.printf("%-24s clients=%d throughput=%,.0f req/s p50=%.1fms p99=%.1fms max=%.1fms errors=%d%n",
+                name, CLIENTS, total / (double) MEASURE_SECONDS,
+                percentile(all, 0.50), percentile(all, 0.99),
+                all.length > 0 ? all[all.length - 1] / 1_000_000.0 : 0.0, errors.sum());
+    }
+
+    private static boolean call(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(30_000);
+            connection.setReadTimeout(60_000);
+            int status = connection.getResponseCode();
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (in != null) {
+                    in.readAllBytes();
+                }
+            }
+            return status == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    /**
+     * JDBC接続を保持したまま指定時間ブロックするエンドポイント（遅いクエリの代替）
+     */
+    @RestController
+    static class BlockingQueryController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        BlockingQueryController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @GetMapping("/bench/blocking-query")
+        public Integer blockingQuery(@RequestParam long millis) {
+            return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM todo")) {
+                    resultSet.next();
+                    return resultSet.getInt(1);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.config.LoggingConfig;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.util.TodoMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * シリアライズ済みJSONキャッシュのテストクラス
+ */
+class TodoJsonCacheTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_000);
+    private static final LocalDateTime T2 = T1.plusSeconds(1);
+
+    private final ObjectMapper objectMapper = new LoggingConfig().loggingObjectMapper();
+    private final TodoJsonCache cache = new TodoJsonCache(objectMapper, 100,
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+    @Test
+    void testPageContentMatchesJacksonSerialization() throws Exception {
+        List<Todo> todos = List.of(todo(1L, "first", T1), todo(2L, "second \"quoted\"", T1));
+        PageImpl<Todo> page = new PageImpl<>(todos, PageRequest.of(0, 2, Sort.by("id")), 5);
+
+        String json = cache.page(page).toString();
+        String expected = objectMapper.writeValueAsString(TodoMapper.toResponseList(todos));
+
+        assertThat(objectMapper.readTree(json).get("content")).isEqualTo(objectMapper.readTree(expected));
+        assertThat(json).doesNotContain("\n");
+        assertThat(json).endsWith("],\"page\":{\"size\":2,\"number\":0,\"totalElements\":5,\"totalPages\":3}}");
+    }
+
+    @Test
+    void testEmptyPage() throws Exception {
+        PageImpl<Todo> page = new PageImpl<>(List.of(), PageRequest.of(3, 10), 30);
+
+        JsonNode json = objectMapper.readTree(cache.page(page).toString());
+
+        assertThat(json.get("content").size()).isZero();
+        assertThat(json.get("page").get("number").asInt()).isEqualTo(3);
+        assertThat(json.get("page").get("totalElements").asLong()).isEqualTo(30);
+    }
+
+    @Test
+    void testReusesBytesForSameVersion() {
+        byte[] first = cache.bytesOf(todo(1L, "title", T1));
+        byte[] second = cache.bytesOf(todo(1L, "title", T1));
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void testReserializesNewVersion() {
+        byte[] original = cache.bytesOf(todo(1L, "before", T1));
+        byte[] updated = cache.bytesOf(todo(1L, "after", T2));
+
+        assertThat(updated).isNotSameAs(original);
+        assertThat(new String(updated)).contains("after");
+        // 古い状態の読み込みで新しいバージョンを置き換えない
+        cache.bytesOf(todo(1L, "before", T1));
+        assertThat(cache.bytesOf(todo(1L, "after", T2))).isSameAs(updated);
+    }
+
+    @Test
+    void testUpdateReplacesEntryInPlace() {
+        cache.bytesOf(todo(1L, "before", T1));
+
+        cache.onTodoChanged(TodoChangedEvent.updated(todo(1L, "after", T2)));
+
+        byte[] updated = cache.bytesOf(todo(1L, "after", T2));
+        assertThat(new String(updated)).contains("after");
+        assertThat(cache.bytesOf(todo(1L, "after", T2))).isSameAs(updated);
+        assertThat(cache.getStatistics().get("misses")).isEqualTo(1L);
+    }
+
+    @Test
+    void testDeleteInvalidates() {
+        byte[] original = cache.bytesOf(todo(1L, "title", T1));
+
+        cache.onTodoChanged(TodoChangedEvent.deleted(1L));
+
+        assertThat(cache.bytesOf(todo(1L, "title", T1))).isNotSameAs(original);
+    }
+
+    private static Todo todo(Long id, String title, LocalDateTime updatedAt) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle(title);
+        todo.setStatus(TodoStatus.TODO);
+        todo.setPriority(TodoPriority.HIGH);
+        todo.setDueDate(LocalDate.of(2024, 2, 1));
+        todo.setCreatedAt(T1);
+        todo.setUpdatedAt(updatedAt);
+        return todo;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.event.TodoChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ETag用バージョン管理のテストクラス
+ */
+class TodoVersionRegistryTest {
+
+    private final TodoVersionRegistry registry = new TodoVersionRegistry(100, 300);
+
+    @Test
+    void testEtagIsDerivedFromVersion() {
+        String etag = registry.register(todo(1L, 3L));
+
+        assertThat(etag).isEqualTo(registry.etagOf(1L));
+        assertThat(registry.register(todo(1L, 3L))).isEqualTo(etag);
+        assertThat(registry.register(todo(1L, 4L))).isNotEqualTo(etag);
+    }
+
+    @Test
+    void testVersionIsParsedFromEtag() {
+        assertThat(TodoVersionRegistry.versionOf(registry.register(todo(12L, 40L)))).isEqualTo(40L);
+    }
+
+    @Test
+    void testStaleReadDoesNotOverwriteNewerVersion() {
+        registry.onTodoChanged(TodoChangedEvent.updated(todo(1L, 2L)));
+        String current = registry.etagOf(1L);
+
+        // コミット前に読み込んだ古い状態の登録
+        String stale = registry.register(todo(1L, 1L));
+
+        assertThat(stale).isNotEqualTo(current);
+        assertThat(registry.etagOf(1L)).isEqualTo(current);
+    }
+
+    @Test
+    void testDeletedTodoHasNoEtag() {
+        registry.register(todo(1L, 1L));
+        registry.onTodoChanged(TodoChangedEvent.deleted(1L));
+        registry.register(todo(1L, 2L));
+
+        assertThat(registry.etagOf(1L)).isNull();
+    }
+
+    @Test
+    void testTombstoneExpires() {
+        TodoVersionRegistry shortLived = new TodoVersionRegistry(100, 0);
+        shortLived.onTodoChanged(TodoChangedEvent.deleted(1L));
+
+        assertThat(shortLived.getStatistics()).containsEntry("entries", 0L);
+    }
+
+    @Test
+    void testListEtagChangesOnEveryChange() {
+        String before = registry.listEtag();
+
+        registry.onTodoChanged(TodoChangedEvent.created(todo(2L, 0L)));
+
+        assertThat(registry.listEtag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void testRegistrationEvictsInsteadOfRejecting() {
+        TodoVersionRegistry small = new TodoVersionRegistry(10, 300);
+        for (long id = 1; id <= 100; id++) {
+            small.register(todo(id, 0L));
+        }
+
+        // 上限を超えた後に登録したTodoも保持され、件数は上限に収まる
+        assertThat(small.etagOf(100L)).isNotNull();
+        assertThat((Long) small.getStatistics().get("entries")).isLessThanOrEqualTo(10L);
+    }
+
+    private static Todo todo(Long id, Long version) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setVersion(version);
+        return todo;
+    }
+}
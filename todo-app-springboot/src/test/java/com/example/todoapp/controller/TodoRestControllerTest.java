@@ -89,8 +89,8 @@ class TodoRestControllerTest {
                 .andExpect(jsonPath("$.content[0].description").value("Test Description"))
                 .andExpect(jsonPath("$.content[0].status").value("TODO"))
                 .andExpect(jsonPath("$.content[0].priority").value("HIGH"))
-                .andExpect(jsonPath("$.totalElements").value(1))
-                .andExpect(jsonPath("$.totalPages").value(1));
+                .andExpect(jsonPath("$.page.totalElements").value(1))
+                .andExpect(jsonPath("$.page.totalPages").value(1));
 
         verify(todoService, times(1)).findAll(any(Pageable.class));
     }
@@ -202,8 +202,8 @@ class TodoRestControllerTest {
 
     @Test
     void testSearchTodosWithAllParameters() throws Exception {
-        List<Todo> searchResults = Arrays.asList(testTodo);
-        when(todoService.search(any())).thenReturn(searchResults);
+        Page<Todo> searchResults = new PageImpl<>(Arrays.asList(testTodo));
+        when(todoService.search(any(), any(Pageable.class))).thenReturn(searchResults);
 
         mockMvc.perform(get("/api/todos/search")
                 .param("keyword", "test")
@@ -211,32 +211,32 @@ class TodoRestControllerTest {
                 .param("priority", "HIGH"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].title").value("Test Todo"));
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Test Todo"));
 
-        verify(todoService, times(1)).search(any());
+        verify(todoService, times(1)).search(any(), any(Pageable.class));
     }
 
     @Test
     void testSearchTodosWithKeywordOnly() throws Exception {
-        List<Todo> searchResults = Arrays.asList(testTodo);
-        when(todoService.search(any())).thenReturn(searchResults);
+        Page<Todo> searchResults = new PageImpl<>(Arrays.asList(testTodo));
+        when(todoService.search(any(), any(Pageable.class))).thenReturn(searchResults);
 
         mockMvc.perform(get("/api/todos/search")
                 .param("keyword", "test"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].title").value("Test Todo"));
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content[0].title").value("Test Todo"));
 
-        verify(todoService, times(1)).search(any());
+        verify(todoService, times(1)).search(any(), any(Pageable.class));
     }
 
     @Test
     void testSearchTodosWithInvalidStatus() throws Exception {
-        List<Todo> searchResults = Arrays.asList(testTodo);
-        when(todoService.search(any())).thenReturn(searchResults);
+        Page<Todo> searchResults = new PageImpl<>(Arrays.asList(testTodo));
+        when(todoService.search(any(), any(Pageable.class))).thenReturn(searchResults);
 
         mockMvc.perform(get("/api/todos/search")
                 .param("keyword", "test")
@@ -244,13 +244,13 @@ class TodoRestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
 
-        verify(todoService, times(1)).search(any());
+        verify(todoService, times(1)).search(any(), any(Pageable.class));
     }
 
     @Test
     void testSearchTodosWithInvalidPriority() throws Exception {
-        List<Todo> searchResults = Arrays.asList(testTodo);
-        when(todoService.search(any())).thenReturn(searchResults);
+        Page<Todo> searchResults = new PageImpl<>(Arrays.asList(testTodo));
+        when(todoService.search(any(), any(Pageable.class))).thenReturn(searchResults);
 
         mockMvc.perform(get("/api/todos/search")
                 .param("keyword", "test")
@@ -258,19 +258,19 @@ class TodoRestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
 
-        verify(todoService, times(1)).search(any());
+        verify(todoService, times(1)).search(any(), any(Pageable.class));
     }
 
     @Test
     void testSearchTodosWithNoParameters() throws Exception {
-        List<Todo> searchResults = Arrays.asList(testTodo);
-        when(todoService.search(any())).thenReturn(searchResults);
+        Page<Todo> searchResults = new PageImpl<>(Arrays.asList(testTodo));
+        when(todoService.search(any(), any(Pageable.class))).thenReturn(searchResults);
 
         mockMvc.perform(get("/api/todos/search"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.content").isArray());
 
-        verify(todoService, times(1)).search(any());
+        verify(todoService, times(1)).search(any(), any(Pageable.class));
     }
 }
\ No newline at end of file
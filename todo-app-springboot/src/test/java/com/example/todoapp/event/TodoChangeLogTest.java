@@ -0,0 +1,109 @@
+package com.example.todoapp.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Todo変更ログのテストクラス
+ */
+class TodoChangeLogTest {
+
+    private static final long START = 1_000;
+
+    @Test
+    void testReadsChangesAfterSequenceInOrder() {
+        TodoChangeLog changeLog = new TodoChangeLog(8, START);
+        for (long id = 1; id <= 5; id++) {
+            changeLog.append(TodoChangedEvent.ChangeType.UPDATED, id, null);
+        }
+
+        TodoChangeLog.Slice slice = changeLog.readAfter(START + 2, 2);
+
+        assertThat(slice.truncated()).isFalse();
+        assertThat(slice.changes()).extracting(TodoChange::sequence).containsExactly(START + 3, START + 4);
+        assertThat(slice.changes()).extracting(TodoChange::todoId).containsExactly(3L, 4L);
+        assertThat(changeLog.readAfter(START + 5, 10).changes()).isEmpty();
+    }
+
+    @Test
+    void testOverwrittenChangesAreReportedAsTruncated() {
+        TodoChangeLog changeLog = new TodoChangeLog(4, START);
+        for (long id = 1; id <= 10; id++) {
+            changeLog.append(TodoChangedEvent.ChangeType.CREATED, id, null);
+        }
+
+        assertThat(changeLog.readAfter(START + 2, 10).truncated()).isTrue();
+        assertThat(changeLog.readAfter(START + 6, 10).changes()).hasSize(4);
+    }
+
+    @Test
+    void testSequencesFromAnotherRunAreTruncated() {
+        TodoChangeLog changeLog = new TodoChangeLog(8, START);
+        changeLog.append(TodoChangedEvent.ChangeType.DELETED, 1L, null);
+
+        // 以前の起動（開始番号より前）と、まだ採番していない番号
+        assertThat(changeLog.readAfter(START - 10, 10).truncated()).isTrue();
+        assertThat(changeLog.readAfter(START + 50, 10).truncated()).isTrue();
+        assertThat(changeLog.readAfter(START, 10).changes()).hasSize(1);
+    }
+
+    @Test
+    void testNotifiesAppendListeners() {
+        TodoChangeLog changeLog = new TodoChangeLog(8, START);
+        List<Long> notified = new ArrayList<>();
+        changeLog.addAppendListener(() -> notified.add(changeLog.getLastSequence()));
+
+        changeLog.append(TodoChangedEvent.ChangeType.CREATED, 1L, null);
+
+        assertThat(notified).containsExactly(START + 1);
+    }
+
+    @Test
+    void testConcurrentAppendsAreReadableWithoutGaps() throws Exception {
+        int threads = 4;
+        int perThread = 500;
+        TodoChangeLog changeLog = new TodoChangeLog(threads * perThread, START);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    changeLog.append(TodoChangedEvent.ChangeType.UPDATED, (long) i, null);
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        List<TodoChange> all = new ArrayList<>();
+        long cursor = START;
+        while (true) {
+            TodoChangeLog.Slice slice = changeLog.readAfter(cursor, 64);
+            assertThat(slice.truncated()).isFalse();
+            if (slice.changes().isEmpty()) {
+                break;
+            }
+            all.addAll(slice.changes());
+            cursor = slice.changes().get(slice.changes().size() - 1).sequence();
+        }
+        assertThat(all).hasSize(threads * perThread);
+        for (int i = 0; i < all.size(); i++) {
+            assertThat(all.get(i).sequence()).isEqualTo(START + 1 + i);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.todoapp.filter;
+
+import com.example.todoapp.limit.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 適応的な同時実行数制限フィルターのテストクラス
+ */
+class ConcurrencyLimitFilterTest {
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 10, 400, 100, 5);
+    private final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(limiter, 1, new String[] {"/api/**"}, new String[0]);
+
+    @Test
+    void testNotModifiedResponsesAreNotSampled() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            int status = i % 2 == 0 ? HttpServletResponse.SC_NOT_MODIFIED : HttpServletResponse.SC_OK;
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/todos/1"), new MockHttpServletResponse(),
+                    (request, response) -> ((HttpServletResponse) response).setStatus(status));
+        }
+
+        assertThat(limiter.getAccepted()).isEqualTo(10);
+        assertThat(limiter.getUnsampled()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void testPathsOutsideTheLimitAreNotCounted() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+                (request, response) -> ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_OK));
+
+        assertThat(limiter.getAccepted()).isZero();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.todoapp.integration;
+
+import com.example.todoapp.config.WebMvcConfig;
+import com.example.todoapp.dto.TodoRequest;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.repository.TodoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * バイナリ形式（CBOR / Smile）のコンテントネゴシエーションの統合テスト
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Binary Content Negotiation Tests")
+class BinaryContentNegotiationTest {
+
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private final ObjectMapper smileMapper = SmileMapper.builder().addModule(new JavaTimeModule()).build();
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private MockMvc mockMvc;
+    private Todo saved;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        todoRepository.deleteAll();
+        Todo todo = new Todo();
+        todo.setTitle("Binary Todo");
+        todo.setStatus(TodoStatus.TODO);
+        todo.setPriority(TodoPriority.HIGH);
+        saved = todoRepository.save(todo);
+    }
+
+    @Test
+    void testListAsCbor() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/todos").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = cborMapper.readTree(body);
+        assertEquals("Binary Todo", page.get("content").get(0).get("title").asText());
+        assertTrue(page.get("content").get(0).get("createdAt").isTextual());
+        assertEquals(1, page.get("page").get("totalElements").asInt());
+    }
+
+    @Test
+    void testDetailAsSmile() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/todos/" + saved.getId()).accept(WebMvcConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WebMvcConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(saved.getId().longValue(), smileMapper.readTree(body).get("id").asLong());
+    }
+
+    @Test
+    void testCreateFromSmileRequest() throws Exception {
+        TodoRequest request = new TodoRequest();
+        request.setTitle("Created over Smile");
+        request.setDueDate(LocalDate.now().plusDays(3));
+
+        byte[] body = mockMvc.perform(post("/api/todos")
+                        .contentType(WebMvcConfig.APPLICATION_SMILE)
+                        .accept(WebMvcConfig.APPLICATION_SMILE)
+                        .content(smileMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(WebMvcConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode created = smileMapper.readTree(body);
+        assertEquals("Created over Smile", created.get("title").asText());
+        assertFalse(created.has("description"));
+    }
+
+    @Test
+    void testEtagDependsOnRepresentation() throws Exception {
+        String path = "/api/todos/" + saved.getId();
+        String jsonEtag = mockMvc.perform(get(path).accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getHeader("ETag");
+        String cborEtag = mockMvc.perform(get(path).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(jsonEtag, cborEtag);
+
+        // JSONのETagでCBORを条件付き取得しても304にならない
+        mockMvc.perform(get(path).accept(MediaType.APPLICATION_CBOR).header("If-None-Match", jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get(path).accept(MediaType.APPLICATION_CBOR).header("If-None-Match", cborEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(header().string("ETag", cborEtag));
+
+        String listEtag = mockMvc.perform(get("/api/todos"))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/todos").accept(WebMvcConfig.APPLICATION_SMILE).header("If-None-Match", listEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", "Accept"));
+
+        // If-Matchはどの表現のETagでも同じ状態として受け付ける
+        TodoRequest request = new TodoRequest();
+        request.setTitle("Updated over JSON");
+        mockMvc.perform(put(path).contentType(MediaType.APPLICATION_JSON).header("If-Match", cborEtag)
+                        .content(new ObjectMapper().writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    void testJsonRemainsDefault() throws Exception {
+        mockMvc.perform(get("/api/todos").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.todoapp.integration;
+
+import com.example.todoapp.TodoApplication;
+import com.example.todoapp.filter.BulkheadFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * バルクヘッドの統合テスト
+ *
+ * 実際の組み込みTomcat上でAPI区画を飽和させ、区画外（ヘルスチェック）が影響を受けないこと、
+ * 区画のキューを超えたリクエストが503で即座に拒否されることを確認する。
+ */
+@SpringBootTest(classes = {TodoApplication.class, BulkheadIntegrationTest.BlockingApiController.class},
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "server.tomcat.threads.max=4",
+                "app.bulkhead.api.threads=2",
+                "app.bulkhead.api.queue-capacity=2",
+                "app.concurrency-limit.enabled=false",
+                "app.rate-limit.enabled=false"
+        })
+@DisplayName("Bulkhead Integration Tests")
+class BulkheadIntegrationTest {
+
+    private static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BulkheadFilter bulkheadFilter;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @AfterEach
+    void release() {
+        RELEASE.countDown();
+    }
+
+    @Test
+    @DisplayName("API区画が飽和してもヘルスチェックは応答し、超過分は503になる")
+    void healthStaysResponsiveWhileApiPartitionIsSaturated() throws Exception {
+        // Tomcatのスレッド数（4）より多いブロッキングリクエストで、スレッド2・キュー2の区画を飽和させる
+        List<CompletableFuture<HttpResponse<String>>> blocked = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            blocked.add(send("/api/test/blocking"));
+        }
+        waitUntil(() -> ((Integer) bulkheadFilter.getStatistics().get("api").get("queueDepth")) == 2);
+
+        HttpResponse<String> rejected = send("/api/test/blocking").get(5, TimeUnit.SECONDS);
+        assertEquals(503, rejected.statusCode());
+        assertEquals("1", rejected.headers().firstValue("Retry-After").orElse(null));
+
+        long start = System.nanoTime();
+        HttpResponse<String> health = send("/actuator/health/liveness").get(5, TimeUnit.SECONDS);
+        assertEquals(200, health.statusCode());
+        assertTrue(health.body().contains("\"saturated\":true"), health.body());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+
+        RELEASE.countDown();
+        for (CompletableFuture<HttpResponse<String>> response : blocked) {
+            assertEquals(200, response.get(10, TimeUnit.SECONDS).statusCode());
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 10s");
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * テスト終了まで応答しないAPI（遅いクエリの代替）
+     */
+    @RestController
+    static class BlockingApiController {
+
+        @GetMapping("/api/test/blocking")
+        public String blocking() throws InterruptedException {
+            RELEASE.await(15, TimeUnit.SECONDS);
+            return "released";
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.todoapp.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Todo変更ストリーム（Server-Sent Events）の統合テスト
+ *
+ * 組み込みTomcat上で購読し、作成のコミット後に change イベントが届くこと、
+ * Last-Event-IDで再接続すると以降の変更が再送されること、再送できない番号では reset が届くことを確認する。
+ * バルクヘッド・同時実行数制限は有効のまま（ストリームは除外パスとして扱われる）。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Change Stream Integration Tests")
+class ChangeStreamIntegrationTest {
+
+    private static final String STREAM_PATH = "/api/todos/changes/stream";
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final List<Stream<String>> streams = new ArrayList<>();
+
+    @AfterEach
+    void closeStreams() {
+        streams.forEach(Stream::close);
+    }
+
+    @Test
+    void testDeliversCommittedChangesAndResumesFromLastEventId() throws Exception {
+        BlockingQueue<String> live = open(null);
+        awaitLine(live, ":connected");
+
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(uri("/api/todos"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Streamed todo\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, created.statusCode());
+
+        String id = awaitLine(live, "id:").substring(3).trim();
+        assertEquals("event:change", awaitLine(live, "event:"));
+        String data = awaitLine(live, "data:");
+        assertTrue(data.contains("\"type\":\"CREATED\""), data);
+        assertTrue(data.contains("\"sequence\":" + id), data);
+
+        BlockingQueue<String> resumed = open(Long.toString(Long.parseLong(id) - 1));
+        assertEquals("id:" + id, awaitLine(resumed, "id:"));
+        assertTrue(awaitLine(resumed, "data:").contains("\"type\":\"CREATED\""));
+    }
+
+    @Test
+    void testUnknownLastEventIdGetsReset() throws Exception {
+        BlockingQueue<String> stream = open("1");
+
+        assertEquals("event:reset", awaitLine(stream, "event:"));
+    }
+
+    private BlockingQueue<String> open(String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(STREAM_PATH))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/event-stream"));
+
+        Stream<String> lines = response.body();
+        streams.add(lines);
+        BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> {
+            try {
+                lines.forEach(queue::add);
+            } catch (RuntimeException e) {
+                // 終了時にストリームを閉じると読み込みは例外で終わる
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+        return queue;
+    }
+
+    private static String awaitLine(BlockingQueue<String> lines, String prefix) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            String line = lines.poll(100, TimeUnit.MILLISECONDS);
+            if (line != null && line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        fail("No line starting with '" + prefix + "' within 10 seconds");
+        return null;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
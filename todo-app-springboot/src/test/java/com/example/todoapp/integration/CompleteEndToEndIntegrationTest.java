@@ -187,28 +187,28 @@ class CompleteEndToEndIntegrationTest {
         mockMvc.perform(get("/api/todos/search")
                 .param("keyword", "Java"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))));
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content", hasSize(greaterThanOrEqualTo(1))));
 
         // Test 2: Status-based search
         mockMvc.perform(get("/api/todos/search")
                 .param("status", "TODO"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.content").isArray());
 
         // Test 3: Combined search criteria
         mockMvc.perform(get("/api/todos/search")
                 .param("keyword", "framework")
                 .param("status", "TODO"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.content").isArray());
 
         // Test 4: Date range search (if implemented)
         mockMvc.perform(get("/api/todos/search")
                 .param("startDate", "2024-01-01")
                 .param("endDate", "2024-12-31"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.content").isArray());
 
         // Test 5: Pagination with search
         mockMvc.perform(get("/api/todos")
@@ -217,7 +217,7 @@ class CompleteEndToEndIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content", hasSize(lessThanOrEqualTo(2))))
-                .andExpect(jsonPath("$.pageable").exists());
+                .andExpect(jsonPath("$.page").exists());
     }
 
     @Test
@@ -245,7 +245,7 @@ class CompleteEndToEndIntegrationTest {
         mockMvc.perform(get("/api/todos"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
-                .andExpect(jsonPath("$.totalElements").value(todoCount));
+                .andExpect(jsonPath("$.page.totalElements").value(todoCount));
 
         // Test database-level count
         long dbCount = todoRepository.count();
@@ -293,7 +293,7 @@ class CompleteEndToEndIntegrationTest {
         // Test 5: Empty search parameters (should return all)
         mockMvc.perform(get("/api/todos/search"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.content").isArray());
     }
 
     @Test
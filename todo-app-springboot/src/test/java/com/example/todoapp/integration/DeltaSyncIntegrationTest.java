@@ -0,0 +1,137 @@
+package com.example.todoapp.integration;
+
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoTombstoneRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 差分同期（/api/todos/delta）の統合テスト
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Delta Sync Integration Tests")
+class DeltaSyncIntegrationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        todoRepository.deleteAll();
+        todoTombstoneRepository.deleteAll();
+    }
+
+    @Test
+    void testDeltaReturnsOnlyChangesAndTombstonesSinceCursor() throws Exception {
+        save("Kept");
+        Todo updated = save("Updated");
+        Todo deleted = save("Deleted");
+
+        JsonNode initial = delta(null, 100);
+        assertEquals(3, initial.get("changed").size());
+        assertEquals(0, initial.get("deleted").size());
+        assertFalse(initial.get("hasMore").asBoolean());
+        Thread.sleep(5);
+
+        mockMvc.perform(put("/api/todos/" + updated.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Updated again\",\"status\":\"DONE\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/todos/" + deleted.getId()))
+                .andExpect(status().isNoContent());
+
+        JsonNode next = delta(initial.get("cursor").asText(), 100);
+        assertEquals(1, next.get("changed").size());
+        assertEquals(updated.getId().longValue(), next.get("changed").get(0).get("id").asLong());
+        assertEquals("Updated again", next.get("changed").get(0).get("title").asText());
+        assertEquals(1, next.get("deleted").size());
+        assertEquals(deleted.getId().longValue(), next.get("deleted").get(0).get("id").asLong());
+
+        JsonNode empty = delta(next.get("cursor").asText(), 100);
+        assertEquals(0, empty.get("changed").size());
+        assertEquals(0, empty.get("deleted").size());
+    }
+
+    @Test
+    void testDeltaPagesInUpdatedAtOrder() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            save("Todo " + i);
+        }
+
+        JsonNode first = delta(null, 2);
+        assertEquals(2, first.get("changed").size());
+        assertTrue(first.get("hasMore").asBoolean());
+
+        JsonNode second = delta(first.get("cursor").asText(), 2);
+        JsonNode third = delta(second.get("cursor").asText(), 2);
+        assertTrue(second.get("hasMore").asBoolean());
+        assertEquals(1, third.get("changed").size());
+        assertFalse(third.get("hasMore").asBoolean());
+        assertTrue(first.get("changed").get(1).get("id").asLong() < second.get("changed").get(0).get("id").asLong());
+        assertTrue(second.get("changed").get(1).get("id").asLong() < third.get("changed").get(0).get("id").asLong());
+    }
+
+    @Test
+    void testInvalidAndExpiredCursors() throws Exception {
+        mockMvc.perform(get("/api/todos/delta").param("since", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        String expired = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2000-01-01T00:00,1".getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(get("/api/todos/delta").param("since", expired))
+                .andExpect(status().isGone());
+    }
+
+    private JsonNode delta(String since, int limit) throws Exception {
+        var request = get("/api/todos/delta").param("limit", Integer.toString(limit));
+        if (since != null) {
+            request.param("since", since);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private Todo save(String title) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setStatus(TodoStatus.TODO);
+        todo.setPriority(TodoPriority.MEDIUM);
+        return todoRepository.saveAndFlush(todo);
+    }
+}
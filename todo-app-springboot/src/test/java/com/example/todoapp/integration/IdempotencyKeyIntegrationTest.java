@@ -0,0 +1,177 @@
+package com.example.todoapp.integration;
+
+import com.example.todoapp.idempotency.IdempotencyStore;
+import com.example.todoapp.repository.IdempotencyRecordRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.util.ClientKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Idempotency-Key（POST /api/todos）の統合テスト
+ * 作成と記録をテストのトランザクション外でコミットするため、専用のデータベースを使用する
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotencytest;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+@DisplayName("Idempotency Key Integration Tests")
+class IdempotencyKeyIntegrationTest {
+
+    private static final String BODY = "{\"title\":\"Pay invoice\",\"status\":\"TODO\",\"priority\":\"HIGH\"}";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        idempotencyStore.invalidateCache();
+        idempotencyRecordRepository.deleteAll();
+        todoRepository.deleteAll();
+    }
+
+    @Test
+    void testRetryReplaysFirstResponseWithoutCreatingAgain() throws Exception {
+        MvcResult first = create("key-retry", BODY)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER))
+                .andReturn();
+
+        create("key-retry", BODY)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(header().string("Location", first.getResponse().getHeader("Location")))
+                .andExpect(header().string("ETag", first.getResponse().getHeader("ETag")))
+                .andExpect(content().json(first.getResponse().getContentAsString(StandardCharsets.UTF_8)));
+
+        assertThat(todoRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSameKeyWithDifferentBodyIsRejected() throws Exception {
+        create("key-mismatch", BODY).andExpect(status().isCreated());
+
+        create("key-mismatch", BODY.replace("Pay invoice", "Something else"))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(todoRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testConcurrentDuplicatesCreateOnce() throws Exception {
+        int requests = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<MvcResult>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return create("key-concurrent", BODY).andReturn();
+                }));
+            }
+            start.countDown();
+
+            List<String> locations = new ArrayList<>();
+            for (Future<MvcResult> result : results) {
+                assertThat(result.get().getResponse().getStatus()).isEqualTo(201);
+                locations.add(result.get().getResponse().getHeader("Location"));
+            }
+            assertThat(locations).containsOnly(locations.get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(todoRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testStoredResponseSurvivesCacheLoss() throws Exception {
+        MvcResult first = create("key-persisted", BODY).andExpect(status().isCreated()).andReturn();
+
+        // 再起動や他のインスタンスを想定し、キャッシュがなくてもテーブルの記録から返す
+        idempotencyStore.invalidateCache();
+
+        create("key-persisted", BODY)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(header().string("Location", first.getResponse().getHeader("Location")));
+
+        assertThat(todoRepository.count()).isEqualTo(1);
+        assertThat(idempotencyRecordRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSameKeyFromDifferentClientsIsNotShared() throws Exception {
+        MvcResult alice = create("alice", "key-shared", BODY)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER))
+                .andReturn();
+
+        // 別のクライアントが同じキーを使っても、相手の応答は返らず自分のTodoが作成される
+        MvcResult bob = create("bob", "key-shared", BODY.replace("Pay invoice", "Book flight"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER))
+                .andExpect(jsonPath("$.title").value("Book flight"))
+                .andReturn();
+        assertThat(bob.getResponse().getHeader("Location")).isNotEqualTo(alice.getResponse().getHeader("Location"));
+
+        // それぞれの再送には自分の最初の応答が返る
+        create("alice", "key-shared", BODY)
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(header().string("Location", alice.getResponse().getHeader("Location")));
+        idempotencyStore.invalidateCache();
+        create("bob", "key-shared", BODY.replace("Pay invoice", "Book flight"))
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(header().string("Location", bob.getResponse().getHeader("Location")));
+
+        assertThat(todoRepository.count()).isEqualTo(2);
+        assertThat(idempotencyRecordRepository.count()).isEqualTo(2);
+    }
+
+    private ResultActions create(String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/todos")
+                .header(IdempotencyStore.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private ResultActions create(String userId, String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/todos")
+                .header(ClientKeys.USER_ID_HEADER, userId)
+                .header(IdempotencyStore.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.todoapp.integration;
+
+import com.example.todoapp.audit.AuditChangeContext;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * JSON Merge Patch（PATCH /api/todos/{id}）の統合テスト
+ * 監査は監査セグメントストア（/admin/audit）で確認する
+ */
+@SpringBootTest(properties = "app.audit.segment-store.enabled=true")
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Merge Patch Integration Tests")
+class MergePatchIntegrationTest {
+
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
+    @TempDir
+    static Path auditDirectory;
+
+    @DynamicPropertySource
+    static void auditProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.audit.segment-store.directory", auditDirectory::toString);
+    }
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private MockMvc mockMvc;
+
+    private Todo todo;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        todoRepository.deleteAll();
+        todo = new Todo("Patch target", "keep me", TodoStatus.TODO, TodoPriority.HIGH);
+        todo.setDueDate(LocalDate.now().plusDays(7));
+        todo = todoRepository.saveAndFlush(todo);
+    }
+
+    @Test
+    void testPatchChangesOnlyPresentFields() throws Exception {
+        mockMvc.perform(patch("/api/todos/{id}", todo.getId())
+                        .contentType(MERGE_PATCH)
+                        .content("{\"status\":\"DONE\",\"dueDate\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.title").value("Patch target"))
+                .andExpect(jsonPath("$.description").value("keep me"))
+                .andExpect(jsonPath("$.priority").value("HIGH"))
+                .andExpect(jsonPath("$.dueDate").doesNotExist())
+                .andExpect(jsonPath("$.version").value(todo.getVersion() + 1));
+
+        Todo stored = todoRepository.findById(todo.getId()).orElseThrow();
+        assertEquals(TodoStatus.DONE, stored.getStatus());
+        assertEquals("keep me", stored.getDescription());
+        assertNull(stored.getDueDate());
+    }
+
+    @Test
+    void testPatchIsAuditedWithChangedFieldsOnly() throws Exception {
+        mockMvc.perform(patch("/api/todos/{id}", todo.getId())
+                        .contentType(MERGE_PATCH)
+                        .content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isOk());
+
+        // 差分はアスペクトが取り出し、スレッドに残らない
+        assertNull(AuditChangeContext.take());
+
+        mockMvc.perform(get("/admin/audit")
+                        .param("resourceType", "TODO")
+                        .param("resourceId", todo.getId().toString())
+                        .param("operation", "UPDATE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.entries[0].result").value("SUCCESS"))
+                .andExpect(jsonPath("$.entries[0].oldValue").value("{\"status\":\"TODO\"}"))
+                .andExpect(jsonPath("$.entries[0].newValue").value("{\"status\":\"DONE\"}"))
+                .andExpect(jsonPath("$.entries[0].details").value("Todo updated successfully - changed: status"));
+    }
+
+    @Test
+    void testPatchValidatesOnlyPresentFields() throws Exception {
+        // 過去の期限は検証対象のプロパティに含まれる場合のみエラーになる
+        mockMvc.perform(patch("/api/todos/{id}", todo.getId())
+                        .contentType(MERGE_PATCH)
+                        .content("{\"title\":\" \",\"dueDate\":\"2000-01-01\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(2));
+
+        mockMvc.perform(patch("/api/todos/{id}", todo.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"priority\":\"LOW\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priority").value("LOW"));
+    }
+
+    @Test
+    void testPatchRejectsUnknownReadOnlyAndNonRemovableProperties() throws Exception {
+        for (String body : new String[] {"{\"createdAt\":\"2024-01-01T00:00:00\"}", "{\"title\":null}",
+                "{\"status\":\"UNKNOWN\"}", "[]"}) {
+            mockMvc.perform(patch("/api/todos/{id}", todo.getId())
+                            .contentType(MERGE_PATCH)
+                            .content(body))
+                    .andExpect(status().isBadRequest());
+        }
+        assertEquals(todo.getVersion(), todoRepository.findById(todo.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testPatchWithStaleVersionConflictsAndMissingTodoIsNotFound() throws Exception {
+        mockMvc.perform(patch("/api/todos/{id}", todo.getId())
+                        .contentType(MERGE_PATCH)
+                        .content("{\"status\":\"DONE\",\"version\":" + (todo.getVersion() - 1) + "}"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(patch("/api/todos/{id}", todo.getId() + 1000)
+                        .contentType(MERGE_PATCH)
+                        .content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isNotFound());
+    }
+}
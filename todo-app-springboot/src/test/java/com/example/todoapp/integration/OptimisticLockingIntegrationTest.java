@@ -0,0 +1,120 @@
+package com.example.todoapp.integration;
+
+import com.example.todoapp.cache.TodoVersionRegistry;
+import com.example.todoapp.dto.TodoRequest;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * バージョンによる楽観的ロックの統合テスト
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Optimistic Locking Integration Tests")
+class OptimisticLockingIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoVersionRegistry todoVersionRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        todoRepository.deleteAll();
+    }
+
+    @Test
+    void testUpdateWithCurrentVersionSucceedsAndStaleVersionConflicts() throws Exception {
+        Todo todo = todoRepository.saveAndFlush(new Todo("Versioned", "desc", TodoStatus.TODO, TodoPriority.LOW));
+        long version = todo.getVersion();
+
+        mockMvc.perform(put("/api/todos/{id}", todo.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("First writer", version))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("First writer"))
+                .andExpect(jsonPath("$.version").value(version + 1));
+
+        mockMvc.perform(put("/api/todos/{id}", todo.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("Second writer", version))))
+                .andExpect(status().isConflict());
+
+        assertEquals("First writer", todoRepository.findById(todo.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testUpdateWithoutVersionIsUnconditional() throws Exception {
+        Todo todo = todoRepository.saveAndFlush(new Todo("Unversioned", "desc", TodoStatus.TODO, TodoPriority.LOW));
+
+        mockMvc.perform(put("/api/todos/{id}", todo.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("Last writer", null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(todo.getVersion() + 1));
+    }
+
+    @Test
+    void testIfMatchIsCheckedAgainstTheRowAtWriteTime() throws Exception {
+        Todo todo = todoRepository.saveAndFlush(new Todo("Raced", "desc", TodoStatus.TODO, TodoPriority.LOW));
+        String etag = todoVersionRegistry.register(todo);
+
+        // If-Matchの照合後、書き込みまでの間に他の書き込みがコミットされた状態（登録済みのETagは古いまま）
+        todoRepository.updateColumns(todo.getId(), null, Map.of("title", "Other writer"), LocalDateTime.now());
+
+        mockMvc.perform(put("/api/todos/{id}", todo.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("Lost update", null))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+        mockMvc.perform(delete("/api/todos/{id}", todo.getId())
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+
+        Todo current = todoRepository.findById(todo.getId()).orElseThrow();
+        assertEquals("Other writer", current.getTitle());
+        assertEquals(todo.getVersion() + 1, current.getVersion());
+    }
+
+    private static TodoRequest request(String title, Long version) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        request.setVersion(version);
+        return request;
+    }
+}
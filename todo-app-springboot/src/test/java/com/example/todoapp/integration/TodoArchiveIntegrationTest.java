@@ -0,0 +1,186 @@
+package com.example.todoapp.integration;
+
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoArchive;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.repository.TodoArchiveRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoTombstoneRepository;
+import com.example.todoapp.service.TodoArchiveService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 完了済みTodoのアーカイブの統合テスト
+ * アーカイブはテストのトランザクション外でコミットするため、専用のデータベースを使用する
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivetest;DB_CLOSE_DELAY=-1",
+        "app.archive.age-days=30",
+        "app.archive.chunk-size=2"
+})
+@ActiveProfiles("test")
+@DisplayName("Todo Archive Integration Tests")
+class TodoArchiveIntegrationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoArchiveRepository todoArchiveRepository;
+
+    @Autowired
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    @Autowired
+    private TodoArchiveService todoArchiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        todoRepository.deleteAll();
+        todoArchiveRepository.deleteAll();
+        todoTombstoneRepository.deleteAll();
+    }
+
+    @Test
+    void testOnlyOldDoneTodosAreArchivedInChunks() {
+        Todo oldDone1 = save("Old done 1", TodoStatus.DONE, 400);
+        Todo oldDone2 = save("Old done 2", TodoStatus.DONE, 200);
+        Todo oldDone3 = save("Old done 3", TodoStatus.DONE, 100);
+        Todo recentDone = save("Recent done", TodoStatus.DONE, 1);
+        Todo oldOpen = save("Old open", TodoStatus.IN_PROGRESS, 400);
+
+        assertThat(todoArchiveService.archiveDone()).isEqualTo(3);
+        assertThat(todoArchiveService.archiveDone()).isZero();
+
+        assertThat(todoRepository.findAll()).extracting(Todo::getId)
+                .containsExactlyInAnyOrder(recentDone.getId(), oldOpen.getId());
+        assertThat(todoArchiveRepository.findAll()).extracting(TodoArchive::getId)
+                .containsExactlyInAnyOrder(oldDone1.getId(), oldDone2.getId(), oldDone3.getId());
+        assertThat(todoArchiveRepository.findById(oldDone1.getId()).orElseThrow().toTodo().getTitle())
+                .isEqualTo("Old done 1");
+    }
+
+    @Test
+    void testArchivedTodosAreReportedAsDeleted() throws Exception {
+        Todo oldDone1 = save("Old done 1", TodoStatus.DONE, 400);
+        Todo oldDone2 = save("Old done 2", TodoStatus.DONE, 200);
+        save("Old open", TodoStatus.TODO, 400);
+        String cursor = delta(null).get("cursor").asText();
+
+        todoArchiveService.archiveDone();
+
+        // 差分同期ではアーカイブ日時の削除として、アウトボックスにはDELETEDとして記録する
+        JsonNode delta = delta(cursor);
+        assertThat(delta.get("changed").size()).isZero();
+        List<Long> deleted = new ArrayList<>();
+        delta.get("deleted").forEach(entry -> deleted.add(entry.get("id").asLong()));
+        assertThat(deleted).containsExactly(oldDone1.getId(), oldDone2.getId());
+        assertThat(jdbcTemplate.queryForList("SELECT todo_id FROM todo_outbox WHERE event_type = 'DELETED'", Long.class))
+                .contains(oldDone1.getId(), oldDone2.getId());
+    }
+
+    @Test
+    void testListAndSearchReadArchiveOnlyWhenRequested() throws Exception {
+        save("Quarterly report", TodoStatus.DONE, 400);
+        Todo hot = save("Weekly report", TodoStatus.TODO, 0);
+        save("Groceries", TodoStatus.TODO, 0);
+        todoArchiveService.archiveDone();
+
+        mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(2));
+
+        mockMvc.perform(get("/api/todos").param("includeArchived", "true")
+                        .param("sort", "title,asc").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(3))
+                .andExpect(jsonPath("$.content[*].title", contains("Groceries", "Quarterly report")));
+
+        mockMvc.perform(get("/api/todos/search").param("keyword", "report"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(hot.getId().intValue())));
+
+        mockMvc.perform(get("/api/todos/search").param("keyword", "report").param("includeArchived", "true")
+                        .param("fields", "title").param("sort", "createdAt,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(2))
+                .andExpect(jsonPath("$.content[*].title", contains("Weekly report", "Quarterly report")))
+                .andExpect(jsonPath("$.content[0].createdAt").doesNotExist());
+    }
+
+    @Test
+    void testArchivedPagesAreSlicedInTheDatabaseAndOffsetIsCapped() throws Exception {
+        save("Old done A", TodoStatus.DONE, 400);
+        save("Old done B", TodoStatus.DONE, 300);
+        save("Old done C", TodoStatus.DONE, 200);
+        save("Open D", TodoStatus.TODO, 0);
+        save("Done E", TodoStatus.DONE, 0);
+        todoArchiveService.archiveDone();
+
+        // 2ページ目は両テーブルを合わせた並び順で切り出され、条件は両方に適用される
+        mockMvc.perform(get("/api/todos/search").param("status", "DONE").param("includeArchived", "true")
+                        .param("sort", "title,desc").param("size", "2").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(4))
+                .andExpect(jsonPath("$.content[*].title", contains("Old done A", "Done E")))
+                .andExpect(jsonPath("$.content[0].status").value("DONE"));
+
+        // max-search-offset（既定10000）を超えるオフセットは拒否する
+        mockMvc.perform(get("/api/todos").param("includeArchived", "true")
+                        .param("size", "10").param("page", "1001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode delta(String since) throws Exception {
+        var request = get("/api/todos/delta").param("limit", "100");
+        if (since != null) {
+            request.param("since", since);
+        }
+        return objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    /**
+     * 指定日数前に作成・更新されたTodoを保存する
+     */
+    private Todo save(String title, TodoStatus status, int daysAgo) {
+        Todo todo = todoRepository.saveAndFlush(new Todo(title, null, status, TodoPriority.MEDIUM));
+        Timestamp time = Timestamp.valueOf(LocalDateTime.now().minusDays(daysAgo));
+        jdbcTemplate.update("UPDATE todo SET created_at = ?, updated_at = ? WHERE id = ?", time, time, todo.getId());
+        return todo;
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.todoapp.integration;
+
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoJob;
+import com.example.todoapp.entity.TodoJobState;
+import com.example.todoapp.entity.TodoJobType;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.repository.TodoJobRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoTombstoneRepository;
+import com.example.todoapp.service.TodoJobService;
+import com.example.todoapp.service.TodoPurgeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 一括処理ジョブAPI（/api/jobs）の統合テスト
+ * ジョブは専用のスレッドでコミットするため、専用のデータベースを使用する
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jobtest;DB_CLOSE_DELAY=-1",
+        "app.jobs.chunk-size=2",
+        "app.jobs.concurrency=1",
+        "app.jobs.max-queued=2",
+        "app.soft-delete.purge-after-minutes=0",
+        "app.audit.segment-store.enabled=true"
+})
+@ActiveProfiles("test")
+@DisplayName("Bulk Job Integration Tests")
+class TodoJobIntegrationTest {
+
+    @TempDir
+    static Path auditDirectory;
+
+    @DynamicPropertySource
+    static void auditProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.audit.segment-store.directory", auditDirectory::toString);
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    @Autowired
+    private TodoJobRepository todoJobRepository;
+
+    @Autowired
+    private TodoJobService todoJobService;
+
+    @Autowired
+    private TodoPurgeService todoPurgeService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        todoRepository.deleteAll();
+        todoPurgeService.purgeDeleted();
+        todoTombstoneRepository.deleteAll();
+    }
+
+    @Test
+    void testStatusChangeJobRunsInChunksAndRecordsProgress() throws Exception {
+        List<Long> ids = createTodos(4);
+        ids.add(-1L);
+
+        JsonNode submitted = submit("{\"type\":\"STATUS_CHANGE\",\"status\":\"DONE\",\"ids\":" + ids + "}");
+        JsonNode finished = awaitFinished(submitted.get("id").asLong());
+
+        assertThat(finished.get("state").asText()).isEqualTo("SUCCEEDED");
+        assertThat(finished.get("total").asInt()).isEqualTo(5);
+        assertThat(finished.get("processed").asInt()).isEqualTo(5);
+        assertThat(finished.get("affected").asInt()).isEqualTo(4);
+        assertThat(finished.get("percent").asDouble()).isEqualTo(100.0);
+        assertThat(todoRepository.findAll()).allSatisfy(todo -> {
+            assertThat(todo.getStatus()).isEqualTo(TodoStatus.DONE);
+            assertThat(todo.getVersion()).isEqualTo(1L);
+        });
+        TodoJob stored = todoJobRepository.findById(submitted.get("id").asLong()).orElseThrow();
+        assertThat(stored.getState()).isEqualTo(TodoJobState.SUCCEEDED);
+        assertThat(stored.getTargetValue()).isEqualTo("DONE");
+    }
+
+    @Test
+    void testEachChunkIsAuditedWithJobIdIdsAndRequester() throws Exception {
+        List<Long> ids = createTodos(3);
+
+        String response = mockMvc.perform(post("/api/jobs")
+                        .header("X-User-ID", "ops")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"STATUS_CHANGE\",\"status\":\"DONE\",\"ids\":" + ids + "}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.requestedBy").value("user:ops"))
+                .andReturn().getResponse().getContentAsString();
+        long jobId = objectMapper.readTree(response).get("id").asLong();
+        awaitFinished(jobId);
+
+        // チャンク（2件）ごとに1件、変更したTodoのIDと変更後の値を記録する
+        JsonNode audit = objectMapper.readTree(mockMvc.perform(get("/admin/audit")
+                        .param("resourceType", "TODO_JOB")
+                        .param("resourceId", String.valueOf(jobId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andReturn().getResponse().getContentAsString());
+        List<String> newValues = new ArrayList<>();
+        audit.get("entries").forEach(entry -> {
+            assertThat(entry.get("operation").asText()).isEqualTo("UPDATE");
+            assertThat(entry.get("userId").asText()).isEqualTo("user:ops");
+            newValues.add(entry.get("newValue").asText());
+        });
+        assertThat(newValues).containsExactlyInAnyOrder(
+                "{\"ids\":[" + ids.get(0) + "," + ids.get(1) + "],\"status\":\"DONE\"}",
+                "{\"ids\":[" + ids.get(2) + "],\"status\":\"DONE\"}");
+    }
+
+    @Test
+    void testDeleteJobLeavesTombstones() throws Exception {
+        List<Long> ids = createTodos(3);
+
+        JsonNode finished = awaitFinished(
+                submit("{\"type\":\"DELETE\",\"ids\":" + ids + "}").get("id").asLong());
+
+        assertThat(finished.get("affected").asInt()).isEqualTo(3);
+        assertThat(todoRepository.count()).isZero();
+        assertThat(todoTombstoneRepository.findAllById(ids)).isEmpty();
+
+        // 論理削除した行は物理削除の際に削除の記録へ移る
+        assertThat(todoPurgeService.purgeDeleted()).isEqualTo(3);
+        assertThat(todoTombstoneRepository.findAllById(ids)).hasSize(3);
+    }
+
+    @Test
+    void testCancellationStopsBetweenChunks() throws Exception {
+        // 存在しないIDのチャンクを多数処理させ、実行中と実行待ちのジョブを取り消す
+        String manyIds = LongStream.rangeClosed(1_000_000, 1_020_000).boxed().toList().toString();
+        long running = submit("{\"type\":\"PRIORITY_CHANGE\",\"priority\":\"LOW\",\"ids\":" + manyIds + "}")
+                .get("id").asLong();
+        long queued = submit("{\"type\":\"PRIORITY_CHANGE\",\"priority\":\"LOW\",\"ids\":[1]}").get("id").asLong();
+
+        mockMvc.perform(post("/api/jobs/{id}/cancel", queued)).andExpect(status().isAccepted());
+        mockMvc.perform(post("/api/jobs/{id}/cancel", running))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.cancelRequested").value(true));
+
+        JsonNode cancelled = awaitFinished(running);
+        assertThat(cancelled.get("state").asText()).isEqualTo("CANCELLED");
+        assertThat(cancelled.get("processed").asInt()).isLessThan(cancelled.get("total").asInt());
+        JsonNode cancelledBeforeStart = awaitFinished(queued);
+        assertThat(cancelledBeforeStart.get("state").asText()).isEqualTo("CANCELLED");
+        assertThat(cancelledBeforeStart.get("processed").asInt()).isZero();
+    }
+
+    @Test
+    void testSubmissionBeyondQueueCapacityIsRejectedWithRetryAfter() throws Exception {
+        String manyIds = LongStream.rangeClosed(1_000_000, 1_020_000).boxed().toList().toString();
+        long running = submit("{\"type\":\"PRIORITY_CHANGE\",\"priority\":\"LOW\",\"ids\":" + manyIds + "}")
+                .get("id").asLong();
+        awaitState(running, TodoJobState.RUNNING);
+        List<Long> queued = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            queued.add(submit("{\"type\":\"PRIORITY_CHANGE\",\"priority\":\"LOW\",\"ids\":[1]}").get("id").asLong());
+        }
+        long jobsBefore = todoJobRepository.count();
+
+        mockMvc.perform(post("/api/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"PRIORITY_CHANGE\",\"priority\":\"LOW\",\"ids\":[1]}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"));
+        assertThat(todoJobRepository.count()).isEqualTo(jobsBefore);
+
+        for (long id : queued) {
+            mockMvc.perform(post("/api/jobs/{id}/cancel", id)).andExpect(status().isAccepted());
+        }
+        mockMvc.perform(post("/api/jobs/{id}/cancel", running)).andExpect(status().isAccepted());
+        awaitFinished(running);
+        for (long id : queued) {
+            awaitFinished(id);
+        }
+    }
+
+    @Test
+    void testUnfinishedJobsAreInterruptedOnStartup() {
+        TodoJob job = new TodoJob(TodoJobType.DELETE, null, 10, "user:test", LocalDateTime.now());
+        job.setState(TodoJobState.RUNNING);
+        Long id = todoJobRepository.save(job).getId();
+
+        todoJobService.interruptUnfinishedJobs();
+
+        assertThat(todoJobService.get(id).getState()).isEqualTo(TodoJobState.INTERRUPTED);
+    }
+
+    @Test
+    void testInvalidRequestsAndUnknownJob() throws Exception {
+        mockMvc.perform(post("/api/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"STATUS_CHANGE\",\"ids\":[1]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"DELETE\",\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/jobs/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode submit(String body) throws Exception {
+        String response = mockMvc.perform(post("/api/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private void awaitState(long id, TodoJobState state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (todoJobService.get(id).getState() != state) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private JsonNode awaitFinished(long id) throws Exception {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (true) {
+            JsonNode job = objectMapper.readTree(mockMvc.perform(get("/api/jobs/{id}", id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (TodoJobState.valueOf(job.get("state").asText()).isFinished()) {
+                return job;
+            }
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private List<Long> createTodos(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(todoRepository.save(new Todo("Bulk " + i, null, TodoStatus.TODO, TodoPriority.MEDIUM)).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.todoapp.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void rejectsImmediatelyAtLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 100, 1, now::get);
+
+        long first = limiter.tryAcquire();
+        long second = limiter.tryAcquire();
+
+        assertThat(first).isNotNegative();
+        assertThat(second).isNotNegative();
+        assertThat(limiter.tryAcquire()).isEqualTo(-1);
+        assertThat(limiter.getRejected()).isEqualTo(1);
+
+        limiter.release(first);
+        assertThat(limiter.tryAcquire()).isNotNegative();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void growsWhileLatencyIsStable() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 10, 100, 100, 5, now::get);
+
+        for (int window = 0; window < 20; window++) {
+            runWindow(limiter, limiter.getLimit(), 10);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 200, 100, 5, now::get);
+        for (int window = 0; window < 5; window++) {
+            runWindow(limiter, 80, 10);
+        }
+        int before = limiter.getLimit();
+
+        for (int window = 0; window < 10; window++) {
+            runWindow(limiter, limiter.getLimit(), 50);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(before * 2 / 3);
+    }
+
+    @Test
+    void keepsLimitWhenUnderutilized() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 200, 100, 5, now::get);
+        runWindow(limiter, 10, 10);
+
+        for (int window = 0; window < 10; window++) {
+            runWindow(limiter, 10, 50);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void staysWithinBounds() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 15, 30, 100, 5, now::get);
+        for (int window = 0; window < 50; window++) {
+            runWindow(limiter, limiter.getLimit(), 10);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(30);
+
+        for (int window = 0; window < 50; window++) {
+            runWindow(limiter, limiter.getLimit(), 200 + window * 20L);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(15);
+
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(10, 0, 10, 100, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 半数が304（ほぼ0ms）、半数が200（10ms）の混在した負荷で、304を記録から除外すれば上限は下がらない
+     * （304を記録すると無負荷時の応答時間がほぼ0になり、勾配が下限に張り付いて上限が最小値まで下がる）
+     */
+    @Test
+    void ignoresShortCircuitResponsesInMixedTraffic() {
+        AdaptiveConcurrencyLimiter excluding = new AdaptiveConcurrencyLimiter(50, 10, 400, 100, 5, now::get);
+        AdaptiveConcurrencyLimiter sampling = new AdaptiveConcurrencyLimiter(50, 10, 400, 100, 5, now::get);
+
+        for (int window = 0; window < 30; window++) {
+            runMixedWindow(excluding, excluding.getLimit(), false);
+            runMixedWindow(sampling, sampling.getLimit(), true);
+        }
+
+        assertThat(excluding.getLimit()).isGreaterThan(50);
+        assertThat(excluding.getUnsampled()).isPositive();
+        assertThat(excluding.getInFlight()).isZero();
+        assertThat(sampling.getLimit()).isEqualTo(10);
+    }
+
+    /**
+     * ローカルの負荷生成：接続数10のDBを模した処理に100クライアントが殺到した場合、
+     * 上限が下がって超過分が即座に拒否され、受け付けたリクエストの待ち時間が抑えられることを確認する
+     */
+    @Test
+    void shedsLoadWhenDownstreamSaturates() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 5, 200, 50, 10);
+        Semaphore database = new Semaphore(10, true);
+        int clients = 100;
+        long end = System.nanoTime() + 3_000 * MILLIS;
+        LongAdder served = new LongAdder();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    long start = limiter.tryAcquire();
+                    if (start < 0) {
+                        // 拒否されたクライアントはRetry-Afterに従って少し待つ
+                        sleep(5);
+                        continue;
+                    }
+                    try {
+                        database.acquireUninterruptibly();
+                        try {
+                            sleep(5);
+                        } finally {
+                            database.release();
+                        }
+                        served.increment();
+                    } finally {
+                        limiter.release(start);
+                    }
+                }
+            });
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(served.sum()).isPositive();
+        assertThat(limiter.getRejected()).isPositive();
+        assertThat(limiter.getLimit()).isLessThan(clients / 2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    /**
+     * 指定した同時実行数・応答時間で1ウィンドウ分のリクエストを処理する
+     */
+    private void runWindow(AdaptiveConcurrencyLimiter limiter, int concurrency, long rttMillis) {
+        long[] starts = new long[concurrency];
+        int acquired = 0;
+        for (int i = 0; i < concurrency; i++) {
+            long start = limiter.tryAcquire();
+            if (start >= 0) {
+                starts[acquired++] = start;
+            }
+        }
+        now.addAndGet(Math.max(rttMillis, 100) * MILLIS);
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(starts[i] + Math.max(rttMillis, 100) * MILLIS - rttMillis * MILLIS);
+        }
+    }
+
+    /**
+     * 偶数番目を304（0ms）、奇数番目を200（10ms）として1ウィンドウ分のリクエストを処理する
+     */
+    private void runMixedWindow(AdaptiveConcurrencyLimiter limiter, int concurrency, boolean sampleNotModified) {
+        long[] starts = new long[concurrency];
+        int acquired = 0;
+        for (int i = 0; i < concurrency; i++) {
+            long start = limiter.tryAcquire();
+            if (start >= 0) {
+                starts[acquired++] = start;
+            }
+        }
+        long window = 100 * MILLIS;
+        now.addAndGet(window);
+        for (int i = 0; i < acquired; i++) {
+            if (i % 2 == 0) {
+                limiter.release(starts[i] + window, sampleNotModified);
+            } else {
+                limiter.release(starts[i] + window - 10 * MILLIS);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
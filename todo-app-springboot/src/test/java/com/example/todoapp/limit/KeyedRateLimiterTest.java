@@ -0,0 +1,90 @@
+package com.example.todoapp.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyedRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(5 * SECOND);
+
+    @Test
+    void allowsBurstThenRejects() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(3, 1, 100, Duration.ofMinutes(5), now::get);
+
+        assertThat(limiter.tryAcquire("a").remaining()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("a").remaining()).isEqualTo(1);
+        KeyedRateLimiter.Decision last = limiter.tryAcquire("a");
+        assertThat(last.permitted()).isTrue();
+        assertThat(last.remaining()).isZero();
+        assertThat(last.resetSeconds()).isEqualTo(3);
+
+        KeyedRateLimiter.Decision rejected = limiter.tryAcquire("a");
+        assertThat(rejected.permitted()).isFalse();
+        assertThat(rejected.limit()).isEqualTo(3);
+        assertThat(rejected.retryAfterSeconds()).isEqualTo(1);
+        assertThat(limiter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void refillsOverTime() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(2, 4, 100, Duration.ofMinutes(5), now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+        assertThat(limiter.tryAcquire("a").permitted()).isFalse();
+
+        now.addAndGet(SECOND / 4);
+        assertThat(limiter.tryAcquire("a").permitted()).isTrue();
+        assertThat(limiter.tryAcquire("a").permitted()).isFalse();
+
+        // 長時間空いても容量を超えては貯まらない
+        now.addAndGet(60 * SECOND);
+        assertThat(limiter.tryAcquire("a").remaining()).isEqualTo(1);
+    }
+
+    @Test
+    void isolatesKeys() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(1, 1, 100, Duration.ofMinutes(5), now::get);
+
+        assertThat(limiter.tryAcquire("noisy").permitted()).isTrue();
+        assertThat(limiter.tryAcquire("noisy").permitted()).isFalse();
+        assertThat(limiter.tryAcquire("quiet").permitted()).isTrue();
+    }
+
+    @Test
+    void boundsTrackedKeys() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(10, 10, 100, Duration.ofMinutes(5), now::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("client-" + i);
+        }
+
+        assertThat(limiter.getKeyCount()).isLessThanOrEqualTo(100);
+        assertThat(limiter.getAllowed()).isEqualTo(10_000);
+    }
+
+    @Test
+    void consumesExactlyCapacityUnderContention() throws Exception {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(1_000, 0.001, 100, Duration.ofMinutes(5), now::get);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    limiter.tryAcquire("shared");
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(limiter.getAllowed()).isEqualTo(1_000);
+        assertThat(limiter.getRejected()).isEqualTo(3_000);
+    }
+}
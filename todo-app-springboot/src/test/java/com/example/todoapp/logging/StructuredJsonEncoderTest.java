@@ -0,0 +1,107 @@
+package com.example.todoapp.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.example.todoapp.dto.AuditLogEntry;
+import com.example.todoapp.dto.PerformanceLogEntry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 構造化JSONエンコーダーのテストクラス
+ */
+class StructuredJsonEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private StructuredJsonEncoder encoder;
+    private Logger auditLogger;
+    private Logger performanceLogger;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext context = new LoggerContext();
+        auditLogger = context.getLogger("audit");
+        performanceLogger = context.getLogger("performance");
+
+        encoder = new StructuredJsonEncoder();
+        encoder.setContext(context);
+        encoder.start();
+    }
+
+    @Test
+    void testEncodeAuditEntryWithMdc() throws Exception {
+        AuditLogEntry entry = AuditLogEntry.success("UPDATE", "TODO", "123", "user1");
+        entry.setDetails("Todo \"updated\"\nsuccessfully");
+        LoggingEvent event = new LoggingEvent(getClass().getName(), auditLogger, Level.INFO, "{}", null,
+                new Object[]{entry});
+        event.setMDCPropertyMap(Map.of("correlationId", "abc123"));
+
+        byte[] bytes = encoder.encode(event);
+        String line = new String(bytes, StandardCharsets.UTF_8);
+        JsonNode json = objectMapper.readTree(line);
+
+        assertThat(line).endsWith("\n");
+        assertThat(line.trim()).doesNotContain("\n");
+        assertThat(json.get("logger").asText()).isEqualTo("audit");
+        assertThat(json.get("level").asText()).isEqualTo("INFO");
+        assertThat(json.get("timestamp").asText()).matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}");
+        assertThat(json.at("/audit/operation").asText()).isEqualTo("UPDATE");
+        assertThat(json.at("/audit/resourceId").asText()).isEqualTo("123");
+        assertThat(json.at("/audit/details").asText()).isEqualTo("Todo \"updated\"\nsuccessfully");
+        assertThat(json.at("/audit/oldValue").isMissingNode()).isTrue();
+        assertThat(json.at("/mdc/correlationId").asText()).isEqualTo("abc123");
+        assertThat(json.has("message")).isFalse();
+    }
+
+    @Test
+    void testEncodePerformanceEntry() throws Exception {
+        PerformanceLogEntry entry = PerformanceLogEntry.forMethod("TodoServiceImpl", "findAll", 250);
+        entry.setRecordCount(10);
+        entry.setAdditionalMetrics(Map.of("layer", "SERVICE", "statusCode", 200));
+        LoggingEvent event = new LoggingEvent(getClass().getName(), performanceLogger, Level.INFO, "{}", null,
+                new Object[]{entry});
+        event.setMDCPropertyMap(Map.of());
+
+        JsonNode json = objectMapper.readTree(encoder.encode(event));
+
+        assertThat(json.at("/performance/executionTimeMs").asLong()).isEqualTo(250);
+        assertThat(json.at("/performance/recordCount").asInt()).isEqualTo(10);
+        assertThat(json.at("/performance/performanceLevel").asText()).isEqualTo("GOOD");
+        assertThat(json.at("/performance/additionalMetrics/statusCode").asInt()).isEqualTo(200);
+    }
+
+    @Test
+    void testPlainMessageAndConsecutiveEvents() throws Exception {
+        LoggingEvent first = new LoggingEvent(getClass().getName(), auditLogger, Level.WARN, "plain {}", null,
+                new Object[]{"message"});
+        LoggingEvent second = new LoggingEvent(getClass().getName(), auditLogger, Level.INFO, "second", null, null);
+        first.setMDCPropertyMap(Map.of());
+        second.setMDCPropertyMap(Map.of());
+
+        JsonNode firstJson = objectMapper.readTree(encoder.encode(first));
+        String secondLine = new String(encoder.encode(second), StandardCharsets.UTF_8);
+
+        assertThat(firstJson.get("message").asText()).isEqualTo("plain message");
+        assertThat(secondLine).startsWith("{");
+        assertThat(objectMapper.readTree(secondLine).get("message").asText()).isEqualTo("second");
+    }
+
+    @Test
+    void testPatternLayoutStillRendersLogMessage() {
+        AuditLogEntry entry = AuditLogEntry.success("CREATE", "TODO", "1", "user1");
+        LoggingEvent event = new LoggingEvent(getClass().getName(), auditLogger, Level.INFO, "{}", null,
+                new Object[]{entry});
+
+        assertThat(event.getFormattedMessage()).isEqualTo(entry.toLogMessage());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.todoapp.outbox;
+
+import com.example.todoapp.dto.TodoRequest;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.repository.TodoOutboxRepository;
+import com.example.todoapp.service.TodoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * トランザクショナルアウトボックスの統合テスト
+ * 送信先はJSON Linesファイル、リレーはスケジューラーを待たずに直接呼び出す
+ * 他のテストのコンテキストのリレーが行を取得しないよう、専用のデータベースを使用する
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxtest;DB_CLOSE_DELAY=-1",
+        "app.outbox.sink=file",
+        "app.outbox.file.path=target/outbox-test/outbox.jsonl",
+        "app.outbox.poll-interval-ms=3600000",
+        "app.outbox.retention-minutes=0"
+})
+@ActiveProfiles("test")
+@DisplayName("Transactional Outbox Integration Tests")
+class TodoOutboxIntegrationTest {
+
+    private static final Path OUTBOX_FILE = Path.of("target/outbox-test/outbox.jsonl");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoOutboxRelay relay;
+
+    @Autowired
+    private TodoOutboxRepository todoOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        relay.relay();
+        todoOutboxRepository.deleteAll();
+        Files.deleteIfExists(OUTBOX_FILE);
+    }
+
+    @Test
+    void testChangesAreRelayedInOrderAndMarkedPublished() throws Exception {
+        Todo created = todoService.create(request("Outbox todo", TodoStatus.TODO));
+        todoService.update(created.getId(), request("Outbox todo", TodoStatus.DONE));
+        todoService.delete(created.getId());
+        assertThat(todoOutboxRepository.countByPublishedAtIsNull()).isEqualTo(3);
+
+        assertThat(relay.relay()).isEqualTo(3);
+
+        List<JsonNode> lines = readLines();
+        assertThat(lines).extracting(line -> line.get("eventType").asText())
+                .containsExactly("CREATED", "UPDATED", "DELETED");
+        assertThat(lines).allSatisfy(line -> assertThat(line.get("todoId").asLong()).isEqualTo(created.getId()));
+        assertThat(lines.get(1).get("payload").get("status").asText()).isEqualTo("DONE");
+        assertThat(lines.get(2).get("payload").isNull()).isTrue();
+        assertThat(todoOutboxRepository.countByPublishedAtIsNull()).isZero();
+        assertThat(relay.relay()).isZero();
+    }
+
+    @Test
+    void testRolledBackChangeLeavesNoOutboxRow() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            todoService.create(request("Rolled back", TodoStatus.TODO));
+            status.setRollbackOnly();
+        });
+
+        assertThat(todoOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    void testRowsLockedByAnotherRelayAreSkipped() throws Exception {
+        todoService.create(request("Locked", TodoStatus.TODO));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread other = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM todo_outbox WHERE published_at IS NULL FOR UPDATE");
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        other.start();
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(relay.relay()).isZero();
+
+        release.countDown();
+        other.join(10_000);
+        assertThat(relay.relay()).isEqualTo(1);
+    }
+
+    @Test
+    void testPurgeRemovesOnlyPublishedRows() {
+        todoService.create(request("Published", TodoStatus.TODO));
+        relay.relay();
+        todoService.create(request("Pending", TodoStatus.TODO));
+
+        assertThat(relay.purgePublished()).isEqualTo(1);
+        assertThat(todoOutboxRepository.count()).isEqualTo(1);
+        assertThat(todoOutboxRepository.countByPublishedAtIsNull()).isEqualTo(1);
+    }
+
+    private List<JsonNode> readLines() throws Exception {
+        return Files.readAllLines(OUTBOX_FILE).stream()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private static TodoRequest request(String title, TodoStatus status) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        request.setStatus(status);
+        return request;
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.todoapp.repository;
 
+import com.example.todoapp.dto.TodoSearchCriteria;
 import com.example.todoapp.entity.Todo;
 import com.example.todoapp.entity.TodoStatus;
 import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoTombstone;
+import com.example.todoapp.exception.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,8 +18,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +42,9 @@ class TodoRepositoryTest {
     @Autowired
     private TodoRepository todoRepository;
 
+    @Autowired
+    private TodoTombstoneRepository todoTombstoneRepository;
+
     private Todo testTodo1;
     private Todo testTodo2;
     private Todo testTodo3;
@@ -261,4 +271,128 @@ class TodoRepositoryTest {
         // For now, just check that the method doesn't fail
         assertNotNull(todosInRange);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchPageWithPriorityAndSort() {
+        TodoSearchCriteria criteria = new TodoSearchCriteria("Test", null, TodoPriority.MEDIUM);
+
+        Page<Todo> page = todoRepository.searchPage(criteria, PageRequest.of(0, 10, Sort.by("title")));
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Test Todo 2", page.getContent().get(0).getTitle());
+    }
+
+    @Test
+    void testSearchPageTreatsWildcardsLiterally() {
+        TodoSearchCriteria criteria = new TodoSearchCriteria("%", null, null);
+
+        Page<Todo> page = todoRepository.searchPage(criteria, PageRequest.of(0, 10));
+
+        assertEquals(0, page.getTotalElements());
+    }
+
+    @Test
+    void testSearchProjectedSelectsOnlyRequestedColumns() {
+        Page<Map<String, Object>> page = todoRepository.searchProjected(
+                new TodoSearchCriteria(), Set.of("id", "title"), PageRequest.of(0, 2, Sort.by("id")));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(2, page.getNumberOfElements());
+        assertEquals(Set.of("id", "title"), page.getContent().get(0).keySet());
+        assertEquals(testTodo1.getId(), page.getContent().get(0).get("id"));
+    }
+
+    @Test
+    void testSearchRejectsUnknownSortProperty() {
+        assertThrows(BusinessException.class, () -> todoRepository.searchPage(
+                new TodoSearchCriteria(), PageRequest.of(0, 10, Sort.by("secret"))));
+    }
+
+    @Test
+    void testUpdateColumnsWritesOnlyGivenColumnsAndIncrementsVersion() {
+        Long version = testTodo1.getVersion();
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("title", "Renamed");
+        changes.put("status", TodoStatus.DONE);
+        LocalDateTime updatedAt = LocalDateTime.now();
+
+        TodoConditionalUpdateRepository.ConditionalUpdate result =
+                todoRepository.updateColumns(testTodo1.getId(), version, changes, updatedAt).orElseThrow();
+
+        assertEquals("Test Todo 1", result.previous().getTitle());
+        assertEquals(TodoStatus.TODO, result.previous().getStatus());
+        assertEquals("Renamed", result.current().getTitle());
+        assertEquals(version + 1, result.current().getVersion());
+
+        entityManager.clear();
+        Todo stored = entityManager.find(Todo.class, testTodo1.getId());
+        assertEquals("Renamed", stored.getTitle());
+        assertEquals(TodoStatus.DONE, stored.getStatus());
+        assertEquals(TodoPriority.HIGH, stored.getPriority());
+        assertEquals("First test description", stored.getDescription());
+        assertEquals(version + 1, stored.getVersion());
+        assertEquals(result.previous().getCreatedAt(), stored.getCreatedAt());
+    }
+
+    @Test
+    void testUpdateColumnsWithStaleVersionUpdatesNothing() {
+        Long staleVersion = testTodo1.getVersion() - 1;
+
+        assertTrue(todoRepository.updateColumns(testTodo1.getId(), staleVersion,
+                Map.of("title", "Lost update"), LocalDateTime.now()).isEmpty());
+        assertTrue(todoRepository.updateColumns(-1L, null,
+                Map.of("title", "Missing"), LocalDateTime.now()).isEmpty());
+
+        entityManager.clear();
+        assertEquals("Test Todo 1", entityManager.find(Todo.class, testTodo1.getId()).getTitle());
+    }
+
+    @Test
+    void testBulkUpdateAndDeleteReturnOnlyExistingRows() {
+        List<Todo> updated = todoRepository.updateColumnsIn(List.of(testTodo1.getId(), testTodo2.getId(), -1L),
+                Map.of("priority", TodoPriority.LOW), LocalDateTime.now());
+
+        assertEquals(2, updated.size());
+        assertTrue(updated.stream().allMatch(todo -> todo.getPriority() == TodoPriority.LOW));
+        assertEquals(testTodo1.getVersion() + 1, updated.stream()
+                .filter(todo -> todo.getId().equals(testTodo1.getId())).findFirst().orElseThrow().getVersion());
+
+        List<Long> deleted = todoRepository.softDeleteAllByIdIn(List.of(testTodo1.getId(), -1L), LocalDateTime.now());
+
+        assertEquals(List.of(testTodo1.getId()), deleted);
+        entityManager.clear();
+        assertEquals(2, todoRepository.count());
+        assertEquals(TodoPriority.LOW, entityManager.find(Todo.class, testTodo2.getId()).getPriority());
+    }
+
+    @Test
+    void testSoftDeletedRowsAreHiddenUntilPurgedIntoTombstones() {
+        LocalDateTime deletedAt = LocalDateTime.now().minusHours(2).withNano(0);
+
+        assertTrue(todoRepository.softDelete(testTodo1.getId(), deletedAt));
+        assertFalse(todoRepository.softDelete(testTodo1.getId(), deletedAt));
+        assertTrue(todoRepository.updateColumns(testTodo1.getId(), null,
+                Map.of("title", "Revived"), LocalDateTime.now()).isEmpty());
+
+        entityManager.clear();
+        assertTrue(todoRepository.findById(testTodo1.getId()).isEmpty());
+        assertEquals(2, todoRepository.count());
+        assertEquals(0, todoRepository.findByStatus(TodoStatus.TODO).size());
+
+        // 物理削除の前後で、差分同期には同じ位置の削除の記録として1件だけ現れる
+        List<TodoTombstone> beforePurge = todoTombstoneRepository.findDeletedAfter(
+                LocalDateTime.of(1970, 1, 1, 0, 0), 0L, LocalDateTime.now(), 10);
+        assertEquals(1, beforePurge.size());
+        assertEquals(testTodo1.getId(), beforePurge.get(0).getTodoId());
+
+        assertEquals(1, todoRepository.purgeDeleted(LocalDateTime.now().minusHours(1), 10));
+        assertEquals(0, todoRepository.purgeDeleted(LocalDateTime.now().minusHours(1), 10));
+        entityManager.clear();
+
+        List<TodoTombstone> afterPurge = todoTombstoneRepository.findDeletedAfter(
+                LocalDateTime.of(1970, 1, 1, 0, 0), 0L, LocalDateTime.now(), 10);
+        assertEquals(1, afterPurge.size());
+        assertEquals(testTodo1.getId(), afterPurge.get(0).getTodoId());
+        assertEquals(deletedAt, afterPurge.get(0).getDeletedAt());
+    }
+}
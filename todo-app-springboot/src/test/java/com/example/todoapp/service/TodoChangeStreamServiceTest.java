@@ -0,0 +1,124 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.event.TodoChangeLog;
+import com.example.todoapp.event.TodoChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Todo変更のServer-Sent Events配信のテストクラス
+ * 受信しないクライアントは送信の停止で模擬する
+ */
+class TodoChangeStreamServiceTest {
+
+    private final TodoChangeLog changeLog = new TodoChangeLog(64);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private TodoChangeStreamService service;
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStalledSubscriberDoesNotBlockOthers() throws Exception {
+        // 送信用スレッド1つ、送信タイムアウト200ms
+        service = new TodoChangeStreamService(changeLog, 10, 8, 4, 1, 3600, 30, 3000, 200, 4,
+                mock(ObjectProvider.class));
+        service.subscribe(new BlockingEmitter(unblock), null);
+        RecordingEmitter healthy = new RecordingEmitter();
+        service.subscribe(healthy, null);
+
+        for (long id = 1; id <= 3; id++) {
+            changeLog.append(TodoChangedEvent.ChangeType.CREATED, id, null);
+        }
+
+        assertThat(healthy.awaitEvents(4)).isTrue();
+        assertThat(service.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSubscriberLaggingWhileSendingIsDroppedOnAppend() throws Exception {
+        // 送信タイムアウトは十分長くし、遅延件数の確認だけで切り離されることを確認する
+        service = new TodoChangeStreamService(changeLog, 10, 8, 4, 2, 3600, 30, 3000, 60_000, 4,
+                mock(ObjectProvider.class));
+        BlockingEmitter stalled = new BlockingEmitter(unblock);
+        stalled.blockAfter = 1;
+        service.subscribe(stalled, null);
+        changeLog.append(TodoChangedEvent.ChangeType.CREATED, 1L, null);
+        assertThat(stalled.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (long id = 2; id <= 12; id++) {
+            changeLog.append(TodoChangedEvent.ChangeType.CREATED, id, null);
+        }
+
+        assertThat(service.getSubscriberCount()).isZero();
+    }
+
+    /**
+     * 指定した件数を送った後、解除されるまで送信が戻らない（受信しないクライアント）
+     */
+    private static final class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch unblock;
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private int blockAfter;
+        private int sent;
+
+        private BlockingEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (sent++ < blockAfter) {
+                return;
+            }
+            blocked.countDown();
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted", e);
+            }
+        }
+    }
+
+    /**
+     * 送られたイベントを記録する
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<Set<DataWithMediaType>> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build());
+        }
+
+        boolean awaitEvents(int count) throws InterruptedException {
+            for (int i = 0; i < count; i++) {
+                if (events.poll(5, TimeUnit.SECONDS) == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.filter.ConcurrencyLimitFilter;
+import com.example.todoapp.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 論理削除したTodoの物理削除のテストクラス
+ * リクエストの負荷は{@link ConcurrencyLimitFilter#getUtilization()}のモックで模擬する
+ */
+class TodoPurgeServiceTest {
+
+    private final TodoRepository todoRepository = mock(TodoRepository.class);
+    private final ConcurrencyLimitFilter concurrencyLimitFilter = mock(ConcurrencyLimitFilter.class);
+    private TodoPurgeService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<ConcurrencyLimitFilter> filterProvider = mock(ObjectProvider.class);
+        when(filterProvider.getIfAvailable()).thenReturn(concurrencyLimitFilter);
+        // チャンク10件、負荷0.5超で10msから待ち、合計100msを超えたら次回に回す
+        service = new TodoPurgeService(todoRepository, mock(PlatformTransactionManager.class),
+                60, 10, 200, 0.5, 10, 40, 100, filterProvider, mock(ObjectProvider.class));
+    }
+
+    @Test
+    void testEachChunkWaitsUntilLoadDrops() {
+        when(concurrencyLimitFilter.getUtilization()).thenReturn(0.9, 0.9, 0.1, 0.8, 0.2);
+        when(todoRepository.purgeDeleted(any(), anyInt())).thenReturn(10, 3);
+
+        assertThat(service.purgeDeleted()).isEqualTo(13);
+
+        verify(todoRepository, times(2)).purgeDeleted(any(), anyInt());
+        verify(concurrencyLimitFilter, times(5)).getUtilization();
+    }
+
+    @Test
+    void testRunIsDeferredWhileLoadStaysHigh() {
+        when(concurrencyLimitFilter.getUtilization()).thenReturn(0.1, 0.9);
+        when(todoRepository.purgeDeleted(any(), anyInt())).thenReturn(10);
+
+        long start = System.nanoTime();
+        assertThat(service.purgeDeleted()).isEqualTo(10);
+
+        // 1チャンク目の後は負荷が下がらないため、busy-max-wait-msで打ち切って残りを次回に回す
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(100_000_000L);
+        verify(todoRepository, times(1)).purgeDeleted(any(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPurgeIsNotGatedWithoutConcurrencyLimit() {
+        ObjectProvider<ConcurrencyLimitFilter> none = mock(ObjectProvider.class);
+        service = new TodoPurgeService(todoRepository, mock(PlatformTransactionManager.class),
+                60, 10, 200, 0.5, 10, 40, 100, none, mock(ObjectProvider.class));
+        when(todoRepository.purgeDeleted(any(), anyInt())).thenReturn(10, 10, 0);
+
+        assertThat(service.purgeDeleted()).isEqualTo(20);
+
+        verify(concurrencyLimitFilter, never()).getUtilization();
+    }
+}
@@ -1,26 +1,35 @@
 package com.example.todoapp.service.impl;
 
+import com.example.todoapp.audit.AuditChangeContext;
+import com.example.todoapp.audit.FieldChanges;
 import com.example.todoapp.dto.TodoRequest;
 import com.example.todoapp.dto.TodoSearchCriteria;
 import com.example.todoapp.entity.Todo;
 import com.example.todoapp.entity.TodoStatus;
 import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.event.TodoChangedEvent;
 import com.example.todoapp.exception.TodoNotFoundException;
+import com.example.todoapp.repository.TodoConditionalUpdateRepository.ConditionalUpdate;
 import com.example.todoapp.repository.TodoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +47,9 @@ class TodoServiceImplTest {
     @Mock
     private TodoRepository todoRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TodoServiceImpl todoService;
 
@@ -136,59 +148,128 @@ class TodoServiceImplTest {
 
     @Test
     void testUpdateSuccess() {
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(testTodo));
-        when(todoRepository.save(any(Todo.class))).thenReturn(testTodo);
+        Todo updated = copyWith(testTodo, "New Todo", TodoStatus.TODO);
+        when(todoRepository.updateColumns(eq(1L), isNull(), anyMap(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new ConditionalUpdate(testTodo, updated)));
 
         Todo result = todoService.update(1L, todoRequest);
 
-        assertNotNull(result);
-        verify(todoRepository, times(1)).findById(1L);
-        verify(todoRepository, times(1)).save(any(Todo.class));
+        assertSame(updated, result);
+        verify(todoRepository, never()).findById(anyLong());
+        verify(todoRepository, never()).save(any(Todo.class));
+        verify(eventPublisher, times(1)).publishEvent(TodoChangedEvent.updated(updated));
+    }
+
+    @Test
+    void testUpdateRecordsChangedFieldsForAudit() {
+        todoRequest.setTitle("Test Todo");
+        todoRequest.setDescription("Test Description");
+        todoRequest.setStatus(TodoStatus.DONE);
+        todoRequest.setPriority(null);
+        todoRequest.setDueDate(LocalDate.of(2024, 12, 31));
+        when(todoRepository.updateColumns(eq(1L), isNull(), anyMap(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new ConditionalUpdate(testTodo, copyWith(testTodo, "Test Todo", TodoStatus.DONE))));
+
+        todoService.update(1L, todoRequest);
+
+        FieldChanges changes = AuditChangeContext.take();
+        assertNotNull(changes);
+        assertEquals(Map.of("status", TodoStatus.TODO), changes.getOldValues());
+        assertEquals(Map.of("status", TodoStatus.DONE), changes.getNewValues());
+        verify(todoRepository, never()).findById(anyLong());
     }
 
     @Test
     void testUpdateNotFound() {
-        when(todoRepository.findById(999L)).thenReturn(Optional.empty());
+        when(todoRepository.updateColumns(eq(999L), isNull(), anyMap(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
 
         assertThrows(TodoNotFoundException.class, () -> todoService.update(999L, todoRequest));
-        verify(todoRepository, times(1)).findById(999L);
-        verify(todoRepository, never()).save(any(Todo.class));
+        verify(todoRepository, never()).existsById(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateVersionConflict() {
+        todoRequest.setVersion(3L);
+        when(todoRepository.updateColumns(eq(1L), eq(3L), anyMap(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(todoRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> todoService.update(1L, todoRequest));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testPatchUpdatesOnlyGivenColumns() {
+        Map<String, Object> changes = Map.of("status", TodoStatus.DONE);
+        when(todoRepository.updateColumns(eq(1L), eq(2L), eq(changes), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new ConditionalUpdate(testTodo, copyWith(testTodo, "Test Todo", TodoStatus.DONE))));
+
+        Todo result = todoService.patch(1L, changes, 2L);
+
+        assertEquals(TodoStatus.DONE, result.getStatus());
+        verify(todoRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(any(TodoChangedEvent.class));
     }
 
     @Test
+    void testEmptyPatchWritesNothing() {
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(testTodo));
+
+        assertSame(testTodo, todoService.patch(1L, Map.of(), null));
+        verify(todoRepository, never()).updateColumns(any(), any(), anyMap(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
     void testUpdateWithNullFields() {
         TodoRequest requestWithNulls = new TodoRequest();
         requestWithNulls.setTitle("Updated Title");
         requestWithNulls.setDescription("Updated Description");
-        // status and priority are null, should keep existing values
+        requestWithNulls.setStatus(null);
+        requestWithNulls.setPriority(null);
+        // status and priority are null, should keep existing values (not part of the UPDATE)
 
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(testTodo));
-        when(todoRepository.save(any(Todo.class))).thenReturn(testTodo);
+        ArgumentCaptor<Map<String, Object>> changes = ArgumentCaptor.forClass(Map.class);
+        when(todoRepository.updateColumns(eq(1L), isNull(), changes.capture(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new ConditionalUpdate(testTodo, copyWith(testTodo, "Updated Title", TodoStatus.TODO))));
 
         Todo result = todoService.update(1L, requestWithNulls);
 
         assertNotNull(result);
-        verify(todoRepository, times(1)).findById(1L);
-        verify(todoRepository, times(1)).save(any(Todo.class));
+        assertEquals(List.of("title", "description", "dueDate"), List.copyOf(changes.getValue().keySet()));
+        verify(todoRepository, never()).save(any(Todo.class));
     }
 
     @Test
     void testDeleteSuccess() {
-        when(todoRepository.existsById(1L)).thenReturn(true);
+        when(todoRepository.softDelete(eq(1L), isNull(), any(LocalDateTime.class))).thenReturn(true);
 
         todoService.delete(1L);
 
-        verify(todoRepository, times(1)).existsById(1L);
-        verify(todoRepository, times(1)).deleteById(1L);
+        verify(todoRepository, times(1)).softDelete(eq(1L), isNull(), any(LocalDateTime.class));
+        verify(todoRepository, never()).existsById(any());
+        verify(todoRepository, never()).deleteById(any());
+        verify(eventPublisher, times(1)).publishEvent(TodoChangedEvent.deleted(1L));
     }
 
     @Test
     void testDeleteNotFound() {
-        when(todoRepository.existsById(999L)).thenReturn(false);
+        when(todoRepository.softDelete(eq(999L), isNull(), any(LocalDateTime.class))).thenReturn(false);
 
         assertThrows(TodoNotFoundException.class, () -> todoService.delete(999L));
-        verify(todoRepository, times(1)).existsById(999L);
-        verify(todoRepository, never()).deleteById(999L);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testDeleteVersionConflict() {
+        when(todoRepository.softDelete(eq(1L), eq(3L), any(LocalDateTime.class))).thenReturn(false);
+        when(todoRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> todoService.delete(1L, 3L));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -305,4 +386,12 @@ class TodoServiceImplTest {
         verify(todoRepository, times(1))
                 .findByDueDateBeforeAndStatusNot(any(LocalDate.class), eq(TodoStatus.DONE));
     }
-}
\ No newline at end of file
+
+    private static Todo copyWith(Todo source, String title, TodoStatus status) {
+        Todo copy = new Todo(title, source.getDescription(), status, source.getPriority());
+        copy.setId(source.getId());
+        copy.setDueDate(source.getDueDate());
+        copy.setVersion(1L);
+        return copy;
+    }
+}
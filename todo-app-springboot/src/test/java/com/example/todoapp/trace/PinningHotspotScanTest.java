@@ -0,0 +1,73 @@
+package com.example.todoapp.trace;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 仮想スレッドのピン留め要因となるsynchronizedの検出テスト
+ *
+ * アプリケーションのクラスファイルを走査し、synchronizedメソッドとsynchronizedブロック（monitorenter）を報告する。
+ * synchronized内でI/Oやロック待ちが発生すると仮想スレッドがキャリアスレッドを占有するため、
+ * 新たに追加する場合はReentrantLockを使うか、ブロックしないことを確認して{@link #ALLOWED}に追加すること。
+ * 依存ライブラリ内のピン留めは実行時にVirtualThreadPinningMonitorで検出する。
+ */
+class PinningHotspotScanTest {
+
+    private static final Set<String> ALLOWED = Set.of();
+
+    @Test
+    void testApplicationCodeHasNoSynchronizedHotspots() throws IOException {
+        List<String> hotspots = new ArrayList<>();
+        Resource[] classes = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:com/example/todoapp/**/*.class");
+
+        for (Resource resource : classes) {
+            if (!resource.getURL().getPath().contains("/target/classes/")) {
+                // テストクラスは対象外
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                scan(new ClassReader(in), hotspots);
+            }
+        }
+
+        assertThat(classes).isNotEmpty();
+        assertThat(hotspots).isSubsetOf(ALLOWED);
+    }
+
+    private static void scan(ClassReader reader, List<String> hotspots) {
+        String className = reader.getClassName().replace('/', '.');
+        reader.accept(new ClassVisitor(SpringAsmInfo.ASM_VERSION) {
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                                             String[] exceptions) {
+                String method = className + "." + name;
+                if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                    hotspots.add(method);
+                }
+                return new MethodVisitor(SpringAsmInfo.ASM_VERSION) {
+                    @Override
+                    public void visitInsn(int opcode) {
+                        if (opcode == Opcodes.MONITORENTER) {
+                            hotspots.add(method);
+                        }
+                    }
+                };
+            }
+        }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+    }
+}
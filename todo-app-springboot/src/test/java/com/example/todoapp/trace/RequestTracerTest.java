@@ -0,0 +1,112 @@
+package com.example.todoapp.trace;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * リクエストトレーサーのテストクラス
+ */
+class RequestTracerTest {
+
+    @Test
+    void testSpansAreNestedAndJdbcAttachedToCurrentSpan() {
+        RequestTracer tracer = tracer(10, 10);
+
+        tracer.startTrace("t1", "GET", "/api/todos/1");
+        OpenSpan controller = tracer.openSpan("CONTROLLER", "TodoRestController.getTodo");
+        OpenSpan service = tracer.openSpan("SERVICE", "TodoServiceImpl.findById");
+        long start = System.nanoTime();
+        tracer.recordCompleted("JDBC", "select * from todos where id=?", start, 1_000, null);
+        tracer.closeSpan(service, null);
+        tracer.closeSpan(controller, null);
+        tracer.finishTrace(200, null);
+
+        assertThat(tracer.isTracing()).isFalse();
+        TraceRecord trace = tracer.findTrace("t1").orElseThrow();
+        assertThat(trace.errored()).isFalse();
+        assertThat(trace.spans()).extracting(TraceSpan::layer).containsExactly("CONTROLLER", "SERVICE", "JDBC");
+        assertThat(trace.spans()).extracting(TraceSpan::depth).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void testSpansAreIgnoredWithoutActiveTrace() {
+        RequestTracer tracer = tracer(10, 10);
+
+        assertThat(tracer.openSpan("SERVICE", "x")).isNull();
+        tracer.closeSpan(null, null);
+        tracer.recordCompleted("JDBC", "select 1", System.nanoTime(), 1, null);
+        tracer.finishTrace(200, null);
+
+        assertThat(tracer.getStatistics()).containsEntry("finished", 0L);
+    }
+
+    @Test
+    void testSpanLimitDropsExcessSpans() {
+        RequestTracer tracer = new RequestTracer(true, 16, 2, 10, 10, 15);
+
+        tracer.startTrace("t1", "GET", "/api/todos");
+        for (int i = 0; i < 5; i++) {
+            tracer.closeSpan(tracer.openSpan("REPOSITORY", "call" + i), null);
+        }
+        tracer.finishTrace(200, null);
+
+        TraceRecord trace = tracer.findTrace("t1").orElseThrow();
+        assertThat(trace.spans()).hasSize(2);
+        assertThat(trace.droppedSpans()).isEqualTo(3);
+    }
+
+    @Test
+    void testRetentionKeepsSlowestAndErrored() throws Exception {
+        RequestTracer tracer = tracer(2, 1);
+
+        traceWithDelay(tracer, "medium", 10, 200);
+        traceWithDelay(tracer, "slow", 30, 200);
+        traceWithDelay(tracer, "fast", 0, 200);
+        traceWithDelay(tracer, "error1", 0, 500);
+        traceWithDelay(tracer, "error2", 0, 503);
+
+        List<TraceRecord> slowest = tracer.getSlowest();
+        assertThat(slowest).extracting(TraceRecord::traceId).containsExactly("slow", "medium");
+        assertThat(tracer.getErrors()).extracting(TraceRecord::traceId).containsExactly("error2");
+        assertThat(tracer.findTrace("fast")).isEmpty();
+    }
+
+    @Test
+    void testRingBufferOverwritesWhenNotDrained() {
+        RequestTracer tracer = new RequestTracer(true, 4, 16, 100, 100, 15);
+
+        for (int i = 0; i < 10; i++) {
+            tracer.startTrace("t" + i, "GET", "/api/todos");
+            tracer.finishTrace(200, null);
+        }
+
+        assertThat(tracer.getStatistics())
+                .containsEntry("finished", 10L)
+                .containsEntry("overwritten", 6L)
+                .containsEntry("retainedSlowest", 4);
+    }
+
+    @Test
+    void testDisabledTracerRecordsNothing() {
+        RequestTracer tracer = new RequestTracer(false, 16, 16, 10, 10, 15);
+
+        tracer.startTrace("t1", "GET", "/api/todos");
+
+        assertThat(tracer.isTracing()).isFalse();
+        assertThat(tracer.openSpan("SERVICE", "x")).isNull();
+    }
+
+    private static RequestTracer tracer(int retainedSlowest, int retainedErrors) {
+        return new RequestTracer(true, 64, 16, retainedSlowest, retainedErrors, 15);
+    }
+
+    private static void traceWithDelay(RequestTracer tracer, String traceId, long sleepMillis, int status)
+            throws InterruptedException {
+        tracer.startTrace(traceId, "GET", "/api/todos");
+        Thread.sleep(sleepMillis);
+        tracer.finishTrace(status, null);
+    }
+}
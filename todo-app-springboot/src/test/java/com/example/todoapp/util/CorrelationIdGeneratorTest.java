@@ -0,0 +1,47 @@
+package com.example.todoapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 相関ID生成ユーティリティのテストクラス
+ */
+class CorrelationIdGeneratorTest {
+
+    @Test
+    void testFormat() {
+        String id = CorrelationIdGenerator.next();
+
+        assertThat(id).hasSize(26).matches("[0-7][0-9A-HJKMNP-TV-Z]{25}");
+    }
+
+    @Test
+    void testEncodingBoundaries() {
+        assertThat(CorrelationIdGenerator.generate(0L, 0, 0L)).isEqualTo("0".repeat(26));
+        assertThat(CorrelationIdGenerator.generate(0xFFFFFFFFFFFFL, 0xFFFF, -1L)).isEqualTo("7" + "Z".repeat(25));
+    }
+
+    @Test
+    void testIdsAreOrderedByTimestampThenCounter() {
+        String earlier = CorrelationIdGenerator.generate(1_700_000_000_000L, 0xFFFF, -1L);
+        String later = CorrelationIdGenerator.generate(1_700_000_000_001L, 0, 0L);
+        String sameMillisNext = CorrelationIdGenerator.generate(1_700_000_000_001L, 1, 0L);
+
+        assertThat(earlier).isLessThan(later);
+        assertThat(later).isLessThan(sameMillisNext);
+    }
+
+    @Test
+    void testUniqueness() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(CorrelationIdGenerator.next());
+        }
+
+        assertThat(ids).hasSize(100_000);
+    }
+}
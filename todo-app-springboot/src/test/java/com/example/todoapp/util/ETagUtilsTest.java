@@ -0,0 +1,38 @@
+package com.example.todoapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ETag照合ユーティリティのテストクラス
+ */
+class ETagUtilsTest {
+
+    private static final String ETAG = "\"1-abc\"";
+
+    @Test
+    void testIfNoneMatchUsesWeakComparison() {
+        assertThat(ETagUtils.matchesIfNoneMatch("\"1-abc\"", ETAG)).isTrue();
+        assertThat(ETagUtils.matchesIfNoneMatch("W/\"1-abc\"", ETAG)).isTrue();
+        assertThat(ETagUtils.matchesIfNoneMatch("\"1-xyz\", \"1-abc\"", ETAG)).isTrue();
+        assertThat(ETagUtils.matchesIfNoneMatch("*", ETAG)).isTrue();
+        assertThat(ETagUtils.matchesIfNoneMatch("\"1-xyz\"", ETAG)).isFalse();
+        assertThat(ETagUtils.matchesIfNoneMatch(null, ETAG)).isFalse();
+    }
+
+    @Test
+    void testIfMatchUsesStrongComparison() {
+        assertThat(ETagUtils.matchesIfMatch("\"1-abc\"", ETAG)).isTrue();
+        assertThat(ETagUtils.matchesIfMatch("W/\"1-abc\"", ETAG)).isFalse();
+        assertThat(ETagUtils.matchesIfMatch("*", ETAG)).isTrue();
+        assertThat(ETagUtils.matchesIfMatch("\"1-xyz\"", ETAG)).isFalse();
+    }
+
+    @Test
+    void testRepresentationIsAddedInsideQuotes() {
+        assertThat(ETagUtils.withRepresentation(ETAG, "cbor")).isEqualTo("\"1-abc+cbor\"");
+        assertThat(ETagUtils.withRepresentation(ETAG, null)).isEqualTo(ETAG);
+        assertThat(ETagUtils.matchesIfNoneMatch(ETAG, ETagUtils.withRepresentation(ETAG, "cbor"))).isFalse();
+    }
+}
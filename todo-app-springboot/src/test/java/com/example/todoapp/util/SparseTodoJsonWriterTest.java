@@ -0,0 +1,101 @@
+package com.example.todoapp.util;
+
+import com.example.todoapp.config.LoggingConfig;
+import com.example.todoapp.dto.TodoField;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.exception.BusinessException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 指定フィールドのみのJSON書き出しのテストクラス
+ */
+class SparseTodoJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new LoggingConfig().loggingObjectMapper();
+
+    @Test
+    void testAllFieldsMatchTodoResponse() throws Exception {
+        Todo todo = new Todo();
+        todo.setId(7L);
+        todo.setTitle("title \"quoted\"");
+        todo.setStatus(TodoStatus.IN_PROGRESS);
+        todo.setPriority(TodoPriority.HIGH);
+        todo.setDueDate(LocalDate.of(2024, 2, 1));
+        todo.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_000));
+        todo.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 11, 30, 5));
+
+        String json = SparseTodoJsonWriter.page(
+                page(List.of(row(todo))), TodoField.parse(null)).toString();
+        String expected = objectMapper.writeValueAsString(TodoMapper.toResponse(todo));
+
+        assertThat(objectMapper.readTree(json).get("content").get(0)).isEqualTo(objectMapper.readTree(expected));
+    }
+
+    @Test
+    void testWritesOnlySelectedFieldsInStableOrder() throws Exception {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1L);
+        row.put("title", "first");
+        row.put("status", TodoStatus.DONE);
+
+        String json = SparseTodoJsonWriter.page(page(List.of(row)), TodoField.parse("status, title,id")).toString();
+
+        assertThat(json).startsWith("{\"content\":[{\"id\":1,\"title\":\"first\",\"status\":\"DONE\"}]");
+        assertThat(json).endsWith(",\"page\":{\"size\":10,\"number\":0,\"totalElements\":1,\"totalPages\":1}}");
+    }
+
+    @Test
+    void testOmitsNullValuesAndSeparatesRows() throws Exception {
+        Map<String, Object> first = new HashMap<>();
+        first.put("id", 1L);
+        first.put("description", null);
+        Map<String, Object> second = new HashMap<>();
+        second.put("id", 2L);
+        second.put("description", "second");
+
+        JsonNode json = objectMapper.readTree(SparseTodoJsonWriter.page(
+                page(List.of(first, second)), TodoField.parse("id,description")).toString());
+
+        assertThat(json.get("content").get(0).has("description")).isFalse();
+        assertThat(json.get("content").get(1).get("description").asText()).isEqualTo("second");
+    }
+
+    @Test
+    void testUnknownFieldIsRejected() {
+        assertThatThrownBy(() -> TodoField.parse("id,secret"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("secret");
+    }
+
+    private static PageImpl<Map<String, Object>> page(List<Map<String, Object>> rows) {
+        return new PageImpl<>(rows, PageRequest.of(0, 10), rows.size());
+    }
+
+    private static Map<String, Object> row(Todo todo) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", todo.getId());
+        row.put("title", todo.getTitle());
+        row.put("description", todo.getDescription());
+        row.put("status", todo.getStatus());
+        row.put("priority", todo.getPriority());
+        row.put("dueDate", todo.getDueDate());
+        row.put("createdAt", todo.getCreatedAt());
+        row.put("updatedAt", todo.getUpdatedAt());
+        return row;
+    }
+}
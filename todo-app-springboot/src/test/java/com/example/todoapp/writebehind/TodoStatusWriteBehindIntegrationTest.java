@@ -0,0 +1,239 @@
+package com.example.todoapp.writebehind;
+
+import com.example.todoapp.dto.TodoJobRequest;
+import com.example.todoapp.entity.Todo;
+import com.example.todoapp.entity.TodoJobType;
+import com.example.todoapp.entity.TodoPriority;
+import com.example.todoapp.entity.TodoStatus;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ステータスの書き込み遅延の統合テスト
+ * 書き込みはスケジューラーを待たずに直接呼び出す
+ * 保留中の変更をテストのトランザクション外で書き込むため、専用のデータベースを使用する
+ * 監査は監査セグメントストア（/admin/audit）で確認する
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:writebehindtest;DB_CLOSE_DELAY=-1",
+        "app.audit.segment-store.enabled=true",
+        "app.write-behind.enabled=true",
+        "app.write-behind.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@DisplayName("Status Write-Behind Integration Tests")
+class TodoStatusWriteBehindIntegrationTest {
+
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
+    @TempDir
+    static Path auditDirectory;
+
+    @DynamicPropertySource
+    static void auditProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.audit.segment-store.directory", auditDirectory::toString);
+    }
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoStatusWriteBehind writeBehind;
+
+    @Autowired
+    private TodoJobService todoJobService;
+
+    private MockMvc mockMvc;
+
+    private Todo todo;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        writeBehind.flush();
+        todoRepository.deleteAll();
+        todo = todoRepository.saveAndFlush(new Todo("Kanban card", "desc", TodoStatus.TODO, TodoPriority.MEDIUM));
+    }
+
+    @Test
+    void testBurstOfStatusChangesIsCoalescedIntoOneWrite() throws Exception {
+        String inProgressEtag = patchStatus("IN_PROGRESS")
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("ETag");
+        String doneEtag = patchStatus("DONE")
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.version").value(todo.getVersion() + 2))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // まとめた変更もそれぞれ別のETagになり、途中の状態のETagで304を返さない
+        assertThat(doneEtag).isNotEqualTo(inProgressEtag);
+        mockMvc.perform(get("/api/todos/{id}", todo.getId()).header("If-None-Match", inProgressEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", doneEtag));
+
+        // 書き込み前でも読み込みは保留中の状態を返す
+        assertThat(stored().getStatus()).isEqualTo(TodoStatus.TODO);
+        mockMvc.perform(get("/api/todos/{id}", todo.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"));
+        mockMvc.perform(get("/api/todos").param("fields", "id,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].status").value("DONE"));
+
+        LocalDateTime beforeFlush = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        assertThat(writeBehind.flush()).isEqualTo(1);
+
+        Todo stored = stored();
+        assertThat(stored.getStatus()).isEqualTo(TodoStatus.DONE);
+        assertThat(stored.getVersion()).isEqualTo(todo.getVersion() + 2);
+        // 更新日時は受け付けた日時ではなく書き込んだ日時
+        assertThat(stored.getUpdatedAt()).isAfterOrEqualTo(beforeFlush);
+        assertThat(writeBehind.getPendingCount()).isZero();
+        assertThat(writeBehind.flush()).isZero();
+        mockMvc.perform(get("/api/todos/{id}", todo.getId()).header("If-None-Match", doneEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testFlushedStatusChangeIsAudited() throws Exception {
+        patchStatus("IN_PROGRESS").andExpect(status().isAccepted());
+        patchStatus("DONE").andExpect(status().isAccepted());
+
+        // 受け付けただけでは更新の監査ログは記録しない
+        auditedUpdates().andExpect(jsonPath("$.count").value(0));
+
+        assertThat(writeBehind.flush()).isEqualTo(1);
+
+        // まとめた変更は書き込んだ1行として、書き込み前後のステータスの差分を記録する
+        auditedUpdates()
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.entries[0].result").value("SUCCESS"))
+                .andExpect(jsonPath("$.entries[0].oldValue").value("{\"status\":\"TODO\"}"))
+                .andExpect(jsonPath("$.entries[0].newValue").value("{\"status\":\"DONE\"}"))
+                .andExpect(jsonPath("$.entries[0].details").value("Todo updated by write-behind - changed: status"));
+    }
+
+    @Test
+    void testSynchronousWriteFlushesPendingChangeFirst() throws Exception {
+        patchStatus("DONE").andExpect(status().isAccepted());
+
+        mockMvc.perform(patch("/api/todos/{id}", todo.getId())
+                        .contentType(MERGE_PATCH)
+                        .content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"));
+
+        Todo stored = stored();
+        assertThat(stored.getTitle()).isEqualTo("Renamed");
+        assertThat(stored.getStatus()).isEqualTo(TodoStatus.DONE);
+        assertThat(stored.getVersion()).isEqualTo(todo.getVersion() + 2);
+        assertThat(writeBehind.getPendingCount()).isZero();
+    }
+
+    @Test
+    void testBulkJobFlushesPendingChangeBeforeItsChunk() throws Exception {
+        patchStatus("DONE").andExpect(status().isAccepted());
+
+        TodoJobRequest request = new TodoJobRequest();
+        request.setType(TodoJobType.PRIORITY_CHANGE);
+        request.setPriority(TodoPriority.HIGH);
+        request.setIds(List.of(todo.getId()));
+        awaitFinished(todoJobService.submit(request, "user:test").getId());
+
+        Todo stored = stored();
+        assertThat(stored.getStatus()).isEqualTo(TodoStatus.DONE);
+        assertThat(stored.getPriority()).isEqualTo(TodoPriority.HIGH);
+        assertThat(stored.getVersion()).isEqualTo(todo.getVersion() + 2);
+        assertThat(writeBehind.getPendingCount()).isZero();
+    }
+
+    @Test
+    void testPendingChangeIsDiscardedWhenRowChangedUnderneath() throws Exception {
+        String pendingEtag = patchStatus("DONE")
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // 保留中の変更を書き込まずに反映された他の書き込み
+        Todo other = stored();
+        other.setPriority(TodoPriority.LOW);
+        todoRepository.saveAndFlush(other);
+
+        assertThat(writeBehind.flush()).isEqualTo(1);
+
+        Todo stored = stored();
+        assertThat(stored.getStatus()).isEqualTo(TodoStatus.TODO);
+        assertThat(stored.getPriority()).isEqualTo(TodoPriority.LOW);
+        // 破棄した変更に発行したバージョンを再利用しないよう、versionだけを進める
+        assertThat(stored.getVersion()).isEqualTo(todo.getVersion() + 2);
+        assertThat(writeBehind.getPendingCount()).isZero();
+        mockMvc.perform(get("/api/todos/{id}", todo.getId()).header("If-None-Match", pendingEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("TODO"));
+    }
+
+    @Test
+    @DirtiesContext
+    void testDrainWritesPendingChangesAndStopsBuffering() throws Exception {
+        patchStatus("DONE").andExpect(status().isAccepted());
+
+        writeBehind.drain();
+
+        assertThat(stored().getStatus()).isEqualTo(TodoStatus.DONE);
+        patchStatus("TODO").andExpect(status().isOk());
+        assertThat(stored().getStatus()).isEqualTo(TodoStatus.TODO);
+    }
+
+    private ResultActions patchStatus(String status) throws Exception {
+        return mockMvc.perform(patch("/api/todos/{id}", todo.getId())
+                .contentType(MERGE_PATCH)
+                .content("{\"status\":\"" + status + "\"}"));
+    }
+
+    private ResultActions auditedUpdates() throws Exception {
+        return mockMvc.perform(get("/admin/audit")
+                        .param("resourceType", "TODO")
+                        .param("resourceId", todo.getId().toString())
+                        .param("operation", "UPDATE"))
+                .andExpect(status().isOk());
+    }
+
+    private void awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!todoJobService.get(jobId).getState().isFinished()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private Todo stored() {
+        return todoRepository.findById(todo.getId()).orElseThrow();
+    }
+}